@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.cache;
+
+/**
+ * A {@code CacheAdmissionPolicy} decides whether or not a new entry should be stored in a cache region at all.
+ * <p>A cache region consults its admission policy only when a key that is <em>not</em> already present in the
+ * region is about to be added - updates to existing entries are always accepted so cached data never becomes stale
+ * because of the policy.  Rejecting entries that are unlikely to be requested again (e.g. 'one-hit wonders') keeps
+ * them from pushing more valuable entries out of a {@link CacheConfigurationBuilder#withMaxEntries(long) bounded}
+ * cache region.</p>
+ * <p>Implementations are invoked on the caller's thread during a cache {@code put} and must be thread-safe.</p>
+ *
+ * @param <K> the type of key stored in the cache
+ * @param <V> the type of value stored in the cache
+ * @see Caches#admitOnSecondRequest()
+ * @since 1.0.RC8.1
+ */
+public interface CacheAdmissionPolicy<K, V> {
+
+    /**
+     * Returns {@code true} if the specified entry should be stored in the cache region, {@code false} otherwise.
+     *
+     * @param key   the key of the entry about to be added
+     * @param value the value of the entry about to be added
+     * @return {@code true} if the specified entry should be stored in the cache region, {@code false} otherwise.
+     */
+    boolean admit(K key, V value);
+}
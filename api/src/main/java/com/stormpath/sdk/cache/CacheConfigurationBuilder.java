@@ -35,6 +35,12 @@ import java.util.concurrent.TimeUnit;
  *
  * @see #withTimeToLive(long, java.util.concurrent.TimeUnit)
  * @see #withTimeToIdle(long, java.util.concurrent.TimeUnit)
+ * @see #withMaxEntries(long)
+ * @see #withMaxWeight(long, CacheWeigher)
+ * @see #withAdmissionPolicy(CacheAdmissionPolicy)
+ * @see #withRefreshAfter(long, java.util.concurrent.TimeUnit)
+ * @see #withStaleIfError(long, java.util.concurrent.TimeUnit)
+ * @see #withRevalidationWindow(long, java.util.concurrent.TimeUnit)
  * @see Caches#forResource(Class)
  * @see Caches#named(String)
  * @since 0.8
@@ -85,4 +91,115 @@ public interface CacheConfigurationBuilder {
      */
     CacheConfigurationBuilder withTimeToIdle(long tti, TimeUnit ttiTimeUnit);
 
+    /**
+     * Sets the maximum number of entries the associated {@code Cache} region may contain.  When adding an entry would
+     * exceed this number, the region's least recently used entries are evicted to make room for the new one.
+     * <p/>
+     * If this value is not configured (or is not positive), the number of entries is not bounded and the region only
+     * shrinks due to other conditions (e.g. memory constraints, Time to Live or Time to Idle settings, etc).
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withMaxEntries(10000)...
+     * </pre>
+     *
+     * @param maxEntries the maximum number of entries the associated {@code Cache} region may contain.
+     * @return this builder for method chaining.
+     * @since 1.0.RC8.1
+     */
+    CacheConfigurationBuilder withMaxEntries(long maxEntries);
+
+    /**
+     * Sets the maximum aggregate weight of all entries in the associated {@code Cache} region, as well as the
+     * {@link CacheWeigher} used to calculate the weight of each entry.  When adding an entry would exceed the
+     * {@code maxWeight}, the region's least recently used entries are evicted to make room for the new one.  An entry
+     * that is heavier than {@code maxWeight} by itself is never stored.
+     * <p/>
+     * If this value is not configured (or is not positive), the region's weight is not bounded.
+     * <h3>Usage</h3>
+     * <pre>
+     *     //roughly 50 megabytes of Account data:
+     *     ...withMaxWeight(50 * 1024 * 1024, {@link Caches#estimatedSizeWeigher() Caches.estimatedSizeWeigher()})...
+     * </pre>
+     *
+     * @param maxWeight the maximum aggregate weight of all entries in the associated {@code Cache} region.
+     * @param weigher   the weigher used to calculate the weight of each entry.
+     * @return this builder for method chaining.
+     * @since 1.0.RC8.1
+     */
+    CacheConfigurationBuilder withMaxWeight(long maxWeight, CacheWeigher weigher);
+
+    /**
+     * Sets the {@link CacheAdmissionPolicy} that decides whether new entries are stored in the associated
+     * {@code Cache} region at all.  This is most useful for {@link #withMaxEntries(long) bounded} regions, where
+     * entries that are requested only once would otherwise push out more valuable entries.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withAdmissionPolicy({@link Caches#admitOnSecondRequest() Caches.admitOnSecondRequest()})...
+     * </pre>
+     *
+     * @param policy the policy that decides whether new entries are stored in the associated {@code Cache} region.
+     * @return this builder for method chaining.
+     * @since 1.0.RC8.1
+     */
+    CacheConfigurationBuilder withAdmissionPolicy(CacheAdmissionPolicy policy);
+
+    /**
+     * Enables refresh-ahead for the associated {@code Cache} region: once an entry is older than the specified amount
+     * of time, the next read still returns the cached entry immediately, but also triggers a single asynchronous
+     * reload of that entry from the Stormpath API.  This avoids blocking requests on a synchronous API call each time
+     * a frequently used entry's Time to Live elapses.
+     * <p/>
+     * The refresh threshold should be shorter than the region's Time to Live.  If this value is not configured, entries
+     * are only reloaded after they have expired.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withTimeToLive(1, TimeUnit.HOURS).withRefreshAfter(45, TimeUnit.MINUTES)...
+     * </pre>
+     *
+     * @param refreshAfter         the amount of time after an entry's creation at which it is reloaded in the background
+     * @param refreshAfterTimeUnit the refreshAfter unit of time
+     * @return this builder for method chaining.
+     * @since 1.0.RC8.1
+     */
+    CacheConfigurationBuilder withRefreshAfter(long refreshAfter, TimeUnit refreshAfterTimeUnit);
+
+    /**
+     * Sets the associated {@code Cache} region's stale-if-error window: the amount of time an entry is retained after
+     * it has expired (due to Time to Live or Time to Idle) so that it can still be returned if the Stormpath API is
+     * unreachable or responds with a server error.  Expired entries are never returned while the API is available.
+     * <p/>
+     * If this value is not configured, expired entries are removed immediately and API errors are always propagated.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withStaleIfError(15, TimeUnit.MINUTES)...
+     * </pre>
+     *
+     * @param staleIfError         the amount of time an expired entry may still be returned if the API is unavailable
+     * @param staleIfErrorTimeUnit the staleIfError unit of time
+     * @return this builder for method chaining.
+     * @since 1.0.RC8.1
+     */
+    CacheConfigurationBuilder withStaleIfError(long staleIfError, TimeUnit staleIfErrorTimeUnit);
+
+    /**
+     * Sets the associated {@code Cache} region's revalidation window: the amount of time an entry is retained after it
+     * has expired so that the next read can ask the Stormpath API whether it has changed with a conditional request
+     * ({@code If-None-Match} with the entry's {@code ETag}, or {@code If-Modified-Since} with the resource's
+     * {@code modifiedAt} date).  If the API responds with {@code 304 Not Modified}, the cached entry is renewed without
+     * downloading or parsing the resource again.  Resources that rarely change, such as applications, directories and
+     * policies, benefit the most.
+     * <p/>
+     * If this value is not configured, expired entries are always downloaded again in full.
+     * <h3>Usage</h3>
+     * <pre>
+     *     ...withTimeToLive(1, TimeUnit.HOURS).withRevalidationWindow(1, TimeUnit.DAYS)...
+     * </pre>
+     *
+     * @param revalidationWindow         the amount of time an expired entry may still be revalidated with the API
+     * @param revalidationWindowTimeUnit the revalidationWindow unit of time
+     * @return this builder for method chaining.
+     * @since 1.0.RC8.1
+     */
+    CacheConfigurationBuilder withRevalidationWindow(long revalidationWindow, TimeUnit revalidationWindowTimeUnit);
+
 }
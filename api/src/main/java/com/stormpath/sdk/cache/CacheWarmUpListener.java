@@ -0,0 +1,34 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.cache;
+
+/**
+ * Receives progress notifications during a cache warm-up, for example to log progress or to report readiness.
+ * <p>Implementations may be invoked concurrently from multiple threads and should return quickly.</p>
+ *
+ * @see CacheWarmUpRequestBuilder#withListener(CacheWarmUpListener)
+ * @since 1.0.RC8.1
+ */
+public interface CacheWarmUpListener {
+
+    /**
+     * Invoked each time a batch of resources has been loaded into the cache, and once more when the warm-up has
+     * {@link CacheWarmUpResult#isFinished() finished}.
+     *
+     * @param progress the progress of the warm-up so far.
+     */
+    void onProgress(CacheWarmUpResult progress);
+}
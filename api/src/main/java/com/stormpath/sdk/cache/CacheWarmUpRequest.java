@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.cache;
+
+import com.stormpath.sdk.account.AccountCriteria;
+
+import java.util.Set;
+
+/**
+ * Describes which data should be loaded into the SDK's cache by
+ * {@link com.stormpath.sdk.ds.DataStore#warmUpCache(CacheWarmUpRequest) DataStore.warmUpCache}, and how.  Instances
+ * are created via a {@link CacheWarmUpRequestBuilder}, obtained from {@link Caches#newWarmUpRequest()}.
+ *
+ * @see Caches#newWarmUpRequest()
+ * @since 1.0.RC8.1
+ */
+public interface CacheWarmUpRequest {
+
+    /**
+     * Returns the hrefs of the applications whose data will be loaded into the cache.
+     *
+     * @return the hrefs of the applications whose data will be loaded into the cache.
+     */
+    Set<String> getApplicationHrefs();
+
+    /**
+     * Returns {@code true} if each application's account store mappings and the mapped account stores (directories
+     * and groups) will be loaded, {@code false} otherwise.
+     *
+     * @return {@code true} if each application's account store mappings and account stores will be loaded.
+     */
+    boolean isAccountStoreMappingsIncluded();
+
+    /**
+     * Returns {@code true} if all groups of each mapped directory will be loaded, {@code false} otherwise.
+     *
+     * @return {@code true} if all groups of each mapped directory will be loaded, {@code false} otherwise.
+     */
+    boolean isDirectoryGroupsIncluded();
+
+    /**
+     * Returns {@code true} if application accounts will be loaded, {@code false} otherwise.
+     *
+     * @return {@code true} if application accounts will be loaded, {@code false} otherwise.
+     */
+    boolean isAccountsIncluded();
+
+    /**
+     * Returns {@code true} if the current tenant will be loaded, {@code false} otherwise.
+     *
+     * @return {@code true} if the current tenant will be loaded, {@code false} otherwise.
+     */
+    boolean isTenantIncluded();
+
+    /**
+     * Returns {@code true} if each application's OAuth policy and the password and account creation policies of each
+     * mapped directory will be loaded, {@code false} otherwise.
+     *
+     * @return {@code true} if application and directory policies will be loaded, {@code false} otherwise.
+     */
+    boolean isPoliciesIncluded();
+
+    /**
+     * Returns the criteria used to select the application accounts that will be loaded, or {@code null} if all
+     * accounts will be loaded (up to {@link #getMaxAccounts()}).
+     *
+     * @return the criteria used to select the application accounts that will be loaded, or {@code null}.
+     */
+    AccountCriteria getAccountCriteria();
+
+    /**
+     * Returns the maximum number of accounts that will be loaded per application, or zero if unlimited.
+     *
+     * @return the maximum number of accounts that will be loaded per application, or zero if unlimited.
+     */
+    int getMaxAccounts();
+
+    /**
+     * Returns the maximum number of concurrent requests issued to the Stormpath API during the warm-up.
+     *
+     * @return the maximum number of concurrent requests issued to the Stormpath API during the warm-up.
+     */
+    int getConcurrency();
+
+    /**
+     * Returns the maximum number of requests per second issued to the Stormpath API during the warm-up, or zero if
+     * unthrottled.
+     *
+     * @return the maximum number of requests per second issued to the Stormpath API, or zero if unthrottled.
+     */
+    int getMaxRequestsPerSecond();
+
+    /**
+     * Returns the estimated amount of memory, in bytes, after which the warm-up stops loading data, or zero if
+     * unlimited.
+     *
+     * @return the estimated amount of memory, in bytes, after which the warm-up stops loading data, or zero.
+     */
+    long getMemoryBudget();
+
+    /**
+     * Returns the listener notified of the warm-up's progress, or {@code null} if there is none.
+     *
+     * @return the listener notified of the warm-up's progress, or {@code null} if there is none.
+     */
+    CacheWarmUpListener getListener();
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.cache;
+
+import com.stormpath.sdk.account.AccountCriteria;
+import com.stormpath.sdk.application.Application;
+
+/**
+ * A Builder to construct a {@link CacheWarmUpRequest}, used to load frequently accessed data into the SDK's cache
+ * before it is first needed - usually during application startup - so that the first authentication requests after a
+ * deployment don't all have to go to the Stormpath API.  For example:
+ * <pre>
+ * CacheWarmUpRequest request = Caches.{@link Caches#newWarmUpRequest() newWarmUpRequest()}
+ *     .forApplication(application)
+ *     .withDirectoryGroups(true)
+ *     .withAccounts(Accounts.where(Accounts.modifiedAt().gt(lastWeek)), 1000)
+ *     .withConcurrency(4)
+ *     .withMaxRequestsPerSecond(20)
+ *     .withMemoryBudget(64 * 1024 * 1024)
+ *     .build();
+ *
+ * CacheWarmUpResult result = client.{@link com.stormpath.sdk.ds.DataStore#warmUpCache(CacheWarmUpRequest) warmUpCache}(request);
+ * </pre>
+ *
+ * @see Caches#newWarmUpRequest()
+ * @since 1.0.RC8.1
+ */
+public interface CacheWarmUpRequestBuilder {
+
+    /**
+     * Adds an application whose data should be loaded into the cache.  May be called multiple times to warm up the
+     * data of multiple applications.
+     *
+     * @param application the application whose data should be loaded into the cache.
+     * @return this builder for method chaining.
+     */
+    CacheWarmUpRequestBuilder forApplication(Application application);
+
+    /**
+     * Adds the href of an application whose data should be loaded into the cache.  May be called multiple times to
+     * warm up the data of multiple applications.
+     *
+     * @param applicationHref the href of an application whose data should be loaded into the cache.
+     * @return this builder for method chaining.
+     */
+    CacheWarmUpRequestBuilder forApplication(String applicationHref);
+
+    /**
+     * Sets whether each application's account store mappings and the mapped account stores (directories and groups)
+     * should be loaded.  This data is needed for every login attempt, so the default is {@code true}.
+     *
+     * @param include whether each application's account store mappings and account stores should be loaded.
+     * @return this builder for method chaining.
+     */
+    CacheWarmUpRequestBuilder withAccountStoreMappings(boolean include);
+
+    /**
+     * Sets whether all groups of each mapped directory should be loaded.  The default is {@code false}.
+     *
+     * @param include whether all groups of each mapped directory should be loaded.
+     * @return this builder for method chaining.
+     */
+    CacheWarmUpRequestBuilder withDirectoryGroups(boolean include);
+
+    /**
+     * Loads up to {@code maxAccounts} accounts of each application matching the specified criteria, for example the
+     * most recently modified accounts.  Expansions specified by the criteria are ignored: expanded responses are
+     * never cached, so referenced resources are loaded individually instead.
+     *
+     * @param criteria    the criteria used to select the accounts to load, may be {@code null} to load all accounts.
+     * @param maxAccounts the maximum number of accounts to load per application, or zero (or less) if unlimited.
+     * @return this builder for method chaining.
+     */
+    CacheWarmUpRequestBuilder withAccounts(AccountCriteria criteria, int maxAccounts);
+
+    /**
+     * Sets whether the current tenant should be loaded, in parallel with the applications.  The default is
+     * {@code false}.
+     *
+     * @param include whether the current tenant should be loaded.
+     * @return this builder for method chaining.
+     */
+    CacheWarmUpRequestBuilder withTenant(boolean include);
+
+    /**
+     * Sets whether each application's OAuth policy and the password and account creation policies of each mapped
+     * directory should be loaded.  The default is {@code false}.
+     *
+     * @param include whether application and directory policies should be loaded.
+     * @return this builder for method chaining.
+     */
+    CacheWarmUpRequestBuilder withPolicies(boolean include);
+
+    /**
+     * Sets the maximum number of concurrent requests issued to the Stormpath API during the warm-up.  The default is
+     * {@code 4}.
+     *
+     * @param concurrency the maximum number of concurrent requests issued to the Stormpath API, must be positive.
+     * @return this builder for method chaining.
+     */
+    CacheWarmUpRequestBuilder withConcurrency(int concurrency);
+
+    /**
+     * Sets the maximum number of requests per second issued to the Stormpath API during the warm-up, so the warm-up
+     * does not exhaust the tenant's rate limit while the application is serving traffic.  The default is {@code 20};
+     * zero (or less) disables throttling.
+     *
+     * @param maxRequestsPerSecond the maximum number of requests per second, or zero (or less) if unthrottled.
+     * @return this builder for method chaining.
+     */
+    CacheWarmUpRequestBuilder withMaxRequestsPerSecond(int maxRequestsPerSecond);
+
+    /**
+     * Sets the estimated amount of memory, in bytes, after which the warm-up stops loading data.  The default is
+     * zero (or less), meaning unlimited.
+     *
+     * @param bytes the estimated amount of memory, in bytes, after which the warm-up stops loading data.
+     * @return this builder for method chaining.
+     */
+    CacheWarmUpRequestBuilder withMemoryBudget(long bytes);
+
+    /**
+     * Sets the listener notified of the warm-up's progress.  The listener may be invoked concurrently from multiple
+     * threads.
+     *
+     * @param listener the listener notified of the warm-up's progress.
+     * @return this builder for method chaining.
+     */
+    CacheWarmUpRequestBuilder withListener(CacheWarmUpListener listener);
+
+    /**
+     * Creates a new {@code CacheWarmUpRequest} instance based on the current builder state.
+     *
+     * @return a new {@code CacheWarmUpRequest} instance based on the current builder state.
+     * @throws IllegalStateException if no application has been specified.
+     */
+    CacheWarmUpRequest build() throws IllegalStateException;
+}
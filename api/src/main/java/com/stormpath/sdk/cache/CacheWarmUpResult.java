@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.cache;
+
+import java.util.Map;
+
+/**
+ * Reflects the progress or outcome of a cache warm-up.
+ *
+ * @see com.stormpath.sdk.ds.DataStore#warmUpCache(CacheWarmUpRequest)
+ * @see CacheWarmUpListener
+ * @since 1.0.RC8.1
+ */
+public interface CacheWarmUpResult {
+
+    /**
+     * Returns the number of resources loaded into the cache.
+     *
+     * @return the number of resources loaded into the cache.
+     */
+    long getResourceCount();
+
+    /**
+     * Returns the number of requests issued to the Stormpath API.
+     *
+     * @return the number of requests issued to the Stormpath API.
+     */
+    long getRequestCount();
+
+    /**
+     * Returns the number of requests that failed.  Failed requests are logged and skipped; they do not abort the
+     * warm-up.
+     *
+     * @return the number of requests that failed.
+     */
+    long getFailureCount();
+
+    /**
+     * Returns the estimated amount of memory, in bytes, of the resources loaded into the cache.
+     *
+     * @return the estimated amount of memory, in bytes, of the resources loaded into the cache.
+     */
+    long getEstimatedSize();
+
+    /**
+     * Returns the number of milliseconds elapsed since the warm-up started.
+     *
+     * @return the number of milliseconds elapsed since the warm-up started.
+     */
+    long getElapsedMillis();
+
+    /**
+     * Returns, for each step of the warm-up that issued at least one request, the number of milliseconds elapsed
+     * between the start of the warm-up and the completion of the step's last request - that is, how long it took
+     * until that part of the data was in the cache.  Steps are named {@code tenant}, {@code applications},
+     * {@code accountStoreMappings}, {@code accountStores}, {@code policies}, {@code groups} and {@code accounts},
+     * and are returned in that order.
+     *
+     * @return the per-step timings of the warm-up, in milliseconds, keyed by step name.
+     */
+    Map<String, Long> getStepTimings();
+
+    /**
+     * Returns {@code true} if the warm-up stopped early because the {@link CacheWarmUpRequest#getMemoryBudget() memory
+     * budget} was exceeded, {@code false} otherwise.
+     *
+     * @return {@code true} if the warm-up stopped early because the memory budget was exceeded.
+     */
+    boolean isMemoryBudgetExceeded();
+
+    /**
+     * Returns {@code true} if the warm-up has finished, {@code false} if it is still in progress.
+     *
+     * @return {@code true} if the warm-up has finished, {@code false} if it is still in progress.
+     */
+    boolean isFinished();
+}
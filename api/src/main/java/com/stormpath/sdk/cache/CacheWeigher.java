@@ -0,0 +1,42 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.cache;
+
+/**
+ * A {@code CacheWeigher} calculates the relative weight of a cache entry, allowing a cache region to be bounded by
+ * the aggregate weight of its entries in addition to (or instead of) the total number of entries.
+ * <p>The unit of weight is entirely up to the implementation - it could be an estimated number of bytes, a number of
+ * nested properties, etc - but it must be consistent with the {@code maxWeight} value specified via
+ * {@link CacheConfigurationBuilder#withMaxWeight(long, CacheWeigher)}.</p>
+ * <p>Implementations are invoked once per cache {@code put} and should therefore be fast, side-effect free and
+ * thread-safe.</p>
+ *
+ * @param <K> the type of key stored in the cache
+ * @param <V> the type of value stored in the cache
+ * @see Caches#estimatedSizeWeigher()
+ * @since 1.0.RC8.1
+ */
+public interface CacheWeigher<K, V> {
+
+    /**
+     * Returns the weight of the specified cache entry.  The returned value must be zero or positive.
+     *
+     * @param key   the key of the entry to weigh
+     * @param value the value of the entry to weigh
+     * @return the non-negative weight of the specified cache entry.
+     */
+    long weigh(K key, V value);
+}
@@ -134,4 +134,58 @@ public class Caches {
         return (CacheConfigurationBuilder) Classes.newInstance("com.stormpath.sdk.impl.cache.DefaultCacheConfigurationBuilder", name);
     }
 
+    /**
+     * Returns a new {@link CacheWeigher} that weighs cache entries by their estimated in-memory size in bytes.  This is
+     * an approximation suitable for bounding cache regions that store resource data (nested maps, collections,
+     * strings and other simple values) via
+     * {@link CacheConfigurationBuilder#withMaxWeight(long, CacheWeigher) withMaxWeight}, for example:
+     * <pre>
+     * import static com.stormpath.sdk.cache.Caches.*
+     * ...
+     * newCacheManager()
+     *     .withCache(forResource(CustomData.class).withMaxWeight(20 * 1024 * 1024, estimatedSizeWeigher()))
+     *     .build();
+     * </pre>
+     *
+     * @return a new {@link CacheWeigher} that weighs cache entries by their estimated in-memory size in bytes.
+     * @since 1.0.RC8.1
+     */
+    public static CacheWeigher estimatedSizeWeigher() {
+        return (CacheWeigher) Classes.newInstance("com.stormpath.sdk.impl.cache.EstimatedSizeWeigher");
+    }
+
+    /**
+     * Returns a new {@link CacheAdmissionPolicy} that stores a new entry in a cache region only the second time its
+     * key is offered to the region within a recent window, effectively skipping 'one-hit wonders' that would otherwise
+     * push out more frequently used entries.  For example:
+     * <pre>
+     * import static com.stormpath.sdk.cache.Caches.*
+     * ...
+     * newCacheManager()
+     *     .withCache(forResource(Account.class).withMaxEntries(10000).withAdmissionPolicy(admitOnSecondRequest()))
+     *     .build();
+     * </pre>
+     * <p>Each call returns a new policy instance and instances should not be shared across cache regions.</p>
+     *
+     * @return a new {@link CacheAdmissionPolicy} that stores a new entry only the second time its key is offered.
+     * @since 1.0.RC8.1
+     */
+    public static CacheAdmissionPolicy admitOnSecondRequest() {
+        return (CacheAdmissionPolicy) Classes.newInstance("com.stormpath.sdk.impl.cache.DoorkeeperAdmissionPolicy");
+    }
+
+    /**
+     * Returns a new {@link CacheWarmUpRequestBuilder} used to describe which data should be loaded into the cache via
+     * {@link com.stormpath.sdk.ds.DataStore#warmUpCache(CacheWarmUpRequest) DataStore.warmUpCache}, for example:
+     * <pre>
+     * client.warmUpCache(Caches.newWarmUpRequest().forApplication(application).withDirectoryGroups(true).build());
+     * </pre>
+     *
+     * @return a new {@link CacheWarmUpRequestBuilder}.
+     * @since 1.0.RC8.1
+     */
+    public static CacheWarmUpRequestBuilder newWarmUpRequest() {
+        return (CacheWarmUpRequestBuilder) Classes.newInstance("com.stormpath.sdk.impl.cache.DefaultCacheWarmUpRequestBuilder");
+    }
+
 }
@@ -17,9 +17,13 @@ package com.stormpath.sdk.ds;
 
 import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.cache.CacheWarmUpRequest;
+import com.stormpath.sdk.cache.CacheWarmUpResult;
 import com.stormpath.sdk.query.Options;
 import com.stormpath.sdk.resource.Resource;
 
+import java.util.Collection;
+
 /**
  * A {@code DataStore} is the liaison between client SDK components and the raw Stormpath REST API.  It is responsible
  * for converting SDK objects (Account, Directory, Group instances, etc) into REST HTTP requests, executing those
@@ -67,6 +71,26 @@ public interface DataStore {
      */
     <T extends Resource, O extends Options> T getResource(String href, Class<T> clazz, O options);
 
+    /**
+     * Retrieves the resources at the specified {@code hrefs} and returns them as instances of the specified
+     * {@code clazz}, in the order of the specified hrefs.
+     * <p/>
+     * This is more efficient than calling {@link #getResource(String, Class)} for each href: all hrefs are checked
+     * against the cache up front, duplicate hrefs are retrieved only once, and the hrefs that are not cached are
+     * retrieved from the Stormpath API server concurrently, with a bounded number of requests in flight at a time.
+     * <p/>
+     * A failure to retrieve one href does not prevent the others from being retrieved; the error is reported by the
+     * returned {@link ResourceBatch} instead of being thrown.
+     *
+     * @param hrefs the URLs of the resources to retrieve
+     * @param clazz the {@link Resource} sub-interface to instantiate
+     * @param <T>   type parameter indicating the returned values are {@link Resource} instances.
+     * @return the retrieved resources, in the order of the specified hrefs, and the error for each href that could
+     *         not be retrieved.
+     * @since 1.0.RC8.1
+     */
+    <T extends Resource> ResourceBatch<T> getResources(Collection<String> hrefs, Class<T> clazz);
+
     /**
      * Returns the ApiKey used to authenticate HTTPS requests sent to the Stormpath API server.
      *
@@ -83,4 +107,18 @@ public interface DataStore {
      */
     CacheManager getCacheManager();
 
+    /**
+     * Loads the data described by the specified request into this data store's cache, typically during application
+     * startup, so that subsequent requests for that data do not have to be sent to the Stormpath API.  This method
+     * blocks until the warm-up has finished or has been stopped because its memory budget was exceeded.
+     * <p/>
+     * If caching is disabled, this method does nothing and returns an empty result.
+     *
+     * @param request the request describing which data should be loaded into the cache, and how.
+     * @return the outcome of the warm-up.
+     * @see com.stormpath.sdk.cache.Caches#newWarmUpRequest()
+     * @since 1.0.RC8.1
+     */
+    CacheWarmUpResult warmUpCache(CacheWarmUpRequest request);
+
 }
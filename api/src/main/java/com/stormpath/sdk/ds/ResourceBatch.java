@@ -0,0 +1,58 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.ds;
+
+import com.stormpath.sdk.resource.Resource;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The outcome of a {@link DataStore#getResources(java.util.Collection, Class) multi-get}: the retrieved resources in
+ * the order of the requested hrefs, and the error for each href that could not be retrieved.
+ * <p/>
+ * A failure to retrieve one href does not affect the retrieval of the others, so callers should check
+ * {@link #hasErrors()} before assuming that every element of {@link #getResources()} is non-null.
+ *
+ * @param <T> the type of the retrieved resources.
+ * @since 1.0.RC8.1
+ */
+public interface ResourceBatch<T extends Resource> {
+
+    /**
+     * Returns the retrieved resources in the order of the requested hrefs.  An href that was requested more than
+     * once appears at each requested position.  The element for an href that could not be retrieved is {@code null}.
+     *
+     * @return the retrieved resources in the order of the requested hrefs.
+     */
+    List<T> getResources();
+
+    /**
+     * Returns {@code true} if at least one href could not be retrieved, {@code false} otherwise.
+     *
+     * @return {@code true} if at least one href could not be retrieved, {@code false} otherwise.
+     */
+    boolean hasErrors();
+
+    /**
+     * Returns the error for each href that could not be retrieved, keyed by the href as it was requested, in request
+     * order.  Typically the error is a {@link com.stormpath.sdk.resource.ResourceException ResourceException}
+     * reflecting the error returned by the Stormpath API server (e.g. a 404 for a deleted resource).
+     *
+     * @return the error for each href that could not be retrieved, keyed by the href as it was requested.
+     */
+    Map<String, RuntimeException> getErrors();
+}
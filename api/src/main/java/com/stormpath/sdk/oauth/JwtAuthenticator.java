@@ -66,6 +66,10 @@ public interface JwtAuthenticator extends Oauth2Authenticator<JwtAuthenticationR
      *      <td>Account is still in an account store for the issuing application</td><td>no</td><td>yes</td>
      *   </tr>
      * </table>
+     * <p>A local validation does not communicate with Stormpath at all: the account and tenant of the returned result
+     * are only retrieved when they are first accessed, and tokens that have already been validated by this
+     * authenticator are remembered (up to a bounded number) until they expire.  Reuse the authenticator instance to
+     * benefit from this.</p>
      * @return This instance for method chaining.
      */
     JwtAuthenticator withLocalValidation();
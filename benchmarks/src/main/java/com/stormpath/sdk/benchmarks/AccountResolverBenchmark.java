@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks;
+
+import com.stormpath.sdk.account.Account;
+import com.stormpath.sdk.api.ApiKey;
+import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.cache.Caches;
+import com.stormpath.sdk.client.AuthenticationScheme;
+import com.stormpath.sdk.client.Client;
+import com.stormpath.sdk.ds.DataStore;
+import com.stormpath.sdk.impl.client.DefaultClient;
+import com.stormpath.sdk.impl.http.RequestExecutor;
+import com.stormpath.sdk.impl.util.Base64;
+import com.stormpath.sdk.servlet.config.CookieConfig;
+import com.stormpath.sdk.servlet.filter.account.CookieAccountResolver;
+import com.stormpath.sdk.servlet.filter.account.DefaultJwtAccountResolver;
+import com.stormpath.sdk.servlet.filter.account.DefaultJwtSigningKeyResolver;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.Collections;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures resolving the current account from the account cookie, which the servlet plugin does for every request
+ * of an authenticated user: the cookie JWT is parsed and verified and the account is looked up through the client
+ * (and its cache).
+ *
+ * @since 1.0.RC8.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountResolverBenchmark {
+
+    private static final String COOKIE_NAME = "account";
+
+    private Client client;
+    private CookieAccountResolver resolver;
+    private Cookie[] cookies;
+    private HttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        client = new InMemoryClient(Fixtures.API_KEY, Caches.newCacheManager().build());
+        resolver = new CookieAccountResolver(new AccountCookieConfig(),
+                                             new DefaultJwtAccountResolver(new DefaultJwtSigningKeyResolver()));
+
+        String jwt = Jwts.builder().setId("6N3xBgRZV4Ln6pDKUanJMh").setIssuedAt(new Date())
+            .setSubject(Fixtures.ACCOUNT_HREF)
+            .signWith(SignatureAlgorithm.HS256, Base64.decodeBase64(Fixtures.API_KEY.getSecret())).compact();
+        cookies = new Cookie[]{new Cookie(COOKIE_NAME, jwt)};
+        response = ServletStubs.response();
+    }
+
+    @Benchmark
+    public Account resolveAccountFromCookie() {
+        HttpServletRequest request =
+            ServletStubs.request("/account/profile", Collections.<String, String>emptyMap(), cookies);
+        request.setAttribute(Client.class.getName(), client);
+        return resolver.get(request, response);
+    }
+
+    /**
+     * A client whose data store is backed by an {@link InMemoryRequestExecutor} instead of the network.
+     */
+    private static class InMemoryClient extends DefaultClient {
+
+        private InMemoryClient(ApiKey apiKey, CacheManager cacheManager) {
+            super(apiKey, Fixtures.BASE_URL, null, cacheManager, AuthenticationScheme.SAUTHC1, 0);
+        }
+
+        @Override
+        protected DataStore createDataStore(RequestExecutor requestExecutor, String baseUrl, ApiKey apiKey,
+                                            CacheManager cacheManager) {
+            return super.createDataStore(new InMemoryRequestExecutor(), baseUrl, apiKey, cacheManager);
+        }
+    }
+
+    private static class AccountCookieConfig implements CookieConfig {
+
+        @Override
+        public String getName() {
+            return COOKIE_NAME;
+        }
+
+        @Override
+        public String getComment() {
+            return null;
+        }
+
+        @Override
+        public String getDomain() {
+            return null;
+        }
+
+        @Override
+        public int getMaxAge() {
+            return 86400;
+        }
+
+        @Override
+        public String getPath() {
+            return null;
+        }
+
+        @Override
+        public boolean isSecure() {
+            return false;
+        }
+
+        @Override
+        public boolean isHttpOnly() {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks;
+
+import com.stormpath.sdk.impl.cache.DefaultCache;
+import com.stormpath.sdk.impl.util.SoftHashMap;
+import com.stormpath.sdk.lang.Duration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures {@link DefaultCache} reads and writes from several threads, backed either by the default
+ * {@link SoftHashMap} or by a plain {@link ConcurrentHashMap} as a baseline.
+ *
+ * @since 1.0.RC8.1
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class CacheBenchmark {
+
+    private static final int SIZE = 1000;
+
+    @Param({"soft", "concurrent"})
+    public String backingMap;
+
+    private DefaultCache<String, Map<String, ?>> cache;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        Map<String, DefaultCache.Entry<Map<String, ?>>> map;
+        if ("soft".equals(backingMap)) {
+            map = new SoftHashMap<String, DefaultCache.Entry<Map<String, ?>>>();
+        } else {
+            map = new ConcurrentHashMap<String, DefaultCache.Entry<Map<String, ?>>>();
+        }
+        Duration oneHour = new Duration(1, TimeUnit.HOURS);
+        cache = new DefaultCache<String, Map<String, ?>>("benchmark", map, oneHour, oneHour);
+
+        keys = new String[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            keys[i] = Fixtures.ACCOUNT_HREF + i;
+            cache.put(keys[i], Fixtures.account(keys[i]));
+        }
+    }
+
+    @Benchmark
+    public Map<String, ?> get(Cursor cursor) {
+        return cache.get(keys[cursor.next()]);
+    }
+
+    @Benchmark
+    public Map<String, ?> put(Cursor cursor) {
+        String key = keys[cursor.next()];
+        return cache.put(key, Fixtures.account(key));
+    }
+
+    /**
+     * Walks the keys with a per-thread stride so that threads do not all contend for the same entry.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private static final AtomicInteger THREADS = new AtomicInteger();
+
+        private final int stride = 2 * THREADS.incrementAndGet() + 1;
+        private int index;
+
+        int next() {
+            index = (index + stride) % SIZE;
+            return index;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks;
+
+import com.stormpath.sdk.account.Account;
+import com.stormpath.sdk.account.AccountList;
+import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.cache.Caches;
+import com.stormpath.sdk.impl.ds.DefaultDataStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DefaultDataStore} reads and writes end to end (filters, caching, marshalling and resource
+ * instantiation) against an {@link InMemoryRequestExecutor}.  Run with {@code -prof gc} to see the bytes allocated
+ * per operation, e.g. per {@code POST}.
+ *
+ * @since 1.0.RC8.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DataStoreBenchmark {
+
+    /**
+     * Whether the data store caches resources: {@code true} measures cache hits, {@code false} measures a full
+     * request, response parse and resource instantiation for every read.
+     */
+    @Param({"true", "false"})
+    public boolean cached;
+
+    private DefaultDataStore dataStore;
+
+    @Setup
+    public void setUp() {
+        CacheManager cacheManager = cached ? Caches.newCacheManager().build() : Caches.newDisabledCacheManager();
+        dataStore = new DefaultDataStore(new InMemoryRequestExecutor(), Fixtures.BASE_URL, Fixtures.API_KEY,
+                                         cacheManager);
+        //populate the cache (if any) before measuring:
+        dataStore.getResource(Fixtures.ACCOUNT_HREF, Account.class).getEmail();
+        dataStore.getResource(Fixtures.ACCOUNTS_HREF, AccountList.class).getSize();
+    }
+
+    @Benchmark
+    public String getAccount() {
+        return dataStore.getResource(Fixtures.ACCOUNT_HREF, Account.class).getEmail();
+    }
+
+    @Benchmark
+    public int getAccountCollection() {
+        return dataStore.getResource(Fixtures.ACCOUNTS_HREF, AccountList.class).getSize();
+    }
+
+    @Benchmark
+    public Account createAccount() {
+        Account account = dataStore.instantiate(Account.class)
+            .setUsername("jlpicard")
+            .setEmail("capt@enterprise.com")
+            .setGivenName("Jean-Luc")
+            .setSurname("Picard")
+            .setPassword("Changeme1!");
+        return dataStore.create(Fixtures.ACCOUNTS_HREF, account);
+    }
+
+    @Benchmark
+    public void saveAccount() {
+        Account account = dataStore.getResource(Fixtures.ACCOUNT_HREF, Account.class);
+        account.setGivenName("Jean-Luc");
+        account.save();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks;
+
+import com.stormpath.sdk.servlet.filter.BypassPathMatcher;
+import com.stormpath.sdk.servlet.filter.ProxiedFilterChain;
+import com.stormpath.sdk.servlet.http.impl.DefaultUserAgent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-request overhead the servlet plugin adds before the application sees a request: proxying the
+ * configured filter chain, deciding whether a request may bypass Stormpath processing and content negotiation.  Run
+ * with {@code -prof gc} to compare allocations per request.
+ *
+ * @since 1.0.RC8.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FilterChainBenchmark {
+
+    private static final int CHAIN_LENGTH = 5;
+
+    private List<Filter> filterList;
+    private Filter[] filterArray;
+    private FilterChain origChain;
+    private BypassPathMatcher bypassPathMatcher;
+    private HttpServletRequest request;
+    private HttpServletRequest staticRequest;
+    private HttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        filterList = new ArrayList<Filter>(CHAIN_LENGTH);
+        for (int i = 0; i < CHAIN_LENGTH; i++) {
+            filterList.add(new PassThroughFilter());
+        }
+        filterArray = ProxiedFilterChain.toArray(filterList);
+        origChain = new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+            }
+        };
+
+        bypassPathMatcher = new BypassPathMatcher(Arrays.asList("/static", "/health"),
+                                                  Arrays.asList("css", "js", "png", "ico"));
+
+        Map<String, String> headers = new HashMap<String, String>();
+        headers.put("User-Agent", "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_11_1) AppleWebKit/601.2.7 (KHTML, like Gecko)");
+        headers.put("Accept", "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8");
+        request = ServletStubs.request("/account/profile", headers, null);
+        staticRequest = ServletStubs.request("/static/js/app.js", headers, null);
+        response = ServletStubs.response();
+    }
+
+    @Benchmark
+    public void proxiedChainFromList() throws IOException, ServletException {
+        new ProxiedFilterChain(origChain, filterList).doFilter(request, response);
+    }
+
+    @Benchmark
+    public void proxiedChainFromSharedArray() throws IOException, ServletException {
+        new ProxiedFilterChain(origChain, filterArray).doFilter(request, response);
+    }
+
+    @Benchmark
+    public void bypassMatching(Blackhole bh) {
+        bh.consume(bypassPathMatcher.matches(request));
+        bh.consume(bypassPathMatcher.matches(staticRequest));
+    }
+
+    @Benchmark
+    public boolean htmlPreferred() {
+        return new DefaultUserAgent(request).isHtmlPreferred();
+    }
+
+    private static class PassThroughFilter implements Filter {
+
+        @Override
+        public void init(FilterConfig filterConfig) {
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+            chain.doFilter(request, response);
+        }
+
+        @Override
+        public void destroy() {
+        }
+    }
+}
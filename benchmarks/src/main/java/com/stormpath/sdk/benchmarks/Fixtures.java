@@ -0,0 +1,157 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks;
+
+import com.stormpath.sdk.api.ApiKey;
+import com.stormpath.sdk.impl.api.ClientApiKey;
+import com.stormpath.sdk.impl.ds.JacksonMapMarshaller;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Canned REST API representations shared by all benchmarks.  They are modelled on real API responses so that parsing,
+ * caching and resource instantiation costs are representative.
+ *
+ * @since 1.0.RC8.1
+ */
+public final class Fixtures {
+
+    public static final String BASE_URL = "https://api.stormpath.com/v1";
+
+    public static final String TENANT_HREF = BASE_URL + "/tenants/3Rf1Dx9wlN1ch7ahQSyh7Q";
+    public static final String APPLICATION_HREF = BASE_URL + "/applications/6TkUn2x0MgvoNKmq2dFGsE";
+    public static final String DIRECTORY_HREF = BASE_URL + "/directories/5jQWpgDMtY6T4v4m0RCEXq";
+    public static final String ACCOUNT_HREF = BASE_URL + "/accounts/1bcPWh0dF4dbNTqAx2mTzP";
+    public static final String ACCOUNTS_HREF = DIRECTORY_HREF + "/accounts";
+
+    //Stormpath API Key secrets are base-64 encoded random bytes, which the servlet JWT signing key resolver relies on:
+    public static final ApiKey API_KEY =
+        new ClientApiKey("2EV70AHRTYF0JOA7OEFO3SM29", "goPUHQMkS4dlKwl5wtbNd91I+UrRehCsEDSzwJk3cFk");
+
+    private static final JacksonMapMarshaller MARSHALLER = new JacksonMapMarshaller();
+
+    private Fixtures() {
+    }
+
+    private static Map<String, Object> link(String href) {
+        Map<String, Object> link = new LinkedHashMap<String, Object>(1);
+        link.put("href", href);
+        return link;
+    }
+
+    public static Map<String, Object> account(String href) {
+        Map<String, Object> m = new LinkedHashMap<String, Object>();
+        m.put("href", href);
+        m.put("username", "jlpicard");
+        m.put("email", "capt@enterprise.com");
+        m.put("givenName", "Jean-Luc");
+        m.put("middleName", null);
+        m.put("surname", "Picard");
+        m.put("fullName", "Jean-Luc Picard");
+        m.put("status", "ENABLED");
+        m.put("createdAt", "2015-11-04T21:04:31.442Z");
+        m.put("modifiedAt", "2015-12-01T17:13:02.870Z");
+        m.put("emailVerificationToken", null);
+        m.put("customData", link(href + "/customData"));
+        m.put("providerData", link(href + "/providerData"));
+        m.put("directory", link(DIRECTORY_HREF));
+        m.put("tenant", link(TENANT_HREF));
+        m.put("groups", link(href + "/groups"));
+        m.put("applications", link(href + "/applications"));
+        m.put("groupMemberships", link(href + "/groupMemberships"));
+        m.put("apiKeys", link(href + "/apiKeys"));
+        m.put("accessTokens", link(href + "/accessTokens"));
+        m.put("refreshTokens", link(href + "/refreshTokens"));
+        return m;
+    }
+
+    public static Map<String, Object> accounts(int size) {
+        List<Object> items = new ArrayList<Object>(size);
+        for (int i = 0; i < size; i++) {
+            items.add(account(BASE_URL + "/accounts/account" + i));
+        }
+        Map<String, Object> m = new LinkedHashMap<String, Object>();
+        m.put("href", ACCOUNTS_HREF);
+        m.put("offset", 0);
+        m.put("limit", 25);
+        m.put("size", size);
+        m.put("items", items);
+        return m;
+    }
+
+    public static Map<String, Object> tenant() {
+        Map<String, Object> m = new LinkedHashMap<String, Object>();
+        m.put("href", TENANT_HREF);
+        m.put("name", "Benchmark Tenant");
+        m.put("key", "benchmark-tenant");
+        m.put("createdAt", "2015-01-14T19:37:08.124Z");
+        m.put("modifiedAt", "2015-01-14T19:37:08.124Z");
+        m.put("customData", link(TENANT_HREF + "/customData"));
+        m.put("applications", link(TENANT_HREF + "/applications"));
+        m.put("directories", link(TENANT_HREF + "/directories"));
+        m.put("accounts", link(TENANT_HREF + "/accounts"));
+        m.put("groups", link(TENANT_HREF + "/groups"));
+        return m;
+    }
+
+    public static Map<String, Object> application() {
+        Map<String, Object> m = new LinkedHashMap<String, Object>();
+        m.put("href", APPLICATION_HREF);
+        m.put("name", "Benchmark Application");
+        m.put("description", null);
+        m.put("status", "ENABLED");
+        m.put("createdAt", "2015-01-14T19:37:08.124Z");
+        m.put("modifiedAt", "2015-01-14T19:37:08.124Z");
+        m.put("tenant", link(TENANT_HREF));
+        m.put("defaultAccountStoreMapping", link(BASE_URL + "/accountStoreMappings/1"));
+        m.put("defaultGroupStoreMapping", link(BASE_URL + "/accountStoreMappings/1"));
+        m.put("customData", link(APPLICATION_HREF + "/customData"));
+        m.put("accounts", link(APPLICATION_HREF + "/accounts"));
+        m.put("groups", link(APPLICATION_HREF + "/groups"));
+        m.put("accountStoreMappings", link(APPLICATION_HREF + "/accountStoreMappings"));
+        m.put("loginAttempts", link(APPLICATION_HREF + "/loginAttempts"));
+        m.put("passwordResetTokens", link(APPLICATION_HREF + "/passwordResetTokens"));
+        m.put("apiKeys", link(APPLICATION_HREF + "/apiKeys"));
+        return m;
+    }
+
+    public static Map<String, Object> directory() {
+        Map<String, Object> m = new LinkedHashMap<String, Object>();
+        m.put("href", DIRECTORY_HREF);
+        m.put("name", "Benchmark Directory");
+        m.put("description", null);
+        m.put("status", "ENABLED");
+        m.put("createdAt", "2015-01-14T19:37:08.124Z");
+        m.put("modifiedAt", "2015-01-14T19:37:08.124Z");
+        m.put("tenant", link(TENANT_HREF));
+        m.put("provider", link(DIRECTORY_HREF + "/provider"));
+        m.put("customData", link(DIRECTORY_HREF + "/customData"));
+        m.put("accounts", link(ACCOUNTS_HREF));
+        m.put("groups", link(DIRECTORY_HREF + "/groups"));
+        return m;
+    }
+
+    public static String toJson(Map<String, Object> map) {
+        return MARSHALLER.marshal(map);
+    }
+
+    public static byte[] toJsonBytes(Map<String, Object> map) {
+        return MARSHALLER.marshalToBytes(map);
+    }
+}
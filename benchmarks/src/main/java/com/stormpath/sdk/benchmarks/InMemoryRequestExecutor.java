@@ -0,0 +1,158 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks;
+
+import com.stormpath.sdk.http.HttpMethod;
+import com.stormpath.sdk.impl.http.HttpHeaders;
+import com.stormpath.sdk.impl.http.MediaType;
+import com.stormpath.sdk.impl.http.Request;
+import com.stormpath.sdk.impl.http.RequestExecutor;
+import com.stormpath.sdk.impl.http.Response;
+import com.stormpath.sdk.impl.http.RestException;
+import com.stormpath.sdk.impl.http.support.DefaultResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link RequestExecutor} that serves canned representations from memory so that benchmarks measure only the SDK's
+ * own request and response processing, fully offline.
+ * <p/>
+ * {@code GET} requests return the representation registered for the request URL (or {@code 404}), or
+ * {@code 304 Not Modified} if the request's {@code If-None-Match} header matches the representation's {@code ETag}
+ * and {@link #setConditionalRequestsEnabled(boolean) conditional requests} are enabled.  {@code POST} requests consume
+ * the request body and, like the API, update the instance registered for the request URL ({@code 200}) or otherwise
+ * create a new one, returning the {@link #setCreatedRepresentation(Map) created representation} ({@code 201}).
+ * {@code DELETE} requests return
+ * {@code 204}.
+ *
+ * @since 1.0.RC8.1
+ */
+public class InMemoryRequestExecutor implements RequestExecutor {
+
+    private static final byte[] NOT_FOUND = ("{\"status\":404,\"code\":404,\"message\":\"The requested resource " +
+                                             "does not exist.\",\"developerMessage\":\"The requested resource does " +
+                                             "not exist.\",\"moreInfo\":\"mailto:support@stormpath.com\"}").getBytes();
+
+    private final Map<String, Representation> representations = new ConcurrentHashMap<String, Representation>();
+
+    private volatile Representation created;
+
+    private volatile boolean conditionalRequestsEnabled = true;
+
+    /**
+     * Creates a new executor that serves the default {@link Fixtures}.
+     */
+    public InMemoryRequestExecutor() {
+        put(Fixtures.TENANT_HREF, Fixtures.tenant());
+        put(Fixtures.BASE_URL + "/tenants/current", Fixtures.tenant());
+        put(Fixtures.APPLICATION_HREF, Fixtures.application());
+        put(Fixtures.DIRECTORY_HREF, Fixtures.directory());
+        put(Fixtures.ACCOUNT_HREF, Fixtures.account(Fixtures.ACCOUNT_HREF));
+        put(Fixtures.ACCOUNTS_HREF, Fixtures.accounts(25));
+        setCreatedRepresentation(Fixtures.account(Fixtures.ACCOUNT_HREF));
+    }
+
+    public void put(String href, Map<String, Object> resource) {
+        byte[] json = Fixtures.toJsonBytes(resource);
+        String eTag = "\"" + Integer.toHexString(json.length) + "-" + Integer.toHexString(href.hashCode()) + "\"";
+        representations.put(href, new Representation(json, eTag, resource.containsKey("items")));
+    }
+
+    public void setCreatedRepresentation(Map<String, Object> resource) {
+        this.created = new Representation(Fixtures.toJsonBytes(resource), null, false);
+    }
+
+    public void setConditionalRequestsEnabled(boolean conditionalRequestsEnabled) {
+        this.conditionalRequestsEnabled = conditionalRequestsEnabled;
+    }
+
+    @Override
+    public Response executeRequest(Request request) throws RestException {
+
+        String href = request.getResourceUrl().toString();
+        Representation representation = representations.get(href);
+        HttpMethod method = request.getMethod();
+
+        if (method == HttpMethod.DELETE) {
+            return new DefaultResponse(204, null, null, 0);
+        }
+
+        if (method == HttpMethod.POST) {
+            consume(request.getBody());
+            if (representation == null || representation.collection) {
+                return response(201, this.created);
+            }
+            return response(200, representation);
+        }
+
+        if (representation == null) {
+            return new DefaultResponse(404, MediaType.APPLICATION_JSON, new ByteArrayInputStream(NOT_FOUND),
+                                       NOT_FOUND.length);
+        }
+
+        if (conditionalRequestsEnabled && representation.eTag != null) {
+            List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+            if (ifNoneMatch != null && ifNoneMatch.contains(representation.eTag)) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setETag(representation.eTag);
+                return new DefaultResponse(304, null, null, 0, headers);
+            }
+        }
+
+        return response(200, representation);
+    }
+
+    private static Response response(int status, Representation representation) {
+        HttpHeaders headers = new HttpHeaders();
+        if (representation.eTag != null) {
+            headers.setETag(representation.eTag);
+        }
+        return new DefaultResponse(status, MediaType.APPLICATION_JSON, new ByteArrayInputStream(representation.json),
+                                   representation.json.length, headers);
+    }
+
+    private static void consume(InputStream body) {
+        if (body == null) {
+            return;
+        }
+        try {
+            //discard, like a server would after processing the request (skipping buffered bodies doesn't allocate):
+            while (body.skip(Long.MAX_VALUE) > 0 || body.read() != -1) {
+                //keep going until the end of the stream
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read request body.", e);
+        }
+    }
+
+    private static final class Representation {
+
+        private final byte[] json;
+        private final String eTag;
+        private final boolean collection;
+
+        private Representation(byte[] json, String eTag, boolean collection) {
+            this.json = json;
+            this.eTag = eTag;
+            this.collection = collection;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks;
+
+import com.stormpath.sdk.impl.util.Iso8601Dates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.text.DateFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Iso8601Dates} with the {@link SimpleDateFormat} approach it replaced for the {@code createdAt} and
+ * {@code modifiedAt} timestamps present in nearly every representation.
+ *
+ * @since 1.0.RC8.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Iso8601DatesBenchmark {
+
+    private static final String TIMESTAMP = "2015-10-21T16:29:41.302Z";
+
+    private final Date date = new Date(1445444981302L);
+
+    @Benchmark
+    public Date parse() throws ParseException {
+        return Iso8601Dates.parse(TIMESTAMP);
+    }
+
+    @Benchmark
+    public String format() {
+        return Iso8601Dates.format(date);
+    }
+
+    @Benchmark
+    public Date simpleDateFormatParse() throws ParseException {
+        return newDateFormat().parse(TIMESTAMP);
+    }
+
+    @Benchmark
+    public String simpleDateFormatFormat() {
+        return newDateFormat().format(date);
+    }
+
+    //SimpleDateFormat is not thread-safe, so the previous implementation created one per conversion:
+    private static DateFormat newDateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+        format.setTimeZone(TimeZone.getTimeZone("UTC"));
+        return format;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks;
+
+import com.stormpath.sdk.impl.ds.JacksonMapMarshaller;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures converting API representations between JSON and maps with the {@link JacksonMapMarshaller}.
+ *
+ * @since 1.0.RC8.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapMarshallerBenchmark {
+
+    /**
+     * The representation to convert: a single account or a collection page of 25 accounts.
+     */
+    @Param({"account", "collection"})
+    public String representation;
+
+    private final JacksonMapMarshaller marshaller = new JacksonMapMarshaller();
+
+    private Map<String, Object> map;
+    private String json;
+    private byte[] jsonBytes;
+
+    @Setup
+    public void setUp() {
+        map = "account".equals(representation) ? Fixtures.account(Fixtures.ACCOUNT_HREF) : Fixtures.accounts(25);
+        json = Fixtures.toJson(map);
+        jsonBytes = Fixtures.toJsonBytes(map);
+    }
+
+    @Benchmark
+    public Map unmarshalString() {
+        return marshaller.unmarshal(json);
+    }
+
+    @Benchmark
+    public Map unmarshalStream() {
+        return marshaller.unmarshall(new ByteArrayInputStream(jsonBytes));
+    }
+
+    @Benchmark
+    public String marshal() {
+        return marshaller.marshal(map);
+    }
+
+    @Benchmark
+    public byte[] marshalToBytes() {
+        return marshaller.marshalToBytes(map);
+    }
+}
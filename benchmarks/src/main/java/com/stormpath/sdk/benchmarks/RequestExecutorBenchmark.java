@@ -0,0 +1,148 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks;
+
+import com.stormpath.sdk.client.AuthenticationScheme;
+import com.stormpath.sdk.http.HttpMethod;
+import com.stormpath.sdk.impl.http.HttpHeaders;
+import com.stormpath.sdk.impl.http.MediaType;
+import com.stormpath.sdk.impl.http.RequestExecutor;
+import com.stormpath.sdk.impl.http.Response;
+import com.stormpath.sdk.impl.http.httpclient.HttpClientRequestExecutor;
+import com.stormpath.sdk.impl.http.support.BufferedRequestBody;
+import com.stormpath.sdk.impl.http.support.DefaultRequest;
+import com.stormpath.sdk.impl.http.urlconnection.UrlConnectionRequestExecutor;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the Apache HttpClient and {@code HttpURLConnection} based request executors against a loopback HTTP
+ * server, so that only the client side cost of a request (signing, connection reuse, body handling) is measured.
+ *
+ * @since 1.0.RC8.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class RequestExecutorBenchmark {
+
+    @Param({"httpclient", "urlconnection"})
+    public String executor;
+
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private RequestExecutor requestExecutor;
+    private String accountHref;
+    private byte[] accountJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        accountJson = Fixtures.toJsonBytes(Fixtures.account(Fixtures.ACCOUNT_HREF));
+
+        //without this the server's separately written headers and body interact with delayed ACKs on the client and
+        //every request stalls for tens of milliseconds, hiding the differences between the executors:
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getByName("127.0.0.1"), 0), 64);
+        serverThreads = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverThreads);
+        server.createContext("/", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                drain(exchange.getRequestBody());
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, accountJson.length);
+                OutputStream out = exchange.getResponseBody();
+                out.write(accountJson);
+                out.close();
+            }
+        });
+        server.start();
+
+        accountHref = "http://127.0.0.1:" + server.getAddress().getPort() + "/v1/accounts/1bcPWh0dF4dbNTqAx2mTzP";
+
+        if ("httpclient".equals(executor)) {
+            requestExecutor = new HttpClientRequestExecutor(Fixtures.API_KEY, null, AuthenticationScheme.SAUTHC1, 0);
+        } else {
+            requestExecutor = new UrlConnectionRequestExecutor(Fixtures.API_KEY, null, AuthenticationScheme.SAUTHC1, 0);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+        serverThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public long get() throws IOException {
+        return consume(requestExecutor.executeRequest(new DefaultRequest(HttpMethod.GET, accountHref)));
+    }
+
+    @Benchmark
+    public long post() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        DefaultRequest request = new DefaultRequest(HttpMethod.POST, accountHref, null, headers,
+                                                    new BufferedRequestBody(accountJson), accountJson.length);
+        return consume(requestExecutor.executeRequest(request));
+    }
+
+    private static long consume(Response response) throws IOException {
+        InputStream body = response.getBody();
+        return body != null ? drain(body) : 0;
+    }
+
+    private static long drain(InputStream in) throws IOException {
+        byte[] buf = new byte[4096];
+        long total = 0;
+        try {
+            for (int read = in.read(buf); read != -1; read = in.read(buf)) {
+                total += read;
+            }
+        } finally {
+            in.close();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks;
+
+import com.stormpath.sdk.account.Account;
+import com.stormpath.sdk.account.AccountList;
+import com.stormpath.sdk.cache.Caches;
+import com.stormpath.sdk.impl.ds.DefaultDataStore;
+import com.stormpath.sdk.impl.ds.DefaultResourceFactory;
+import com.stormpath.sdk.impl.ds.InternalDataStore;
+import com.stormpath.sdk.impl.ds.ResourceFactory;
+import com.stormpath.sdk.impl.http.QueryString;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures instantiating resource implementations from their interfaces via the {@link DefaultResourceFactory},
+ * which the data store does for every resource it returns.
+ *
+ * @since 1.0.RC8.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResourceFactoryBenchmark {
+
+    private ResourceFactory factory;
+    private Map<String, Object> account;
+    private Map<String, Object> accounts;
+    private QueryString query;
+
+    @Setup
+    public void setUp() {
+        InternalDataStore dataStore = new DefaultDataStore(new InMemoryRequestExecutor(), Fixtures.BASE_URL,
+                                                           Fixtures.API_KEY, Caches.newDisabledCacheManager());
+        factory = new DefaultResourceFactory(dataStore);
+        account = Fixtures.account(Fixtures.ACCOUNT_HREF);
+        accounts = Fixtures.accounts(25);
+        query = new QueryString();
+        query.put("limit", "25");
+    }
+
+    @Benchmark
+    public Account instantiateEmpty() {
+        return factory.instantiate(Account.class);
+    }
+
+    @Benchmark
+    public Account instantiateWithProperties() {
+        //resources take ownership of (and modify) their property maps, so each instance gets its own, as it would
+        //when unmarshalled from a response:
+        return factory.instantiate(Account.class, new LinkedHashMap<String, Object>(account));
+    }
+
+    @Benchmark
+    public AccountList instantiateCollection() {
+        return factory.instantiate(AccountList.class, new LinkedHashMap<String, Object>(accounts), query);
+    }
+}
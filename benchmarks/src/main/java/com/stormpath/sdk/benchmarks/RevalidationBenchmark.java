@@ -0,0 +1,89 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks;
+
+import com.stormpath.sdk.account.Account;
+import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.impl.ds.DefaultDataStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.stormpath.sdk.cache.Caches.forResource;
+import static com.stormpath.sdk.cache.Caches.newCacheManager;
+
+/**
+ * Measures reading a resource whose cache entry has just expired, with and without conditional revalidation: when
+ * the API confirms the entry is unchanged ({@code 304 Not Modified}) the cached value is renewed instead of the body
+ * being transferred and parsed again.
+ * <p/>
+ * The cache entries live for only one millisecond and each invocation waits for them to expire beforehand (which is
+ * not measured), so every measured read reaches the API.
+ *
+ * @since 1.0.RC8.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RevalidationBenchmark {
+
+    /**
+     * {@code true} if the API answers conditional requests with {@code 304 Not Modified}, {@code false} if it always
+     * returns the full representation.
+     */
+    @Param({"true", "false"})
+    public boolean conditional;
+
+    private DefaultDataStore dataStore;
+
+    @Setup
+    public void setUp() {
+        CacheManager cacheManager = newCacheManager()
+            .withCache(forResource(Account.class).withTimeToLive(1, TimeUnit.MILLISECONDS)
+                           .withRevalidationWindow(1, TimeUnit.DAYS))
+            .build();
+
+        InMemoryRequestExecutor executor = new InMemoryRequestExecutor();
+        executor.setConditionalRequestsEnabled(conditional);
+
+        dataStore = new DefaultDataStore(executor, Fixtures.BASE_URL, Fixtures.API_KEY, cacheManager);
+        dataStore.getResource(Fixtures.ACCOUNT_HREF, Account.class).getEmail();
+    }
+
+    @Setup(Level.Invocation)
+    public void expire() throws InterruptedException {
+        Thread.sleep(2);
+    }
+
+    @Benchmark
+    public String getExpiredAccount() {
+        return dataStore.getResource(Fixtures.ACCOUNT_HREF, Account.class).getEmail();
+    }
+}
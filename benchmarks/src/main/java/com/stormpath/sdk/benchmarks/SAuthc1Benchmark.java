@@ -0,0 +1,87 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks;
+
+import com.stormpath.sdk.http.HttpMethod;
+import com.stormpath.sdk.impl.http.HttpHeaders;
+import com.stormpath.sdk.impl.http.MediaType;
+import com.stormpath.sdk.impl.http.QueryString;
+import com.stormpath.sdk.impl.http.Request;
+import com.stormpath.sdk.impl.http.authc.SAuthc1RequestAuthenticator;
+import com.stormpath.sdk.impl.http.support.BufferedRequestBody;
+import com.stormpath.sdk.impl.http.support.DefaultRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures signing requests with the {@code SAuthc1} algorithm, which every request to the API pays for.
+ *
+ * @since 1.0.RC8.1
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SAuthc1Benchmark {
+
+    private final SAuthc1RequestAuthenticator authenticator = new SAuthc1RequestAuthenticator();
+
+    //a fixed date and nonce keep the work identical across invocations:
+    private final Date date = new Date(1448928000000L);
+    private final String nonce = "a43a9d25-ab06-421e-8605-cc7bc0a9e2fa";
+
+    private QueryString query;
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        query = new QueryString();
+        query.put("expand", "customData,groups(offset:0,limit:25)");
+        query.put("orderBy", "surname asc");
+        query.put("limit", "25");
+        body = Fixtures.toJsonBytes(Fixtures.account(Fixtures.ACCOUNT_HREF));
+    }
+
+    @Benchmark
+    public Request signGet() {
+        Request request = new DefaultRequest(HttpMethod.GET, Fixtures.ACCOUNTS_HREF, query);
+        authenticator.authenticate(request, Fixtures.API_KEY, date, nonce);
+        return request;
+    }
+
+    @Benchmark
+    public Request signPost() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        Request request = new DefaultRequest(HttpMethod.POST, Fixtures.ACCOUNTS_HREF, null, headers,
+                                             new BufferedRequestBody(body), body.length);
+        authenticator.authenticate(request, Fixtures.API_KEY, date, nonce);
+        return request;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.benchmarks;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Minimal in-memory servlet request and response stand-ins, sufficient for the code paths exercised by the servlet
+ * benchmarks without requiring a servlet container.
+ *
+ * @since 1.0.RC8.1
+ */
+public final class ServletStubs {
+
+    private ServletStubs() {
+    }
+
+    /**
+     * Returns a new request stub for the specified context-relative URI.  Attributes are stored, headers and cookies
+     * are returned as specified and every other method returns {@code null} (or the primitive default).
+     *
+     * @param uri     the context-relative request URI
+     * @param headers the request headers
+     * @param cookies the request cookies (may be {@code null})
+     * @return a new request stub
+     */
+    public static HttpServletRequest request(String uri, Map<String, String> headers, Cookie[] cookies) {
+        return (HttpServletRequest) stub(HttpServletRequest.class, new RequestHandler(uri, headers, cookies));
+    }
+
+    /**
+     * Returns a response stub that is never committed and ignores everything written to it.
+     *
+     * @return a response stub
+     */
+    public static HttpServletResponse response() {
+        return (HttpServletResponse) stub(HttpServletResponse.class, new InvocationHandler() {
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) {
+                return defaultValue(method.getReturnType());
+            }
+        });
+    }
+
+    private static Object stub(Class iface, InvocationHandler handler) {
+        return Proxy.newProxyInstance(ServletStubs.class.getClassLoader(), new Class[]{iface}, handler);
+    }
+
+    private static Object defaultValue(Class type) {
+        if (type == boolean.class) {
+            return Boolean.FALSE;
+        }
+        if (type == int.class) {
+            return 0;
+        }
+        if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    private static class RequestHandler implements InvocationHandler {
+
+        private final String uri;
+        private final Map<String, String> headers;
+        private final Cookie[] cookies;
+        private final Map<String, Object> attributes = new HashMap<String, Object>();
+
+        private RequestHandler(String uri, Map<String, String> headers, Cookie[] cookies) {
+            this.uri = uri;
+            this.headers = headers;
+            this.cookies = cookies;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            String name = method.getName();
+            if ("getAttribute".equals(name)) {
+                return attributes.get(args[0]);
+            }
+            if ("setAttribute".equals(name)) {
+                attributes.put((String) args[0], args[1]);
+                return null;
+            }
+            if ("removeAttribute".equals(name)) {
+                attributes.remove(args[0]);
+                return null;
+            }
+            if ("getHeader".equals(name)) {
+                return headers.get(args[0]);
+            }
+            if ("getCookies".equals(name)) {
+                return cookies;
+            }
+            if ("getRequestURI".equals(name) || "getServletPath".equals(name)) {
+                return uri;
+            }
+            if ("getContextPath".equals(name)) {
+                return "";
+            }
+            if ("getMethod".equals(name)) {
+                return "GET";
+            }
+            return defaultValue(method.getReturnType());
+        }
+    }
+}
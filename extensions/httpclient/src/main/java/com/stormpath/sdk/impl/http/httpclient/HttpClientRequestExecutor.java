@@ -19,7 +19,6 @@ import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.client.AuthenticationScheme;
 import com.stormpath.sdk.client.Proxy;
 import com.stormpath.sdk.impl.http.HttpHeaders;
-import com.stormpath.sdk.impl.http.MediaType;
 import com.stormpath.sdk.impl.http.QueryString;
 import com.stormpath.sdk.impl.http.Request;
 import com.stormpath.sdk.impl.http.RequestExecutor;
@@ -87,8 +86,15 @@ public class HttpClientRequestExecutor implements RequestExecutor {
     private static final int DEFAULT_MAX_CONNECTIONS_TOTAL = 20;
     private static final String MAX_CONNECTIONS_TOTAL_PROPERTY_KEY = "com.stormpath.sdk.impl.http.httpclient.HttpClientRequestExecutor.connPoolControl.maxTotal";
 
+    /**
+     * @since 1.0.RC8.1
+     */
+    private static final String STREAMING_RESPONSES_PROPERTY_KEY = "com.stormpath.sdk.impl.http.httpclient.HttpClientRequestExecutor.streamingResponses";
+
     private int numRetries = DEFAULT_MAX_RETRIES;
 
+    private boolean streamingResponses = Boolean.getBoolean(STREAMING_RESPONSES_PROPERTY_KEY);
+
     private final ApiKey apiKey;
 
     private final RequestAuthenticator requestAuthenticator;
@@ -199,6 +205,35 @@ public class HttpClientRequestExecutor implements RequestExecutor {
         this.backoffStrategy = backoffStrategy;
     }
 
+    /**
+     * Returns {@code true} if successful response bodies are handed to the caller as the (decompressed) connection
+     * stream instead of being buffered into memory first, {@code false} otherwise.  Error response bodies are always
+     * buffered.
+     *
+     * @return {@code true} if successful response bodies are streamed, {@code false} otherwise.
+     * @since 1.0.RC8.1
+     */
+    public boolean isStreamingResponses() {
+        return streamingResponses;
+    }
+
+    /**
+     * Sets whether successful response bodies are handed to the caller as the (decompressed) connection stream
+     * instead of being buffered into memory first.  This halves the peak memory needed to read large responses such
+     * as collection pages, but the caller then <em>must</em> close the response body once it has been read: the
+     * underlying connection is only released back to the pool when the stream is closed (or fully consumed).
+     * <p/>
+     * Defaults to the value of the
+     * {@code com.stormpath.sdk.impl.http.httpclient.HttpClientRequestExecutor.streamingResponses} system property, or
+     * {@code false} if not set.
+     *
+     * @param streamingResponses whether successful response bodies are streamed.
+     * @since 1.0.RC8.1
+     */
+    public void setStreamingResponses(boolean streamingResponses) {
+        this.streamingResponses = streamingResponses;
+    }
+
     public void setHttpClient(DefaultHttpClient httpClient) {
         this.httpClient = httpClient;
     }
@@ -256,6 +291,7 @@ public class HttpClientRequestExecutor implements RequestExecutor {
 
 
             HttpResponse httpResponse = null;
+            boolean streamed = false;
             try {
                 if (retryCount > 0) {
                     pauseExponentially(retryCount, exception);
@@ -295,6 +331,9 @@ public class HttpClientRequestExecutor implements RequestExecutor {
                         continue;
                     }
 
+                    //a streamed body still holds the connection - it is released when the caller closes the body:
+                    streamed = response.getBody() != null && isStreamed(httpStatus);
+
                     return response;
                 }
             } catch (Throwable t) {
@@ -308,9 +347,11 @@ public class HttpClientRequestExecutor implements RequestExecutor {
                     throw new RestException("Unable to execute HTTP request: " + t.getMessage(), t);
                 }
             } finally {
-                try {
-                    httpResponse.getEntity().getContent().close();
-                } catch (Throwable ignored) {
+                if (!streamed) {
+                    try {
+                        httpResponse.getEntity().getContent().close();
+                    } catch (Throwable ignored) {
+                    }
                 }
             }
         }
@@ -428,15 +469,23 @@ public class HttpClientRequestExecutor implements RequestExecutor {
         int httpStatus = httpResponse.getStatusLine().getStatusCode();
 
         HttpHeaders headers = getHeaders(httpResponse);
-        MediaType mediaType = headers.getContentType();
 
         HttpEntity entity = getHttpEntity(httpResponse);
+        if (entity instanceof GzipDecompressingEntity) {
+            headers.remove("Content-Encoding");
+        }
 
         InputStream body = entity != null ? entity.getContent() : null;
         long contentLength = entity != null ? entity.getContentLength() : -1;
 
-        //ensure that the content has been fully acquired before closing the http stream
-        if (body != null) {
+        //ensure that the content has been fully acquired before closing the http stream, unless it is streamed to
+        //the caller.  Error bodies are always buffered: they may need to be read more than once.
+        if (body != null && isStreamed(httpStatus) && contentLength == 0) {
+            //nothing to stream (e.g. a 204): release the connection now instead of handing an empty body to a caller
+            //that has no reason to read or close it
+            body.close();
+            body = null;
+        } else if (body != null && !isStreamed(httpStatus)) {
             byte[] bytes = toBytes(entity);
 
             if(bytes != null) {
@@ -446,7 +495,19 @@ public class HttpClientRequestExecutor implements RequestExecutor {
             }
         }
 
-        return new DefaultResponse(httpStatus, mediaType, body, contentLength);
+        return new DefaultResponse(httpStatus, headers.getContentType(), body, contentLength, headers);
+    }
+
+    /**
+     * Returns {@code true} if a response with the specified status should have its body streamed to the caller
+     * instead of buffered.
+     *
+     * @param httpStatus the response's HTTP status
+     * @return {@code true} if the response body should be streamed, {@code false} if it should be buffered.
+     * @since 1.0.RC8.1
+     */
+    protected boolean isStreamed(int httpStatus) {
+        return streamingResponses && httpStatus >= 200 && httpStatus < 300;
     }
 
     private HttpEntity getHttpEntity(HttpResponse response) {
@@ -17,6 +17,7 @@ package com.stormpath.sdk.impl.http.httpclient;
 
 import com.stormpath.sdk.impl.http.MediaType;
 import com.stormpath.sdk.impl.http.Request;
+import com.stormpath.sdk.impl.http.support.BufferedRequestBody;
 import org.apache.http.entity.BasicHttpEntity;
 import org.apache.http.entity.InputStreamEntity;
 
@@ -93,10 +94,16 @@ class RepeatableInputStreamEntity extends BasicHttpEntity {
     /**
      * Resets the underlying InputStream if this isn't the first attempt to
      * write out the request, otherwise simply delegates to
-     * InputStreamRequestEntity to write out the data.
+     * InputStreamRequestEntity to write out the data.  A {@link BufferedRequestBody} is written straight from its
+     * buffer on every attempt.
      */
     @Override
     public void writeTo(OutputStream output) throws IOException {
+        if (content instanceof BufferedRequestBody) {
+            firstAttempt = false;
+            ((BufferedRequestBody) content).writeTo(output);
+            return;
+        }
         if (!firstAttempt && isRepeatable()) content.reset();
         firstAttempt = false;
         inputStreamEntity.writeTo(output);
@@ -25,7 +25,7 @@ import org.apache.http.StatusLine
 import org.testng.annotations.Test
 
 import static org.easymock.EasyMock.*
-import static org.testng.Assert.assertNull
+import static org.testng.Assert.*
 
 class HttpClientRequestExecutorTest {
 
@@ -63,4 +63,113 @@ class HttpClientRequestExecutorTest {
         verify apiKey, httpResponse, statusLine, entity, entityContent
 
     }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testToSdkResponseStreamsSuccessfulBody() {
+
+        def apiKey = createStrictMock(ApiKey)
+        HttpResponse httpResponse = createStrictMock(HttpResponse)
+        StatusLine statusLine = createStrictMock(StatusLine)
+        HttpEntity entity = createStrictMock(HttpEntity)
+        def content = new ByteArrayInputStream('{"href":"foo"}'.bytes)
+
+        def e = new HttpClientRequestExecutor(apiKey, null, AuthenticationScheme.SAUTHC1, 20000) {
+            @Override
+            protected byte[] toBytes(HttpEntity he) throws IOException {
+                throw new IllegalStateException('successful bodies must not be buffered')
+            }
+        }
+        e.streamingResponses = true
+
+        expect(httpResponse.getStatusLine()).andStubReturn(statusLine)
+        expect(statusLine.getStatusCode()).andStubReturn(200)
+        expect(httpResponse.getAllHeaders()).andStubReturn(null)
+        expect(httpResponse.getEntity()).andStubReturn(entity)
+        expect(entity.getContentEncoding()).andStubReturn(null)
+        expect(entity.getContent()).andStubReturn(content)
+        expect(entity.getContentLength()).andStubReturn(14)
+
+        replay apiKey, httpResponse, statusLine, entity
+
+        def sdkResponse = e.toSdkResponse(httpResponse)
+
+        assertSame sdkResponse.body, content
+        assertEquals sdkResponse.headers.getContentLength(), 14
+
+        verify apiKey, httpResponse, statusLine, entity
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testToSdkResponseBuffersErrorBodyWhenStreaming() {
+
+        def apiKey = createStrictMock(ApiKey)
+        HttpResponse httpResponse = createStrictMock(HttpResponse)
+        StatusLine statusLine = createStrictMock(StatusLine)
+        HttpEntity entity = createStrictMock(HttpEntity)
+        def content = new ByteArrayInputStream('{"status":404}'.bytes)
+
+        def e = new HttpClientRequestExecutor(apiKey, null, AuthenticationScheme.SAUTHC1, 20000)
+        e.streamingResponses = true
+
+        expect(httpResponse.getStatusLine()).andStubReturn(statusLine)
+        expect(statusLine.getStatusCode()).andStubReturn(404)
+        expect(httpResponse.getAllHeaders()).andStubReturn(null)
+        expect(httpResponse.getEntity()).andStubReturn(entity)
+        expect(entity.getContentEncoding()).andStubReturn(null)
+        expect(entity.getContent()).andStubReturn(content)
+        expect(entity.getContentLength()).andStubReturn(14)
+
+        replay apiKey, httpResponse, statusLine, entity
+
+        def sdkResponse = e.toSdkResponse(httpResponse)
+
+        assertNotSame sdkResponse.body, content
+        assertTrue sdkResponse.body instanceof ByteArrayInputStream
+        assertEquals sdkResponse.body.text, '{"status":404}'
+
+        verify apiKey, httpResponse, statusLine, entity
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testToSdkResponseReleasesEmptyStreamedBody() {
+
+        [204, 200].each { int status ->
+
+            def apiKey = createStrictMock(ApiKey)
+            HttpResponse httpResponse = createStrictMock(HttpResponse)
+            StatusLine statusLine = createStrictMock(StatusLine)
+            HttpEntity entity = createStrictMock(HttpEntity)
+            InputStream content = createStrictMock(InputStream)
+
+            def e = new HttpClientRequestExecutor(apiKey, null, AuthenticationScheme.SAUTHC1, 20000)
+            e.streamingResponses = true
+
+            expect(httpResponse.getStatusLine()).andStubReturn(statusLine)
+            expect(statusLine.getStatusCode()).andStubReturn(status)
+            expect(httpResponse.getAllHeaders()).andStubReturn(null)
+            expect(httpResponse.getEntity()).andStubReturn(entity)
+            expect(entity.getContentEncoding()).andStubReturn(null)
+            expect(entity.getContent()).andStubReturn(content)
+            expect(entity.getContentLength()).andStubReturn(0)
+            content.close() //releases the connection
+
+            replay apiKey, httpResponse, statusLine, entity, content
+
+            def sdkResponse = e.toSdkResponse(httpResponse)
+
+            assertNull sdkResponse.body
+            assertFalse sdkResponse.hasBody()
+
+            verify apiKey, httpResponse, statusLine, entity, content
+        }
+    }
 }
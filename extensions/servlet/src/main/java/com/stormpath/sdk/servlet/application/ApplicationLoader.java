@@ -16,9 +16,13 @@
 package com.stormpath.sdk.servlet.application;
 
 import com.stormpath.sdk.application.Application;
+import com.stormpath.sdk.cache.CacheWarmUpRequestBuilder;
+import com.stormpath.sdk.client.Client;
+import com.stormpath.sdk.impl.ds.cache.ApplicationBootstrap;
 import com.stormpath.sdk.lang.Classes;
 import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.lang.UnknownClassException;
+import com.stormpath.sdk.servlet.config.Config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,6 +63,13 @@ import javax.servlet.ServletContext;
  * <p>If you do not specify this context-param, {@link com.stormpath.sdk.servlet.application.DefaultApplicationResolver}
  * is assumed by default.</p>
  *
+ * <h4>Eager Bootstrap</h4>
+ *
+ * <p>If the {@code stormpath.bootstrap.eager} configuration property is {@code true}, the data needed to serve the
+ * first requests - the current tenant, the application's account store mappings, the mapped account stores and the
+ * application and directory policies - is loaded into the Client's cache, in parallel, before the application is
+ * published.  A per-step timing report is logged once the cache is warm.</p>
+ *
  * @see com.stormpath.sdk.servlet.application.ApplicationResolver
  * @see com.stormpath.sdk.servlet.application.DefaultApplicationResolver
  * @since 1.0.RC3
@@ -74,6 +85,13 @@ public class ApplicationLoader {
 
     public static final String APP_ATTRIBUTE_NAME = Application.class.getName();
 
+    /**
+     * Configuration property name used to enable the eager bootstrap: {@code stormpath.bootstrap.eager}
+     *
+     * @since 1.0.RC8.1
+     */
+    public static final String EAGER_BOOTSTRAP = "stormpath.bootstrap.eager";
+
     private static final Logger log = LoggerFactory.getLogger(ApplicationLoader.class);
 
     /**
@@ -179,9 +197,52 @@ public class ApplicationLoader {
 
         ApplicationResolver resolver = (ApplicationResolver) Classes.newInstance(clazz);
 
+        Config config = (Config) sc.getAttribute(Config.class.getName());
+        if (config != null && Boolean.parseBoolean(config.get(EAGER_BOOTSTRAP))) {
+            return bootstrapApplication(sc, config, resolver);
+        }
+
         return resolver.getApplication(sc);
     }
 
+    /**
+     * Resolves the application via the specified {@code resolver} and loads the data needed to serve the first
+     * requests into the Client's cache, loading as much of it in parallel as possible, and logs a per-step timing
+     * report.
+     *
+     * @param sc       current servlet context
+     * @param config   the Stormpath configuration
+     * @param resolver the resolver used to look up the application
+     * @return the resolved application
+     * @since 1.0.RC8.1
+     */
+    protected Application bootstrapApplication(final ServletContext sc, Config config,
+                                               final ApplicationResolver resolver) {
+
+        Client client = (Client) sc.getAttribute(Client.class.getName());
+        if (client == null) {
+            return resolver.getApplication(sc);
+        }
+
+        String href = config.get(DefaultApplicationResolver.STORMPATH_APPLICATION_HREF);
+
+        ApplicationBootstrap bootstrap = new ApplicationBootstrap(client, newBootstrapRequest());
+
+        return bootstrap.bootstrap(href, new ApplicationBootstrap.ApplicationLookup() {
+            @Override
+            public Application getApplication() {
+                return resolver.getApplication(sc);
+            }
+        });
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    protected CacheWarmUpRequestBuilder newBootstrapRequest() {
+        return ApplicationBootstrap.newBootstrapRequest();
+    }
+
     /**
      * Unbinds the {@link Application} instance for the given servlet context.
      *
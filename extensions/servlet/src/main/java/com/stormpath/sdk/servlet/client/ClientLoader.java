@@ -23,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.servlet.ServletContext;
+import java.io.Closeable;
 
 /**
  * A {@code ClientLoader} is responsible for loading a web application's Stormpath {@link Client} instance and making it
@@ -231,6 +232,15 @@ public class ClientLoader {
      */
     public void destroyClient(ServletContext servletContext) {
         servletContext.log("Cleaning up Stormpath client.");
+        //@since 1.0.RC8.1: release the client's threads (e.g. its request executor's pool):
+        Object client = servletContext.getAttribute(CLIENT_ATTRIBUTE_KEY);
+        if (client instanceof Closeable) {
+            try {
+                ((Closeable) client).close();
+            } catch (Exception e) {
+                servletContext.log("Unable to close the Stormpath client: " + e.getMessage(), e);
+            }
+        }
         servletContext.removeAttribute(CLIENT_ATTRIBUTE_KEY);
     }
 }
@@ -31,9 +31,7 @@ import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.util.Arrays;
 import java.util.LinkedHashMap;
-import java.util.List;
 import java.util.Map;
 
 /**
@@ -87,7 +85,7 @@ public class DefaultFilterChainResolverFactory implements Factory<FilterChainRes
                                       .setName(Strings.uncapitalize(AccountResolverFilter.class.getSimpleName()))
                                       .setFilterClass(AccountResolverFilter.class).build();
 
-        final List<Filter> immediateExecutionFilters = Arrays.asList(accountFilter);
+        final Filter[] immediateExecutionFilters = { accountFilter };
 
         //Too much copy-and-paste. YUCK.
         //TODO: refactor this method to be more generic
@@ -25,6 +25,7 @@ import com.stormpath.sdk.servlet.util.ServletContextInitializable;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
+import java.io.Closeable;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
@@ -177,6 +178,26 @@ public class DefaultConfig implements Config {
         return _ACCOUNT_JWT_TTL;
     }
 
+    /**
+     * Closes the singleton instances created by this config that hold resources, such as background threads, that
+     * must be released when the web application is stopped.  Instances are closed if they implement
+     * {@link Closeable}.
+     *
+     * @since 1.0.RC8.1
+     */
+    public void destroy() {
+        for (Object instance : SINGLETONS.values()) {
+            if (instance instanceof Closeable) {
+                try {
+                    ((Closeable) instance).close();
+                } catch (Exception e) {
+                    servletContext.log("Unable to close " + instance + ": " + e.getMessage(), e);
+                }
+            }
+        }
+        SINGLETONS.clear();
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     public <T> T getInstance(String classPropertyName) throws ServletException {
@@ -55,7 +55,8 @@ public class DefaultCsrfTokenManager implements CsrfTokenManager {
      * @param nonceCache a cache to place used CSRF tokens.  This is required to ensure the consumed token is never used
      *                   again, which is mandatory for CSRF protection.  This cache <em>MUST</em> have a TTL value equal
      *                   to or greater than {@code ttlMillis}. Cache key: a unique token ID, Cache value: the used
-     *                   token
+     *                   token.  An {@link ExpiringNonceCache} created with the same {@code ttlMillis} is a bounded,
+     *                   dedicated choice.
      * @param signingKey a (hopefully secure-random) cryptographic signing key used to digitally sign the CSRF token to
      *                   ensure it cannot be tampered with by HTTP clients.
      * @param ttlMillis  the length of time in milliseconds for which a generated CSRF token is valid.  When a token is
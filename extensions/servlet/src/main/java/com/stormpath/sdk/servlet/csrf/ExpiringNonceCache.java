@@ -0,0 +1,214 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.csrf;
+
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.lang.Assert;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded, in-memory {@link Cache} of used nonces (for example, consumed CSRF token IDs) whose entries expire
+ * after a fixed time-to-live.
+ * <p/>
+ * Entries are kept in a small ring of time buckets, each covering a fraction of the TTL.  Whenever the current
+ * bucket's time span has elapsed, the ring advances and the oldest bucket is discarded as a whole, so expiry costs
+ * no per-entry bookkeeping and an entry is retained for at least the TTL (and at most one bucket span longer).
+ * Lookups, inserts and removals are constant time.
+ * <p/>
+ * The cache never holds more than {@code maxEntries} entries: if it is full, the oldest entry is evicted before a
+ * new one is added, which is logged as a warning because an evicted nonce could be reused until it would have
+ * expired.  Size {@code maxEntries} for the expected number of nonces consumed within one TTL.
+ * <p/>
+ * Unlike a region of the SDK's {@code CacheManager}, this cache does not compete with cached resources for memory.
+ * It is local to the JVM though: applications running on multiple nodes that must reject nonces used on another
+ * node should use a shared cache region instead.
+ *
+ * @since 1.0.RC8.1
+ */
+public class ExpiringNonceCache implements Cache<String, String> {
+
+    private static final Logger log = LoggerFactory.getLogger(ExpiringNonceCache.class);
+
+    private static final int BUCKET_COUNT = 4;
+
+    private final long ttlMillis;
+    private final long bucketMillis;
+    private final int maxEntries;
+
+    private final LinkedHashMap<String, String>[] buckets;
+
+    //guarded by 'this':
+    private int current;
+    private long currentBucketStart;
+    private int size;
+    private boolean evicting;
+
+    /**
+     * Creates a new instance that retains each entry for at least {@code ttlMillis} milliseconds and holds at most
+     * {@code maxEntries} entries.
+     *
+     * @param ttlMillis  the minimum length of time in milliseconds for which entries are retained.  For CSRF
+     *                   protection this must be equal to or greater than the CSRF token TTL.
+     * @param maxEntries the maximum number of entries retained at any time.
+     */
+    @SuppressWarnings("unchecked")
+    public ExpiringNonceCache(long ttlMillis, int maxEntries) {
+        Assert.isTrue(ttlMillis > 0, "ttlMillis must be greater than zero.");
+        Assert.isTrue(maxEntries > 0, "maxEntries must be greater than zero.");
+        this.ttlMillis = ttlMillis;
+        this.maxEntries = maxEntries;
+        //an entry's bucket is discarded once the ring has advanced BUCKET_COUNT times, i.e. at least
+        //(BUCKET_COUNT - 1) bucket spans (the TTL) after the entry was added:
+        long span = ttlMillis / (BUCKET_COUNT - 1);
+        this.bucketMillis = span * (BUCKET_COUNT - 1) < ttlMillis ? span + 1 : span;
+        this.buckets = new LinkedHashMap[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            this.buckets[i] = new LinkedHashMap<String, String>();
+        }
+        this.currentBucketStart = currentTimeMillis();
+    }
+
+    public long getTtlMillis() {
+        return ttlMillis;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Returns the number of entries currently retained, including expired entries whose bucket has not been
+     * discarded yet.
+     *
+     * @return the number of entries currently retained.
+     */
+    public synchronized int size() {
+        advance();
+        return size;
+    }
+
+    @Override
+    public synchronized String get(String key) {
+        advance();
+        for (Map<String, String> bucket : buckets) {
+            String value = bucket.get(key);
+            if (value != null) {
+                return value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public synchronized String put(String key, String value) {
+        Assert.notNull(key, "key cannot be null.");
+        Assert.notNull(value, "value cannot be null.");
+        advance();
+
+        String previous = remove0(key);
+
+        if (size >= maxEntries) {
+            evictOldest();
+        }
+
+        buckets[current].put(key, value);
+        size++;
+
+        return previous;
+    }
+
+    @Override
+    public synchronized String remove(String key) {
+        advance();
+        return remove0(key);
+    }
+
+    private String remove0(String key) {
+        for (Map<String, String> bucket : buckets) {
+            String value = bucket.remove(key);
+            if (value != null) {
+                size--;
+                return value;
+            }
+        }
+        return null;
+    }
+
+    private void evictOldest() {
+        for (int i = 1; i <= BUCKET_COUNT; i++) {
+            //the bucket after the current one is the oldest:
+            Map<String, String> bucket = buckets[(current + i) % BUCKET_COUNT];
+            Iterator<String> keys = bucket.keySet().iterator();
+            if (keys.hasNext()) {
+                keys.next();
+                keys.remove();
+                size--;
+                if (!evicting) {
+                    //only warn once each time the cache fills up to avoid flooding the log:
+                    evicting = true;
+                    log.warn("Nonce cache is full ({} entries); evicting the oldest unexpired nonces.  Consider " +
+                             "increasing the maximum number of entries.", maxEntries);
+                }
+                return;
+            }
+        }
+    }
+
+    private void advance() {
+        long now = currentTimeMillis();
+        long elapsed = now - currentBucketStart;
+        if (elapsed < bucketMillis) {
+            return;
+        }
+
+        long steps = elapsed / bucketMillis;
+        int clear = (int) Math.min(steps, BUCKET_COUNT);
+        for (int i = 0; i < clear; i++) {
+            current = (current + 1) % BUCKET_COUNT;
+            size -= buckets[current].size();
+            buckets[current].clear();
+        }
+        currentBucketStart += steps * bucketMillis;
+
+        if (size < maxEntries) {
+            evicting = false;
+        }
+    }
+
+    /**
+     * Returns the current time in milliseconds.  Overridable for testing.
+     *
+     * @return the current time in milliseconds.
+     */
+    protected long currentTimeMillis() {
+        return System.currentTimeMillis();
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder("{\n")
+            .append("  \"ttlMillis\": ").append(ttlMillis).append(",\n")
+            .append("  \"maxEntries\": ").append(maxEntries).append(",\n")
+            .append("  \"size\": ").append(size()).append('\n')
+            .append("}")
+            .toString();
+    }
+}
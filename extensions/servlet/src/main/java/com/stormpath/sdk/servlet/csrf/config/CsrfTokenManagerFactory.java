@@ -18,11 +18,12 @@ package com.stormpath.sdk.servlet.csrf.config;
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.cache.CacheManager;
 import com.stormpath.sdk.client.Client;
-import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.servlet.client.ClientResolver;
 import com.stormpath.sdk.servlet.config.ConfigSingletonFactory;
 import com.stormpath.sdk.servlet.csrf.CsrfTokenManager;
 import com.stormpath.sdk.servlet.csrf.DefaultCsrfTokenManager;
+import com.stormpath.sdk.servlet.csrf.ExpiringNonceCache;
 
 import javax.servlet.ServletContext;
 
@@ -35,6 +36,11 @@ public class CsrfTokenManagerFactory extends ConfigSingletonFactory<CsrfTokenMan
     public static final String CSRF_TOKEN_TTL = "stormpath.web.csrf.token.ttl";
     public static final String NONCE_CACHE_NAME = "stormpath.web.nonce.cache.name";
 
+    /**
+     * @since 1.0.RC8.1
+     */
+    public static final String CSRF_TOKEN_NONCES_MAX = "stormpath.web.csrf.token.nonces.max";
+
     @Override
     protected CsrfTokenManager createInstance(ServletContext servletContext) throws Exception {
 
@@ -46,12 +52,25 @@ public class CsrfTokenManagerFactory extends ConfigSingletonFactory<CsrfTokenMan
             throw new IllegalArgumentException(CSRF_TOKEN_TTL + " config value must be a long.", e);
         }
 
-        String usedNonceCacheName = getConfig().get(NONCE_CACHE_NAME);
-        Assert.hasText(usedNonceCacheName, NONCE_CACHE_NAME + " config value is required.");
-
         Client client = ClientResolver.INSTANCE.getClient(servletContext);
-        CacheManager cacheManager = client.getCacheManager();
-        Cache<String,String> usedNonceCache = cacheManager.getCache(usedNonceCacheName);
+
+        Cache<String,String> usedNonceCache;
+
+        String usedNonceCacheName = getConfig().get(NONCE_CACHE_NAME);
+        if (Strings.hasText(usedNonceCacheName)) {
+            //explicitly configured region, for example to share used tokens across nodes:
+            CacheManager cacheManager = client.getCacheManager();
+            usedNonceCache = cacheManager.getCache(usedNonceCacheName);
+        } else {
+            String maxString = getConfig().get(CSRF_TOKEN_NONCES_MAX);
+            int maxEntries;
+            try {
+                maxEntries = Integer.parseInt(maxString);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(CSRF_TOKEN_NONCES_MAX + " config value must be an integer.", e);
+            }
+            usedNonceCache = new ExpiringNonceCache(ttlMillis, maxEntries);
+        }
 
         String signingKey = client.getApiKey().getSecret();
 
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.event;
+
+import java.util.List;
+
+/**
+ * A {@link RequestEventListener} may additionally implement this interface to receive events in batches when it is
+ * used with an {@link com.stormpath.sdk.servlet.event.impl.AsyncRequestEventPublisher AsyncRequestEventPublisher}.
+ * This allows listeners that perform I/O, such as writing to an audit log or sending events to an analytics service,
+ * to do so once per batch instead of once per event.
+ *
+ * @since 1.0.RC8.1
+ */
+public interface BatchRequestEventListener {
+
+    /**
+     * Called with one or more events, in the order in which they were published.  Events are delivered after the
+     * requests that published them may have completed, so implementations should not rely on the events' request
+     * or response objects.
+     *
+     * @param events the events to process, never empty.
+     */
+    void onEvents(List<RequestEvent> events);
+}
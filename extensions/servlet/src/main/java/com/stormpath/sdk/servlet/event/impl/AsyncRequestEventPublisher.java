@@ -0,0 +1,284 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.event.impl;
+
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.servlet.event.BatchRequestEventListener;
+import com.stormpath.sdk.servlet.event.RequestEvent;
+import com.stormpath.sdk.servlet.event.RequestEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link Publisher} that delivers request events to its listener on background worker threads instead of the
+ * request thread, so listeners that perform I/O (audit logging, analytics, etc) do not add to request latency.
+ * <p/>
+ * Published events are placed in a bounded queue that is drained by a configurable number of daemon worker threads.
+ * Each worker takes up to {@code maxBatchSize} queued events at a time: if the listener implements
+ * {@link BatchRequestEventListener}, the whole batch is delivered in a single call, otherwise the events are
+ * dispatched one at a time.  With more than one worker, events may be delivered out of order.
+ * <p/>
+ * What happens when the queue is full is determined by the {@link OverflowPolicy}.  The {@link #getQueueDepth()
+ * queue depth} and the {@link #getDroppedCount() dropped} and {@link #getCallerRunsCount() caller-runs} counters can
+ * be monitored to size the queue and the number of workers.
+ * <p/>
+ * <b>Note:</b> events are delivered after the requests that published them may have completed, and servlet
+ * containers recycle request and response objects.  Listeners used with this publisher should therefore only use the
+ * event's other data (the account, authentication result, etc) and not its request or response.
+ * <p/>
+ * Call {@link #close()} when the publisher is no longer needed to deliver any remaining events and stop the
+ * workers.  This happens automatically when the publisher is created from the web application's Stormpath
+ * configuration or as a Spring bean.
+ *
+ * @since 1.0.RC8.1
+ */
+public class AsyncRequestEventPublisher implements Publisher<RequestEvent>, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(AsyncRequestEventPublisher.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 500;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    /**
+     * Determines what happens to an event that is published while the queue is full.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * The publishing thread waits until there is room in the queue.
+         */
+        BLOCK,
+
+        /**
+         * The event is discarded and counted as {@link #getDroppedCount() dropped}.
+         */
+        DROP,
+
+        /**
+         * The event is delivered synchronously on the publishing thread.
+         */
+        CALLER_RUNS
+    }
+
+    private final RequestEventListener listener;
+    private final BlockingQueue<RequestEvent> queue;
+    private final int maxBatchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final List<Thread> workers;
+
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong callerRunsCount = new AtomicLong();
+
+    private volatile boolean running = true;
+
+    public AsyncRequestEventPublisher(RequestEventListener listener, int queueCapacity, int workerCount,
+                                      int maxBatchSize, OverflowPolicy overflowPolicy) {
+        Assert.notNull(listener, "RequestEventListener argument cannot be null.");
+        Assert.isTrue(queueCapacity > 0, "queueCapacity must be greater than zero.");
+        Assert.isTrue(workerCount > 0, "workerCount must be greater than zero.");
+        Assert.isTrue(maxBatchSize > 0, "maxBatchSize must be greater than zero.");
+        Assert.notNull(overflowPolicy, "OverflowPolicy argument cannot be null.");
+        this.listener = listener;
+        this.queue = new ArrayBlockingQueue<RequestEvent>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.overflowPolicy = overflowPolicy;
+
+        List<Thread> workers = new ArrayList<Thread>(workerCount);
+        for (int i = 1; i <= workerCount; i++) {
+            Thread t = new Thread(new Worker(), "stormpath-request-events-" + i);
+            t.setDaemon(true);
+            workers.add(t);
+        }
+        this.workers = Collections.unmodifiableList(workers);
+        for (Thread t : workers) {
+            t.start();
+        }
+    }
+
+    public RequestEventListener getListener() {
+        return listener;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /**
+     * Returns the number of published events that are waiting to be delivered.
+     *
+     * @return the number of published events that are waiting to be delivered.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Returns the number of events that were published, including events that were dropped.
+     *
+     * @return the number of events that were published.
+     */
+    public long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    /**
+     * Returns the number of events that were discarded because the queue was full.
+     *
+     * @return the number of events that were discarded because the queue was full.
+     */
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * Returns the number of events that were delivered on the publishing thread because the queue was full.
+     *
+     * @return the number of events that were delivered on the publishing thread because the queue was full.
+     */
+    public long getCallerRunsCount() {
+        return callerRunsCount.get();
+    }
+
+    @Override
+    public void publish(RequestEvent e) {
+
+        Assert.notNull(e, "RequestEvent argument cannot be null.");
+
+        publishedCount.incrementAndGet();
+
+        if (!running) {
+            //no workers to deliver the event anymore:
+            deliver(e);
+            return;
+        }
+
+        if (queue.offer(e)) {
+            return;
+        }
+
+        //otherwise the queue is full:
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    queue.put(e);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    drop(e);
+                }
+                break;
+            case CALLER_RUNS:
+                callerRunsCount.incrementAndGet();
+                deliver(e);
+                break;
+            default:
+                drop(e);
+        }
+    }
+
+    private void drop(RequestEvent e) {
+        droppedCount.incrementAndGet();
+        log.debug("Request event queue is full; dropped event {}", e);
+    }
+
+    private void deliver(RequestEvent e) {
+        try {
+            //visitor pattern / double dispatch for type safe event handling:
+            e.accept(listener);
+        } catch (Throwable t) {
+            log.warn("Unable to deliver request event {}: {}", e, t.getMessage(), t);
+        }
+    }
+
+    private void deliver(List<RequestEvent> batch) {
+        if (listener instanceof BatchRequestEventListener) {
+            try {
+                ((BatchRequestEventListener) listener).onEvents(batch);
+            } catch (Throwable t) {
+                log.warn("Unable to deliver batch of {} request events: {}", batch.size(), t.getMessage(), t);
+            }
+            return;
+        }
+        for (RequestEvent e : batch) {
+            deliver(e);
+        }
+    }
+
+    /**
+     * Stops the worker threads once they have delivered the events that are still queued, waiting up to 5 seconds for
+     * them to do so.  Anything left after that is delivered on the calling thread.  Events published after this method
+     * is called are delivered synchronously.
+     */
+    @Override
+    public void close() {
+        running = false;
+
+        long deadline = System.currentTimeMillis() + SHUTDOWN_TIMEOUT_MILLIS;
+        for (Thread t : workers) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining > 0) {
+                try {
+                    t.join(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        List<RequestEvent> remaining = new ArrayList<RequestEvent>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            deliver(remaining);
+        }
+    }
+
+    private class Worker implements Runnable {
+
+        @Override
+        public void run() {
+            //keep draining after close() so that queued events are still delivered off the caller's thread:
+            while (running || !queue.isEmpty()) {
+                RequestEvent first;
+                try {
+                    first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (first == null) {
+                    continue;
+                }
+
+                //a new list for every batch, since batch listeners may retain it:
+                List<RequestEvent> batch = new ArrayList<RequestEvent>(Math.min(maxBatchSize, queue.size() + 1));
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+
+                deliver(batch);
+            }
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.stormpath.sdk.servlet.event.impl;
 
+import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.servlet.config.ConfigSingletonFactory;
 import com.stormpath.sdk.servlet.event.RequestEventListener;
 
@@ -27,9 +28,61 @@ public class EventPublisherFactory extends ConfigSingletonFactory<Publisher> {
 
     public static final String REQUEST_EVENT_PUBLISHER = "stormpath.web.request.event.listener";
 
+    /**
+     * @since 1.0.RC8.1
+     */
+    public static final String ASYNC_ENABLED = "stormpath.web.request.event.async.enabled";
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    public static final String ASYNC_QUEUE_CAPACITY = "stormpath.web.request.event.async.queueCapacity";
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    public static final String ASYNC_WORKERS = "stormpath.web.request.event.async.workers";
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    public static final String ASYNC_BATCH_SIZE = "stormpath.web.request.event.async.batchSize";
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    public static final String ASYNC_OVERFLOW_POLICY = "stormpath.web.request.event.async.overflowPolicy";
+
     @Override
     protected Publisher createInstance(ServletContext servletContext) throws Exception {
         RequestEventListener listener = getConfig().getInstance(REQUEST_EVENT_PUBLISHER);
-        return new RequestEventPublisher(listener);
+
+        if (!Boolean.parseBoolean(getConfig().get(ASYNC_ENABLED))) {
+            return new RequestEventPublisher(listener);
+        }
+
+        int queueCapacity = getInt(ASYNC_QUEUE_CAPACITY);
+        int workers = getInt(ASYNC_WORKERS);
+        int batchSize = getInt(ASYNC_BATCH_SIZE);
+
+        String policyName = getConfig().get(ASYNC_OVERFLOW_POLICY);
+        AsyncRequestEventPublisher.OverflowPolicy policy;
+        try {
+            policy = AsyncRequestEventPublisher.OverflowPolicy.valueOf(Strings.clean(policyName).toUpperCase());
+        } catch (Exception e) {
+            String msg = ASYNC_OVERFLOW_POLICY + " config value must be one of 'block', 'drop' or 'caller_runs'.";
+            throw new IllegalArgumentException(msg, e);
+        }
+
+        return new AsyncRequestEventPublisher(listener, queueCapacity, workers, batchSize, policy);
+    }
+
+    private int getInt(String propertyName) {
+        String value = getConfig().get(propertyName);
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(propertyName + " config value must be an integer.", e);
+        }
     }
 }
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.filter;
+
+import com.stormpath.sdk.lang.Strings;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Determines whether a request targets a path that never needs Stormpath processing, such as a static asset or a
+ * load balancer health check, so that the {@link StormpathFilter} can let it pass through untouched.
+ * <p/>
+ * A path is bypassed if it starts with one of the configured prefixes or if its last segment ends with one of the
+ * configured extensions (e.g. {@code css} or {@code .png}, compared case-insensitively).  A prefix ending with a
+ * slash, like {@code /static/}, matches anything below it.  Any other prefix, like {@code /health}, matches only that
+ * exact path and the paths below it, so it does not accidentally match {@code /healthcheckAdmin}.  Paths are relative
+ * to the servlet context.  Matching does not allocate: both sets are precomputed into arrays and compared in place
+ * against the request URI.
+ * <p/>
+ * As a safeguard against path traversal, a request URI is never bypassed, and is processed normally instead, if it
+ * contains anything the servlet container would decode or normalize before routing the request: a {@code .} or
+ * {@code ..} segment (e.g. {@code /health/./admin} or {@code /health/.}), {@code //}, a backslash, a path parameter
+ * ({@code ;}) or any percent-encoded character.  Any URI that is bypassed is therefore already identical to the
+ * container-normalized path ({@code servletPath + pathInfo}) that the request is dispatched to.
+ * <p/>
+ * <b>Extensions and suffix pattern matching:</b> an extension only says something about the <em>requested path</em>,
+ * not about what handles it.  Frameworks that route by suffix pattern, like Spring MVC with
+ * {@code useSuffixPatternMatch} enabled (the default), dispatch {@code /admin.css} to the handler
+ * mapped to {@code /admin}, so bypassing {@code css} would let such a request reach that handler without any
+ * Stormpath processing.  Only configure extensions if suffix pattern matching is disabled or no handler that needs
+ * Stormpath processing is reachable that way; otherwise prefer prefixes, e.g. {@code /static/}.
+ * <p/>
+ * Instances are immutable and thread-safe.
+ *
+ * @since 1.0.RC8.1
+ */
+public class BypassPathMatcher {
+
+    /**
+     * A matcher that never bypasses any request.
+     */
+    public static final BypassPathMatcher NONE = new BypassPathMatcher(null, null);
+
+    private final String[] prefixes;
+    private final String[] extensions; //each includes the leading '.'
+
+    public BypassPathMatcher(Collection<String> prefixes, Collection<String> extensions) {
+        this.prefixes = toPrefixes(prefixes);
+        this.extensions = toExtensions(extensions);
+    }
+
+    private static String[] toPrefixes(Collection<String> values) {
+        Set<String> set = new LinkedHashSet<String>();
+        if (values != null) {
+            for (String value : values) {
+                value = Strings.clean(value);
+                if (value != null) {
+                    set.add(value.startsWith("/") ? value : "/" + value);
+                }
+            }
+        }
+        return set.toArray(new String[set.size()]);
+    }
+
+    private static String[] toExtensions(Collection<String> values) {
+        Set<String> set = new LinkedHashSet<String>();
+        if (values != null) {
+            for (String value : values) {
+                value = Strings.clean(value);
+                if (value != null && !".".equals(value)) {
+                    set.add(value.startsWith(".") ? value : "." + value);
+                }
+            }
+        }
+        return set.toArray(new String[set.size()]);
+    }
+
+    /**
+     * Returns {@code true} if no prefixes or extensions are configured, i.e. no request is ever bypassed.
+     *
+     * @return {@code true} if no prefixes or extensions are configured.
+     */
+    public boolean isEmpty() {
+        return prefixes.length == 0 && extensions.length == 0;
+    }
+
+    /**
+     * Returns {@code true} if the specified request may bypass Stormpath processing entirely.
+     *
+     * @param request the request to check
+     * @return {@code true} if the specified request may bypass Stormpath processing entirely.
+     */
+    public boolean matches(HttpServletRequest request) {
+        if (isEmpty()) {
+            return false;
+        }
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        if (contextPath == null) {
+            contextPath = "";
+        }
+        int offset = contextPath.length();
+        //the context-relative part must be a path of its own, not the remainder of a longer first segment:
+        return uri != null && uri.startsWith(contextPath) && uri.length() > offset && uri.charAt(offset) == '/' &&
+               matches(uri, offset);
+    }
+
+    /**
+     * Returns {@code true} if the specified context-relative path may bypass Stormpath processing entirely.
+     *
+     * @param path the context-relative path, e.g. {@code /static/app.js}
+     * @return {@code true} if the specified path may bypass Stormpath processing entirely.
+     */
+    public boolean matches(String path) {
+        return path != null && matches(path, 0);
+    }
+
+    private boolean matches(String uri, int offset) {
+
+        int length = uri.length();
+
+        if (length == offset || !isSafe(uri, offset)) {
+            return false;
+        }
+
+        for (String prefix : prefixes) {
+            if (uri.startsWith(prefix, offset)) {
+                int end = offset + prefix.length();
+                if (end == length || prefix.charAt(prefix.length() - 1) == '/' || uri.charAt(end) == '/') {
+                    return true;
+                }
+            }
+        }
+
+        if (extensions.length > 0) {
+            int lastSlash = uri.lastIndexOf('/');
+            for (String extension : extensions) {
+                int start = length - extension.length();
+                //the extension must follow a non-empty file name within the last path segment:
+                if (start > lastSlash + 1 && start > offset &&
+                    uri.regionMatches(true, start, extension, 0, extension.length())) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isSafe(String uri, int offset) {
+        int length = uri.length();
+        char prev = 0;
+        for (int i = offset; i < length; i++) {
+            char c = uri.charAt(i);
+            if (c == '%' || c == ';' || c == '\\' ||
+                (c == '/' && prev == '/') || (c == '.' && prev == '.')) {
+                return false;
+            }
+            //a '.' segment, which the container removes when normalizing, e.g. '/health/./admin' -> '/admin':
+            if (c == '.' && prev == '/' && (i + 1 == length || uri.charAt(i + 1) == '/')) {
+                return false;
+            }
+            prev = c;
+        }
+        return true;
+    }
+}
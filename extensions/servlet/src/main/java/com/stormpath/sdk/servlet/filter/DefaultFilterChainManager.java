@@ -33,12 +33,18 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Default {@link FilterChainManager} implementation maintaining a map of {@link javax.servlet.Filter Filter} instances
  * (key: filter name, value: Filter) as well as a map of chains created from these {@code Filter}s (key: filter chain
  * name, value: List&lt;Filter&gt;).  The {@code NamedFilterList} is essentially a {@link javax.servlet.FilterChain}
  * that also has a name property by which it can be looked up.
+ * <p/>
+ * Each chain's filters are copied into an immutable array the first time the chain is {@link #proxy(FilterChain,
+ * String) proxied}, and that array is shared by every subsequent request.  Chains are expected to be fully
+ * configured via {@link #createChain(String, String)} or {@link #addToChain(String, String, String)} before requests
+ * are served; the filter lists returned by {@link #getChain(String)} should not be modified directly after that.
  *
  * @since 1.0.RC3
  */
@@ -50,6 +56,9 @@ public class DefaultFilterChainManager implements FilterChainManager {
 
     private final Map<String, List<Filter>> filterChains; //key: chain name, value: chain
 
+    //key: chain name, value: the chain's filters, computed on first use and shared across requests:
+    private final Map<String, Filter[]> proxiedChains = new ConcurrentHashMap<String, Filter[]>();
+
     private final ServletContext servletContext;
 
     private final Map<String, Class<? extends Filter>> configuredFilterClasses;
@@ -204,6 +213,7 @@ public class DefaultFilterChainManager implements FilterChainManager {
         Filter filter = createFilter(filterName, config);
         List<Filter> chain = ensureChain(chainName);
         chain.add(filter);
+        this.proxiedChains.remove(chainName);
     }
 
     protected List<Filter> ensureChain(String chainName) {
@@ -228,12 +238,18 @@ public class DefaultFilterChainManager implements FilterChainManager {
     }
 
     public FilterChain proxy(FilterChain original, String chainName) {
-        List<Filter> configured = getChain(chainName);
-        if (configured == null) {
-            String msg = "There is no configured chain under the name/key [" + chainName + "].";
-            throw new IllegalArgumentException(msg);
+        Filter[] filters = this.proxiedChains.get(chainName);
+
+        if (filters == null) {
+            List<Filter> configured = getChain(chainName);
+            if (configured == null) {
+                String msg = "There is no configured chain under the name/key [" + chainName + "].";
+                throw new IllegalArgumentException(msg);
+            }
+            filters = ProxiedFilterChain.toArray(configured);
+            this.proxiedChains.put(chainName, filters);
         }
 
-        return new ProxiedFilterChain(original, configured);
+        return new ProxiedFilterChain(original, filters);
     }
 }
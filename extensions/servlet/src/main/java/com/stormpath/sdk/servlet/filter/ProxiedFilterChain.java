@@ -31,6 +31,10 @@ import java.util.List;
  * {@link javax.servlet.FilterChain} as well as a {@link java.util.List List} of other
  * {@link javax.servlet.Filter Filter}s that might need to execute prior to the final wrapped original chain.
  * It allows a list of filters to execute before continuing the original (proxied) {@code FilterChain} instance.
+ * <p/>
+ * A chain instance is needed for every request since it tracks the position within the filter list, but it is
+ * cheap to create: the {@link #ProxiedFilterChain(FilterChain, Filter[])} constructor shares a filter array that is
+ * computed once per configured chain instead of copying or iterating over a list.
  *
  * @since 1.0.RC3
  */
@@ -38,21 +42,50 @@ public class ProxiedFilterChain implements FilterChain {
 
     private static final Logger log = LoggerFactory.getLogger(ProxiedFilterChain.class);
 
-    private FilterChain  orig;
-    private List<Filter> filters;
+    private static final Filter[] NO_FILTERS = new Filter[0];
+
+    private final FilterChain orig;
+    private final Filter[] filters;
     private int index = 0;
 
     public ProxiedFilterChain(FilterChain orig, List<Filter> filters) {
+        this(orig, toArray(filters));
+    }
+
+    /**
+     * Creates a new chain that executes the specified filters before continuing the original chain.  The array is
+     * used as is and is never modified, so a single array may be shared by any number of chain instances as long as
+     * the caller does not modify it either.
+     *
+     * @param orig    the original chain to continue once all {@code filters} have executed
+     * @param filters the filters to execute before the original chain, may be {@code null} or empty
+     * @since 1.0.RC8.1
+     */
+    public ProxiedFilterChain(FilterChain orig, Filter[] filters) {
         if (orig == null) {
             throw new NullPointerException("original FilterChain cannot be null.");
         }
         this.orig = orig;
-        this.filters = filters;
+        this.filters = filters != null ? filters : NO_FILTERS;
         this.index = 0;
     }
 
+    /**
+     * Returns the specified filters as an array suitable for sharing across {@link ProxiedFilterChain} instances.
+     *
+     * @param filters the filters to convert, may be {@code null}
+     * @return the specified filters as an array, never {@code null}.
+     * @since 1.0.RC8.1
+     */
+    public static Filter[] toArray(List<Filter> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return NO_FILTERS;
+        }
+        return filters.toArray(new Filter[filters.size()]);
+    }
+
     public void doFilter(ServletRequest request, ServletResponse response) throws IOException, ServletException {
-        if (this.filters == null || this.filters.size() == this.index) {
+        if (this.filters.length == this.index) {
             //we've reached the end of the wrapped chain, so invoke the original one:
             if (log.isTraceEnabled()) {
                 log.trace("Invoking original filter chain.");
@@ -62,7 +95,7 @@ public class ProxiedFilterChain implements FilterChain {
             if (log.isTraceEnabled()) {
                 log.trace("Invoking wrapped filter at index [" + this.index + "]");
             }
-            this.filters.get(this.index++).doFilter(request, response, this);
+            this.filters[this.index++].doFilter(request, response, this);
         }
     }
 }
@@ -29,6 +29,7 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -38,14 +39,26 @@ public class StormpathFilter extends HttpFilter {
 
     private static final Logger log = LoggerFactory.getLogger(StormpathFilter.class);
 
+    private static final String CLIENT_ATTRIBUTE_NAME = Client.class.getName();
+    private static final String APPLICATION_ATTRIBUTE_NAME = Application.class.getName();
+
     private FilterChainResolver filterChainResolver;
     private Set<String> clientRequestAttributeNames;
     private Set<String> applicationRequestAttributeNames;
     private WrappedServletRequestFactory factory;
+    private BypassPathMatcher bypassPathMatcher = BypassPathMatcher.NONE;
+
+    //the complete attribute names (canonical name first), precomputed so that requests don't iterate over sets:
+    private volatile String[] clientAttributeNames;
+    private volatile String[] applicationAttributeNames;
+
+    //the servlet context singletons, looked up once rather than for every request:
+    private volatile Client client;
+    private volatile Application application;
 
     public StormpathFilter() {
-        this.clientRequestAttributeNames = java.util.Collections.emptySet();
-        this.applicationRequestAttributeNames = java.util.Collections.emptySet();
+        setClientRequestAttributeNames(java.util.Collections.<String>emptySet());
+        setApplicationRequestAttributeNames(java.util.Collections.<String>emptySet());
     }
 
     public void setFilterChainResolver(FilterChainResolver filterChainResolver) {
@@ -56,11 +69,23 @@ public class StormpathFilter extends HttpFilter {
     public void setClientRequestAttributeNames(Set<String> clientRequestAttributeNames) {
         this.clientRequestAttributeNames =
             clientRequestAttributeNames != null ? clientRequestAttributeNames : new LinkedHashSet<String>();
+        this.clientAttributeNames = toAttributeNames(CLIENT_ATTRIBUTE_NAME, this.clientRequestAttributeNames);
     }
 
     public void setApplicationRequestAttributeNames(Set<String> applicationRequestAttributeNames) {
         this.applicationRequestAttributeNames =
             applicationRequestAttributeNames != null ? applicationRequestAttributeNames : new LinkedHashSet<String>();
+        this.applicationAttributeNames =
+            toAttributeNames(APPLICATION_ATTRIBUTE_NAME, this.applicationRequestAttributeNames);
+    }
+
+    private static String[] toAttributeNames(String canonicalName, Set<String> aliases) {
+        Set<String> names = new LinkedHashSet<String>(aliases.size() + 1);
+        //value must always be set:
+        names.add(canonicalName);
+        //user customized values:
+        names.addAll(aliases);
+        return names.toArray(new String[names.size()]);
     }
 
     public void setWrappedServletRequestFactory(WrappedServletRequestFactory factory) {
@@ -68,6 +93,19 @@ public class StormpathFilter extends HttpFilter {
         this.factory = factory;
     }
 
+    /**
+     * Sets the matcher that identifies requests that pass through this filter untouched: they are not wrapped, do
+     * not receive the Client and Application request attributes, and no Stormpath filter chain (including account
+     * resolution) executes for them.
+     *
+     * @param bypassPathMatcher the matcher that identifies requests that pass through this filter untouched, or
+     *                          {@code null} to filter all requests.
+     * @since 1.0.RC8.1
+     */
+    public void setBypassPathMatcher(BypassPathMatcher bypassPathMatcher) {
+        this.bypassPathMatcher = bypassPathMatcher != null ? bypassPathMatcher : BypassPathMatcher.NONE;
+    }
+
     @Override
     protected void onInit() throws ServletException {
         try {
@@ -89,22 +127,44 @@ public class StormpathFilter extends HttpFilter {
         String val = config.get("stormpath.web.request.client.attributeNames");
         if (Strings.hasText(val)) {
             String[] vals = Strings.split(val);
-            this.clientRequestAttributeNames = new LinkedHashSet<String>(Arrays.asList(vals));
+            setClientRequestAttributeNames(new LinkedHashSet<String>(Arrays.asList(vals)));
         }
 
         val = config.get("stormpath.web.request.application.attributeNames");
         if (Strings.hasText(val)) {
             String[] vals = Strings.split(val);
-            this.applicationRequestAttributeNames = new LinkedHashSet<String>(Arrays.asList(vals));
+            setApplicationRequestAttributeNames(new LinkedHashSet<String>(Arrays.asList(vals)));
         }
 
         this.factory = config.getInstance("stormpath.web.request.factory");
+
+        String prefixes = config.get("stormpath.web.stormpathFilter.bypass.prefixes");
+        String extensions = config.get("stormpath.web.stormpathFilter.bypass.extensions");
+        if (Strings.hasText(prefixes) || Strings.hasText(extensions)) {
+            setBypassPathMatcher(new BypassPathMatcher(toList(prefixes), toList(extensions)));
+        }
+    }
+
+    private static List<String> toList(String delimited) {
+        String[] vals = Strings.split(delimited);
+        return vals != null ? Arrays.asList(vals) : java.util.Collections.<String>emptyList();
     }
 
     protected FilterChainResolver getFilterChainResolver() {
         return this.filterChainResolver;
     }
 
+    /**
+     * Returns {@code false} for requests matched by the {@link #setBypassPathMatcher(BypassPathMatcher) bypass
+     * matcher} so that they continue down the original filter chain before any request wrapping happens.
+     *
+     * @since 1.0.RC8.1
+     */
+    @Override
+    protected boolean isEnabled(HttpServletRequest request, HttpServletResponse response) throws Exception {
+        return !this.bypassPathMatcher.matches(request);
+    }
+
     @Override
     public void filter(HttpServletRequest request, HttpServletResponse response, final FilterChain chain)
         throws Exception {
@@ -131,26 +191,26 @@ public class StormpathFilter extends HttpFilter {
     }
 
     protected void setClientRequestAttributes(HttpServletRequest request) {
-        String name = Client.class.getName();
-        Client client = (Client) request.getServletContext().getAttribute(name);
-        //value must always be set:
-        request.setAttribute(name, client);
+        Client client = this.client;
+        if (client == null) {
+            client = (Client) request.getServletContext().getAttribute(CLIENT_ATTRIBUTE_NAME);
+            this.client = client;
+        }
 
-        //user customized values:
-        for (String aName : clientRequestAttributeNames) {
-            request.setAttribute(aName, client);
+        for (String name : this.clientAttributeNames) {
+            request.setAttribute(name, client);
         }
     }
 
     protected void setApplicationRequestAttributes(HttpServletRequest request) {
-        String name = Application.class.getName();
-        Application application = (Application) request.getServletContext().getAttribute(name);
-        //this must always be set:
-        request.setAttribute(name, application);
-
-        //user-customized values:
-        for (String aName : applicationRequestAttributeNames) {
-            request.setAttribute(aName, application);
+        Application application = this.application;
+        if (application == null) {
+            application = (Application) request.getServletContext().getAttribute(APPLICATION_ATTRIBUTE_NAME);
+            this.application = application;
+        }
+
+        for (String name : this.applicationAttributeNames) {
+            request.setAttribute(name, application);
         }
     }
 
@@ -27,6 +27,8 @@ import javax.crypto.spec.SecretKeySpec;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.security.Key;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @since 1.0.RC3
@@ -43,6 +45,14 @@ public class DefaultJwtSigningKeyResolver implements JwtSigningKeyResolver {
                                              "may want to implement your own JwtSigningKeyResolver implementation " +
                                              "to support Elliptic Curve keys.";
 
+    /**
+     * Resolved signing keys per algorithm, each remembering the API Key secret it was derived from.
+     *
+     * @since 1.0.RC8.1
+     */
+    private final ConcurrentMap<SignatureAlgorithm, SigningKey> signingKeys =
+        new ConcurrentHashMap<SignatureAlgorithm, SigningKey>();
+
     @Override
     public Key getSigningKey(HttpServletRequest request, HttpServletResponse response, AuthenticationResult result,
                              SignatureAlgorithm alg) {
@@ -64,10 +74,32 @@ public class DefaultJwtSigningKeyResolver implements JwtSigningKeyResolver {
 
         String apiKeySecret = client.getApiKey().getSecret();
 
-        //Stormpath API Keys are base-64-encoded secure random byte arrays:
-        byte[] apiKeySecretBytes = Base64.decodeBase64(apiKeySecret);
+        //decoding the secret and creating the key for every token is wasted work, so the key is reused as long as
+        //the secret doesn't change:
+        SigningKey signingKey = signingKeys.get(alg);
+        if (signingKey == null || !signingKey.secret.equals(apiKeySecret)) {
+
+            //Stormpath API Keys are base-64-encoded secure random byte arrays:
+            byte[] apiKeySecretBytes = Base64.decodeBase64(apiKeySecret);
+
+            signingKey = new SigningKey(apiKeySecret, new SecretKeySpec(apiKeySecretBytes, alg.getJcaName()));
+            signingKeys.put(alg, signingKey);
+        }
+
+        return signingKey.key;
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    private static final class SigningKey {
 
-        return new SecretKeySpec(apiKeySecretBytes, alg.getJcaName());
+        private final String secret;
+        private final Key key;
 
+        private SigningKey(String secret, Key key) {
+            this.secret = secret;
+            this.key = key;
+        }
     }
 }
@@ -24,15 +24,49 @@ import com.stormpath.sdk.servlet.http.UserAgent;
 import javax.servlet.http.HttpServletRequest;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @since 1.0.RC3
  */
 public class DefaultUserAgent implements UserAgent {
 
+    /**
+     * Maximum number of distinct {@code Accept} header values whose parsed media types are retained.  Real traffic
+     * sends only a handful of distinct values, so a small least-recently-used cache is sufficient.
+     *
+     * @since 1.0.RC8.1
+     */
+    protected static final int MAX_CACHED_ACCEPT_HEADERS = 64;
+
+    /**
+     * {@code Accept} header values longer than this are parsed but never cached, so that arbitrary client input
+     * cannot occupy a large amount of memory.
+     *
+     * @since 1.0.RC8.1
+     */
+    protected static final int MAX_CACHED_ACCEPT_HEADER_LENGTH = 512;
+
+    /**
+     * Raw {@code Accept} header value to its parsed, sorted and unmodifiable media types.
+     *
+     * @since 1.0.RC8.1
+     */
+    private static final Map<String, List<AcceptedMediaType>> ACCEPT_HEADER_CACHE =
+        Collections.synchronizedMap(new LinkedHashMap<String, List<AcceptedMediaType>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<AcceptedMediaType>> eldest) {
+                return size() > MAX_CACHED_ACCEPT_HEADERS;
+            }
+        });
+
     private final HttpServletRequest request;
 
+    //memoized for the lifetime of this instance (i.e. the request it wraps):
+    private List<AcceptedMediaType> mimeTypes;
+
     public DefaultUserAgent(HttpServletRequest request) {
         Assert.notNull(request, "request argument cannot be null.");
         this.request = request;
@@ -101,9 +135,56 @@ public class DefaultUserAgent implements UserAgent {
         return false;
     }
 
+    /**
+     * Returns the media types listed in the request's {@code Accept} header, sorted by preference.  The result is
+     * computed at most once per instance, and parse results are shared across requests that send the same
+     * {@code Accept} header value.  The returned list is immutable.
+     *
+     * @return the media types listed in the request's {@code Accept} header, sorted by preference.
+     */
     protected List<AcceptedMediaType> getMimeTypes() {
+        List<AcceptedMediaType> mimeTypes = this.mimeTypes;
+        if (mimeTypes == null) {
+            mimeTypes = getMimeTypes(this.request.getHeader("Accept"));
+            this.mimeTypes = mimeTypes;
+        }
+        return mimeTypes;
+    }
+
+    /**
+     * Returns the sorted, immutable media types of the specified {@code Accept} header value, using a previously parsed
+     * result if one is available.
+     *
+     * @param header the raw {@code Accept} header value, may be {@code null}.
+     * @return the sorted, immutable media types of the specified {@code Accept} header value.
+     * @since 1.0.RC8.1
+     */
+    protected static List<AcceptedMediaType> getMimeTypes(String header) {
+
+        if (!Strings.hasText(header)) {
+            return Collections.emptyList();
+        }
+
+        List<AcceptedMediaType> mimeTypes = ACCEPT_HEADER_CACHE.get(header);
+
+        if (mimeTypes == null) {
+            mimeTypes = Collections.unmodifiableList(parseMimeTypes(header));
+            if (header.length() <= MAX_CACHED_ACCEPT_HEADER_LENGTH) {
+                ACCEPT_HEADER_CACHE.put(header, mimeTypes);
+            }
+        }
+
+        return mimeTypes;
+    }
 
-        String header = this.request.getHeader("Accept");
+    /**
+     * Parses the specified {@code Accept} header value into media types sorted by preference.
+     *
+     * @param header the raw {@code Accept} header value
+     * @return the media types sorted by preference.
+     * @since 1.0.RC8.1
+     */
+    protected static List<AcceptedMediaType> parseMimeTypes(String header) {
 
         if (Strings.hasText(header)) {
 
@@ -157,7 +238,7 @@ public class DefaultUserAgent implements UserAgent {
         return Collections.emptyList();
     }
 
-    protected class AcceptedMediaType implements Comparable<AcceptedMediaType> {
+    protected static class AcceptedMediaType implements Comparable<AcceptedMediaType> {
 
         private final String name;
         private final double quality;
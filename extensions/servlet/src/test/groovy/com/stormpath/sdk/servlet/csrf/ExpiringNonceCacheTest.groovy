@@ -0,0 +1,123 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.csrf
+
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class ExpiringNonceCacheTest {
+
+    static long now
+
+    static class TestNonceCache extends ExpiringNonceCache {
+
+        TestNonceCache(long ttlMillis, int maxEntries) {
+            super(ttlMillis, maxEntries)
+        }
+
+        @Override
+        protected long currentTimeMillis() {
+            return ExpiringNonceCacheTest.now
+        }
+    }
+
+    @BeforeMethod
+    void setUp() {
+        now = 1000000L
+    }
+
+    @Test
+    void testPutGetRemove() {
+
+        def cache = new TestNonceCache(3000, 10)
+
+        assertNull cache.get('a')
+        assertNull cache.put('a', 'tokenA')
+        assertEquals cache.get('a'), 'tokenA'
+        assertEquals cache.put('a', 'tokenA2'), 'tokenA'
+        assertEquals cache.size(), 1
+        assertEquals cache.remove('a'), 'tokenA2'
+        assertNull cache.get('a')
+        assertEquals cache.size(), 0
+    }
+
+    @Test
+    void testEntriesAreRetainedForAtLeastTheTtl() {
+
+        def cache = new TestNonceCache(3000, 10)
+
+        now += 999 //last millisecond of the first bucket
+        cache.put('a', 'tokenA')
+
+        now += 3000 //the TTL has just elapsed
+        cache.put('b', 'tokenB')
+        assertEquals cache.get('a'), 'tokenA'
+
+        now += 1 //the ring advances past the first bucket
+        assertNull cache.get('a')
+        assertEquals cache.get('b'), 'tokenB'
+        assertEquals cache.size(), 1
+
+        now += 10000 //long after every entry expired
+        assertNull cache.get('b')
+        assertEquals cache.size(), 0
+    }
+
+    @Test
+    void testMaxEntriesEvictsOldestEntry() {
+
+        def cache = new TestNonceCache(3000, 3)
+
+        cache.put('a', 'tokenA')
+        now += 1000
+        cache.put('b', 'tokenB')
+        cache.put('c', 'tokenC')
+        cache.put('d', 'tokenD')
+
+        assertEquals cache.size(), 3
+        assertNull cache.get('a')
+        assertEquals cache.get('b'), 'tokenB'
+        assertEquals cache.get('c'), 'tokenC'
+        assertEquals cache.get('d'), 'tokenD'
+
+        cache.put('e', 'tokenE') //oldest entry of the same bucket
+        assertNull cache.get('b')
+        assertEquals cache.size(), 3
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testZeroMaxEntries() {
+        new ExpiringNonceCache(3000, 0)
+    }
+
+    @Test
+    void testCsrfTokenCannotBeReused() {
+
+        def cache = new TestNonceCache(3000, 10)
+        def manager = new DefaultCsrfTokenManager(null, cache, 'mySigningKey', 3000)
+
+        def token = manager.createCsrfToken(null, null)
+
+        assertTrue manager.isValidCsrfToken(null, null, token)
+        assertFalse manager.isValidCsrfToken(null, null, token)
+        assertEquals cache.size(), 1
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.event.impl
+
+import com.stormpath.sdk.servlet.event.BatchRequestEventListener
+import com.stormpath.sdk.servlet.event.RequestEvent
+import com.stormpath.sdk.servlet.event.RequestEventListener
+import com.stormpath.sdk.servlet.event.RequestEventListenerAdapter
+import org.testng.annotations.Test
+
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+import java.util.concurrent.CopyOnWriteArrayList
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+import static com.stormpath.sdk.servlet.event.impl.AsyncRequestEventPublisher.OverflowPolicy.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class AsyncRequestEventPublisherTest {
+
+    /**
+     * Records the thread each event was delivered on and optionally blocks delivery until released.
+     */
+    static class TestEvent implements RequestEvent {
+
+        final String name
+        final CountDownLatch started = new CountDownLatch(1)
+        final CountDownLatch release
+        String deliveredOn
+
+        TestEvent(String name, CountDownLatch release = null) {
+            this.name = name
+            this.release = release
+        }
+
+        HttpServletRequest getRequest() { null }
+
+        HttpServletResponse getResponse() { null }
+
+        void accept(RequestEventListener listener) {
+            deliveredOn = Thread.currentThread().name
+            started.countDown()
+            release?.await(5, TimeUnit.SECONDS)
+            listener.delivered << this
+        }
+    }
+
+    static class TestListener extends RequestEventListenerAdapter {
+        final List<TestEvent> delivered = new CopyOnWriteArrayList<TestEvent>()
+    }
+
+    static class TestBatchListener extends TestListener implements BatchRequestEventListener {
+
+        final List<List<RequestEvent>> batches = new CopyOnWriteArrayList<List<RequestEvent>>()
+
+        void onEvents(List<RequestEvent> events) {
+            batches << events
+            events.each { it.accept(this) }
+        }
+    }
+
+    @Test
+    void testEventsAreDeliveredInBatchesOffTheRequestThread() {
+
+        def listener = new TestBatchListener()
+        def publisher = new AsyncRequestEventPublisher(listener, 100, 1, 10, BLOCK)
+
+        //hold the worker so that the following events are queued and delivered as one batch:
+        def release = new CountDownLatch(1)
+        def first = new TestEvent('first', release)
+        publisher.publish(first)
+        assertTrue first.started.await(5, TimeUnit.SECONDS)
+
+        def events = (1..5).collect { new TestEvent("e$it") }
+        events.each { publisher.publish(it) }
+        assertEquals publisher.queueDepth, 5
+
+        release.countDown()
+        publisher.close()
+
+        assertEquals listener.delivered, [first] + events
+        assertEquals listener.batches.size(), 2
+        assertEquals listener.batches[1], events
+        assertTrue listener.delivered.every { it.deliveredOn.startsWith('stormpath-request-events-') }
+        assertEquals publisher.publishedCount, 6
+        assertEquals publisher.droppedCount, 0
+        assertEquals publisher.queueDepth, 0
+    }
+
+    @Test
+    void testDropOverflowPolicy() {
+
+        def listener = new TestListener()
+        def publisher = new AsyncRequestEventPublisher(listener, 1, 1, 10, DROP)
+
+        def release = new CountDownLatch(1)
+        def first = new TestEvent('first', release)
+        publisher.publish(first)
+        assertTrue first.started.await(5, TimeUnit.SECONDS)
+
+        def queued = new TestEvent('queued')
+        def dropped = new TestEvent('dropped')
+        publisher.publish(queued)
+        publisher.publish(dropped)
+
+        assertEquals publisher.queueDepth, 1
+        assertEquals publisher.droppedCount, 1
+
+        release.countDown()
+        publisher.close()
+
+        assertEquals listener.delivered, [first, queued]
+        assertNull dropped.deliveredOn
+    }
+
+    @Test
+    void testCallerRunsOverflowPolicy() {
+
+        def listener = new TestListener()
+        def publisher = new AsyncRequestEventPublisher(listener, 1, 1, 10, CALLER_RUNS)
+
+        def release = new CountDownLatch(1)
+        def first = new TestEvent('first', release)
+        publisher.publish(first)
+        assertTrue first.started.await(5, TimeUnit.SECONDS)
+
+        publisher.publish(new TestEvent('queued'))
+        def overflow = new TestEvent('overflow')
+        publisher.publish(overflow)
+
+        assertEquals overflow.deliveredOn, Thread.currentThread().name
+        assertEquals publisher.callerRunsCount, 1
+        assertEquals publisher.droppedCount, 0
+
+        release.countDown()
+        publisher.close()
+
+        assertEquals listener.delivered.size(), 3
+    }
+
+    @Test
+    void testPublishAfterCloseIsSynchronous() {
+
+        def listener = new TestListener()
+        def publisher = new AsyncRequestEventPublisher(listener, 10, 2, 10, DROP)
+        publisher.close()
+
+        def event = new TestEvent('late')
+        publisher.publish(event)
+
+        assertEquals event.deliveredOn, Thread.currentThread().name
+        assertEquals listener.delivered, [event]
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testInvalidQueueCapacity() {
+        new AsyncRequestEventPublisher(new TestListener(), 0, 1, 10, BLOCK)
+    }
+}
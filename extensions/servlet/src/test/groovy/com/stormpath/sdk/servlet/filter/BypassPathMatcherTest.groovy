@@ -0,0 +1,136 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.filter
+
+import org.testng.annotations.Test
+
+import javax.servlet.http.HttpServletRequest
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class BypassPathMatcherTest {
+
+    def matcher = new BypassPathMatcher(['/static/', 'health', ' '], ['css', '.PNG', '.'])
+
+    @Test
+    void testPrefixes() {
+        assertTrue matcher.matches('/static/app.js')
+        assertTrue matcher.matches('/static/')
+        assertTrue matcher.matches('/health')
+        assertTrue matcher.matches('/health/db')
+        assertFalse matcher.matches('/healthcheckAdmin')
+        assertFalse matcher.matches('/static')
+        assertFalse matcher.matches('/admin/static/app.js')
+    }
+
+    @Test
+    void testExtensions() {
+        assertTrue matcher.matches('/css/app.css')
+        assertTrue matcher.matches('/img/logo.png')
+        assertTrue matcher.matches('/img/logo.Png')
+        assertFalse matcher.matches('/img/.png')
+        assertFalse matcher.matches('/css.css/index')
+        assertFalse matcher.matches('/appcss')
+        assertFalse matcher.matches('/')
+        assertFalse matcher.matches('')
+        assertFalse matcher.matches((String) null)
+    }
+
+    @Test
+    void testUnsafePathsAreNeverBypassed() {
+        assertFalse matcher.matches('/static/../account')
+        assertFalse matcher.matches('/static//account')
+        assertFalse matcher.matches('/static/%2e%2e/account')
+        assertFalse matcher.matches('/static/..;/account')
+        assertFalse matcher.matches('/account;.css')
+        assertFalse matcher.matches('/static\\..\\account')
+    }
+
+    @Test
+    void testDotSegmentsAreNeverBypassed() {
+        //the container normalizes these to '/admin' and '/', which must not inherit the '/health' bypass:
+        assertFalse matcher.matches('/health/./admin')
+        assertFalse matcher.matches('/health/.')
+        assertFalse matcher.matches('/./health')
+        assertFalse matcher.matches('/static/./admin.css')
+        assertFalse matcher.matches('/health/..')
+
+        //dots that are part of a segment name are fine:
+        assertTrue matcher.matches('/health/.well-known')
+        assertTrue matcher.matches('/static/app.min.js')
+    }
+
+    @Test
+    void testRequestDotSegmentsAreNeverBypassed() {
+        def request = createMock(HttpServletRequest)
+        expect(request.getRequestURI()).andReturn('/myapp/health/./admin')
+        expect(request.getContextPath()).andReturn('/myapp')
+        expect(request.getRequestURI()).andReturn('/myapp/health/.')
+        expect(request.getContextPath()).andReturn('/myapp')
+        replay request
+
+        assertFalse matcher.matches(request)
+        assertFalse matcher.matches(request)
+
+        verify request
+    }
+
+    @Test
+    void testRequestOutsideOfContextPath() {
+        def request = createMock(HttpServletRequest)
+        expect(request.getRequestURI()).andReturn('/myapp.css')
+        expect(request.getContextPath()).andReturn('/myapp')
+        expect(request.getRequestURI()).andReturn('/myapp')
+        expect(request.getContextPath()).andReturn('/myapp')
+        replay request
+
+        assertFalse matcher.matches(request)
+        assertFalse matcher.matches(request)
+
+        verify request
+    }
+
+    @Test
+    void testEmpty() {
+        def request = createMock(HttpServletRequest)
+        replay request
+
+        assertTrue BypassPathMatcher.NONE.isEmpty()
+        assertFalse BypassPathMatcher.NONE.matches(request)
+        assertFalse new BypassPathMatcher([], null).matches('/static/app.js')
+        assertFalse matcher.isEmpty()
+
+        verify request
+    }
+
+    @Test
+    void testRequestPathIsContextRelative() {
+        def request = createMock(HttpServletRequest)
+        expect(request.getRequestURI()).andReturn('/myapp/static/app.js').times(2)
+        expect(request.getContextPath()).andReturn('/myapp')
+        expect(request.getContextPath()).andReturn('/other')
+        replay request
+
+        assertTrue matcher.matches(request)
+        assertFalse matcher.matches(request)
+
+        verify request
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.filter
+
+import org.testng.annotations.Test
+
+import javax.servlet.Filter
+import javax.servlet.FilterChain
+import javax.servlet.ServletRequest
+import javax.servlet.ServletResponse
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class ProxiedFilterChainTest {
+
+    static class RecordingFilter implements Filter {
+
+        final String name
+        final List<String> invocations
+
+        RecordingFilter(String name, List<String> invocations) {
+            this.name = name
+            this.invocations = invocations
+        }
+
+        void init(javax.servlet.FilterConfig filterConfig) {}
+
+        void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) {
+            invocations << name
+            chain.doFilter(request, response)
+        }
+
+        void destroy() {}
+    }
+
+    @Test
+    void testSharedArrayIsReusedAcrossRequests() {
+
+        def invocations = []
+        Filter[] filters = [new RecordingFilter('a', invocations), new RecordingFilter('b', invocations)] as Filter[]
+        def orig = { ServletRequest req, ServletResponse resp -> invocations << 'orig' } as FilterChain
+
+        2.times {
+            def chain = new ProxiedFilterChain(orig, filters)
+            assertSame chain.@filters, filters
+            chain.doFilter(null, null)
+        }
+
+        assertEquals invocations, ['a', 'b', 'orig', 'a', 'b', 'orig']
+    }
+
+    @Test
+    void testListConstructor() {
+
+        def invocations = []
+        def orig = { ServletRequest req, ServletResponse resp -> invocations << 'orig' } as FilterChain
+
+        new ProxiedFilterChain(orig, [new RecordingFilter('a', invocations)] as List<Filter>).doFilter(null, null)
+        new ProxiedFilterChain(orig, (List<Filter>) null).doFilter(null, null)
+
+        assertEquals invocations, ['a', 'orig', 'orig']
+        assertSame ProxiedFilterChain.toArray(null), ProxiedFilterChain.toArray([])
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.filter
+
+import com.stormpath.sdk.application.Application
+import com.stormpath.sdk.client.Client
+import org.testng.annotations.Test
+
+import javax.servlet.FilterChain
+import javax.servlet.ServletContext
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+
+import static org.easymock.EasyMock.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class StormpathFilterTest {
+
+    @Test
+    void testSetRequestAttributes() {
+
+        def client = createMock(Client)
+        def application = createMock(Application)
+        def servletContext = createMock(ServletContext)
+        def request = createMock(HttpServletRequest)
+
+        //servlet context attributes are only looked up for the first request:
+        expect(request.getServletContext()).andReturn(servletContext).times(2)
+        expect(servletContext.getAttribute(Client.class.getName())).andReturn(client).once()
+        expect(servletContext.getAttribute(Application.class.getName())).andReturn(application).once()
+
+        2.times {
+            request.setAttribute(Client.class.getName(), client)
+            request.setAttribute('client', client)
+            request.setAttribute('myClient', client)
+            request.setAttribute(Application.class.getName(), application)
+            request.setAttribute('application', application)
+        }
+
+        replay client, application, servletContext, request
+
+        def filter = new StormpathFilter()
+        filter.setClientRequestAttributeNames(['client', 'myClient', Client.class.getName()] as LinkedHashSet)
+        filter.setApplicationRequestAttributeNames(['application'] as Set)
+
+        2.times { filter.setRequestAttributes(request) }
+
+        verify client, application, servletContext, request
+    }
+
+    @Test
+    void testBypassedRequestIsNotWrapped() {
+
+        def request = createMock(HttpServletRequest)
+        def response = createMock(HttpServletResponse)
+        def chain = createMock(FilterChain)
+
+        expect(request.getAttribute('stormpathFilter.FILTERED')).andReturn(null)
+        request.setAttribute('stormpathFilter.FILTERED', Boolean.TRUE)
+        expect(request.getRequestURI()).andReturn('/static/app.js')
+        expect(request.getContextPath()).andReturn('')
+        //no request attributes, wrapping or chain resolution, just the original chain:
+        chain.doFilter(request, response)
+        request.removeAttribute('stormpathFilter.FILTERED')
+
+        replay request, response, chain
+
+        def filter = new StormpathFilter()
+        filter.setName('stormpathFilter')
+        filter.setBypassPathMatcher(new BypassPathMatcher(['/static/'], null))
+        filter.doFilter(request, response, chain)
+
+        verify request, response, chain
+    }
+}
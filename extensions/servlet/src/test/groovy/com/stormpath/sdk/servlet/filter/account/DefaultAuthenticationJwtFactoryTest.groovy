@@ -0,0 +1,94 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.servlet.filter.account
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.api.ApiKey
+import com.stormpath.sdk.authc.AuthenticationResult
+import com.stormpath.sdk.client.Client
+import io.jsonwebtoken.Jwts
+import io.jsonwebtoken.SignatureAlgorithm
+import org.easymock.IAnswer
+import org.testng.annotations.Test
+
+import javax.servlet.http.HttpServletRequest
+import javax.servlet.http.HttpServletResponse
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class DefaultAuthenticationJwtFactoryTest {
+
+    static final String ACCOUNT_HREF = 'https://api.stormpath.com/v1/accounts/apsd98f2kj09etiij'
+
+    //Stormpath API Key secrets are base-64-encoded:
+    static final String SECRET = 'c2VjcmV0S2V5Qnl0ZXNGb3JUZXN0aW5nU2lnbmluZ0tleXM='
+    static final String OTHER_SECRET = 'b3RoZXJTZWNyZXRLZXlCeXRlc0ZvclRlc3RpbmdLZXlz'
+
+    @Test
+    void testIssuedTokensAreIdenticalToDefaultBuilderTokens() {
+
+        def secret = SECRET
+
+        def apiKey = createMock(ApiKey)
+        expect(apiKey.getSecret()).andStubAnswer({ secret } as IAnswer)
+        def client = createMock(Client)
+        expect(client.getApiKey()).andStubReturn(apiKey)
+        def request = createMock(HttpServletRequest)
+        expect(request.getAttribute(Client.class.getName())).andStubReturn(client)
+        expect(request.getAttribute(ApiKey.class.getName())).andStubReturn(null)
+        def account = createMock(Account)
+        expect(account.getHref()).andStubReturn(ACCOUNT_HREF)
+        def result = createMock(AuthenticationResult)
+        expect(result.getAccount()).andStubReturn(account)
+        def response = createMock(HttpServletResponse)
+
+        replay apiKey, client, request, account, result, response
+
+        def resolver = new DefaultJwtSigningKeyResolver()
+
+        [SignatureAlgorithm.HS256, SignatureAlgorithm.HS512].each { alg ->
+
+            def factory = new DefaultAuthenticationJwtFactory(resolver, alg, 3600)
+
+            [SECRET, OTHER_SECRET, SECRET].each { s ->
+
+                secret = s
+
+                def jwt = factory.createAccountJwt(request, response, result)
+
+                def key = resolver.getSigningKey(request, response, result, alg)
+                assertSame resolver.getSigningKey(request, response, result, alg), key
+
+                def claims = Jwts.parser().setSigningKey(key).parseClaimsJws(jwt).getBody()
+                assertEquals claims.getSubject(), ACCOUNT_HREF
+
+                //the token as issued with a newly created signing key and signer:
+                def expected = Jwts.builder().setId(claims.getId()).setIssuedAt(claims.getIssuedAt())
+                        .setSubject(claims.getSubject()).setExpiration(claims.getExpiration())
+                        .signWith(alg, new DefaultJwtSigningKeyResolver().getSigningKey(request, response, result, alg))
+                        .compact()
+
+                assertEquals jwt, expected
+            }
+        }
+
+        verify apiKey, client, request, account, result, response
+    }
+}
@@ -136,4 +136,85 @@ class DefaultUserAgentTest {
 
         verify request
     }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testMimeTypesMemoizedPerInstance() {
+
+        def request = createMock(HttpServletRequest)
+
+        String accept = 'application/json,text/html'
+
+        //only read and parsed once, regardless of how many times negotiation is performed:
+        expect(request.getHeader(eq('Accept'))).andReturn(accept).once()
+
+        replay request
+
+        def ua = new DefaultUserAgent(request)
+        assertFalse ua.isHtmlPreferred()
+        assertFalse ua.isHtmlPreferred()
+        assertSame ua.getMimeTypes(), ua.getMimeTypes()
+
+        verify request
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testMimeTypesSharedAcrossRequestsWithSameHeader() {
+
+        String accept = 'text/html;q=0.5,application/xhtml+xml;q=0.7,' + UUID.randomUUID().toString()
+
+        def first = DefaultUserAgent.getMimeTypes(accept)
+        def second = DefaultUserAgent.getMimeTypes(new String(accept)) //equal but not identical header value
+
+        assertSame second, first
+        assertEquals first*.name, [accept.substring(accept.lastIndexOf(',') + 1), 'application/xhtml+xml', 'text/html']
+
+        try {
+            first.add(new DefaultUserAgent.AcceptedMediaType('text/plain', 1d, 3))
+            fail 'cached media types must not be modifiable'
+        } catch (UnsupportedOperationException expected) {
+        }
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testOversizedHeaderNotCached() {
+
+        String accept = 'text/html,' + ('x' * DefaultUserAgent.MAX_CACHED_ACCEPT_HEADER_LENGTH)
+
+        def first = DefaultUserAgent.getMimeTypes(accept)
+        def second = DefaultUserAgent.getMimeTypes(accept)
+
+        assertEquals second, first
+        assertNotSame second, first
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testCacheIsBounded() {
+
+        for (int i = 0; i < DefaultUserAgent.MAX_CACHED_ACCEPT_HEADERS * 2; i++) {
+            DefaultUserAgent.getMimeTypes('text/html,application/x-test-' + i)
+        }
+
+        assertTrue DefaultUserAgent.ACCEPT_HEADER_CACHE.size() <= DefaultUserAgent.MAX_CACHED_ACCEPT_HEADERS
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testMissingHeader() {
+        assertTrue DefaultUserAgent.getMimeTypes(null).isEmpty()
+        assertTrue DefaultUserAgent.getMimeTypes('  ').isEmpty()
+    }
 }
@@ -533,6 +533,7 @@ public class StormpathWebMvcAutoConfiguration extends AbstractStormpathWebMvcCon
         filter.setApplicationRequestAttributeNames(stormpathRequestApplicationAttributeNames());
         filter.setFilterChainResolver(stormpathFilterChainResolver());
         filter.setWrappedServletRequestFactory(stormpathWrappedServletRequestFactory());
+        filter.setBypassPathMatcher(stormpathFilterBypassPathMatcher());
 
         FilterRegistrationBean bean = new FilterRegistrationBean();
         bean.setFilter(filter);
@@ -30,11 +30,14 @@ import com.stormpath.sdk.servlet.config.CookieConfig;
 import com.stormpath.sdk.servlet.csrf.CsrfTokenManager;
 import com.stormpath.sdk.servlet.csrf.DefaultCsrfTokenManager;
 import com.stormpath.sdk.servlet.csrf.DisabledCsrfTokenManager;
+import com.stormpath.sdk.servlet.csrf.ExpiringNonceCache;
 import com.stormpath.sdk.servlet.event.RequestEvent;
 import com.stormpath.sdk.servlet.event.RequestEventListener;
 import com.stormpath.sdk.servlet.event.RequestEventListenerAdapter;
+import com.stormpath.sdk.servlet.event.impl.AsyncRequestEventPublisher;
 import com.stormpath.sdk.servlet.event.impl.Publisher;
 import com.stormpath.sdk.servlet.event.impl.RequestEventPublisher;
+import com.stormpath.sdk.servlet.filter.BypassPathMatcher;
 import com.stormpath.sdk.servlet.filter.DefaultServerUriResolver;
 import com.stormpath.sdk.servlet.filter.DefaultUsernamePasswordRequestFactory;
 import com.stormpath.sdk.servlet.filter.DefaultWrappedServletRequestFactory;
@@ -223,12 +226,30 @@ public abstract class AbstractStormpathWebMvcConfiguration {
     @Value("#{ @environment['stormpath.web.csrf.token.name'] ?: 'csrfToken'}")
     protected String csrfTokenName;
 
-    @Value("#{ @environment['stormpath.web.nonce.cache.name'] ?: 'com.stormpath.sdk.servlet.nonces' }")
+    @Value("#{ @environment['stormpath.web.csrf.token.nonces.max'] ?: 10000 }")
+    protected int csrfTokenNoncesMax;
+
+    @Value("#{ @environment['stormpath.web.nonce.cache.name'] }")
     protected String nonceCacheName;
 
     @Value("#{ @environment['stormpath.web.http.authc.challenge'] ?: true }")
     protected boolean httpAuthenticationChallenge;
 
+    @Value("#{ @environment['stormpath.web.request.event.async.enabled'] ?: false }")
+    protected boolean requestEventAsyncEnabled;
+
+    @Value("#{ @environment['stormpath.web.request.event.async.queueCapacity'] ?: 1000 }")
+    protected int requestEventAsyncQueueCapacity;
+
+    @Value("#{ @environment['stormpath.web.request.event.async.workers'] ?: 1 }")
+    protected int requestEventAsyncWorkers;
+
+    @Value("#{ @environment['stormpath.web.request.event.async.batchSize'] ?: 100 }")
+    protected int requestEventAsyncBatchSize;
+
+    @Value("#{ @environment['stormpath.web.request.event.async.overflowPolicy'] ?: 'caller_runs' }")
+    protected String requestEventAsyncOverflowPolicy;
+
     // ================  StormpathFilter properties  ===================
 
     @Value("#{ @environment['stormpath.web.stormpathFilter.enabled'] ?: true }")
@@ -250,6 +271,12 @@ public abstract class AbstractStormpathWebMvcConfiguration {
     @Value("#{ @environment['stormpath.web.stormpathFilter.matchAfter'] ?: false }")
     protected boolean stormpathFilterMatchAfter;
 
+    @Value("#{ @environment['stormpath.web.stormpathFilter.bypass.prefixes'] }")
+    protected String stormpathFilterBypassPrefixes;
+
+    @Value("#{ @environment['stormpath.web.stormpathFilter.bypass.extensions'] }")
+    protected String stormpathFilterBypassExtensions;
+
     // ================  'Head' view template properties  ===================
 
     @Value("#{ @environment['stormpath.web.head.view'] ?: 'stormpath/head' }")
@@ -633,6 +660,15 @@ public abstract class AbstractStormpathWebMvcConfiguration {
     }
 
     public Publisher<RequestEvent> stormpathRequestEventPublisher() {
+
+        if (requestEventAsyncEnabled) {
+            AsyncRequestEventPublisher.OverflowPolicy policy =
+                AsyncRequestEventPublisher.OverflowPolicy.valueOf(requestEventAsyncOverflowPolicy.trim().toUpperCase());
+            //Spring infers close() as the destroy method of the bean, so queued events are delivered on shutdown:
+            return new AsyncRequestEventPublisher(stormpathRequestEventListener(), requestEventAsyncQueueCapacity,
+                                                  requestEventAsyncWorkers, requestEventAsyncBatchSize, policy);
+        }
+
         return new RequestEventPublisher(stormpathRequestEventListener());
     }
 
@@ -645,7 +681,11 @@ public abstract class AbstractStormpathWebMvcConfiguration {
     }
 
     public Cache<String, String> stormpathNonceCache() {
-        return client.getCacheManager().getCache(nonceCacheName);
+        if (Strings.hasText(nonceCacheName)) {
+            //explicitly configured region, for example to share used tokens across nodes:
+            return client.getCacheManager().getCache(nonceCacheName);
+        }
+        return new ExpiringNonceCache(csrfTokenTtl, csrfTokenNoncesMax);
     }
 
     public CsrfTokenManager stormpathCsrfTokenManager() {
@@ -1125,22 +1165,30 @@ public abstract class AbstractStormpathWebMvcConfiguration {
 
     public FilterChainResolver stormpathFilterChainResolver() {
 
+        // The account resolver filter always executes immediately after the StormpathFilter but
+        // before any other configured filters in the chain:
+        final Filter[] immediateExecutionFilters = { stormpathAccountResolverFilter() };
+
         return new FilterChainResolver() {
 
             @Override
             public FilterChain getChain(HttpServletRequest request, HttpServletResponse response, FilterChain chain) {
-
-                // The account resolver filter always executes immediately after the StormpathFilter but
-                // before any other configured filters in the chain:
-                Filter accountResolverFilter = stormpathAccountResolverFilter();
-                List<Filter> immediateExecutionFilters = Arrays.asList(accountResolverFilter);
-                chain = new ProxiedFilterChain(chain, immediateExecutionFilters);
-
-                return chain;
+                return new ProxiedFilterChain(chain, immediateExecutionFilters);
             }
         };
     }
 
+    public BypassPathMatcher stormpathFilterBypassPathMatcher() {
+        Set<String> extensions = Strings.commaDelimitedListToSet(stormpathFilterBypassExtensions);
+        if (!extensions.isEmpty()) {
+            log.warn("StormpathFilter bypass extensions {} are configured.  Spring MVC suffix pattern matching, which " +
+                     "is enabled by default, dispatches a request like /admin.css to the handler mapped to /admin, " +
+                     "which would then run without any Stormpath processing.  Make sure suffix pattern matching is " +
+                     "disabled, or use stormpath.web.stormpathFilter.bypass.prefixes instead.", extensions);
+        }
+        return new BypassPathMatcher(Strings.commaDelimitedListToSet(stormpathFilterBypassPrefixes), extensions);
+    }
+
     public Filter stormpathAccountResolverFilter() {
 
         List<Resolver<Account>> resolvers = stormpathAccountResolvers();
@@ -577,6 +577,7 @@ public class StormpathWebMvcConfiguration extends AbstractStormpathWebMvcConfigu
         filter.setApplicationRequestAttributeNames(stormpathRequestApplicationAttributeNames());
         filter.setFilterChainResolver(stormpathFilterChainResolver());
         filter.setWrappedServletRequestFactory(stormpathWrappedServletRequestFactory());
+        filter.setBypassPathMatcher(stormpathFilterBypassPathMatcher());
 
         return filter;
     }
@@ -18,12 +18,21 @@ package com.stormpath.spring.cache;
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.lang.Assert;
 
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * A Stormpath SDK {@link com.stormpath.sdk.cache.Cache} implementation that wraps a Spring {@link org.springframework.cache.Cache Cache} instance.
  * This allows the Stormpath SDK to use your existing Spring caching mechanism so you only need to configure one
  * caching implementation.
  * <p/>
  * This implementation effectively acts as an adapter or bridge from the Stormpath SDK cache API to the Spring cache API.
+ * <p/>
+ * As of 1.0.RC8.1, {@link #put(Object, Object) put} always overwrites the existing value (write-through), so that
+ * updated resource data replaces stale data.  The Spring cache API does not return the previous value from a put or an
+ * evict, so {@link #put(Object, Object) put} and {@link #remove(Object) remove} read the previous value before writing,
+ * as required by the {@link Cache} contract.  That read is not reflected in the hit and miss counts.
+ * <p/>
+ * Each instance also keeps hit, miss, put and removal counts for its region, available via the respective getters.
  *
  * @param <K> The cache key type
  * @param <V> The cache value type
@@ -34,6 +43,11 @@ public class SpringCache<K, V> implements Cache<K, V> {
 
     private final org.springframework.cache.Cache springCache;
 
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong putCount = new AtomicLong();
+    private final AtomicLong removeCount = new AtomicLong();
+
     public SpringCache(org.springframework.cache.Cache springCache) {
         Assert.notNull(springCache, "spring cache instance cannot be null.");
         this.springCache = springCache;
@@ -42,25 +56,125 @@ public class SpringCache<K, V> implements Cache<K, V> {
     @Override
     public V get(K key) {
         org.springframework.cache.Cache.ValueWrapper vw = springCache.get(key);
-        if (vw == null) {
-            return null;
+        V value = vw != null ? (V) vw.get() : null;
+        if (value == null) {
+            missCount.incrementAndGet();
+        } else {
+            hitCount.incrementAndGet();
         }
-        return (V) vw.get();
+        return value;
     }
 
+    /**
+     * Stores the value under the specified key, replacing any existing value.
+     *
+     * @param key   the key used to identify the object being stored.
+     * @param value the value to be stored in the cache.
+     * @return the value previously stored under the key, or {@code null} if there was none.
+     */
     @Override
     public V put(K key, V value) {
-        org.springframework.cache.Cache.ValueWrapper vw = springCache.putIfAbsent(key, value);
-        if (vw == null) {
-            return null;
-        }
-        return (V) vw.get();
+        V previous = peek(key);
+        springCache.put(key, value);
+        putCount.incrementAndGet();
+        return previous;
     }
 
+    /**
+     * Evicts the specified key from the cache.
+     *
+     * @param key the key of the entry to be removed.
+     * @return the value previously stored under the key, or {@code null} if there was none.
+     */
     @Override
     public V remove(K key) {
-        V v = get(key);
+        V previous = peek(key);
         springCache.evict(key);
-        return v;
+        removeCount.incrementAndGet();
+        return previous;
+    }
+
+    //reads a value without affecting the hit and miss counts
+    private V peek(K key) {
+        org.springframework.cache.Cache.ValueWrapper vw = springCache.get(key);
+        return vw != null ? (V) vw.get() : null;
+    }
+
+    /**
+     * Returns the name of the wrapped Spring cache.
+     *
+     * @return the name of the wrapped Spring cache.
+     * @since 1.0.RC8.1
+     */
+    public String getName() {
+        return springCache.getName();
+    }
+
+    /**
+     * Returns the number of lookups that found a value.
+     *
+     * @return the number of lookups that found a value.
+     * @since 1.0.RC8.1
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Returns the number of lookups that did not find a value.
+     *
+     * @return the number of lookups that did not find a value.
+     * @since 1.0.RC8.1
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Returns the ratio of lookups that found a value, or zero if there have not been any lookups yet.
+     *
+     * @return the ratio of lookups that found a value, or zero if there have not been any lookups yet.
+     * @since 1.0.RC8.1
+     */
+    public double getHitRatio() {
+        long hits = hitCount.get();
+        long total = hits + missCount.get();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * Returns the number of values stored.
+     *
+     * @return the number of values stored.
+     * @since 1.0.RC8.1
+     */
+    public long getPutCount() {
+        return putCount.get();
+    }
+
+    /**
+     * Returns the number of keys evicted.
+     *
+     * @return the number of keys evicted.
+     * @since 1.0.RC8.1
+     */
+    public long getRemoveCount() {
+        return removeCount.get();
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Override
+    public String toString() {
+        return new StringBuilder("    {\n")
+                .append("      \"name\": \"").append(getName()).append("\",\n")
+                .append("      \"hitCount\": ").append(getHitCount()).append(",\n")
+                .append("      \"missCount\": ").append(getMissCount()).append(",\n")
+                .append("      \"hitRatio\": ").append(getHitRatio()).append(",\n")
+                .append("      \"putCount\": ").append(getPutCount()).append(",\n")
+                .append("      \"removeCount\": ").append(getRemoveCount()).append("\n")
+                .append("    }")
+                .toString();
     }
 }
@@ -18,8 +18,16 @@ package com.stormpath.spring.cache;
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.cache.CacheManager;
 import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Duration;
 import org.springframework.beans.factory.InitializingBean;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
  * A Stormpath SDK {@link com.stormpath.sdk.cache.CacheManager} implementation that wraps a Spring
  * {@link org.springframework.cache.CacheManager CacheManager} instance.  This allows the Stormpath SDK to use your
@@ -27,6 +35,11 @@ import org.springframework.beans.factory.InitializingBean;
  * <p/>
  * This implementation effectively acts as an adapter or bridge from the Stormpath SDK cacheManager API to the Spring
  * CacheManager API.
+ * <p/>
+ * As of 1.0.RC8.1, the SDK's region expiration settings - a default and optional per-region time to live and time to
+ * idle - can be configured on this instance and are passed through to the underlying cache provider via a
+ * {@link SpringCacheRegionConfigurer}.  Each region is wrapped once, so the {@link SpringCache} returned for a name
+ * accumulates that region's hit/miss statistics.
  *
  * @since 1.0.RC4
  */
@@ -34,6 +47,13 @@ public class SpringCacheManager implements CacheManager, InitializingBean {
 
     private org.springframework.cache.CacheManager springCacheManager;
 
+    private final ConcurrentMap<String, SpringCache> caches = new ConcurrentHashMap<String, SpringCache>();
+    private final Map<String, Duration> timeToLives = new ConcurrentHashMap<String, Duration>();
+    private final Map<String, Duration> timeToIdles = new ConcurrentHashMap<String, Duration>();
+    private Duration defaultTimeToLive;
+    private Duration defaultTimeToIdle;
+    private SpringCacheRegionConfigurer regionConfigurer;
+
     public SpringCacheManager(){}
 
     /**
@@ -51,6 +71,67 @@ public class SpringCacheManager implements CacheManager, InitializingBean {
         this.springCacheManager = cacheManager;
     }
 
+    /**
+     * Sets the time to live of regions without a {@link #setTimeToLive(String, Duration) region-specific} setting,
+     * passed through to the {@link #setRegionConfigurer(SpringCacheRegionConfigurer) region configurer}.
+     *
+     * @param defaultTimeToLive the default time to live, or {@code null} if entries may live indefinitely.
+     * @since 1.0.RC8.1
+     */
+    public void setDefaultTimeToLive(Duration defaultTimeToLive) {
+        this.defaultTimeToLive = defaultTimeToLive;
+    }
+
+    /**
+     * Sets the time to idle of regions without a {@link #setTimeToIdle(String, Duration) region-specific} setting,
+     * passed through to the {@link #setRegionConfigurer(SpringCacheRegionConfigurer) region configurer}.
+     *
+     * @param defaultTimeToIdle the default time to idle, or {@code null} if entries may remain idle indefinitely.
+     * @since 1.0.RC8.1
+     */
+    public void setDefaultTimeToIdle(Duration defaultTimeToIdle) {
+        this.defaultTimeToIdle = defaultTimeToIdle;
+    }
+
+    /**
+     * Sets the time to live of the named region, overriding the {@link #setDefaultTimeToLive(Duration) default}.
+     * Must be called before the region is first used.
+     *
+     * @param regionName the name of the cache region, e.g. {@code com.stormpath.sdk.account.Account}
+     * @param timeToLive the time to live of the region
+     * @since 1.0.RC8.1
+     */
+    public void setTimeToLive(String regionName, Duration timeToLive) {
+        Assert.hasText(regionName, "regionName cannot be null or empty.");
+        Assert.notNull(timeToLive, "timeToLive cannot be null.");
+        this.timeToLives.put(regionName, timeToLive);
+    }
+
+    /**
+     * Sets the time to idle of the named region, overriding the {@link #setDefaultTimeToIdle(Duration) default}.
+     * Must be called before the region is first used.
+     *
+     * @param regionName the name of the cache region, e.g. {@code com.stormpath.sdk.account.Account}
+     * @param timeToIdle the time to idle of the region
+     * @since 1.0.RC8.1
+     */
+    public void setTimeToIdle(String regionName, Duration timeToIdle) {
+        Assert.hasText(regionName, "regionName cannot be null or empty.");
+        Assert.notNull(timeToIdle, "timeToIdle cannot be null.");
+        this.timeToIdles.put(regionName, timeToIdle);
+    }
+
+    /**
+     * Sets the component that passes each region's expiration settings through to the underlying cache provider.
+     * If not set, expiration is entirely up to the provider's own configuration.
+     *
+     * @param regionConfigurer the component that passes region expiration settings through to the cache provider.
+     * @since 1.0.RC8.1
+     */
+    public void setRegionConfigurer(SpringCacheRegionConfigurer regionConfigurer) {
+        this.regionConfigurer = regionConfigurer;
+    }
+
     @Override
     public void afterPropertiesSet() throws Exception {
         Assert.notNull(springCacheManager, "springCacheManager instance must be specified.");
@@ -60,15 +141,85 @@ public class SpringCacheManager implements CacheManager, InitializingBean {
      * Consults the wrapped Spring {@link org.springframework.cache.CacheManager CacheManager} instance to obtain a
      * named Spring {@link org.springframework.cache.Cache Cache} instance.  The instance is wrapped and returned as a
      * {@link SpringCache} instance, which acts as a bridge/adapter over Spring's existing Cache API.
+     * <p/>
+     * As of 1.0.RC8.1, the first time a name is requested, the region's expiration settings are passed to the
+     * {@link #setRegionConfigurer(SpringCacheRegionConfigurer) region configurer} (if any) before the Spring cache is
+     * obtained, and subsequent calls return the same {@code SpringCache} instance.
      *
      * @param name the name of the cache to acquire.
      * @param <K>  The cache key type
      * @param <V>  The cache value type
      * @return the Cache with the given name
      */
+    @SuppressWarnings("unchecked")
     @Override
     public <K, V> Cache<K, V> getCache(String name) {
-        org.springframework.cache.Cache springCache = this.springCacheManager.getCache(name);
-        return new SpringCache<K,V>(springCache);
+        SpringCache cache = this.caches.get(name);
+        if (cache == null) {
+            synchronized (this.caches) {
+                cache = this.caches.get(name);
+                if (cache == null) {
+                    if (this.regionConfigurer != null) {
+                        this.regionConfigurer.configure(name, getTimeToLive(name), getTimeToIdle(name));
+                    }
+                    org.springframework.cache.Cache springCache = this.springCacheManager.getCache(name);
+                    cache = new SpringCache<K, V>(springCache);
+                    this.caches.put(name, cache);
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Returns the time to live passed through for the named region, or {@code null} if there is none.
+     *
+     * @param regionName the name of the cache region
+     * @return the time to live passed through for the named region, or {@code null} if there is none.
+     * @since 1.0.RC8.1
+     */
+    public Duration getTimeToLive(String regionName) {
+        Duration ttl = this.timeToLives.get(regionName);
+        return ttl != null ? ttl : this.defaultTimeToLive;
+    }
+
+    /**
+     * Returns the time to idle passed through for the named region, or {@code null} if there is none.
+     *
+     * @param regionName the name of the cache region
+     * @return the time to idle passed through for the named region, or {@code null} if there is none.
+     * @since 1.0.RC8.1
+     */
+    public Duration getTimeToIdle(String regionName) {
+        Duration tti = this.timeToIdles.get(regionName);
+        return tti != null ? tti : this.defaultTimeToIdle;
+    }
+
+    /**
+     * Returns the regions obtained so far, keyed by name, e.g. to report their hit/miss statistics.
+     *
+     * @return the regions obtained so far, keyed by name.
+     * @since 1.0.RC8.1
+     */
+    public Map<String, SpringCache> getCaches() {
+        return Collections.unmodifiableMap(new HashMap<String, SpringCache>(this.caches));
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Override
+    public String toString() {
+        Collection<SpringCache> values = this.caches.values();
+        StringBuilder sb = new StringBuilder("{\n  \"cacheCount\": ").append(values.size()).append(",\n")
+                .append("  \"caches\": [\n");
+        int i = 0;
+        for (SpringCache cache : values) {
+            if (i++ > 0) {
+                sb.append(",\n");
+            }
+            sb.append(cache.toString());
+        }
+        return sb.append("\n  ]\n}").toString();
     }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.spring.cache;
+
+import com.stormpath.sdk.lang.Duration;
+
+/**
+ * Passes the Stormpath SDK's per-region expiration settings through to the underlying Spring cache provider.  The
+ * Spring cache abstraction has no notion of expiration, so each provider is configured differently; implement this
+ * interface for your provider, e.g. for Spring Data Redis:
+ * <pre>
+ * final RedisCacheManager redisCacheManager = ...;
+ * final Map&lt;String,Long&gt; expires = new ConcurrentHashMap&lt;String,Long&gt;();
+ * redisCacheManager.setExpires(expires);
+ *
+ * SpringCacheManager cacheManager = new SpringCacheManager(redisCacheManager);
+ * cacheManager.setDefaultTimeToLive(new Duration(1, TimeUnit.HOURS));
+ * cacheManager.setRegionConfigurer(new SpringCacheRegionConfigurer() {
+ *     public void configure(String regionName, Duration timeToLive, Duration timeToIdle) {
+ *         if (timeToLive != null) {
+ *             expires.put(regionName, timeToLive.getTimeUnit().toSeconds(timeToLive.getValue()));
+ *         }
+ *     }
+ * });
+ * </pre>
+ *
+ * @see SpringCacheManager#setRegionConfigurer(SpringCacheRegionConfigurer)
+ * @since 1.0.RC8.1
+ */
+public interface SpringCacheRegionConfigurer {
+
+    /**
+     * Configures the provider's expiration settings for the named region.  Invoked once per region, before the region
+     * is first obtained from the Spring {@link org.springframework.cache.CacheManager CacheManager}.
+     *
+     * @param regionName the name of the cache region
+     * @param timeToLive the maximum time an entry may exist in the region, or {@code null} if it may live indefinitely
+     * @param timeToIdle the maximum time an entry may remain unaccessed in the region, or {@code null} if it may
+     *                   remain idle indefinitely
+     */
+    void configure(String regionName, Duration timeToLive, Duration timeToIdle);
+}
@@ -19,12 +19,14 @@ import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.api.ApiKeyBuilder;
 import com.stormpath.sdk.api.ApiKeys;
 import com.stormpath.sdk.application.Application;
+import com.stormpath.sdk.cache.CacheWarmUpRequestBuilder;
 import com.stormpath.sdk.cache.Caches;
 import com.stormpath.sdk.client.AuthenticationScheme;
 import com.stormpath.sdk.client.Client;
 import com.stormpath.sdk.client.ClientBuilder;
 import com.stormpath.sdk.client.Clients;
 import com.stormpath.sdk.client.Proxy;
+import com.stormpath.sdk.impl.ds.cache.ApplicationBootstrap;
 import com.stormpath.sdk.lang.Strings;
 import com.stormpath.spring.cache.SpringCacheManager;
 import org.springframework.beans.factory.BeanCreationException;
@@ -90,6 +92,12 @@ public abstract class AbstractStormpathConfiguration {
     @Value("#{ @environment['stormpath.authentication.scheme'] }")
     protected AuthenticationScheme authenticationScheme;
 
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Value("#{ @environment['stormpath.bootstrap.eager'] ?: false }")
+    protected boolean eagerBootstrapEnabled;
+
     public ApiKey stormpathClientApiKey() {
 
         ApiKeyBuilder builder = ApiKeys.builder();
@@ -123,6 +131,46 @@ public abstract class AbstractStormpathConfiguration {
 
         Client client = stormpathClient();
 
+        if (eagerBootstrapEnabled) {
+            return bootstrapApplication(client);
+        }
+
+        return resolveApplication(client);
+    }
+
+    /**
+     * Resolves the application and loads the data needed to serve the first requests - the current tenant, the
+     * application's account store mappings, the mapped account stores and the application and directory policies -
+     * into the cache, loading as much of it in parallel as possible.  A per-step timing report is logged once the
+     * cache is warm.  Enabled by setting the {@code stormpath.bootstrap.eager} property to {@code true}.
+     *
+     * @param client the client used to resolve the application
+     * @return the resolved application
+     * @since 1.0.RC8.1
+     */
+    protected Application bootstrapApplication(final Client client) {
+        ApplicationBootstrap bootstrap = new ApplicationBootstrap(client, newBootstrapRequest());
+
+        return bootstrap.bootstrap(applicationHref, new ApplicationBootstrap.ApplicationLookup() {
+            @Override
+            public Application getApplication() {
+                return resolveApplication(client);
+            }
+        });
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    protected CacheWarmUpRequestBuilder newBootstrapRequest() {
+        return ApplicationBootstrap.newBootstrapRequest();
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    protected Application resolveApplication(Client client) {
+
         if (Strings.hasText(applicationHref)) {
             return client.getResource(applicationHref, Application.class);
         }
@@ -17,9 +17,13 @@ package com.stormpath.spring.cache
 
 import org.junit.Assert
 import org.junit.Test
+import com.stormpath.sdk.lang.Duration
 import org.springframework.cache.concurrent.ConcurrentMapCache
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager
 import org.springframework.cache.support.SimpleCacheManager
 
+import java.util.concurrent.TimeUnit
+
 /**
  * @since 0.2.0
  */
@@ -45,4 +49,43 @@ class SpringCacheManagerTest {
         Assert.assertSame springCache, cache.springCache
     }
 
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testGetCacheReturnsSameInstance() {
+
+        SpringCacheManager cacheManager = new SpringCacheManager(new ConcurrentMapCacheManager())
+
+        def cache = cacheManager.getCache('foo')
+        Assert.assertSame cache, cacheManager.getCache('foo')
+        Assert.assertNotSame cache, cacheManager.getCache('bar')
+        Assert.assertEquals(['foo', 'bar'] as Set, cacheManager.caches.keySet())
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testRegionConfigurer() {
+
+        def configured = [:]
+        def hour = new Duration(1, TimeUnit.HOURS)
+        def minutes = new Duration(10, TimeUnit.MINUTES)
+
+        SpringCacheManager cacheManager = new SpringCacheManager(new ConcurrentMapCacheManager())
+        cacheManager.setDefaultTimeToLive(hour)
+        cacheManager.setTimeToLive('foo', minutes)
+        cacheManager.setTimeToIdle('bar', minutes)
+        cacheManager.setRegionConfigurer({ String name, Duration ttl, Duration tti ->
+            configured[name] = [ttl, tti]
+        } as SpringCacheRegionConfigurer)
+
+        cacheManager.getCache('foo')
+        cacheManager.getCache('foo')
+        cacheManager.getCache('bar')
+
+        Assert.assertEquals([foo: [minutes, null], bar: [hour, minutes]], configured)
+    }
+
 }
@@ -19,8 +19,7 @@ import org.junit.Test
 import org.springframework.cache.concurrent.ConcurrentMapCache
 
 import static org.easymock.EasyMock.*
-import static org.junit.Assert.assertNull
-import static org.junit.Assert.assertSame
+import static org.junit.Assert.*
 
 /**
  * @since 0.2.0
@@ -87,10 +86,15 @@ class SpringCacheTest {
         def val = cache.get(key)
         assertNull val
         assertNull cache.put(key, prev)
+        assertSame prev, cache.get(key)
 
-        val = cache.put(key, value)
+        //@since 1.0.RC8.1: puts overwrite existing values and return the previous one:
+        assertSame prev, cache.put(key, value)
+        assertSame value, cache.get(key)
 
-        assertSame prev, val
+        assertEquals 2, cache.putCount
+        assertEquals 2, cache.hitCount
+        assertEquals 1, cache.missCount
     }
 
     @Test
@@ -100,21 +104,48 @@ class SpringCacheTest {
         def valueWrapper = createStrictMock(org.springframework.cache.Cache.ValueWrapper)
 
         def key = 'key'
-        def prev = 'value0'
+        def value = 'value'
 
-        expect(springCache.get(key)) andReturn valueWrapper
+        expect(springCache.get(key)).andReturn valueWrapper
+        expect(valueWrapper.get()).andReturn value
+        expect(springCache.evict(key))
+        expect(springCache.get(key)).andReturn null
         expect(springCache.evict(key))
-        expect(valueWrapper.get()) andReturn prev
 
         replay(springCache, valueWrapper)
 
         def cache = new SpringCache(springCache)
 
-        def retval = cache.remove(key)
-
-        assertSame prev, retval
+        assertSame value, cache.remove(key)
+        assertNull cache.remove(key)
+        assertEquals 2, cache.removeCount
+        //@since 1.0.RC8.1: reading the previous value is not a lookup:
+        assertEquals 0, cache.hitCount
+        assertEquals 0, cache.missCount
 
         verify(springCache, valueWrapper)
     }
 
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testStatistics() {
+
+        def cache = new SpringCache(new ConcurrentMapCache('foo'))
+
+        assertEquals 0, cache.hitRatio, 0
+        cache.put('a', 'b')
+        cache.get('a')
+        cache.get('a')
+        cache.get('a')
+        cache.get('c')
+
+        assertEquals 'foo', cache.name
+        assertEquals 3, cache.hitCount
+        assertEquals 1, cache.missCount
+        assertEquals 0.75, cache.hitRatio, 0
+        assertTrue cache.toString().contains('"hitCount": 3')
+    }
+
 }
@@ -0,0 +1,603 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.urlconnection;
+
+import com.stormpath.sdk.api.ApiKey;
+import com.stormpath.sdk.client.AuthenticationScheme;
+import com.stormpath.sdk.client.Proxy;
+import com.stormpath.sdk.impl.http.HttpHeaders;
+import com.stormpath.sdk.impl.http.QueryString;
+import com.stormpath.sdk.impl.http.Request;
+import com.stormpath.sdk.impl.http.RequestExecutor;
+import com.stormpath.sdk.impl.http.Response;
+import com.stormpath.sdk.impl.http.RestException;
+import com.stormpath.sdk.impl.http.authc.DefaultRequestAuthenticatorFactory;
+import com.stormpath.sdk.impl.http.authc.RequestAuthenticator;
+import com.stormpath.sdk.impl.http.authc.RequestAuthenticatorFactory;
+import com.stormpath.sdk.impl.http.support.BackoffStrategy;
+import com.stormpath.sdk.impl.http.support.BufferedRequestBody;
+import com.stormpath.sdk.impl.http.support.DefaultRequest;
+import com.stormpath.sdk.impl.http.support.DefaultResponse;
+import com.stormpath.sdk.impl.util.Base64;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.URI;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * {@code RequestExecutor} implementation that uses the JDK's {@link HttpURLConnection} to execute http requests, so
+ * the SDK can be used without any third-party HTTP library.
+ * <p/>
+ * Requests are authenticated, redirected, retried and backed off exactly like the Apache HttpClient based executor:
+ * redirects are followed manually so every request is signed for its actual location, {@code 503} and {@code 504}
+ * responses as well as connection failures are retried up to {@link #getNumRetries() numRetries} times with an
+ * exponential back-off (or the configured {@link BackoffStrategy}), and throttled ({@code 429}) requests are retried
+ * with a longer back-off.
+ * <p/>
+ * Connections are kept alive and reused by the JDK's connection cache as long as response bodies are fully read and
+ * closed; the number of idle connections kept per destination is controlled by the JDK's {@code http.maxConnections}
+ * system property.
+ * <p/>
+ * In addition to the synchronous {@link #executeRequest(Request)}, requests may be executed asynchronously via
+ * {@link #executeRequestAsync(Request)}, which executes them on a bounded pool of daemon threads.  The pool size
+ * defaults to {@code 10} and may be changed via the
+ * {@code com.stormpath.sdk.impl.http.urlconnection.UrlConnectionRequestExecutor.maxConcurrentRequests} system
+ * property.  {@link #close() Closing} the executor shuts that pool down; the client closes its executor when it is
+ * closed itself.
+ *
+ * @since 1.0.RC8.1
+ */
+public class UrlConnectionRequestExecutor implements RequestExecutor, Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(UrlConnectionRequestExecutor.class);
+
+    /**
+     * Maximum exponential back-off time before retrying a request
+     */
+    private static final int MAX_BACKOFF_IN_MILLISECONDS = 20 * 1000;
+
+    private static final int DEFAULT_MAX_RETRIES = 4;
+
+    private static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 10;
+    private static final String MAX_CONCURRENT_REQUESTS_PROPERTY_KEY = "com.stormpath.sdk.impl.http.urlconnection.UrlConnectionRequestExecutor.maxConcurrentRequests";
+
+    private static final String STREAMING_RESPONSES_PROPERTY_KEY = "com.stormpath.sdk.impl.http.urlconnection.UrlConnectionRequestExecutor.streamingResponses";
+
+    private static final String GZIP_ENCODING = "gzip";
+
+    private int numRetries = DEFAULT_MAX_RETRIES;
+
+    private boolean streamingResponses = Boolean.getBoolean(STREAMING_RESPONSES_PROPERTY_KEY);
+
+    private final ApiKey apiKey;
+
+    private final java.net.Proxy proxy;
+
+    private final String proxyAuthorization;
+
+    private final int connectionTimeout;
+
+    private final RequestAuthenticator requestAuthenticator;
+
+    private final RequestAuthenticatorFactory requestAuthenticatorFactory = new DefaultRequestAuthenticatorFactory();
+
+    private final int maxConcurrentRequests;
+
+    private BackoffStrategy backoffStrategy;
+
+    private ExecutorService asyncExecutor;
+
+    private boolean closed;
+
+    //doesn't need to be SecureRandom: only used in backoff strategy, not for crypto:
+    private final Random random = new Random();
+
+    /**
+     * Creates a new {@code UrlConnectionRequestExecutor} using the specified {@code ApiKey} and optional {@code Proxy}
+     * configuration.
+     *
+     * @param apiKey               the Stormpath account API Key that will be used to authenticate the client with
+     *                             Stormpath's API sever
+     * @param proxy                the HTTP proxy to be used when communicating with the Stormpath API server (can be
+     *                             null).  Proxy credentials are sent preemptively for plain HTTP requests; tunneled
+     *                             (HTTPS) requests through an authenticating proxy require a
+     *                             {@link java.net.Authenticator} to be installed.
+     * @param authenticationScheme the HTTP authentication scheme to be used when communicating with the Stormpath API
+     *                             server. If null, then Sauthc1 will be used.
+     * @param connectionTimeout    the connect and read timeout in milliseconds, or zero for no timeout.
+     */
+    public UrlConnectionRequestExecutor(ApiKey apiKey, Proxy proxy, AuthenticationScheme authenticationScheme, Integer connectionTimeout) {
+        Assert.notNull(apiKey, "apiKey argument is required.");
+        Assert.isTrue(connectionTimeout >= 0, "Timeout cannot be a negative number.");
+
+        this.apiKey = apiKey;
+        this.requestAuthenticator = requestAuthenticatorFactory.create(authenticationScheme);
+        this.connectionTimeout = connectionTimeout;
+
+        if (proxy != null) {
+            this.proxy = new java.net.Proxy(java.net.Proxy.Type.HTTP, new InetSocketAddress(proxy.getHost(), proxy.getPort()));
+            if (proxy.isAuthenticationRequired()) {
+                String credentials = proxy.getUsername() + ":" + proxy.getPassword();
+                this.proxyAuthorization = "Basic " + Base64.encodeBase64String(credentials.getBytes(Strings.UTF_8));
+            } else {
+                this.proxyAuthorization = null;
+            }
+        } else {
+            this.proxy = null;
+            this.proxyAuthorization = null;
+        }
+
+        int maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+        try {
+            if (System.getProperty(MAX_CONCURRENT_REQUESTS_PROPERTY_KEY) != null) {
+                maxConcurrentRequests = Integer.parseInt(System.getProperty(MAX_CONCURRENT_REQUESTS_PROPERTY_KEY));
+            }
+        } catch (NumberFormatException nfe) {
+            log.error(
+                "Bad max concurrent requests value: " + System.getProperty(MAX_CONCURRENT_REQUESTS_PROPERTY_KEY) +
+                ". Using default: " + DEFAULT_MAX_CONCURRENT_REQUESTS
+            );
+        }
+        if (maxConcurrentRequests <= 0) {
+            log.error("maxConcurrentRequests must be greater than zero.  Using default: " + DEFAULT_MAX_CONCURRENT_REQUESTS);
+            maxConcurrentRequests = DEFAULT_MAX_CONCURRENT_REQUESTS;
+        }
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+
+    public int getNumRetries() {
+        return numRetries;
+    }
+
+    public void setNumRetries(int numRetries) {
+        this.numRetries = numRetries;
+    }
+
+    public BackoffStrategy getBackoffStrategy() {
+        return this.backoffStrategy;
+    }
+
+    public void setBackoffStrategy(BackoffStrategy backoffStrategy) {
+        this.backoffStrategy = backoffStrategy;
+    }
+
+    /**
+     * Returns {@code true} if successful response bodies are handed to the caller as the (decompressed) connection
+     * stream instead of being buffered into memory first, {@code false} otherwise.  Error response bodies are always
+     * buffered.
+     *
+     * @return {@code true} if successful response bodies are streamed, {@code false} otherwise.
+     */
+    public boolean isStreamingResponses() {
+        return streamingResponses;
+    }
+
+    /**
+     * Sets whether successful response bodies are handed to the caller as the (decompressed) connection stream
+     * instead of being buffered into memory first.  The caller then <em>must</em> read and close the response body:
+     * the connection is only returned to the JDK's keep-alive cache once the body has been fully read and closed.
+     * <p/>
+     * Defaults to the value of the
+     * {@code com.stormpath.sdk.impl.http.urlconnection.UrlConnectionRequestExecutor.streamingResponses} system
+     * property, or {@code false} if not set.
+     *
+     * @param streamingResponses whether successful response bodies are streamed.
+     */
+    public void setStreamingResponses(boolean streamingResponses) {
+        this.streamingResponses = streamingResponses;
+    }
+
+    /**
+     * Executes the specified request asynchronously, with the same authentication, redirect and retry semantics as
+     * {@link #executeRequest(Request)}.  At most {@code maxConcurrentRequests} requests are executed concurrently;
+     * additional requests are queued.
+     *
+     * @param request the request to execute
+     * @return a {@code Future} that provides the response, or throws an {@code ExecutionException} wrapping the
+     *         {@link RestException} if the request failed.
+     */
+    public Future<Response> executeRequestAsync(final Request request) {
+        Assert.notNull(request, "Request argument cannot be null.");
+        return getAsyncExecutor().submit(new Callable<Response>() {
+            @Override
+            public Response call() throws Exception {
+                return executeRequest(request);
+            }
+        });
+    }
+
+    private synchronized ExecutorService getAsyncExecutor() {
+        if (closed) {
+            throw new IllegalStateException("This request executor has been closed.");
+        }
+        if (asyncExecutor == null) {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(maxConcurrentRequests, maxConcurrentRequests,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "stormpath-http-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            //idle threads are not kept around when no asynchronous requests are being executed:
+            executor.allowCoreThreadTimeOut(true);
+            asyncExecutor = executor;
+        }
+        return asyncExecutor;
+    }
+
+    /**
+     * Shuts down the thread pool used by {@link #executeRequestAsync(Request)}.  Requests that have already been
+     * submitted are still executed, but no new asynchronous requests are accepted.  Synchronous requests are not
+     * affected.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (asyncExecutor != null) {
+            asyncExecutor.shutdown();
+        }
+    }
+
+    @Override
+    public Response executeRequest(Request request) throws RestException {
+
+        Assert.notNull(request, "Request argument cannot be null.");
+
+        int retryCount = 0;
+        URI redirectUri = null;
+        BufferedRequestBody body = null;
+        RestException exception = null;
+
+        // Make a copy of the original request params and headers so that we can
+        // permute them in the loop and start over with the original every time.
+        QueryString originalQuery = new QueryString();
+        originalQuery.putAll(request.getQueryString());
+
+        HttpHeaders originalHeaders = new HttpHeaders();
+        originalHeaders.putAll(request.getHeaders());
+
+        while (true) {
+
+            if (redirectUri != null) {
+                request = new DefaultRequest(
+                        request.getMethod(),
+                        redirectUri.toString(),
+                        null,
+                        null,
+                        request.getBody(),
+                        request.getHeaders().getContentLength()
+                );
+            }
+
+            if (retryCount > 0) {
+                request.setQueryString(originalQuery);
+                request.setHeaders(originalHeaders);
+            }
+
+            HttpURLConnection connection = null;
+            boolean released = false;
+            try {
+                // Sign the request
+                if (this.apiKey != null) {
+                    this.requestAuthenticator.authenticate(request, this.apiKey);
+                }
+
+                //the body is buffered once (after signing, which may need to read it too) and re-sent on every attempt.
+                //Bodies created by the DataStore are already buffered and are used as is:
+                if (body == null && request.getBody() != null) {
+                    InputStream in = request.getBody();
+                    body = in instanceof BufferedRequestBody ? (BufferedRequestBody) in : new BufferedRequestBody(toBytes(in));
+                }
+
+                if (retryCount > 0) {
+                    pauseExponentially(retryCount, exception);
+                }
+
+                exception = null;
+                retryCount++;
+
+                connection = openConnection(request, body);
+                int httpStatus = connection.getResponseCode();
+
+                if (isRedirect(connection, httpStatus)) {
+                    String location = connection.getHeaderField("Location");
+                    log.debug("Redirecting to: " + location);
+                    redirectUri = URI.create(location);
+                    //fully read the (usually empty) body so the connection can be reused:
+                    toBytes(getResponseStream(connection, httpStatus));
+                    released = true;
+                } else {
+
+                    //the body has either been fully read or is handed to the caller, who must close it:
+                    Response response = toSdkResponse(connection, httpStatus);
+                    released = true;
+
+                    if (httpStatus == 429) {
+                        throw new RestException("HTTP 429: Too Many Requests.  Exceeded request rate limit in the allotted amount of time.");
+                    }
+                    if ((httpStatus == 503 || httpStatus == 504) && retryCount <= this.numRetries) {
+                        //allow the loop to continue to execute a retry request
+                        continue;
+                    }
+
+                    return response;
+                }
+            } catch (Throwable t) {
+                log.warn("Unable to execute HTTP request: " + t.getMessage());
+
+                if (t instanceof RestException) {
+                    exception = (RestException) t;
+                }
+
+                if (!shouldRetry(t, retryCount)) {
+                    throw new RestException("Unable to execute HTTP request: " + t.getMessage(), t);
+                }
+            } finally {
+                //a connection in an unknown state can't be reused:
+                if (connection != null && !released) {
+                    connection.disconnect();
+                }
+            }
+        }
+    }
+
+    /**
+     * Opens a connection for the specified request and sends the request headers and body.
+     *
+     * @param request the request to send
+     * @param body    the request body, or {@code null} if the request has no body
+     * @return the connection, ready to read the response from
+     * @throws IOException if the request could not be sent
+     */
+    protected HttpURLConnection openConnection(Request request, BufferedRequestBody body) throws IOException {
+
+        URL url = getFullyQualifiedUri(request).toURL();
+
+        HttpURLConnection connection =
+                (HttpURLConnection) (this.proxy != null ? url.openConnection(this.proxy) : url.openConnection());
+
+        connection.setConnectTimeout(this.connectionTimeout);
+        connection.setReadTimeout(this.connectionTimeout);
+        connection.setInstanceFollowRedirects(false);
+        connection.setUseCaches(false);
+        connection.setRequestMethod(request.getMethod().name());
+
+        /*
+         * HttpURLConnection computes the Host header itself - omitting the port number if it is the default port for
+         * the protocol in use, just like the RequestAuthenticator - and does not allow it to be set explicitly.  It
+         * also fills in the Content-Length header, so both are skipped here.
+         */
+        connection.setRequestProperty("Accept-Encoding", GZIP_ENCODING);
+        if (this.proxyAuthorization != null) {
+            connection.setRequestProperty("Proxy-Authorization", this.proxyAuthorization);
+        }
+        for (Map.Entry<String, List<String>> entry : request.getHeaders().entrySet()) {
+            String key = entry.getKey();
+            if (!"Content-Length".equalsIgnoreCase(key) && !"Host".equalsIgnoreCase(key)) {
+                connection.setRequestProperty(key, Strings.collectionToCommaDelimitedString(entry.getValue()));
+            }
+        }
+
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(body.length());
+            OutputStream out = connection.getOutputStream();
+            try {
+                body.writeTo(out);
+            } finally {
+                out.close();
+            }
+        }
+
+        return connection;
+    }
+
+    private URI getFullyQualifiedUri(Request request) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(request.getResourceUrl().normalize());
+        QueryString query = request.getQueryString();
+        if (query != null && !query.isEmpty()) {
+            sb.append("?").append(query.toString());
+        }
+
+        return URI.create(sb.toString());
+    }
+
+    private boolean isRedirect(HttpURLConnection connection, int status) {
+        return (status == HttpURLConnection.HTTP_MOVED_PERM ||
+                status == HttpURLConnection.HTTP_MOVED_TEMP ||
+                status == 307) &&
+                connection.getHeaderField("Location") != null;
+    }
+
+    /**
+     * Exponential sleep on failed request to avoid flooding a service with
+     * retries.
+     *
+     * @param retries           Current retry count.
+     * @param previousException Exception information for the previous attempt, if any.
+     */
+    private void pauseExponentially(int retries, RestException previousException) {
+        long delay;
+        if (backoffStrategy != null) {
+            delay = this.backoffStrategy.getDelayMillis(retries);
+        } else {
+            long scaleFactor = 300;
+            if (previousException != null && isThrottlingException(previousException)) {
+                scaleFactor = 500 + random.nextInt(100);
+            }
+            delay = (long) (Math.pow(2, retries) * scaleFactor);
+        }
+
+        delay = Math.min(delay, MAX_BACKOFF_IN_MILLISECONDS);
+        if (log.isDebugEnabled()) {
+            log.debug("Retryable condition detected, will retry in " + delay + "ms, attempt number: " + retries);
+        }
+
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RestException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns true if a failed request should be retried.  Request bodies are buffered, so every request can be
+     * retried.
+     *
+     * @param t       The throwable from the failed request.
+     * @param retries The number of times the current request has been attempted.
+     * @return True if the failed request should be retried.
+     */
+    private boolean shouldRetry(Throwable t, int retries) {
+        if (retries > this.numRetries) {
+            return false;
+        }
+
+        //covers connection resets, servers closing the connection without a response and connect/read timeouts:
+        if (t instanceof SocketException || t instanceof SocketTimeoutException) {
+            if (log.isDebugEnabled()) {
+                log.debug("Retrying on " + t.getClass().getName()
+                        + ": " + t.getMessage());
+            }
+            return true;
+        }
+
+        //Throttling is reported as a 429 error.  To try and smooth out an occasional throttling error, we'll pause
+        //and retry, hoping that the pause is long enough for the request to get through the next time.
+        return t instanceof RestException && isThrottlingException((RestException) t);
+    }
+
+    /**
+     * Returns {@code true} if the exception resulted from a throttling error, {@code false} otherwise.
+     *
+     * @param re The exception to test.
+     * @return {@code true} if the exception resulted from a throttling error, {@code false} otherwise.
+     */
+    private boolean isThrottlingException(RestException re) {
+        String msg = re.getMessage();
+        return msg != null && msg.contains("HTTP 429");
+    }
+
+    /**
+     * Fully reads and closes the specified stream.
+     *
+     * @param in the stream to read, may be {@code null}
+     * @return the stream's content, or an empty array if {@code in} is {@code null}
+     * @throws IOException if the stream could not be read
+     */
+    protected byte[] toBytes(InputStream in) throws IOException {
+        if (in == null) {
+            return new byte[0];
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } finally {
+            in.close();
+        }
+    }
+
+    protected Response toSdkResponse(HttpURLConnection connection, int httpStatus) throws IOException {
+
+        HttpHeaders headers = getHeaders(connection);
+        long contentLength = headers.getContentLength();
+
+        InputStream body = getResponseStream(connection, httpStatus);
+
+        if (body != null && contentLength != 0 && GZIP_ENCODING.equalsIgnoreCase(connection.getContentEncoding())) {
+            body = new GZIPInputStream(body);
+            headers.remove("Content-Encoding");
+            contentLength = -1;
+        }
+
+        //ensure that the content has been fully acquired before returning, unless it is streamed to the caller.
+        //Error bodies are always buffered: they may need to be read more than once.
+        if (body != null && !isStreamed(httpStatus)) {
+            byte[] bytes = toBytes(body);
+            body = new ByteArrayInputStream(bytes);
+            contentLength = bytes.length;
+        }
+
+        return new DefaultResponse(httpStatus, headers.getContentType(), body, contentLength, headers);
+    }
+
+    private InputStream getResponseStream(HttpURLConnection connection, int httpStatus) throws IOException {
+        return httpStatus >= 400 ? connection.getErrorStream() : connection.getInputStream();
+    }
+
+    /**
+     * Returns {@code true} if a response with the specified status should have its body streamed to the caller
+     * instead of buffered.
+     *
+     * @param httpStatus the response's HTTP status
+     * @return {@code true} if the response body should be streamed, {@code false} if it should be buffered.
+     */
+    protected boolean isStreamed(int httpStatus) {
+        return streamingResponses && httpStatus >= 200 && httpStatus < 300;
+    }
+
+    private HttpHeaders getHeaders(HttpURLConnection connection) {
+
+        HttpHeaders headers = new HttpHeaders();
+
+        for (Map.Entry<String, List<String>> entry : connection.getHeaderFields().entrySet()) {
+            //the status line is returned with a null key:
+            if (entry.getKey() != null) {
+                for (String value : entry.getValue()) {
+                    headers.add(entry.getKey(), value);
+                }
+            }
+        }
+
+        return headers;
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.urlconnection
+
+import com.stormpath.sdk.client.AuthenticationScheme
+import com.stormpath.sdk.http.HttpMethod
+import com.stormpath.sdk.impl.api.ClientApiKey
+import com.stormpath.sdk.impl.http.Response
+import com.stormpath.sdk.impl.http.RestException
+import com.stormpath.sdk.impl.http.support.BackoffStrategy
+import com.stormpath.sdk.impl.http.support.DefaultRequest
+import com.stormpath.sdk.impl.util.StringInputStream
+import com.sun.net.httpserver.HttpExchange
+import com.sun.net.httpserver.HttpHandler
+import com.sun.net.httpserver.HttpServer
+import org.testng.annotations.AfterMethod
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.Future
+import java.util.zip.GZIPOutputStream
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class UrlConnectionRequestExecutorTest {
+
+    HttpServer server
+    String baseUrl
+    Queue<HttpExchange> exchanges
+    Queue<Closure> handlers
+    UrlConnectionRequestExecutor executor
+
+    @BeforeMethod
+    void setUp() {
+        exchanges = new ConcurrentLinkedQueue<HttpExchange>()
+        handlers = new ConcurrentLinkedQueue<Closure>()
+        server = HttpServer.create(new InetSocketAddress('127.0.0.1', 0), 0)
+        server.createContext('/', new HttpHandler() {
+            @Override
+            void handle(HttpExchange exchange) throws IOException {
+                exchanges << exchange
+                exchange.setAttribute('body', exchange.requestBody.text)
+                Closure handler = handlers.poll()
+                handler(exchange)
+                exchange.close()
+            }
+        })
+        server.start()
+        baseUrl = "http://127.0.0.1:${server.address.port}"
+
+        executor = new UrlConnectionRequestExecutor(new ClientApiKey('id', 'secret'), null, AuthenticationScheme.SAUTHC1, 5000)
+        executor.backoffStrategy = { int retries -> 0L } as BackoffStrategy
+    }
+
+    @AfterMethod
+    void tearDown() {
+        server.stop(0)
+    }
+
+    static void respond(HttpExchange exchange, int status, String body, boolean gzip = false) {
+        byte[] bytes = body.getBytes('UTF-8')
+        if (gzip) {
+            def out = new ByteArrayOutputStream()
+            def gz = new GZIPOutputStream(out)
+            gz.write(bytes)
+            gz.close()
+            bytes = out.toByteArray()
+            exchange.responseHeaders.set('Content-Encoding', 'gzip')
+        }
+        exchange.responseHeaders.set('Content-Type', 'application/json')
+        exchange.sendResponseHeaders(status, bytes.length)
+        exchange.responseBody.write(bytes)
+    }
+
+    @Test
+    void testGet() {
+
+        handlers << { HttpExchange e -> respond(e, 200, '{"href":"foo"}') }
+
+        Response response = executor.executeRequest(new DefaultRequest(HttpMethod.GET, baseUrl + '/v1/tenants/current'))
+
+        assertEquals response.httpStatus, 200
+        assertEquals response.body.text, '{"href":"foo"}'
+        assertEquals response.headers.getContentType().toString(), 'application/json'
+
+        HttpExchange exchange = exchanges.poll()
+        assertEquals exchange.requestMethod, 'GET'
+        assertEquals exchange.requestURI.path, '/v1/tenants/current'
+        assertTrue exchange.requestHeaders.getFirst('Authorization').startsWith('SAuthc1 ')
+        assertEquals exchange.requestHeaders.getFirst('Accept-Encoding'), 'gzip'
+    }
+
+    @Test
+    void testPostBodyAndGzipResponse() {
+
+        handlers << { HttpExchange e -> respond(e, 201, '{"href":"created"}', true) }
+
+        def request = new DefaultRequest(HttpMethod.POST, baseUrl + '/v1/accounts', null, null,
+                new StringInputStream('{"username":"jsmith"}'), 21)
+        Response response = executor.executeRequest(request)
+
+        assertEquals response.httpStatus, 201
+        assertEquals response.body.text, '{"href":"created"}'
+        assertEquals exchanges.poll().getAttribute('body'), '{"username":"jsmith"}'
+    }
+
+    @Test
+    void testStreamingResponse() {
+
+        executor.streamingResponses = true
+        handlers << { HttpExchange e -> respond(e, 200, '{"href":"foo"}', true) }
+
+        Response response = executor.executeRequest(new DefaultRequest(HttpMethod.GET, baseUrl + '/v1/accounts/1'))
+
+        assertFalse response.body instanceof ByteArrayInputStream
+        assertEquals response.body.text, '{"href":"foo"}'
+    }
+
+    @Test
+    void testErrorBodyIsBuffered() {
+
+        executor.streamingResponses = true
+        handlers << { HttpExchange e -> respond(e, 404, '{"status":404}') }
+
+        Response response = executor.executeRequest(new DefaultRequest(HttpMethod.GET, baseUrl + '/v1/accounts/1'))
+
+        assertTrue response.clientError
+        assertTrue response.body instanceof ByteArrayInputStream
+        assertEquals response.body.text, '{"status":404}'
+    }
+
+    @Test
+    void testRetryOnServiceUnavailable() {
+
+        handlers << { HttpExchange e -> respond(e, 503, '{"status":503}') }
+        handlers << { HttpExchange e -> respond(e, 200, '{"href":"foo"}') }
+
+        def request = new DefaultRequest(HttpMethod.POST, baseUrl + '/v1/accounts', null, null,
+                new StringInputStream('{"username":"jsmith"}'), 21)
+        Response response = executor.executeRequest(request)
+
+        assertEquals response.httpStatus, 200
+        assertEquals exchanges.size(), 2
+        assertEquals exchanges.collect { it.getAttribute('body') }, ['{"username":"jsmith"}'] * 2
+    }
+
+    @Test
+    void testRetriesExhausted() {
+
+        executor.numRetries = 1
+        2.times { handlers << { HttpExchange e -> respond(e, 503, '{"status":503}') } }
+
+        Response response = executor.executeRequest(new DefaultRequest(HttpMethod.GET, baseUrl + '/v1/accounts/1'))
+
+        assertEquals response.httpStatus, 503
+        assertEquals exchanges.size(), 2
+    }
+
+    @Test
+    void testThrottled() {
+
+        executor.numRetries = 0
+        handlers << { HttpExchange e -> respond(e, 429, '{"status":429}') }
+
+        try {
+            executor.executeRequest(new DefaultRequest(HttpMethod.GET, baseUrl + '/v1/accounts/1'))
+            fail()
+        } catch (RestException expected) {
+            assertTrue expected.message.contains('HTTP 429')
+        }
+    }
+
+    @Test
+    void testRedirect() {
+
+        handlers << { HttpExchange e ->
+            e.responseHeaders.set('Location', baseUrl + '/v1/tenants/abc')
+            e.sendResponseHeaders(302, -1)
+        }
+        handlers << { HttpExchange e -> respond(e, 200, '{"href":"abc"}') }
+
+        Response response = executor.executeRequest(new DefaultRequest(HttpMethod.GET, baseUrl + '/v1/tenants/current'))
+
+        assertEquals response.body.text, '{"href":"abc"}'
+        assertEquals exchanges.collect { it.requestURI.path }, ['/v1/tenants/current', '/v1/tenants/abc']
+        assertTrue exchanges.every { it.requestHeaders.getFirst('Authorization').startsWith('SAuthc1 ') }
+    }
+
+    @Test
+    void testExecuteRequestAsync() {
+
+        handlers << { HttpExchange e -> respond(e, 200, '{"href":"foo"}') }
+
+        Future<Response> future = executor.executeRequestAsync(new DefaultRequest(HttpMethod.GET, baseUrl + '/v1/accounts/1'))
+
+        assertEquals future.get().body.text, '{"href":"foo"}'
+    }
+
+    @Test
+    void testCloseShutsDownAsyncPool() {
+
+        handlers << { HttpExchange e -> respond(e, 200, '{"href":"foo"}') }
+
+        Future<Response> future = executor.executeRequestAsync(new DefaultRequest(HttpMethod.GET, baseUrl + '/v1/accounts/1'))
+        assertEquals future.get().body.text, '{"href":"foo"}'
+
+        executor.close()
+
+        assertTrue executor.@asyncExecutor.isShutdown()
+        try {
+            executor.executeRequestAsync(new DefaultRequest(HttpMethod.GET, baseUrl + '/v1/accounts/1'))
+            fail('closed executors must not accept asynchronous requests')
+        } catch (IllegalStateException expected) {
+        }
+
+        //synchronous requests do not need the pool:
+        handlers << { HttpExchange e -> respond(e, 200, '{"href":"bar"}') }
+        assertEquals executor.executeRequest(new DefaultRequest(HttpMethod.GET, baseUrl + '/v1/accounts/2')).body.text, '{"href":"bar"}'
+    }
+}
@@ -55,6 +55,7 @@ import com.stormpath.sdk.query.Criteria;
 import com.stormpath.sdk.resource.ResourceException;
 import com.stormpath.sdk.tenant.Tenant;
 
+import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -261,19 +262,7 @@ public class DefaultAccount extends AbstractExtendableInstanceResource implement
     @Override
     public Account removeGroup(Group group) {
         Assert.notNull(group, "group cannot be null");
-        GroupMembership groupMembership = null;
-        for (GroupMembership aGroupMembership : getGroupMemberships()) {
-            if (aGroupMembership.getGroup().getHref().equals(group.getHref())) {
-                groupMembership = aGroupMembership;
-                break;
-            }
-        }
-        if (groupMembership != null){
-            groupMembership.delete();
-        } else {
-            throw new IllegalStateException("This account does not belong to the specified group.");
-        }
-        return this;
+        return removeGroup(group.getHref());
     }
 
     /**
@@ -281,21 +270,25 @@ public class DefaultAccount extends AbstractExtendableInstanceResource implement
      */
     @Override
     public Account removeGroup(String hrefOrName) {
-        GroupMembership groupMembership = null;
-        for (GroupMembership aGroupMembership : getGroupMemberships()) {
-            if (aGroupMembership.getGroup().getName().equals(hrefOrName) || aGroupMembership.getGroup().getHref().equals(hrefOrName)) {
-                groupMembership = aGroupMembership;
-                break;
-            }
-        }
-        if (groupMembership != null){
-            groupMembership.delete();
-        } else {
+        String membershipHref = getGroupMembershipIndex().getMembershipHref(hrefOrName);
+        if (membershipHref == null) {
             throw new IllegalStateException("This account does not belong to the specified group.");
         }
+        Map<String, Object> properties = new HashMap<String, Object>(1);
+        properties.put(HREF_PROP_NAME, membershipHref);
+        getDataStore().instantiate(GroupMembership.class, properties).delete();
         return this;
     }
 
+    /**
+     * Returns the hash-indexed view of this account's group memberships, used for constant-time membership lookups.
+     *
+     * @since 1.0.RC8.1
+     */
+    protected GroupMembershipIndex getGroupMembershipIndex() {
+        return GroupMembershipIndex.get(getHref(), getGroupMemberships().getHref(), getDataStore());
+    }
+
     @Override
     public EmailVerificationToken getEmailVerificationToken() {
         return getResourceProperty(EMAIL_VERIFICATION_TOKEN);
@@ -325,12 +318,7 @@ public class DefaultAccount extends AbstractExtendableInstanceResource implement
         if(!Strings.hasText(hrefOrName)) {
             return false;
         }
-        for (Group aGroup : getGroups()) {
-            if (aGroup.getName().equalsIgnoreCase(hrefOrName) || aGroup.getHref().equalsIgnoreCase(hrefOrName)) {
-                return true;
-            }
-        }
-        return false;
+        return getGroupMembershipIndex().contains(hrefOrName);
     }
 
     @Override
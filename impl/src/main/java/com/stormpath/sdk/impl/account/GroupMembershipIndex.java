@@ -0,0 +1,222 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.account;
+
+import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.group.Group;
+import com.stormpath.sdk.group.GroupMembership;
+import com.stormpath.sdk.group.GroupMembershipList;
+import com.stormpath.sdk.impl.ds.InternalDataStore;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Strings;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A hash-indexed view of an account's group memberships, allowing constant-time membership lookups by group href or
+ * group name.  Membership {@link #contains(String) checks} compare hrefs and names case-insensitively, while
+ * {@link #getMembershipHref(String) membership lookups}, which are used to delete memberships, match them exactly.
+ * <p/>
+ * The index is loaded with a single {@code groupMemberships?expand=group} request per 100 memberships - instead of
+ * paging through the account's groups on every lookup - and is cached in the {@link #CACHE_REGION_NAME} cache region
+ * under the account's href.  Each membership's href is also cached in that region, mapped to the account's href, so
+ * that the {@link com.stormpath.sdk.impl.ds.cache.WriteCacheFilter WriteCacheFilter} can evict the account's index
+ * when any of its memberships is deleted.  Groups can be members of many accounts' indexes, so deleting or updating
+ * (e.g. renaming) a group {@link #invalidateAll(Cache) invalidates all indexes} at once.  Memberships and groups
+ * created, deleted or updated via the SDK therefore take effect immediately; changes made elsewhere (e.g. in the
+ * Stormpath Admin Console) are seen once the region's entries expire.
+ *
+ * @since 1.0.RC8.1
+ */
+public class GroupMembershipIndex {
+
+    public static final String CACHE_REGION_NAME = GroupMembershipIndex.class.getName();
+
+    /**
+     * The key of the account href in the cache entry of a membership href.
+     */
+    public static final String ACCOUNT = "account";
+
+    private static final String MEMBERSHIPS = "memberships";
+    private static final String EPOCH = "epoch";
+    //not an href, so it can't collide with an account or membership entry:
+    private static final String EPOCH_KEY = GroupMembershipIndex.class.getName() + "." + EPOCH;
+    private static final String NAMES = "names";
+    private static final String KEYS = "keys";
+    private static final int PAGE_SIZE = 100;
+
+    //group href --> membership href:
+    private final Map<String, String> membershipHrefs;
+    //group name --> group href:
+    private final Map<String, String> groupHrefs;
+    //lower-case group hrefs and names:
+    private final Set<String> keys;
+
+    private GroupMembershipIndex(Map<String, String> membershipHrefs, Map<String, String> groupHrefs, Set<String> keys) {
+        this.membershipHrefs = membershipHrefs;
+        this.groupHrefs = groupHrefs;
+        this.keys = keys;
+    }
+
+    /**
+     * Returns the index of the specified account's group memberships, from the cache if possible.
+     *
+     * @param accountHref            the href of the account
+     * @param groupMembershipsHref   the href of the account's group membership collection
+     * @param dataStore              the data store used to load the memberships and to access the cache.
+     * @return the index of the specified account's group memberships.
+     */
+    @SuppressWarnings("unchecked")
+    public static GroupMembershipIndex get(String accountHref, String groupMembershipsHref, InternalDataStore dataStore) {
+        Assert.hasText(accountHref, "accountHref cannot be null or empty.");
+        Assert.hasText(groupMembershipsHref, "groupMembershipsHref cannot be null or empty.");
+        Assert.notNull(dataStore, "dataStore cannot be null.");
+
+        Cache<String, Map<String, ?>> cache = dataStore.getCacheResolver().getCache(CACHE_REGION_NAME);
+
+        //read before loading, so that an index loaded concurrently with an invalidation is never considered current:
+        String epoch = getEpoch(cache);
+
+        Map<String, ?> cached = cache.get(accountHref);
+        if (cached != null && epoch.equals(cached.get(EPOCH)) &&
+            cached.get(MEMBERSHIPS) instanceof Map && cached.get(NAMES) instanceof Map &&
+            cached.get(KEYS) instanceof Set) {
+            return new GroupMembershipIndex((Map<String, String>) cached.get(MEMBERSHIPS),
+                                            (Map<String, String>) cached.get(NAMES), (Set<String>) cached.get(KEYS));
+        }
+
+        GroupMembershipIndex index = load(groupMembershipsHref, dataStore);
+
+        for (String membershipHref : index.membershipHrefs.values()) {
+            Map<String, Object> entry = new HashMap<String, Object>(1);
+            entry.put(ACCOUNT, accountHref);
+            cache.put(membershipHref, entry);
+        }
+
+        Map<String, Object> entry = new HashMap<String, Object>(4);
+        entry.put(MEMBERSHIPS, index.membershipHrefs);
+        entry.put(NAMES, index.groupHrefs);
+        entry.put(KEYS, index.keys);
+        entry.put(EPOCH, epoch);
+        cache.put(accountHref, entry);
+
+        return index;
+    }
+
+    /**
+     * Invalidates the group membership indexes of all accounts in the specified cache region, e.g. because a group
+     * that any of them may refer to has been deleted or renamed.  The {@link Cache} API can't clear a region, so
+     * this starts a new epoch instead: indexes cached during a previous epoch are reloaded on their next access.
+     *
+     * @param cache the {@link #CACHE_REGION_NAME} cache region
+     */
+    public static void invalidateAll(Cache<String, Map<String, ?>> cache) {
+        Assert.notNull(cache, "cache cannot be null.");
+        newEpoch(cache);
+    }
+
+    private static String getEpoch(Cache<String, Map<String, ?>> cache) {
+        Map<String, ?> entry = cache.get(EPOCH_KEY);
+        Object epoch = entry != null ? entry.get(EPOCH) : null;
+        //a missing (e.g. evicted) epoch is replaced by a new one, which invalidates all indexes cached before:
+        return epoch instanceof String ? (String) epoch : newEpoch(cache);
+    }
+
+    private static String newEpoch(Cache<String, Map<String, ?>> cache) {
+        String epoch = UUID.randomUUID().toString();
+        Map<String, Object> entry = new HashMap<String, Object>(1);
+        entry.put(EPOCH, epoch);
+        cache.put(EPOCH_KEY, entry);
+        return epoch;
+    }
+
+    private static GroupMembershipIndex load(String groupMembershipsHref, InternalDataStore dataStore) {
+
+        Map<String, Object> query = new LinkedHashMap<String, Object>();
+        query.put("expand", "group");
+        query.put("limit", PAGE_SIZE);
+
+        GroupMembershipList memberships = dataStore.getResource(groupMembershipsHref, GroupMembershipList.class, query);
+
+        Map<String, String> membershipHrefs = new HashMap<String, String>();
+        Map<String, String> groupHrefs = new HashMap<String, String>();
+        Set<String> keys = new HashSet<String>();
+
+        for (GroupMembership membership : memberships) {
+            Group group = membership.getGroup();
+            String groupHref = group.getHref();
+            membershipHrefs.put(groupHref, membership.getHref());
+            keys.add(toKey(groupHref));
+            if (group.getName() != null) {
+                groupHrefs.put(group.getName(), groupHref);
+                keys.add(toKey(group.getName()));
+            }
+        }
+
+        return new GroupMembershipIndex(membershipHrefs, groupHrefs, keys);
+    }
+
+    private static String toKey(String hrefOrName) {
+        return hrefOrName.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Returns {@code true} if the account is a member of the group with the specified href or name (both compared
+     * case-insensitively), {@code false} otherwise.
+     *
+     * @param hrefOrName the href or name of the group
+     * @return {@code true} if the account is a member of the group with the specified href or name.
+     */
+    public boolean contains(String hrefOrName) {
+        return Strings.hasText(hrefOrName) && keys.contains(toKey(hrefOrName));
+    }
+
+    /**
+     * Returns the href of the account's membership in the group with exactly the specified href or name (both
+     * case-sensitive), or {@code null} if the account is not a member of that group.
+     *
+     * @param hrefOrName the href or name of the group
+     * @return the href of the account's membership in the group, or {@code null} if the account is not a member.
+     */
+    public String getMembershipHref(String hrefOrName) {
+        if (!Strings.hasText(hrefOrName)) {
+            return null;
+        }
+        String membershipHref = membershipHrefs.get(hrefOrName);
+        if (membershipHref == null) {
+            String groupHref = groupHrefs.get(hrefOrName);
+            if (groupHref != null) {
+                membershipHref = membershipHrefs.get(groupHref);
+            }
+        }
+        return membershipHref;
+    }
+
+    /**
+     * Returns the number of groups the account is a member of.
+     *
+     * @return the number of groups the account is a member of.
+     */
+    public int size() {
+        return membershipHrefs.size();
+    }
+}
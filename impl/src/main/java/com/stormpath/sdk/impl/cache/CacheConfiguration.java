@@ -15,6 +15,8 @@
  */
 package com.stormpath.sdk.impl.cache;
 
+import com.stormpath.sdk.cache.CacheAdmissionPolicy;
+import com.stormpath.sdk.cache.CacheWeigher;
 import com.stormpath.sdk.lang.Duration;
 
 /**
@@ -44,4 +46,67 @@ public interface CacheConfiguration {
      * @return the Time-to-Idle setting to apply for all entries in the associated {@code Cache}.
      */
     Duration getTimeToIdle();
+
+    /**
+     * Returns the maximum number of entries allowed in the associated {@code Cache}, or zero if the number of entries
+     * is not bounded.
+     *
+     * @return the maximum number of entries allowed in the associated {@code Cache}, or zero if unbounded.
+     * @since 1.0.RC8.1
+     */
+    long getMaxEntries();
+
+    /**
+     * Returns the maximum aggregate weight of all entries in the associated {@code Cache}, or zero if the weight is
+     * not bounded.
+     *
+     * @return the maximum aggregate weight of all entries in the associated {@code Cache}, or zero if unbounded.
+     * @since 1.0.RC8.1
+     */
+    long getMaxWeight();
+
+    /**
+     * Returns the weigher used to calculate the weight of each entry in the associated {@code Cache}, or {@code null}
+     * if the weight is not bounded.
+     *
+     * @return the weigher used to calculate the weight of each entry in the associated {@code Cache}, or {@code null}.
+     * @since 1.0.RC8.1
+     */
+    CacheWeigher getWeigher();
+
+    /**
+     * Returns the policy that decides whether new entries are stored in the associated {@code Cache}, or {@code null}
+     * if all entries are admitted.
+     *
+     * @return the policy that decides whether new entries are stored in the associated {@code Cache}, or {@code null}.
+     * @since 1.0.RC8.1
+     */
+    CacheAdmissionPolicy getAdmissionPolicy();
+
+    /**
+     * Returns the amount of time after an entry's creation at which it should be reloaded in the background while
+     * still being served from the associated {@code Cache}, or {@code null} if refresh-ahead is disabled.
+     *
+     * @return the refresh-ahead threshold for the associated {@code Cache}, or {@code null} if disabled.
+     * @since 1.0.RC8.1
+     */
+    Duration getRefreshAfter();
+
+    /**
+     * Returns the amount of time an expired entry is retained in the associated {@code Cache} so it may be served if
+     * the API is unavailable, or {@code null} if expired entries are removed immediately.
+     *
+     * @return the stale-if-error window for the associated {@code Cache}, or {@code null} if disabled.
+     * @since 1.0.RC8.1
+     */
+    Duration getStaleIfError();
+
+    /**
+     * Returns the amount of time an expired entry is retained in the associated {@code Cache} so it may be revalidated
+     * with a conditional request, or {@code null} if expired entries are not revalidated.
+     *
+     * @return the revalidation window for the associated {@code Cache}, or {@code null} if disabled.
+     * @since 1.0.RC8.1
+     */
+    Duration getRevalidationWindow();
 }
@@ -16,13 +16,17 @@
 package com.stormpath.sdk.impl.cache;
 
 import com.stormpath.sdk.cache.Cache;
+import com.stormpath.sdk.cache.CacheAdmissionPolicy;
+import com.stormpath.sdk.cache.CacheWeigher;
 import com.stormpath.sdk.impl.util.SoftHashMap;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Duration;
 
 import java.io.Serializable;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -30,6 +34,21 @@ import java.util.concurrent.atomic.AtomicLong;
  * and retrieve cached data.
  * <h2>Thread Safety</h2>
  * This implementation is thread-safe <em>only</em> if the backing map is thread-safe.
+ * <h2>Bounded Caches</h2>
+ * A cache may be bounded by a {@link #getMaxEntries() maximum number of entries} and/or a
+ * {@link #getMaxWeight() maximum aggregate weight} of its entries as calculated by a {@link CacheWeigher}.  When a
+ * {@link #put(Object, Object) put} exceeds either bound, entries are evicted in the backing map's iteration order
+ * until the cache is within its bounds again.  Bounded caches are therefore expected to use a backing map whose
+ * iteration order reflects the desired eviction order (e.g. an access-ordered {@link java.util.LinkedHashMap} for
+ * LRU eviction) and that does not discard entries on its own, otherwise the tracked weight is only an approximation.
+ * <p/>
+ * An optional {@link CacheAdmissionPolicy} may additionally reject new entries before they are ever stored.
+ * <h2>Revalidation</h2>
+ * An entry may be stored with the {@link Entry#getETag() entity tag} and {@link Entry#getContentLength() size} of the
+ * representation it was created from.  If a {@link #getRevalidationWindow() revalidationWindow} is configured, expired
+ * entries are retained for that long so that the caller can {@link #getRevalidatableEntry(Object) obtain} them, ask
+ * the origin whether they are still current (e.g. with a conditional HTTP request) and, if so,
+ * {@link #revalidate(Object, Entry) renew} them instead of downloading and storing them again.
  *
  * @since 1.0
  */
@@ -52,14 +71,49 @@ public class DefaultCache<K, V> implements Cache<K, V> {
      */
     private volatile Duration timeToIdle;
 
+    /**
+     * The amount of time allowed to pass since an entry was first created before it should be reloaded from its
+     * origin.  The entry remains available while it is being reloaded.
+     */
+    private volatile Duration refreshAfter;
+
+    /**
+     * The amount of time an expired entry is retained so it may still be served if its origin is unavailable.
+     */
+    private volatile Duration staleIfError;
+
+    /**
+     * The amount of time an expired entry is retained so it may be revalidated with its origin.
+     */
+    private volatile Duration revalidationWindow;
+
     /**
      * The name of this cache.
      */
     private final String name;
 
+    /**
+     * The maximum number of entries allowed in this cache, or zero if unbounded.
+     */
+    private final long maxEntries;
+
+    /**
+     * The maximum aggregate weight of all entries in this cache, or zero if unbounded.
+     */
+    private final long maxWeight;
+
+    private final CacheWeigher<K, V> weigher;
+
+    private final CacheAdmissionPolicy<K, V> admissionPolicy;
+
     private final AtomicLong accessCount;
     private final AtomicLong hitCount;
     private final AtomicLong missCount;
+    private final AtomicLong evictionCount;
+    private final AtomicLong rejectionCount;
+    private final AtomicLong weight;
+    private final AtomicLong revalidationCount;
+    private final AtomicLong revalidatedBytes;
 
     /**
      * Creates a new {@code DefaultCache} instance with the specified {@code name}, expected to be unique among all
@@ -123,17 +177,60 @@ public class DefaultCache<K, V> implements Cache<K, V> {
      * @see #setTimeToLive(com.stormpath.sdk.lang.Duration)
      */
     public DefaultCache(String name, Map<K, Entry<V>> backingMap, Duration timeToLive, Duration timeToIdle) throws IllegalArgumentException {
+        this(name, backingMap, timeToLive, timeToIdle, 0, 0, null, null);
+    }
+
+    /**
+     * Creates a new {@code DefaultCache} instance with the specified {@code name}, storing entries in the specified
+     * {@code backingMap}, using the specified {@code timeToLive} and {@code timeToIdle} settings and enforcing the
+     * specified bounds.
+     * <p/>
+     * If either {@code maxEntries} or {@code maxWeight} is positive, entries are evicted in the {@code backingMap}'s
+     * iteration order when a bound is exceeded.  See the class JavaDoc for the expectations this places on the
+     * backing map.
+     *
+     * @param name            name to assign to this instance, expected to be unique among all other caches in the
+     *                        parent {@code CacheManager}.
+     * @param backingMap      the (ideally thread-safe) map instance to store the Cache entries.
+     * @param timeToLive      the amount of time cache entries may exist until they should be removed from the cache.
+     * @param timeToIdle      the amount of time cache entries may remain idle until they should be removed from the
+     *                        cache.
+     * @param maxEntries      the maximum number of entries allowed in the cache, or zero (or less) if unbounded.
+     * @param maxWeight       the maximum aggregate weight of all cache entries, or zero (or less) if unbounded.
+     * @param weigher         the weigher used to calculate entry weights, required only if {@code maxWeight} is positive.
+     * @param admissionPolicy the policy that decides whether new entries are stored at all, or {@code null} to admit
+     *                        all entries.
+     * @throws IllegalArgumentException if either {@code timeToLive} or {@code timeToIdle} are non-null <em>and</em>
+     *                                  represent a non-positive (zero or negative) value, or if {@code maxWeight} is
+     *                                  positive and {@code weigher} is {@code null}.
+     * @since 1.0.RC8.1
+     */
+    public DefaultCache(String name, Map<K, Entry<V>> backingMap, Duration timeToLive, Duration timeToIdle,
+                        long maxEntries, long maxWeight, CacheWeigher<K, V> weigher,
+                        CacheAdmissionPolicy<K, V> admissionPolicy) throws IllegalArgumentException {
         Assert.notNull(name, "Cache name cannot be null.");
         Assert.notNull(backingMap, "Backing map cannot be null.");
         assertTtl(timeToLive);
         assertTti(timeToIdle);
+        if (maxWeight > 0) {
+            Assert.notNull(weigher, "A CacheWeigher is required when maxWeight is specified.");
+        }
         this.name = name;
         this.map = backingMap;
         this.timeToLive = timeToLive;
         this.timeToIdle = timeToIdle;
+        this.maxEntries = Math.max(0, maxEntries);
+        this.maxWeight = Math.max(0, maxWeight);
+        this.weigher = this.maxWeight > 0 ? weigher : null;
+        this.admissionPolicy = admissionPolicy;
         this.accessCount = new AtomicLong(0);
         this.hitCount = new AtomicLong(0);
         this.missCount = new AtomicLong(0);
+        this.evictionCount = new AtomicLong(0);
+        this.rejectionCount = new AtomicLong(0);
+        this.weight = new AtomicLong(0);
+        this.revalidationCount = new AtomicLong(0);
+        this.revalidatedBytes = new AtomicLong(0);
     }
 
     protected static void assertTtl(Duration ttl) throws IllegalArgumentException {
@@ -149,6 +246,21 @@ public class DefaultCache<K, V> implements Cache<K, V> {
     }
 
     public V get(K key) {
+        Entry<V> entry = getEntry(key);
+        return entry != null ? entry.getValue() : null;
+    }
+
+    /**
+     * Returns the cache {@link Entry} for the specified key, or {@code null} if there is no entry or the entry has
+     * expired.  This behaves exactly like {@link #get(Object)} (including statistics and last access time updates) but
+     * additionally exposes the entry's metadata, for example to determine if the entry
+     * {@link #isRefreshDue(Entry) is due for a refresh}.
+     *
+     * @param key the key of the entry to return
+     * @return the cache {@link Entry} for the specified key, or {@code null} if there is no entry or it has expired.
+     * @since 1.0.RC8.1
+     */
+    public Entry<V> getEntry(K key) {
 
         this.accessCount.incrementAndGet();
 
@@ -161,37 +273,205 @@ public class DefaultCache<K, V> implements Cache<K, V> {
 
         long nowMillis = System.currentTimeMillis();
 
-        Duration ttl = this.timeToLive;
-        Duration tti = this.timeToIdle;
-
-        if (ttl != null) {
-            Duration sinceCreation = new Duration(nowMillis - entry.getCreationTimeMillis(), TimeUnit.MILLISECONDS);
-            if (sinceCreation.isGreaterThan(ttl)) {
-                map.remove(key);
-                missCount.incrementAndGet(); //count an expired TTL as a miss
-                return null;
-            }
-        }
-
-        if (tti != null) {
-            Duration sinceLastAccess = new Duration(nowMillis - entry.getLastAccessTimeMillis(), TimeUnit.MILLISECONDS);
-            if (sinceLastAccess.isGreaterThan(tti)) {
-                map.remove(key);
-                missCount.incrementAndGet(); //count an expired TTI as a miss
-                return null;
+        if (isExpired(entry, nowMillis, 0)) {
+            //expired entries are retained during the stale-if-error and revalidation windows so they can be served if
+            //the origin fails or renewed if the origin confirms they are unchanged:
+            if (isExpired(entry, nowMillis, getRetentionMillis())) {
+                removeEntry(key);
             }
+            missCount.incrementAndGet(); //count an expired TTL or TTI as a miss
+            return null;
         }
 
         entry.lastAccessTimeMillis = nowMillis;
 
         hitCount.incrementAndGet();
 
+        return entry;
+    }
+
+    /**
+     * Returns {@code true} if the cache has an entry for the specified key that has not expired, i.e. if a
+     * {@link #get(Object) get} for the key would currently be a hit.  Unlike {@code get}, this method does not affect
+     * cache statistics or the entry's last access time, so it may be used to decide how to retrieve a value before
+     * actually retrieving it.
+     *
+     * @param key the key to check
+     * @return {@code true} if the cache has an unexpired entry for the specified key, {@code false} otherwise.
+     * @since 1.0.RC8.1
+     */
+    public boolean containsKey(K key) {
+        Entry<V> entry = map.get(key);
+        return entry != null && !isExpired(entry, System.currentTimeMillis(), 0);
+    }
+
+    /**
+     * Returns the value for the specified key if it has not expired, or if it has expired less than
+     * {@link #getStaleIfError() staleIfError} ago.  This is intended to be called only after the origin of the cached
+     * data has failed, so that slightly stale data may be served instead of an error.  This method does not affect
+     * cache statistics or the entry's last access time.
+     *
+     * @param key the key of the entry to return
+     * @return the (possibly stale) value for the specified key, or {@code null} if there is no usable value.
+     * @since 1.0.RC8.1
+     */
+    public V getStaleIfError(K key) {
+
+        Entry<V> entry = map.get(key);
+
+        if (entry == null) {
+            return null;
+        }
+
+        long nowMillis = System.currentTimeMillis();
+
+        if (isExpired(entry, nowMillis, toMillis(this.staleIfError))) {
+            if (isExpired(entry, nowMillis, getRetentionMillis())) {
+                removeEntry(key);
+            }
+            return null;
+        }
+
         return entry.getValue();
     }
 
+    /**
+     * Returns the entry for the specified key if it has expired less than {@link #getRevalidationWindow()
+     * revalidationWindow} ago, so that the caller may ask the entry's origin whether it is still current.  This is
+     * intended to be called after {@link #getEntry(Object)} returned {@code null}.  This method does not affect cache
+     * statistics or the entry's last access time.
+     *
+     * @param key the key of the entry to return
+     * @return the expired entry for the specified key, or {@code null} if there is no entry that may be revalidated.
+     * @see #revalidate(Object, Entry)
+     * @since 1.0.RC8.1
+     */
+    public Entry<V> getRevalidatableEntry(K key) {
+
+        Duration window = this.revalidationWindow;
+        if (window == null) {
+            return null;
+        }
+
+        Entry<V> entry = map.get(key);
+
+        if (entry == null || isExpired(entry, System.currentTimeMillis(), toMillis(window))) {
+            return null;
+        }
+
+        return entry;
+    }
+
+    /**
+     * Renews the specified entry after its origin has confirmed that it is unchanged: the entry is replaced by a copy
+     * with the same value, entity tag and size but a new creation time, so it is neither expired nor due for a refresh
+     * anymore.  The {@link #getRevalidationCount() revalidationCount} is incremented and the entry's
+     * {@link Entry#getContentLength() size} is added to the {@link #getRevalidatedBytes() revalidatedBytes}.
+     *
+     * @param key   the key of the entry
+     * @param entry the entry that was revalidated
+     * @return the renewed entry, or the entry that replaced the specified entry while it was being revalidated
+     * @since 1.0.RC8.1
+     */
+    public Entry<V> revalidate(K key, Entry<V> entry) {
+
+        Entry<V> current = map.get(key);
+        if (current != null && current != entry) {
+            //the entry was replaced while it was being revalidated - the replacement is at least as recent:
+            return current;
+        }
+
+        Entry<V> renewed = new Entry<V>(entry.value, entry.weight, entry.eTag, entry.contentLength);
+        Entry<V> previous = map.put(key, renewed);
+        weight.addAndGet(previous != null ? renewed.weight - previous.weight : renewed.weight);
+
+        if (previous == null && isBounded()) {
+            evictIfNecessary();
+        }
+
+        revalidationCount.incrementAndGet();
+        if (entry.contentLength > 0) {
+            revalidatedBytes.addAndGet(entry.contentLength);
+        }
+
+        return renewed;
+    }
+
+    /**
+     * Returns {@code true} if the specified entry was created more than {@link #getRefreshAfter() refreshAfter} ago
+     * and should therefore be reloaded from its origin, {@code false} otherwise (or if refresh-ahead is disabled).
+     *
+     * @param entry the entry to check
+     * @return {@code true} if the specified entry should be reloaded from its origin, {@code false} otherwise.
+     * @since 1.0.RC8.1
+     */
+    public boolean isRefreshDue(Entry<V> entry) {
+        Duration refreshAfter = this.refreshAfter;
+        return refreshAfter != null &&
+               System.currentTimeMillis() - entry.getCreationTimeMillis() > toMillis(refreshAfter);
+    }
+
+    private boolean isExpired(Entry<V> entry, long nowMillis, long graceMillis) {
+
+        Duration ttl = this.timeToLive;
+        Duration tti = this.timeToIdle;
+
+        if (ttl != null && nowMillis - entry.getCreationTimeMillis() > toMillis(ttl) + graceMillis) {
+            return true;
+        }
+
+        return tti != null && nowMillis - entry.getLastAccessTimeMillis() > toMillis(tti) + graceMillis;
+    }
+
+    private long getRetentionMillis() {
+        return Math.max(toMillis(this.staleIfError), toMillis(this.revalidationWindow));
+    }
+
+    private static long toMillis(Duration d) {
+        return d != null ? TimeUnit.MILLISECONDS.convert(d.getValue(), d.getTimeUnit()) : 0;
+    }
+
     public V put(K key, V value) {
-        Entry<V> newEntry = new Entry<V>(value);
+        return put(key, value, null, -1);
+    }
+
+    /**
+     * Stores the specified value together with the entity tag and size of the representation it was created from, so
+     * that the entry may later be {@link #revalidate(Object, Entry) revalidated} with its origin.
+     *
+     * @param key           the key of the entry
+     * @param value         the value to store
+     * @param eTag          the entity tag of the value's representation, or {@code null} if unknown
+     * @param contentLength the size in bytes of the value's representation, or {@code -1} if unknown
+     * @return the previous value for the specified key, or {@code null} if there was none.
+     * @since 1.0.RC8.1
+     */
+    public V put(K key, V value, String eTag, long contentLength) {
+
+        if (admissionPolicy != null && !map.containsKey(key) && !admissionPolicy.admit(key, value)) {
+            rejectionCount.incrementAndGet();
+            return null;
+        }
+
+        long entryWeight = 0;
+        if (weigher != null) {
+            entryWeight = weigher.weigh(key, value);
+            Assert.isTrue(entryWeight >= 0, "CacheWeigher must not return a negative weight.");
+            if (entryWeight > maxWeight) {
+                //the entry would never fit, so don't evict everything else in a futile attempt to store it:
+                rejectionCount.incrementAndGet();
+                return removeValue(key);
+            }
+        }
+
+        Entry<V> newEntry = new Entry<V>(value, entryWeight, eTag, contentLength);
         Entry<V> previous = map.put(key, newEntry);
+        weight.addAndGet(previous != null ? entryWeight - previous.weight : entryWeight);
+
+        if (isBounded()) {
+            evictIfNecessary();
+        }
+
         if (previous != null) {
             return previous.value;
         }
@@ -201,7 +481,7 @@ public class DefaultCache<K, V> implements Cache<K, V> {
     @Override
     public V remove(K key) {
         accessCount.incrementAndGet();
-        Entry<V> previous = map.remove(key);
+        Entry<V> previous = removeEntry(key);
         if (previous != null) {
             hitCount.incrementAndGet();
             return previous.value;
@@ -211,6 +491,53 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         }
     }
 
+    private V removeValue(K key) {
+        Entry<V> previous = removeEntry(key);
+        return previous != null ? previous.value : null;
+    }
+
+    private Entry<V> removeEntry(Object key) {
+        Entry<V> previous = map.remove(key);
+        if (previous != null && previous.weight != 0) {
+            weight.addAndGet(-previous.weight);
+        }
+        return previous;
+    }
+
+    private boolean isBounded() {
+        return maxEntries > 0 || maxWeight > 0;
+    }
+
+    private boolean exceedsBounds() {
+        return (maxEntries > 0 && map.size() > maxEntries) || (maxWeight > 0 && weight.get() > maxWeight);
+    }
+
+    /**
+     * Evicts entries in the backing map's iteration order until the cache is within its configured bounds.
+     */
+    private void evictIfNecessary() {
+        while (exceedsBounds()) {
+            K eldest = getEldestKey();
+            if (eldest == null) {
+                //nothing left to evict - the backing map discarded entries on its own, so reset the tracked weight:
+                weight.set(0);
+                return;
+            }
+            if (removeEntry(eldest) != null) {
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    private K getEldestKey() {
+        //synchronizing on the map is required to iterate over a Collections.synchronizedMap and is harmless otherwise:
+        //noinspection SynchronizationOnLocalVariableOrMethodParameter
+        synchronized (map) {
+            Iterator<K> i = map.keySet().iterator();
+            return i.hasNext() ? i.next() : null;
+        }
+    }
+
     /**
      * Returns the amount of time a cache entry may exist after first being created before it will expire and no
      * longer be available.  If a cache entry ever becomes older than this amount of time (regardless of how often
@@ -261,6 +588,189 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         this.timeToIdle = timeToIdle;
     }
 
+    /**
+     * Returns the amount of time after an entry's creation at which it should be reloaded from its origin while still
+     * being served from the cache (refresh-ahead), or {@code null} if entries are never refreshed ahead of expiry.
+     *
+     * @return the amount of time after an entry's creation at which it should be reloaded from its origin, or
+     *         {@code null} if refresh-ahead is disabled.
+     * @see #isRefreshDue(Entry)
+     * @since 1.0.RC8.1
+     */
+    public Duration getRefreshAfter() {
+        return refreshAfter;
+    }
+
+    /**
+     * Sets the amount of time after an entry's creation at which it should be reloaded from its origin while still
+     * being served from the cache (refresh-ahead).  This is usually shorter than the {@link #getTimeToLive() timeToLive}
+     * so that frequently accessed entries are replaced before they expire.  A {@code null} value disables refresh-ahead.
+     *
+     * @param refreshAfter the amount of time after an entry's creation at which it should be reloaded from its origin.
+     * @since 1.0.RC8.1
+     */
+    public void setRefreshAfter(Duration refreshAfter) {
+        if (refreshAfter != null) {
+            Assert.isTrue(refreshAfter.getValue() > 0, "refreshAfter duration must be greater than zero");
+        }
+        this.refreshAfter = refreshAfter;
+    }
+
+    /**
+     * Returns the amount of time an expired entry is retained so that it may still be served if its origin is
+     * unavailable, or {@code null} if expired entries are removed immediately.
+     *
+     * @return the amount of time an expired entry is retained so that it may still be served if its origin is
+     *         unavailable, or {@code null} if expired entries are removed immediately.
+     * @see #getStaleIfError(Object)
+     * @since 1.0.RC8.1
+     */
+    public Duration getStaleIfError() {
+        return staleIfError;
+    }
+
+    /**
+     * Sets the amount of time an expired entry is retained so that it may still be served if its origin is
+     * unavailable.  A {@code null} value removes expired entries immediately.
+     *
+     * @param staleIfError the amount of time an expired entry is retained so that it may still be served if its
+     *                     origin is unavailable.
+     * @since 1.0.RC8.1
+     */
+    public void setStaleIfError(Duration staleIfError) {
+        if (staleIfError != null) {
+            Assert.isTrue(staleIfError.getValue() > 0, "staleIfError duration must be greater than zero");
+        }
+        this.staleIfError = staleIfError;
+    }
+
+    /**
+     * Returns the amount of time an expired entry is retained so that it may be revalidated with its origin instead
+     * of being reloaded, or {@code null} if expired entries are not revalidated.
+     *
+     * @return the amount of time an expired entry is retained so that it may be revalidated with its origin, or
+     *         {@code null} if expired entries are not revalidated.
+     * @see #getRevalidatableEntry(Object)
+     * @since 1.0.RC8.1
+     */
+    public Duration getRevalidationWindow() {
+        return revalidationWindow;
+    }
+
+    /**
+     * Sets the amount of time an expired entry is retained so that it may be revalidated with its origin instead of
+     * being reloaded.  A {@code null} value disables revalidation of expired entries.
+     *
+     * @param revalidationWindow the amount of time an expired entry is retained so that it may be revalidated with its
+     *                           origin.
+     * @since 1.0.RC8.1
+     */
+    public void setRevalidationWindow(Duration revalidationWindow) {
+        if (revalidationWindow != null) {
+            Assert.isTrue(revalidationWindow.getValue() > 0, "revalidationWindow duration must be greater than zero");
+        }
+        this.revalidationWindow = revalidationWindow;
+    }
+
+    /**
+     * Returns the maximum number of entries allowed in this cache, or zero if the number of entries is unbounded.
+     *
+     * @return the maximum number of entries allowed in this cache, or zero if the number of entries is unbounded.
+     * @since 1.0.RC8.1
+     */
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * Returns the maximum aggregate {@link #getWeight() weight} of all entries in this cache, or zero if the weight is
+     * unbounded.
+     *
+     * @return the maximum aggregate weight of all entries in this cache, or zero if the weight is unbounded.
+     * @since 1.0.RC8.1
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * Returns the {@link CacheWeigher} used to calculate the weight of each entry, or {@code null} if the weight of
+     * this cache is unbounded.
+     *
+     * @return the {@link CacheWeigher} used to calculate the weight of each entry, or {@code null}.
+     * @since 1.0.RC8.1
+     */
+    public CacheWeigher<K, V> getWeigher() {
+        return weigher;
+    }
+
+    /**
+     * Returns the {@link CacheAdmissionPolicy} that decides whether new entries are stored in this cache, or
+     * {@code null} if all entries are admitted.
+     *
+     * @return the {@link CacheAdmissionPolicy} that decides whether new entries are stored in this cache, or
+     *         {@code null} if all entries are admitted.
+     * @since 1.0.RC8.1
+     */
+    public CacheAdmissionPolicy<K, V> getAdmissionPolicy() {
+        return admissionPolicy;
+    }
+
+    /**
+     * Returns the aggregate weight of all entries currently in this cache as calculated by the
+     * {@link #getWeigher() weigher}.  Always zero if the weight of this cache is unbounded.
+     *
+     * @return the aggregate weight of all entries currently in this cache.
+     * @since 1.0.RC8.1
+     */
+    public long getWeight() {
+        return weight.get();
+    }
+
+    /**
+     * Returns the total number of entries that were evicted because the cache exceeded its
+     * {@link #getMaxEntries() maxEntries} or {@link #getMaxWeight() maxWeight} bounds.
+     *
+     * @return the total number of entries that were evicted because the cache exceeded its bounds.
+     * @since 1.0.RC8.1
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Returns the total number of entries that were never stored because the {@link #getAdmissionPolicy() admission
+     * policy} rejected them or because they alone were heavier than {@link #getMaxWeight() maxWeight}.
+     *
+     * @return the total number of entries that were never stored.
+     * @since 1.0.RC8.1
+     */
+    public long getRejectionCount() {
+        return rejectionCount.get();
+    }
+
+    /**
+     * Returns the total number of entries that were {@link #revalidate(Object, Entry) revalidated} with their origin
+     * instead of being reloaded.
+     *
+     * @return the total number of entries that were revalidated with their origin.
+     * @since 1.0.RC8.1
+     */
+    public long getRevalidationCount() {
+        return revalidationCount.get();
+    }
+
+    /**
+     * Returns the total size in bytes of the representations that did not have to be transferred again because their
+     * entries were {@link #revalidate(Object, Entry) revalidated}.  Entries of unknown size are not included.
+     *
+     * @return the total size in bytes of the representations that did not have to be transferred again.
+     * @since 1.0.RC8.1
+     */
+    public long getRevalidatedBytes() {
+        return revalidatedBytes.get();
+    }
+
     /**
      * Returns the number of attempts to return a cache entry.  Note that because {@link #remove(Object)} will return
      * a value, calls to both {@link #get(Object)} and {@link #remove(Object)} will increment this number.
@@ -318,6 +828,7 @@ public class DefaultCache<K, V> implements Cache<K, V> {
      */
     public void clear() {
         map.clear();
+        weight.set(0);
     }
 
     /**
@@ -339,11 +850,22 @@ public class DefaultCache<K, V> implements Cache<K, V> {
     }
 
     public String toString() {
-        return new StringBuilder("    {\n      \"name\": \"").append(name).append("\",\n")
-                .append("      \"size\": ").append(map.size()).append(",\n")
-                .append("      \"accessCount\": ").append(getAccessCount()).append(",\n")
+        StringBuilder sb = new StringBuilder("    {\n      \"name\": \"").append(name).append("\",\n")
+                .append("      \"size\": ").append(map.size()).append(",\n");
+        if (maxEntries > 0) {
+            sb.append("      \"maxEntries\": ").append(maxEntries).append(",\n");
+        }
+        if (maxWeight > 0) {
+            sb.append("      \"weight\": ").append(getWeight()).append(",\n")
+                    .append("      \"maxWeight\": ").append(maxWeight).append(",\n");
+        }
+        return sb.append("      \"accessCount\": ").append(getAccessCount()).append(",\n")
                 .append("      \"hitCount\": ").append(getHitCount()).append(",\n")
                 .append("      \"missCount\": ").append(getMissCount()).append(",\n")
+                .append("      \"evictionCount\": ").append(getEvictionCount()).append(",\n")
+                .append("      \"rejectionCount\": ").append(getRejectionCount()).append(",\n")
+                .append("      \"revalidationCount\": ").append(getRevalidationCount()).append(",\n")
+                .append("      \"revalidatedBytes\": ").append(getRevalidatedBytes()).append(",\n")
                 .append("      \"hitRatio\": ").append(getHitRatio()).append("\n")
                 .append("    }")
                 .toString();
@@ -361,9 +883,17 @@ public class DefaultCache<K, V> implements Cache<K, V> {
      */
     public static class Entry<V> implements Serializable {
 
+        @SuppressWarnings("unchecked")
+        private static final AtomicIntegerFieldUpdater<Entry> REFRESHING =
+                AtomicIntegerFieldUpdater.newUpdater(Entry.class, "refreshing");
+
         private final V value;
         private final long creationTimeMillis;
         private volatile long lastAccessTimeMillis;
+        private final long weight;
+        private final String eTag;
+        private final long contentLength;
+        private transient volatile int refreshing;
 
         /**
          * Creates a new Entry instance wrapping the specified {@code value}, defaulting both the
@@ -373,7 +903,37 @@ public class DefaultCache<K, V> implements Cache<K, V> {
          * @param value the cache entry to store.
          */
         public Entry(V value) {
+            this(value, 0);
+        }
+
+        /**
+         * Creates a new Entry instance wrapping the specified {@code value} with the specified {@code weight}.  Both
+         * the {@link #getCreationTimeMillis() creationTimeMillis} and the
+         * {@link #getLastAccessTimeMillis() lastAccessTimeMills} default to the current timestamp.
+         *
+         * @param value  the cache entry to store.
+         * @param weight the weight of the entry as calculated by the cache's {@link CacheWeigher}, or zero.
+         * @since 1.0.RC8.1
+         */
+        public Entry(V value, long weight) {
+            this(value, weight, null, -1);
+        }
+
+        /**
+         * Creates a new Entry instance wrapping the specified {@code value} with the specified {@code weight}, along
+         * with the entity tag and size of the representation the value was created from.
+         *
+         * @param value         the cache entry to store.
+         * @param weight        the weight of the entry as calculated by the cache's {@link CacheWeigher}, or zero.
+         * @param eTag          the entity tag of the value's representation, or {@code null} if unknown.
+         * @param contentLength the size in bytes of the value's representation, or {@code -1} if unknown.
+         * @since 1.0.RC8.1
+         */
+        public Entry(V value, long weight, String eTag, long contentLength) {
             this.value = value;
+            this.weight = weight;
+            this.eTag = eTag;
+            this.contentLength = contentLength;
             this.creationTimeMillis = System.currentTimeMillis();
             this.lastAccessTimeMillis = this.creationTimeMillis;
         }
@@ -408,5 +968,59 @@ public class DefaultCache<K, V> implements Cache<K, V> {
         public long getLastAccessTimeMillis() {
             return lastAccessTimeMillis;
         }
+
+        /**
+         * Returns the weight of this entry as calculated by the cache's {@link CacheWeigher} when the entry was
+         * created, or zero if the cache's weight is unbounded.
+         *
+         * @return the weight of this entry, or zero if the cache's weight is unbounded.
+         * @since 1.0.RC8.1
+         */
+        public long getWeight() {
+            return weight;
+        }
+
+        /**
+         * Returns the entity tag of the representation this entry's value was created from, or {@code null} if
+         * unknown.
+         *
+         * @return the entity tag of the representation this entry's value was created from, or {@code null}.
+         * @since 1.0.RC8.1
+         */
+        public String getETag() {
+            return eTag;
+        }
+
+        /**
+         * Returns the size in bytes of the representation this entry's value was created from, or {@code -1} if
+         * unknown.
+         *
+         * @return the size in bytes of the representation this entry's value was created from, or {@code -1}.
+         * @since 1.0.RC8.1
+         */
+        public long getContentLength() {
+            return contentLength;
+        }
+
+        /**
+         * Marks this entry as being reloaded from its origin.  Returns {@code true} if the caller is the first to do
+         * so and should perform the reload, {@code false} if a reload is already in progress.
+         *
+         * @return {@code true} if the caller should perform the reload, {@code false} if one is already in progress.
+         * @since 1.0.RC8.1
+         */
+        @SuppressWarnings("unchecked")
+        public boolean beginRefresh() {
+            return REFRESHING.compareAndSet(this, 0, 1);
+        }
+
+        /**
+         * Clears the mark set by {@link #beginRefresh()}, allowing a subsequent reload to be attempted.
+         *
+         * @since 1.0.RC8.1
+         */
+        public void endRefresh() {
+            this.refreshing = 0;
+        }
     }
 }
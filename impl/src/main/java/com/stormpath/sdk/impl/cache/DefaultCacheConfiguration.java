@@ -15,6 +15,8 @@
  */
 package com.stormpath.sdk.impl.cache;
 
+import com.stormpath.sdk.cache.CacheAdmissionPolicy;
+import com.stormpath.sdk.cache.CacheWeigher;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Duration;
 
@@ -28,12 +30,38 @@ public class DefaultCacheConfiguration implements CacheConfiguration {
     private final String name;
     private final Duration timeToLive;
     private final Duration timeToIdle;
+    private final long maxEntries;
+    private final long maxWeight;
+    private final CacheWeigher weigher;
+    private final CacheAdmissionPolicy admissionPolicy;
+    private final Duration refreshAfter;
+    private final Duration staleIfError;
+    private final Duration revalidationWindow;
 
     public DefaultCacheConfiguration(String name, Duration timeToLive, Duration timeToIdle) {
+        this(name, timeToLive, timeToIdle, 0, 0, null, null, null, null, null);
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    public DefaultCacheConfiguration(String name, Duration timeToLive, Duration timeToIdle, long maxEntries,
+                                     long maxWeight, CacheWeigher weigher, CacheAdmissionPolicy admissionPolicy,
+                                     Duration refreshAfter, Duration staleIfError, Duration revalidationWindow) {
         Assert.hasText(name, "Cache Region name cannot be null or empty.");
+        if (maxWeight > 0) {
+            Assert.notNull(weigher, "A CacheWeigher is required when maxWeight is specified.");
+        }
         this.name = name;
         this.timeToLive = timeToLive;
         this.timeToIdle = timeToIdle;
+        this.maxEntries = Math.max(0, maxEntries);
+        this.maxWeight = Math.max(0, maxWeight);
+        this.weigher = this.maxWeight > 0 ? weigher : null;
+        this.admissionPolicy = admissionPolicy;
+        this.refreshAfter = refreshAfter;
+        this.staleIfError = staleIfError;
+        this.revalidationWindow = revalidationWindow;
     }
 
     static Duration toDuration(long value, TimeUnit tu) {
@@ -57,4 +85,39 @@ public class DefaultCacheConfiguration implements CacheConfiguration {
     public Duration getTimeToIdle() {
         return this.timeToIdle;
     }
+
+    @Override
+    public long getMaxEntries() {
+        return this.maxEntries;
+    }
+
+    @Override
+    public long getMaxWeight() {
+        return this.maxWeight;
+    }
+
+    @Override
+    public CacheWeigher getWeigher() {
+        return this.weigher;
+    }
+
+    @Override
+    public CacheAdmissionPolicy getAdmissionPolicy() {
+        return this.admissionPolicy;
+    }
+
+    @Override
+    public Duration getRefreshAfter() {
+        return this.refreshAfter;
+    }
+
+    @Override
+    public Duration getStaleIfError() {
+        return this.staleIfError;
+    }
+
+    @Override
+    public Duration getRevalidationWindow() {
+        return this.revalidationWindow;
+    }
 }
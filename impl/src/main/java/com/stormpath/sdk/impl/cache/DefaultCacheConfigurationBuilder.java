@@ -15,7 +15,9 @@
  */
 package com.stormpath.sdk.impl.cache;
 
+import com.stormpath.sdk.cache.CacheAdmissionPolicy;
 import com.stormpath.sdk.cache.CacheConfigurationBuilder;
+import com.stormpath.sdk.cache.CacheWeigher;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Duration;
 
@@ -29,6 +31,13 @@ public class DefaultCacheConfigurationBuilder implements CacheConfigurationBuild
     private final String name;
     private Duration timeToLive;
     private Duration timeToIdle;
+    private long maxEntries;
+    private long maxWeight;
+    private CacheWeigher weigher;
+    private CacheAdmissionPolicy admissionPolicy;
+    private Duration refreshAfter;
+    private Duration staleIfError;
+    private Duration revalidationWindow;
 
     public DefaultCacheConfigurationBuilder(String name) {
         Assert.hasText(name, "Cache Region name cannot be null or empty.");
@@ -47,6 +56,46 @@ public class DefaultCacheConfigurationBuilder implements CacheConfigurationBuild
         return this;
     }
 
+    @Override
+    public CacheConfigurationBuilder withMaxEntries(long maxEntries) {
+        this.maxEntries = maxEntries;
+        return this;
+    }
+
+    @Override
+    public CacheConfigurationBuilder withMaxWeight(long maxWeight, CacheWeigher weigher) {
+        if (maxWeight > 0) {
+            Assert.notNull(weigher, "CacheWeigher cannot be null when specifying a positive maxWeight.");
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        return this;
+    }
+
+    @Override
+    public CacheConfigurationBuilder withAdmissionPolicy(CacheAdmissionPolicy policy) {
+        this.admissionPolicy = policy;
+        return this;
+    }
+
+    @Override
+    public CacheConfigurationBuilder withRefreshAfter(long refreshAfter, TimeUnit refreshAfterTimeUnit) {
+        this.refreshAfter = DefaultCacheConfiguration.toDuration(refreshAfter, refreshAfterTimeUnit);
+        return this;
+    }
+
+    @Override
+    public CacheConfigurationBuilder withStaleIfError(long staleIfError, TimeUnit staleIfErrorTimeUnit) {
+        this.staleIfError = DefaultCacheConfiguration.toDuration(staleIfError, staleIfErrorTimeUnit);
+        return this;
+    }
+
+    @Override
+    public CacheConfigurationBuilder withRevalidationWindow(long revalidationWindow, TimeUnit revalidationWindowTimeUnit) {
+        this.revalidationWindow = DefaultCacheConfiguration.toDuration(revalidationWindow, revalidationWindowTimeUnit);
+        return this;
+    }
+
     public String getName() {
         return name;
     }
@@ -59,7 +108,37 @@ public class DefaultCacheConfigurationBuilder implements CacheConfigurationBuild
         return timeToIdle;
     }
 
+    public long getMaxEntries() {
+        return maxEntries;
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public CacheWeigher getWeigher() {
+        return weigher;
+    }
+
+    public CacheAdmissionPolicy getAdmissionPolicy() {
+        return admissionPolicy;
+    }
+
+    public Duration getRefreshAfter() {
+        return refreshAfter;
+    }
+
+    public Duration getStaleIfError() {
+        return staleIfError;
+    }
+
+    public Duration getRevalidationWindow() {
+        return revalidationWindow;
+    }
+
     public CacheConfiguration build() {
-        return new DefaultCacheConfiguration(getName(), getTimeToLive(), getTimeToIdle());
+        return new DefaultCacheConfiguration(getName(), getTimeToLive(), getTimeToIdle(), getMaxEntries(),
+                getMaxWeight(), getWeigher(), getAdmissionPolicy(), getRefreshAfter(), getStaleIfError(),
+                getRevalidationWindow());
     }
 }
@@ -22,6 +22,9 @@ import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Duration;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
@@ -65,6 +68,10 @@ import java.util.concurrent.TimeUnit;
  * applied to newly created {@code Cache} instances.  It does not affect already existing {@code Cache}s.
  * <h2>Thread Safety</h2>
  * This implementation and the cache instances it creates are thread-safe and usable in concurrent environments.
+ * <h2>Bounded Regions</h2>
+ * Cache regions configured with a {@link CacheConfiguration#getMaxEntries() maxEntries} or
+ * {@link CacheConfiguration#getMaxWeight() maxWeight} bound are backed by an access-ordered map and evict their least
+ * recently used entries when a bound is exceeded.  All other regions are backed by a {@link SoftHashMap}.
  *
  * @see #setDefaultTimeToIdle(com.stormpath.sdk.lang.Duration)
  * @see #setDefaultTimeToIdleSeconds(long)
@@ -219,18 +226,34 @@ public class DefaultCacheManager implements CacheManager {
         Duration tti = this.defaultTimeToIdle != null ? this.defaultTimeToIdle.clone() : null;
 
         CacheConfiguration config = this.configs.get(name);
-        if (config != null) {
-            Duration d = config.getTimeToLive();
-            if (d != null) {
-                ttl = d;
-            }
-            d = config.getTimeToIdle();
-            if (d != null) {
-                tti = d;
-            }
+        if (config == null) {
+            return new DefaultCache(name, new SoftHashMap(), ttl, tti);
+        }
+
+        Duration d = config.getTimeToLive();
+        if (d != null) {
+            ttl = d;
+        }
+        d = config.getTimeToIdle();
+        if (d != null) {
+            tti = d;
         }
 
-        return new DefaultCache(name, new SoftHashMap(), ttl, tti);
+        long maxEntries = config.getMaxEntries();
+        long maxWeight = config.getMaxWeight();
+
+        //bounded regions need a strongly referenced, access-ordered map so that eviction is LRU and weights are exact:
+        Map backingMap = (maxEntries > 0 || maxWeight > 0) ?
+                Collections.synchronizedMap(new LinkedHashMap(16, 0.75f, true)) :
+                new SoftHashMap();
+
+        DefaultCache cache = new DefaultCache(name, backingMap, ttl, tti, maxEntries, maxWeight, config.getWeigher(),
+                config.getAdmissionPolicy());
+        cache.setRefreshAfter(config.getRefreshAfter());
+        cache.setStaleIfError(config.getStaleIfError());
+        cache.setRevalidationWindow(config.getRevalidationWindow());
+
+        return cache;
     }
 
     public String toString() {
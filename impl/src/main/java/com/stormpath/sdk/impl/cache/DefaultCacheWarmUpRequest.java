@@ -0,0 +1,122 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.account.AccountCriteria;
+import com.stormpath.sdk.cache.CacheWarmUpListener;
+import com.stormpath.sdk.cache.CacheWarmUpRequest;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * @since 1.0.RC8.1
+ */
+public class DefaultCacheWarmUpRequest implements CacheWarmUpRequest {
+
+    private final Set<String> applicationHrefs;
+    private final boolean accountStoreMappingsIncluded;
+    private final boolean directoryGroupsIncluded;
+    private final boolean accountsIncluded;
+    private final AccountCriteria accountCriteria;
+    private final int maxAccounts;
+    private final boolean tenantIncluded;
+    private final boolean policiesIncluded;
+    private final int concurrency;
+    private final int maxRequestsPerSecond;
+    private final long memoryBudget;
+    private final CacheWarmUpListener listener;
+
+    public DefaultCacheWarmUpRequest(Set<String> applicationHrefs, boolean accountStoreMappingsIncluded,
+                                     boolean directoryGroupsIncluded, boolean accountsIncluded,
+                                     AccountCriteria accountCriteria, int maxAccounts, boolean tenantIncluded,
+                                     boolean policiesIncluded, int concurrency, int maxRequestsPerSecond,
+                                     long memoryBudget, CacheWarmUpListener listener) {
+        this.applicationHrefs = Collections.unmodifiableSet(new LinkedHashSet<String>(applicationHrefs));
+        this.accountStoreMappingsIncluded = accountStoreMappingsIncluded;
+        this.directoryGroupsIncluded = directoryGroupsIncluded;
+        this.accountsIncluded = accountsIncluded;
+        this.accountCriteria = accountCriteria;
+        this.maxAccounts = maxAccounts;
+        this.tenantIncluded = tenantIncluded;
+        this.policiesIncluded = policiesIncluded;
+        this.concurrency = concurrency;
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+        this.memoryBudget = memoryBudget;
+        this.listener = listener;
+    }
+
+    @Override
+    public Set<String> getApplicationHrefs() {
+        return applicationHrefs;
+    }
+
+    @Override
+    public boolean isAccountStoreMappingsIncluded() {
+        return accountStoreMappingsIncluded;
+    }
+
+    @Override
+    public boolean isDirectoryGroupsIncluded() {
+        return directoryGroupsIncluded;
+    }
+
+    @Override
+    public boolean isAccountsIncluded() {
+        return accountsIncluded;
+    }
+
+    @Override
+    public AccountCriteria getAccountCriteria() {
+        return accountCriteria;
+    }
+
+    @Override
+    public int getMaxAccounts() {
+        return maxAccounts;
+    }
+
+    @Override
+    public boolean isTenantIncluded() {
+        return tenantIncluded;
+    }
+
+    @Override
+    public boolean isPoliciesIncluded() {
+        return policiesIncluded;
+    }
+
+    @Override
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    @Override
+    public int getMaxRequestsPerSecond() {
+        return maxRequestsPerSecond;
+    }
+
+    @Override
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    @Override
+    public CacheWarmUpListener getListener() {
+        return listener;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.account.AccountCriteria;
+import com.stormpath.sdk.application.Application;
+import com.stormpath.sdk.cache.CacheWarmUpListener;
+import com.stormpath.sdk.cache.CacheWarmUpRequest;
+import com.stormpath.sdk.cache.CacheWarmUpRequestBuilder;
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * @since 1.0.RC8.1
+ */
+public class DefaultCacheWarmUpRequestBuilder implements CacheWarmUpRequestBuilder {
+
+    public static final int DEFAULT_CONCURRENCY = 4;
+    public static final int DEFAULT_MAX_REQUESTS_PER_SECOND = 20;
+
+    private final Set<String> applicationHrefs = new LinkedHashSet<String>();
+    private boolean accountStoreMappingsIncluded = true;
+    private boolean directoryGroupsIncluded;
+    private boolean accountsIncluded;
+    private AccountCriteria accountCriteria;
+    private int maxAccounts;
+    private boolean tenantIncluded;
+    private boolean policiesIncluded;
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private int maxRequestsPerSecond = DEFAULT_MAX_REQUESTS_PER_SECOND;
+    private long memoryBudget;
+    private CacheWarmUpListener listener;
+
+    @Override
+    public CacheWarmUpRequestBuilder forApplication(Application application) {
+        Assert.notNull(application, "Application cannot be null.");
+        return forApplication(application.getHref());
+    }
+
+    @Override
+    public CacheWarmUpRequestBuilder forApplication(String applicationHref) {
+        Assert.hasText(applicationHref, "Application href cannot be null or empty.");
+        this.applicationHrefs.add(applicationHref);
+        return this;
+    }
+
+    @Override
+    public CacheWarmUpRequestBuilder withAccountStoreMappings(boolean include) {
+        this.accountStoreMappingsIncluded = include;
+        return this;
+    }
+
+    @Override
+    public CacheWarmUpRequestBuilder withDirectoryGroups(boolean include) {
+        this.directoryGroupsIncluded = include;
+        return this;
+    }
+
+    @Override
+    public CacheWarmUpRequestBuilder withAccounts(AccountCriteria criteria, int maxAccounts) {
+        this.accountsIncluded = true;
+        this.accountCriteria = criteria;
+        this.maxAccounts = Math.max(maxAccounts, 0);
+        return this;
+    }
+
+    @Override
+    public CacheWarmUpRequestBuilder withTenant(boolean include) {
+        this.tenantIncluded = include;
+        return this;
+    }
+
+    @Override
+    public CacheWarmUpRequestBuilder withPolicies(boolean include) {
+        this.policiesIncluded = include;
+        return this;
+    }
+
+    @Override
+    public CacheWarmUpRequestBuilder withConcurrency(int concurrency) {
+        Assert.isTrue(concurrency > 0, "concurrency must be greater than zero.");
+        this.concurrency = concurrency;
+        return this;
+    }
+
+    @Override
+    public CacheWarmUpRequestBuilder withMaxRequestsPerSecond(int maxRequestsPerSecond) {
+        this.maxRequestsPerSecond = Math.max(maxRequestsPerSecond, 0);
+        return this;
+    }
+
+    @Override
+    public CacheWarmUpRequestBuilder withMemoryBudget(long bytes) {
+        this.memoryBudget = Math.max(bytes, 0);
+        return this;
+    }
+
+    @Override
+    public CacheWarmUpRequestBuilder withListener(CacheWarmUpListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    @Override
+    public CacheWarmUpRequest build() throws IllegalStateException {
+        Assert.state(!this.applicationHrefs.isEmpty(), "At least one application must be specified.");
+        return new DefaultCacheWarmUpRequest(this.applicationHrefs, this.accountStoreMappingsIncluded,
+                this.directoryGroupsIncluded, this.accountsIncluded, this.accountCriteria, this.maxAccounts,
+                this.tenantIncluded, this.policiesIncluded, this.concurrency, this.maxRequestsPerSecond,
+                this.memoryBudget, this.listener);
+    }
+}
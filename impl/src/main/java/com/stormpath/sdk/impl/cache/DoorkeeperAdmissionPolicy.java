@@ -0,0 +1,81 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.cache.CacheAdmissionPolicy;
+import com.stormpath.sdk.lang.Assert;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A {@link CacheAdmissionPolicy} that admits a new entry only the second time its key is offered within a recent
+ * window, so keys that are requested just once ('one-hit wonders') never displace other entries.
+ * <p/>
+ * Recently offered keys are remembered by hash code in a fixed-size table (the 'doorkeeper').  A key is admitted if
+ * its hash is found in its table slot; otherwise the hash is recorded and the key is rejected.  Because slots are
+ * overwritten by colliding keys, the table only remembers a bounded window of recent keys, and an occasional hash
+ * collision may admit a key on its first offer.  Both are acceptable for an admission heuristic and keep memory use
+ * constant regardless of the number of distinct keys.
+ * <p/>
+ * This implementation is thread-safe.
+ *
+ * @since 1.0.RC8.1
+ */
+public class DoorkeeperAdmissionPolicy implements CacheAdmissionPolicy<Object, Object> {
+
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    private final AtomicIntegerArray table;
+    private final int mask;
+
+    public DoorkeeperAdmissionPolicy() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a new instance that remembers roughly {@code capacity} recently offered keys.
+     *
+     * @param capacity the number of recently offered keys to remember, rounded up to the next power of two.
+     */
+    public DoorkeeperAdmissionPolicy(int capacity) {
+        Assert.isTrue(capacity > 0, "capacity must be greater than zero.");
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.table = new AtomicIntegerArray(size);
+        this.mask = size - 1;
+    }
+
+    @Override
+    public boolean admit(Object key, Object value) {
+        int hash = spread(key != null ? key.hashCode() : 0);
+        int slot = hash & mask;
+        if (table.get(slot) == hash) {
+            return true;
+        }
+        table.set(slot, hash);
+        return false;
+    }
+
+    private static int spread(int h) {
+        h ^= (h >>> 16);
+        h *= 0x85ebca6b;
+        h ^= (h >>> 13);
+        //zero marks an empty slot, so never produce it:
+        return h != 0 ? h : 1;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache;
+
+import com.stormpath.sdk.cache.CacheWeigher;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A {@link CacheWeigher} that weighs entries by their <em>estimated</em> in-memory size in bytes.
+ * <p/>
+ * Resource data is cached as (potentially nested) maps of simple values, so this implementation walks maps,
+ * collections and arrays and adds a fixed per-object overhead plus the size of each {@code String}'s characters.  The
+ * result is not an exact measurement of retained heap, but it is proportional to it and cheap to calculate, which is
+ * what matters when bounding a cache region with
+ * {@link com.stormpath.sdk.cache.CacheConfigurationBuilder#withMaxWeight(long, CacheWeigher) maxWeight}.
+ *
+ * @since 1.0.RC8.1
+ */
+public class EstimatedSizeWeigher implements CacheWeigher<Object, Object> {
+
+    private static final int OBJECT_OVERHEAD = 16;
+    private static final int REFERENCE_SIZE = 8;
+    private static final int STRING_OVERHEAD = 40;
+    private static final int MAP_ENTRY_OVERHEAD = 32;
+
+    /**
+     * Maximum nesting depth to walk - guards against (unexpected) cyclic structures.
+     */
+    private static final int MAX_DEPTH = 16;
+
+    @Override
+    public long weigh(Object key, Object value) {
+        return sizeOf(key, 0) + sizeOf(value, 0);
+    }
+
+    protected long sizeOf(Object o, int depth) {
+
+        if (o == null) {
+            return 0;
+        }
+
+        if (o instanceof String) {
+            return STRING_OVERHEAD + 2L * ((String) o).length();
+        }
+
+        if (depth >= MAX_DEPTH) {
+            return OBJECT_OVERHEAD;
+        }
+
+        if (o instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) o;
+            long size = OBJECT_OVERHEAD + (long) REFERENCE_SIZE * map.size();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                size += MAP_ENTRY_OVERHEAD + sizeOf(entry.getKey(), depth + 1) + sizeOf(entry.getValue(), depth + 1);
+            }
+            return size;
+        }
+
+        if (o instanceof Collection) {
+            Collection<?> c = (Collection<?>) o;
+            long size = OBJECT_OVERHEAD + (long) REFERENCE_SIZE * c.size();
+            for (Object element : c) {
+                size += sizeOf(element, depth + 1);
+            }
+            return size;
+        }
+
+        if (o instanceof Object[]) {
+            Object[] array = (Object[]) o;
+            long size = OBJECT_OVERHEAD + (long) REFERENCE_SIZE * array.length;
+            for (Object element : array) {
+                size += sizeOf(element, depth + 1);
+            }
+            return size;
+        }
+
+        if (o instanceof byte[]) {
+            return OBJECT_OVERHEAD + ((byte[]) o).length;
+        }
+
+        //numbers, booleans, dates, enums, etc:
+        return OBJECT_OVERHEAD + REFERENCE_SIZE;
+    }
+}
@@ -24,6 +24,8 @@ import com.stormpath.sdk.application.ApplicationCriteria;
 import com.stormpath.sdk.application.ApplicationList;
 import com.stormpath.sdk.application.CreateApplicationRequest;
 import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.cache.CacheWarmUpRequest;
+import com.stormpath.sdk.cache.CacheWarmUpResult;
 import com.stormpath.sdk.client.AuthenticationScheme;
 import com.stormpath.sdk.client.Client;
 import com.stormpath.sdk.client.Proxy;
@@ -32,9 +34,11 @@ import com.stormpath.sdk.directory.Directory;
 import com.stormpath.sdk.directory.DirectoryCriteria;
 import com.stormpath.sdk.directory.DirectoryList;
 import com.stormpath.sdk.ds.DataStore;
+import com.stormpath.sdk.ds.ResourceBatch;
 import com.stormpath.sdk.group.GroupCriteria;
 import com.stormpath.sdk.group.GroupList;
 import com.stormpath.sdk.impl.ds.DefaultDataStore;
+import com.stormpath.sdk.impl.ds.cache.DefaultCacheWarmUpResult;
 import com.stormpath.sdk.impl.http.RequestExecutor;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Classes;
@@ -45,7 +49,10 @@ import com.stormpath.sdk.resource.ResourceException;
 import com.stormpath.sdk.tenant.Tenant;
 import com.stormpath.sdk.tenant.TenantOptions;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -59,7 +66,21 @@ import java.util.Map;
  * @see <a href="http://www.stormpath.com/docs/quickstart/connect">Communicating with Stormpath: Get your API Key</a>
  * @since 1.0.alpha
  */
-public class DefaultClient implements Client {
+public class DefaultClient implements Client, Closeable {
+
+    /**
+     * System property that may be used to specify the fully qualified name of the {@link RequestExecutor}
+     * implementation to use.  If not set, the Apache HttpClient based implementation is used if available, otherwise
+     * the {@code HttpURLConnection} based implementation.  The implementation must provide a public constructor
+     * accepting an {@code ApiKey}, {@code Proxy}, {@code AuthenticationScheme} and {@code Integer} connection timeout.
+     *
+     * @since 1.0.RC8.1
+     */
+    public static final String REQUEST_EXECUTOR_CLASS_PROPERTY_KEY = "com.stormpath.sdk.impl.client.DefaultClient.requestExecutorClass";
+
+    private static final String HTTP_CLIENT_REQUEST_EXECUTOR_CLASS_NAME = "com.stormpath.sdk.impl.http.httpclient.HttpClientRequestExecutor";
+
+    private static final String URL_CONNECTION_REQUEST_EXECUTOR_CLASS_NAME = "com.stormpath.sdk.impl.http.urlconnection.UrlConnectionRequestExecutor";
 
     private final DataStore dataStore;
 
@@ -111,26 +132,63 @@ public class DefaultClient implements Client {
         return this.dataStore.getCacheManager();
     }
 
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Override
+    public CacheWarmUpResult warmUpCache(CacheWarmUpRequest request) {
+        CacheWarmUpResult result = this.dataStore.warmUpCache(request);
+        if (result instanceof DefaultCacheWarmUpResult) {
+            //remember the tenant href so getCurrentTenant() can be served from the cache from now on:
+            String tenantHref = ((DefaultCacheWarmUpResult) result).getCurrentTenantHref();
+            if (tenantHref != null) {
+                this.currentTenantHref = tenantHref;
+            }
+        }
+        return result;
+    }
+
     @Override
     public DataStore getDataStore() {
         return this.dataStore;
     }
 
+    /**
+     * Releases the threads held by this client's data store and request executor, if any.  The client should not be
+     * used after it has been closed.
+     *
+     * @since 1.0.RC8.1
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.dataStore instanceof Closeable) {
+            ((Closeable) this.dataStore).close();
+        }
+    }
+
     @SuppressWarnings({"unchecked", "rawtypes"})
     private RequestExecutor createRequestExecutor(ApiKey apiKey, Proxy proxy, AuthenticationScheme authenticationScheme, int connectionTimeout) {
 
-        String className = "com.stormpath.sdk.impl.http.httpclient.HttpClientRequestExecutor";
+        String className = System.getProperty(REQUEST_EXECUTOR_CLASS_PROPERTY_KEY);
 
         Class requestExecutorClass;
 
-        if (Classes.isAvailable(className)) {
+        if (className != null) {
+            //explicitly configured - fail if it is not available instead of silently using another implementation:
+            if (!Classes.isAvailable(className)) {
+                String msg = "Unable to find the '" + className + "' implementation configured via the '" +
+                        REQUEST_EXECUTOR_CLASS_PROPERTY_KEY + "' system property on the classpath.";
+                throw new RuntimeException(msg);
+            }
             requestExecutorClass = Classes.forName(className);
+        } else if (Classes.isAvailable(HTTP_CLIENT_REQUEST_EXECUTOR_CLASS_NAME)) {
+            requestExecutorClass = Classes.forName(HTTP_CLIENT_REQUEST_EXECUTOR_CLASS_NAME);
+        } else if (Classes.isAvailable(URL_CONNECTION_REQUEST_EXECUTOR_CLASS_NAME)) {
+            requestExecutorClass = Classes.forName(URL_CONNECTION_REQUEST_EXECUTOR_CLASS_NAME);
         } else {
-            //we might be able to check for other implementations in the future, but for now, we only support
-            //HTTP calls via the HttpClient.  Throw an exception:
-
-            String msg = "Unable to find the '" + className + "' implementation on the classpath.  Please ensure you " +
-                    "have added the stormpath-sdk-httpclient .jar file to your runtime classpath.";
+            String msg = "Unable to find the '" + HTTP_CLIENT_REQUEST_EXECUTOR_CLASS_NAME + "' implementation on the " +
+                    "classpath.  Please ensure you have added the stormpath-sdk-httpclient .jar file (or the " +
+                    "stormpath-sdk-urlconnection .jar file) to your runtime classpath.";
             throw new RuntimeException(msg);
         }
 
@@ -170,6 +228,14 @@ public class DefaultClient implements Client {
         return this.dataStore.getResource(href, clazz);
     }
 
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Override
+    public <T extends Resource> ResourceBatch<T> getResources(Collection<String> hrefs, Class<T> clazz) {
+        return this.dataStore.getResources(hrefs, clazz);
+    }
+
     /**
      * Delegates to the internal {@code dataStore} instance. This is a convenience mechanism to eliminate the constant
      * need to call {@code client.getDataStore()} every time one needs to look up a Resource.
@@ -78,16 +78,7 @@ public class DefaultCustomData extends AbstractInstanceResource implements Custo
 
     @Override
     public int size() {
-        readLock.lock();
-        try {
-            Set<String> keySet = new LinkedHashSet<String>();
-            keySet.addAll(this.properties.keySet());
-            keySet.addAll(this.dirtyProperties.keySet());
-            keySet.removeAll(this.deletedPropertyNames);
-            return keySet.size();
-        } finally {
-            readLock.unlock();
-        }
+        return mergedPropertyNames().size();
     }
 
     @Override
@@ -124,15 +115,7 @@ public class DefaultCustomData extends AbstractInstanceResource implements Custo
     @Override
     public Object remove(Object key) {
         Assert.isInstanceOf(String.class, key);
-        writeLock.lock();
-        try {
-            Object object = this.dirtyProperties.remove(key);
-            this.deletedPropertyNames.add(key.toString());
-            this.dirty = true;
-            return object;
-        } finally {
-            writeLock.unlock();
-        }
+        return deleteProperty(key.toString());
     }
 
     @Override
@@ -163,9 +146,7 @@ public class DefaultCustomData extends AbstractInstanceResource implements Custo
                 if (propertiesToFilter.contains(propertyName)) {
                     continue;
                 }
-                this.dirtyProperties.remove(propertyName);
-                this.deletedPropertyNames.add(propertyName);
-                dirty = true;
+                deleteProperty(propertyName);
             }
         } finally {
             writeLock.unlock();
@@ -182,16 +163,15 @@ public class DefaultCustomData extends AbstractInstanceResource implements Custo
                 writeLock.unlock();
             }
         }
-        readLock.lock();
-        try {
-            Set<String> keySet = new LinkedHashSet<String>();
-            keySet.addAll(this.properties.keySet());
-            keySet.addAll(this.dirtyProperties.keySet());
-            keySet.removeAll(this.deletedPropertyNames);
-            return java.util.Collections.unmodifiableSet(keySet);
-        } finally {
-            readLock.unlock();
-        }
+        return java.util.Collections.unmodifiableSet(mergedPropertyNames());
+    }
+
+    private Set<String> mergedPropertyNames() {
+        Set<String> keySet = new LinkedHashSet<String>();
+        keySet.addAll(this.properties.keySet());
+        keySet.addAll(this.dirtyProperties.keySet());
+        keySet.removeAll(this.deletedPropertyNames);
+        return keySet;
     }
 
     @Override
@@ -207,23 +187,18 @@ public class DefaultCustomData extends AbstractInstanceResource implements Custo
     @Override
     public Set<Entry<String, Object>> entrySet() {
         Set<String> keySet = this.keySet();
-        readLock.lock();
-        try {
-            Set<Entry<String, Object>> entrySet = new LinkedHashSet<Entry<String, Object>>(keySet.size());
-            for(String key : keySet) {
-                entrySet.add(new AbstractMap.SimpleEntry<String, Object>(key, this.get(key)));
-            }
-            return java.util.Collections.unmodifiableSet(entrySet);
-        } finally {
-            readLock.unlock();
+        Set<Entry<String, Object>> entrySet = new LinkedHashSet<Entry<String, Object>>(keySet.size());
+        for(String key : keySet) {
+            entrySet.add(new AbstractMap.SimpleEntry<String, Object>(key, this.get(key)));
         }
+        return java.util.Collections.unmodifiableSet(entrySet);
     }
 
     @Override
     public void save() {
         if (isDirty()) {
-            this.writeLock.lock();
-            try{
+            writeLock.lock();
+            try {
                 if (hasRemovedProperties()) {
                     deleteRemovedProperties();
                 }
@@ -231,42 +206,31 @@ public class DefaultCustomData extends AbstractInstanceResource implements Custo
                     super.save();
                 }
             } finally {
-                this.writeLock.unlock();
+                writeLock.unlock();
             }
         }
     }
 
     public void deleteRemovedProperties() {
-        this.writeLock.lock();
+        writeLock.lock();
         try {
 
             Set<String> deletedPropertyNames = this.getDeletedPropertyNames();
             for (String deletedPropertyName : deletedPropertyNames) {
                 getDataStore().deleteResourceProperty(this, deletedPropertyName);
-                this.properties.remove(deletedPropertyName);
             }
-            this.deletedPropertyNames.clear();
+            removeDeletedProperties(deletedPropertyNames);
         } finally {
-            this.writeLock.unlock();
+            writeLock.unlock();
         }
     }
 
     public boolean hasRemovedProperties() {
-        readLock.lock();
-        try {
-            return !deletedPropertyNames.isEmpty();
-        } finally {
-            readLock.unlock();
-        }
+        return !deletedPropertyNames.isEmpty();
     }
 
     public boolean hasNewProperties() {
-        readLock.lock();
-        try {
-            return !dirtyProperties.isEmpty();
-        } finally {
-            readLock.unlock();
-        }
+        return !dirtyProperties.isEmpty();
     }
 
     @Override
@@ -18,15 +18,44 @@ package com.stormpath.sdk.impl.ds;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.resource.Resource;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
+ * Resolves a resource class's cache region name to the fully qualified name of its {@link Resource} sub-interface.
+ * <p/>
+ * As of 1.0.RC8.1, resolved names are retained: cache regions are resolved for every cache lookup and the name never
+ * changes for a given class.
+ *
  * @since 0.8
  */
 public class DefaultCacheRegionNameResolver implements CacheRegionNameResolver {
 
+    private final ConcurrentMap<Class, String> regionNames = new ConcurrentHashMap<Class, String>();
+
     @Override
     public <T extends Resource> String getCacheRegionName(Class<T> clazz) {
         Assert.notNull(clazz, "Class argument cannot be null.");
-        Class iface = DefaultResourceFactory.getInterfaceClass(clazz);
-        return iface.getName();
+        String name = regionNames.get(clazz);
+        if (name == null) {
+            name = resolveCacheRegionName(clazz);
+            String existing = regionNames.putIfAbsent(clazz, name);
+            if (existing != null) {
+                name = existing;
+            }
+        }
+        return name;
+    }
+
+    /**
+     * Computes the cache region name for the specified class.  Only invoked the first time a class's region name is
+     * requested (or by concurrent first requests).
+     *
+     * @param clazz the resource class
+     * @return the cache region name for the specified class
+     * @since 1.0.RC8.1
+     */
+    protected String resolveCacheRegionName(Class<? extends Resource> clazz) {
+        return DefaultResourceFactory.getInterfaceClass(clazz).getName();
     }
 }
@@ -16,17 +16,25 @@
 package com.stormpath.sdk.impl.ds;
 
 import com.stormpath.sdk.api.ApiKey;
+import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.cache.CacheManager;
+import com.stormpath.sdk.cache.CacheWarmUpRequest;
+import com.stormpath.sdk.cache.CacheWarmUpResult;
+import com.stormpath.sdk.ds.ResourceBatch;
 import com.stormpath.sdk.http.HttpMethod;
+import com.stormpath.sdk.impl.cache.DefaultCache;
 import com.stormpath.sdk.impl.cache.DisabledCacheManager;
 import com.stormpath.sdk.impl.ds.api.ApiKeyQueryFilter;
 import com.stormpath.sdk.impl.ds.api.DecryptApiKeySecretFilter;
 import com.stormpath.sdk.impl.ds.cache.CacheResolver;
+import com.stormpath.sdk.impl.ds.cache.CacheWarmer;
 import com.stormpath.sdk.impl.ds.cache.DefaultCacheResolver;
 import com.stormpath.sdk.impl.ds.cache.ReadCacheFilter;
 import com.stormpath.sdk.impl.ds.cache.WriteCacheFilter;
 import com.stormpath.sdk.impl.error.DefaultError;
 import com.stormpath.sdk.impl.http.*;
+import com.stormpath.sdk.impl.http.support.BufferedRequestBody;
+import com.stormpath.sdk.impl.http.support.CanonicalFormEncoder;
 import com.stormpath.sdk.impl.http.support.DefaultCanonicalUri;
 import com.stormpath.sdk.impl.http.support.DefaultRequest;
 import com.stormpath.sdk.impl.http.support.UserAgent;
@@ -34,7 +42,7 @@ import com.stormpath.sdk.impl.query.DefaultCriteria;
 import com.stormpath.sdk.impl.query.DefaultOptions;
 import com.stormpath.sdk.impl.resource.AbstractResource;
 import com.stormpath.sdk.impl.resource.ReferenceFactory;
-import com.stormpath.sdk.impl.util.StringInputStream;
+import com.stormpath.sdk.impl.util.CountingInputStream;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Collections;
 import com.stormpath.sdk.lang.Strings;
@@ -48,15 +56,24 @@ import com.stormpath.sdk.resource.Saveable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
-import java.io.UnsupportedEncodingException;
-import java.net.URLEncoder;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @since 0.1
  */
-public class DefaultDataStore implements InternalDataStore {
+public class DefaultDataStore implements InternalDataStore, Closeable {
 
     private static final Logger log = LoggerFactory.getLogger(DefaultDataStore.class);
 
@@ -64,7 +81,6 @@ public class DefaultDataStore implements InternalDataStore {
 
     public static final int DEFAULT_API_VERSION = 1;
 
-    private static final String APPEND_PARAM_CHAR = "&";
 
     public static final String DEFAULT_CRITERIA_MSG = "The " + DefaultDataStore.class.getName() +
                                                       " implementation only functions with " +
@@ -80,6 +96,13 @@ public class DefaultDataStore implements InternalDataStore {
 
     private static final boolean COLLECTION_CACHING_ENABLED = false; //EXPERIMENTAL - set to true only while developing.
 
+    /**
+     * The maximum number of concurrent requests issued by a {@link #getResources(Collection, Class) multi-get}.
+     *
+     * @since 1.0.RC8.1
+     */
+    public static final int BATCH_CONCURRENCY = 8;
+
     private final String baseUrl;
     private final ApiKey apiKey;
     private final RequestExecutor requestExecutor;
@@ -90,6 +113,10 @@ public class DefaultDataStore implements InternalDataStore {
     private final ResourceConverter resourceConverter;
     private final QueryStringFactory queryStringFactory;
     private final List<Filter> filters;
+    private final List<Filter> refreshFilters;
+    private final FilterChain readHandler = new ReadRequestHandler();
+
+    private volatile ExecutorService batchExecutor;
 
     /**
      * @since 1.0.RC3
@@ -131,14 +158,21 @@ public class DefaultDataStore implements InternalDataStore {
 
         this.filters.add(new DecryptApiKeySecretFilter(apiKey));
 
+        int refreshIndex = -1;
+
         if (isCachingEnabled()) {
-            this.filters.add(new ReadCacheFilter(this.baseUrl, this.cacheResolver, COLLECTION_CACHING_ENABLED));
+            this.filters.add(new ReadCacheFilter(this.baseUrl, this.cacheResolver, COLLECTION_CACHING_ENABLED,
+                                                 new RefreshFilterChain()));
+            refreshIndex = this.filters.size();
             this.filters.add(new WriteCacheFilter(this.cacheResolver, COLLECTION_CACHING_ENABLED, referenceFactory));
         }
 
         this.filters.add(new ApiKeyQueryFilter(this.queryStringFactory));
 
         this.filters.add(new ProviderAccountResultFilter());
+
+        this.refreshFilters = refreshIndex < 0 ? java.util.Collections.<Filter>emptyList() :
+                              new ArrayList<Filter>(this.filters.subList(refreshIndex, this.filters.size()));
     }
 
     @Override
@@ -156,6 +190,19 @@ public class DefaultDataStore implements InternalDataStore {
         return this.cacheManager;
     }
 
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Override
+    public CacheWarmUpResult warmUpCache(CacheWarmUpRequest request) {
+        Assert.notNull(request, "CacheWarmUpRequest cannot be null.");
+        if (!isCachingEnabled()) {
+            log.warn("Caching is disabled - ignoring cache warm-up request.");
+            return new CacheWarmer(this, request).getProgress();
+        }
+        return new CacheWarmer(this, request).warmUp();
+    }
+
     /* =====================================================================
        Resource Instantiation
        ===================================================================== */
@@ -202,6 +249,161 @@ public class DefaultDataStore implements InternalDataStore {
         return instantiate(clazz, result.getData(), result.getUri().getQuery());
     }
 
+    /**
+     * Retrieves each distinct href once: cached hrefs on the calling thread, all others concurrently via the
+     * {@link #getBatchExecutor() batch executor}.
+     *
+     * @since 1.0.RC8.1
+     */
+    @Override
+    public <T extends Resource> ResourceBatch<T> getResources(Collection<String> hrefs, final Class<T> clazz) {
+        Assert.notNull(hrefs, "hrefs argument cannot be null.");
+        Assert.notNull(clazz, "Resource class argument cannot be null.");
+
+        List<String> qualifiedHrefs = new ArrayList<String>(hrefs.size());
+        Set<String> cachedHrefs = new LinkedHashSet<String>();
+        Map<String, Future<T>> retrievals = new HashMap<String, Future<T>>();
+
+        for (String href : hrefs) {
+            Assert.hasText(href, "hrefs argument cannot contain null or empty values.");
+            final String qualifiedHref = ensureFullyQualified(href);
+            qualifiedHrefs.add(qualifiedHref);
+
+            if (cachedHrefs.contains(qualifiedHref) || retrievals.containsKey(qualifiedHref)) {
+                continue; //duplicate - coalesce with the first occurrence
+            }
+
+            if (isCached(qualifiedHref, clazz)) {
+                cachedHrefs.add(qualifiedHref);
+            } else {
+                retrievals.put(qualifiedHref, getBatchExecutor().submit(new Callable<T>() {
+                    @Override
+                    public T call() throws Exception {
+                        return getResource(qualifiedHref, clazz);
+                    }
+                }));
+            }
+        }
+
+        Map<String, T> resources = new HashMap<String, T>();
+        Map<String, RuntimeException> failures = new HashMap<String, RuntimeException>();
+
+        //resolve the cached hrefs while the others are being retrieved:
+        for (String href : cachedHrefs) {
+            try {
+                resources.put(href, getResource(href, clazz));
+            } catch (RuntimeException e) {
+                failures.put(href, e);
+            }
+        }
+
+        for (Map.Entry<String, Future<T>> entry : retrievals.entrySet()) {
+            try {
+                resources.put(entry.getKey(), entry.getValue().get());
+            } catch (InterruptedException e) {
+                for (Future<T> future : retrievals.values()) {
+                    future.cancel(true);
+                }
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while retrieving resources.", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                failures.put(entry.getKey(), cause instanceof RuntimeException ? (RuntimeException) cause :
+                        new IllegalStateException("Unable to retrieve " + entry.getKey(), cause));
+            }
+        }
+
+        List<T> results = new ArrayList<T>(qualifiedHrefs.size());
+        Map<String, RuntimeException> errors = new LinkedHashMap<String, RuntimeException>();
+        Iterator<String> requested = hrefs.iterator();
+
+        for (String qualifiedHref : qualifiedHrefs) {
+            String href = requested.next();
+            results.add(resources.get(qualifiedHref));
+            RuntimeException failure = failures.get(qualifiedHref);
+            if (failure != null) {
+                errors.put(href, failure);
+            }
+        }
+
+        return new DefaultResourceBatch<T>(results, errors);
+    }
+
+    /**
+     * Returns {@code true} if the resource is known to be cached.  The check must not count as a cache access: the
+     * resource is retrieved (and the access counted) by {@link #getResource(String, Class)} afterwards.  Only a
+     * {@link DefaultCache} can be checked without an access, so resources in other caches are treated as uncached and
+     * retrieved concurrently (which still finds them in the cache).
+     *
+     * @since 1.0.RC8.1
+     */
+    @SuppressWarnings("unchecked")
+    private boolean isCached(String href, Class<? extends Resource> clazz) {
+        if (!isCachingEnabled() || CollectionResource.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        Cache cache = this.cacheResolver.getCache(clazz);
+        return cache instanceof DefaultCache && ((DefaultCache) cache).containsKey(href);
+    }
+
+    /**
+     * Returns the executor used to retrieve the uncached resources of a multi-get concurrently.  It is created on
+     * first use and runs at most {@link #BATCH_CONCURRENCY} requests at a time - fewer than the default number of
+     * pooled HTTP connections - on daemon threads that terminate when idle.
+     *
+     * @since 1.0.RC8.1
+     */
+    protected ExecutorService getBatchExecutor() {
+        ExecutorService executor = this.batchExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = this.batchExecutor;
+                if (executor == null) {
+                    ThreadPoolExecutor tpe = new ThreadPoolExecutor(BATCH_CONCURRENCY, BATCH_CONCURRENCY, 60,
+                            TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+                        private final AtomicInteger count = new AtomicInteger();
+
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            Thread t = new Thread(r, "stormpath-batch-" + count.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        }
+                    });
+                    tpe.allowCoreThreadTimeOut(true);
+                    executor = tpe;
+                    this.batchExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Releases the threads held by this data store: the {@link #getBatchExecutor() batch executor} is shut down and
+     * the {@code RequestExecutor} is closed if it is {@link Closeable}.
+     *
+     * @since 1.0.RC8.1
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (this.batchExecutor != null) {
+                this.batchExecutor.shutdown();
+            }
+        }
+        if (this.requestExecutor instanceof Closeable) {
+            try {
+                ((Closeable) this.requestExecutor).close();
+            } catch (IOException e) {
+                log.warn("Unable to close the request executor.", e);
+            }
+        }
+    }
+
     /**
      * This method provides the ability to instruct the DataStore how to decide which class of a resource hierarchy will
      * be instantiated. For example, nowadays three {@link ProviderData} resources exists (ProviderData,
@@ -263,23 +465,7 @@ public class DefaultDataStore implements InternalDataStore {
         Assert.hasText(href, "href argument cannot be null or empty.");
         Assert.notNull(clazz, "Resource class argument cannot be null.");
 
-        FilterChain chain = new DefaultFilterChain(this.filters, new FilterChain() {
-            @Override
-            public ResourceDataResult filter(final ResourceDataRequest req) {
-
-                CanonicalUri uri = req.getUri();
-
-                Request getRequest = new DefaultRequest(HttpMethod.GET, uri.getAbsolutePath(), uri.getQuery());
-                Response getResponse = execute(getRequest);
-                Map<String,?> body = getBody(getResponse);
-
-                if (Collections.isEmpty(body)) {
-                    throw new IllegalStateException("Unable to obtain resource data from the API server or from cache.");
-                }
-
-                return new DefaultResourceDataResult(req.getAction(), uri, req.getResourceClass(), (Map<String,Object>)body);
-            }
-        });
+        FilterChain chain = new DefaultFilterChain(this.filters, this.readHandler);
 
         CanonicalUri uri = canonicalize(href, queryParameters);
         ResourceDataRequest req = new DefaultResourceDataRequest(ResourceAction.READ, uri, clazz, new HashMap<String,Object>());
@@ -381,15 +567,14 @@ public class DefaultDataStore implements InternalDataStore {
             @Override
             public ResourceDataResult filter(final ResourceDataRequest req) {
 
-                String bodyString;
+                //serialized once - the same buffer is hashed by the authenticator and written by the executor:
+                BufferedRequestBody body;
                 if (req.getHttpHeaders().getContentType() != null && req.getHttpHeaders().getContentType().equals(MediaType.APPLICATION_FORM_URLENCODED)){
-                    bodyString = buildCanonicalBodyQueryParams(req.getData());
+                    body = CanonicalFormEncoder.encode(req.getData());
                 } else {
-
-                    bodyString = mapMarshaller.marshal(req.getData());
+                    body = new BufferedRequestBody(mapMarshaller.marshalToBytes(req.getData()));
                 }
-                StringInputStream body = new StringInputStream(bodyString);
-                long length = body.available();
+                long length = body.length();
 
                 CanonicalUri uri = req.getUri();
                 String href = uri.getAbsolutePath();
@@ -446,26 +631,6 @@ public class DefaultDataStore implements InternalDataStore {
         doDelete(resource, propertyName);
     }
 
-    /**
-     * @since 1.0.RC7
-     */
-    private String buildCanonicalBodyQueryParams(Map<String, Object> bodyData){
-        StringBuilder builder = new StringBuilder();
-        Map<String, Object> treeMap = new TreeMap<String, Object>(bodyData);
-        try {
-            for (Map.Entry<String,Object> entry : treeMap.entrySet()) {
-                    if (builder.length() > 0) {
-                        builder.append(APPEND_PARAM_CHAR);
-                    }
-                    builder.append(String.format("%s=%s", URLEncoder.encode(entry.getKey(), "UTF-8"), URLEncoder.encode(entry.getValue().toString(), "UTF-8")));
-            }
-        } catch (UnsupportedEncodingException e){
-            log.trace("Body content could not be properly encoded");
-            return null;
-        }
-        return builder.toString();
-    }
-
     private <T extends Resource> void doDelete(T resource, final String possiblyNullPropertyName) {
 
         Assert.notNull(resource, "resource argument cannot be null.");
@@ -485,7 +650,8 @@ public class DefaultDataStore implements InternalDataStore {
             @Override
             public ResourceDataResult filter(ResourceDataRequest request) {
                 Request deleteRequest = new DefaultRequest(HttpMethod.DELETE, requestHref);
-                execute(deleteRequest);
+                Response response = execute(deleteRequest);
+                close(response.getBody());
                 //delete requests have HTTP 204 (no content), so just create an empty body for the result:
                 return new DefaultResourceDataResult(request.getAction(), request.getUri(), request.getResourceClass(), new HashMap<String, Object>());
             }
@@ -530,13 +696,40 @@ public class DefaultDataStore implements InternalDataStore {
 
         Assert.notNull(response, "response argument cannot be null.");
 
-        Map<String, Object> out = null;
-
         if (response.hasBody()) {
-            out = mapMarshaller.unmarshall(response.getBody());
+            return readBody(response.getBody());
         }
 
-        return out;
+        //a streamed body holds the connection until it is closed, even if it is empty (e.g. Content-Length: 0):
+        close(response.getBody());
+        return null;
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    private Map<String, Object> readBody(InputStream body) {
+        try {
+            return mapMarshaller.unmarshall(body);
+        } finally {
+            close(body);
+        }
+    }
+
+    /**
+     * Closes a response body.  The body may be the connection stream itself, in which case closing it releases the
+     * connection.
+     *
+     * @since 1.0.RC8.1
+     */
+    private void close(InputStream body) {
+        if (body != null) {
+            try {
+                body.close();
+            } catch (IOException e) {
+                log.debug("Unable to close response body.", e);
+            }
+        }
     }
 
     protected void applyDefaultRequestHeaders(Request request) {
@@ -590,12 +783,11 @@ public class DefaultDataStore implements InternalDataStore {
     }
 
     protected String qualify(String href) {
-        StringBuilder sb = new StringBuilder(this.baseUrl);
-        if (!href.startsWith("/")) {
-            sb.append("/");
+        //concat copies each array once instead of growing a StringBuilder's buffer:
+        if (href.startsWith("/")) {
+            return this.baseUrl.concat(href);
         }
-        sb.append(href);
-        return sb.toString();
+        return this.baseUrl.concat("/").concat(href);
     }
 
     private static String toString(InputStream is) {
@@ -606,4 +798,72 @@ public class DefaultDataStore implements InternalDataStore {
             return null;
         }
     }
+
+    /**
+     * Completes a read request's filter chain by executing the HTTP {@code GET} request.
+     *
+     * @since 1.0.RC8.1
+     */
+    private class ReadRequestHandler implements FilterChain {
+
+        @Override
+        public ResourceDataResult filter(final ResourceDataRequest req) {
+
+            CanonicalUri uri = req.getUri();
+
+            Request getRequest = new DefaultRequest(HttpMethod.GET, uri.getAbsolutePath(), uri.getQuery());
+
+            //conditional request headers, e.g. the validators of an expired cache entry (see ReadCacheFilter):
+            HttpHeaders requestHeaders = req.getHttpHeaders();
+            if (!requestHeaders.isEmpty()) {
+                getRequest.getHeaders().putAll(requestHeaders);
+            }
+
+            Response getResponse = execute(getRequest);
+
+            if (!requestHeaders.isEmpty() && getResponse.getHttpStatus() == 304) {
+                close(getResponse.getBody());
+                return DefaultResourceDataResult.notModified(req, getResponse.getHeaders());
+            }
+
+            Map<String,?> body = null;
+            long contentLength = -1;
+            if (getResponse.hasBody()) {
+                //the size of the representation is cached with its data to report what revalidation saves:
+                CountingInputStream in = new CountingInputStream(getResponse.getBody());
+                body = readBody(in);
+                contentLength = in.getCount();
+            } else {
+                close(getResponse.getBody());
+            }
+
+            if (Collections.isEmpty(body)) {
+                throw new IllegalStateException("Unable to obtain resource data from the API server or from cache.");
+            }
+
+            //the response's validators are only needed to cache the result:
+            HttpHeaders responseHeaders = isCachingEnabled() ? getResponse.getHeaders() : null;
+            if (responseHeaders != null) {
+                responseHeaders.setContentLength(contentLength);
+            }
+
+            return new DefaultResourceDataResult(req.getAction(), uri, req.getResourceClass(), (Map<String,Object>)body, responseHeaders);
+        }
+    }
+
+    /**
+     * Reloads resource data for the {@link ReadCacheFilter}'s refresh-ahead.  A refresh runs on a background thread
+     * after the request that triggered it has completed, so it cannot continue that request's (stateful)
+     * {@link DefaultFilterChain}: each refresh runs a new chain of the filters after the {@code ReadCacheFilter}, so
+     * the {@link WriteCacheFilter} caches the reloaded data.
+     *
+     * @since 1.0.RC8.1
+     */
+    private class RefreshFilterChain implements FilterChain {
+
+        @Override
+        public ResourceDataResult filter(ResourceDataRequest request) {
+            return new DefaultFilterChain(refreshFilters, readHandler).filter(request);
+        }
+    }
 }
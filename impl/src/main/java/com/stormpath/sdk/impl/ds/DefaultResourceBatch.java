@@ -0,0 +1,52 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds;
+
+import com.stormpath.sdk.ds.ResourceBatch;
+import com.stormpath.sdk.resource.Resource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @since 1.0.RC8.1
+ */
+public class DefaultResourceBatch<T extends Resource> implements ResourceBatch<T> {
+
+    private final List<T> resources;
+    private final Map<String, RuntimeException> errors;
+
+    public DefaultResourceBatch(List<T> resources, Map<String, RuntimeException> errors) {
+        this.resources = Collections.unmodifiableList(resources);
+        this.errors = Collections.unmodifiableMap(errors);
+    }
+
+    @Override
+    public List<T> getResources() {
+        return resources;
+    }
+
+    @Override
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    @Override
+    public Map<String, RuntimeException> getErrors() {
+        return errors;
+    }
+}
@@ -16,6 +16,7 @@
 package com.stormpath.sdk.impl.ds;
 
 import com.stormpath.sdk.impl.http.CanonicalUri;
+import com.stormpath.sdk.impl.http.HttpHeaders;
 import com.stormpath.sdk.resource.Resource;
 
 import java.util.Map;
@@ -23,7 +24,49 @@ import java.util.Map;
 //todo - remove this - DefaultResourceMessage currently contains everything necessary
 public class DefaultResourceDataResult extends DefaultResourceMessage implements ResourceDataResult {
 
+    private final boolean notModified;
+
     public DefaultResourceDataResult(ResourceAction action, CanonicalUri uri, Class<? extends Resource> resourceClass, Map<String, Object> data) {
         super(action, uri, resourceClass, data);
+        this.notModified = false;
+    }
+
+    /**
+     * Creates a result with the headers of the API response it was obtained from, for example its {@code ETag}.
+     *
+     * @since 1.0.RC8.1
+     */
+    public DefaultResourceDataResult(ResourceAction action, CanonicalUri uri, Class<? extends Resource> resourceClass, Map<String, Object> data, HttpHeaders responseHeaders) {
+        this(action, uri, resourceClass, data, responseHeaders, false);
+    }
+
+    private DefaultResourceDataResult(ResourceAction action, CanonicalUri uri, Class<? extends Resource> resourceClass, Map<String, Object> data, HttpHeaders responseHeaders, boolean notModified) {
+        super(action, uri, resourceClass, data, responseHeaders);
+        this.notModified = notModified;
+    }
+
+    /**
+     * Returns a result without data indicating that the API responded to a conditional request with
+     * {@code 304 Not Modified}: the representation the request's validators were taken from is still current.
+     *
+     * @param request         the conditional request
+     * @param responseHeaders the headers of the {@code 304} response
+     * @return a result indicating that the requested resource has not been modified.
+     * @since 1.0.RC8.1
+     */
+    public static DefaultResourceDataResult notModified(ResourceDataRequest request, HttpHeaders responseHeaders) {
+        return new DefaultResourceDataResult(request.getAction(), request.getUri(), request.getResourceClass(),
+                                             java.util.Collections.<String, Object>emptyMap(), responseHeaders, true);
+    }
+
+    /**
+     * Returns {@code true} if this result has no data because the API responded to a conditional request with
+     * {@code 304 Not Modified}, {@code false} otherwise.
+     *
+     * @return {@code true} if the requested resource has not been modified, {@code false} otherwise.
+     * @since 1.0.RC8.1
+     */
+    public boolean isNotModified() {
+        return notModified;
     }
 }
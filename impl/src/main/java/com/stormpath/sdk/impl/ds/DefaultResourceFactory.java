@@ -23,6 +23,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * @since 0.1
@@ -36,6 +38,11 @@ public class DefaultResourceFactory implements ResourceFactory {
     private static final String IMPL_PACKAGE_NAME = IMPL_PACKAGE_NAME_FRAGMENT + ".";
     private static final String IMPL_CLASS_PREFIX = "Default";
 
+    //@since 1.0.RC8.1: the interface <--> implementation conversions require string manipulation and a Class.forName
+    //lookup and are performed on every instantiation and cache lookup, so the results are retained:
+    private static final ConcurrentMap<Class, Class> IMPLEMENTATION_CLASSES = new ConcurrentHashMap<Class, Class>();
+    private static final ConcurrentMap<Class, Class> INTERFACE_CLASSES = new ConcurrentHashMap<Class, Class>();
+
     public DefaultResourceFactory(InternalDataStore dataStore) {
         this.dataStore = dataStore;
     }
@@ -65,18 +72,30 @@ public class DefaultResourceFactory implements ResourceFactory {
         return Classes.instantiate(ctor, ctorArgs);
     }
 
+    @SuppressWarnings("unchecked")
     public static <T extends Resource> Class<T> getImplementationClass(Class<T> clazz) {
         if (clazz.isInterface()) {
-            return convertToImplClass(clazz);
+            Class<T> implClass = IMPLEMENTATION_CLASSES.get(clazz);
+            if (implClass == null) {
+                implClass = convertToImplClass(clazz);
+                IMPLEMENTATION_CLASSES.putIfAbsent(clazz, implClass);
+            }
+            return implClass;
         }
         return clazz;
     }
 
+    @SuppressWarnings("unchecked")
     public static <T extends Resource> Class<T> getInterfaceClass(Class<T> clazz) {
         if (clazz.isInterface()) {
             return clazz;
         }
-        return convertToInterfaceClass(clazz);
+        Class<T> iface = INTERFACE_CLASSES.get(clazz);
+        if (iface == null) {
+            iface = convertToInterfaceClass(clazz);
+            INTERFACE_CLASSES.putIfAbsent(clazz, iface);
+        }
+        return iface;
     }
 
     static <T extends Resource> Class<T> convertToInterfaceClass(Class<T> clazz) {
@@ -16,10 +16,13 @@
 package com.stormpath.sdk.impl.ds;
 
 import com.stormpath.sdk.lang.Assert;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -30,17 +33,28 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * This {@link Map} is used to store a single instance of Resource's data which is shared among all Resource instances
- * describing the same server-side item (i.e, having the very same href). Locks are used to provide thread-safe Map
- * operations.
+ * describing the same server-side item (i.e, having the very same href).
+ * <p/>
+ * The data is kept in a copy-on-write snapshot: writers, serialized by the {@link #writeLock write lock}, replace the
+ * backing map with a modified copy, so reads never acquire a lock and never observe a partially applied update.  The
+ * {@link #values()} and {@link #entrySet()} views are live: they always reflect the current snapshot, and removals or
+ * {@link java.util.Map.Entry#setValue(Object) entry updates} made through them write through to this enlistment.
  *
  * @see {@link DefaultDataStore}
  * @since 1.0.RC3
  */
 public class Enlistment implements Map<String, Object> {
 
-    private static final Logger log = LoggerFactory.getLogger(Enlistment.class);
+    protected volatile Map<String, Object> backingMap;  //Never modified once published, replaced under the write lock
 
-    protected final Map<String, Object> backingMap;  //Protected by read/write lock
+    /**
+     * Reads no longer acquire this lock.  Holding it still excludes writers, so subclasses that hold it across several
+     * reads continue to see a consistent state.
+     *
+     * @deprecated reads are lock-free; read {@link #backingMap} once into a local variable for a consistent snapshot
+     * instead.  This field will be removed in a future release.
+     */
+    @Deprecated
     protected final Lock readLock;
     protected final Lock writeLock;
 
@@ -48,16 +62,50 @@ public class Enlistment implements Map<String, Object> {
         ReadWriteLock rwl = new ReentrantReadWriteLock();
         this.readLock = rwl.readLock();
         this.writeLock = rwl.writeLock();
-        this.backingMap = new LinkedHashMap<String, Object>();
+        this.backingMap = Collections.emptyMap();
         setProperties(map);
     }
 
+    /**
+     * Creates an enlistment that uses the specified map as its data snapshot without copying it.
+     *
+     * @param snapshot the data, which must never be modified by the caller afterwards
+     * @return a new enlistment backed by the specified snapshot
+     * @see #setSnapshot(Map)
+     * @since 1.0.RC8.1
+     */
+    static Enlistment forSnapshot(Map<String, Object> snapshot) {
+        Enlistment enlistment = new Enlistment(null);
+        enlistment.setSnapshot(snapshot);
+        return enlistment;
+    }
+
+    /**
+     * Replaces this enlistment's data with the specified map <em>without copying it</em>.  This allows resource data
+     * read from the cache to be shared by all resource instances instead of being copied on every cache hit.  The
+     * caller must guarantee that the map is never modified afterwards, for example because it is an immutable cache
+     * entry.  Writes to this enlistment never modify the snapshot, they replace it with a modified copy.
+     *
+     * @param snapshot the data, which must never be modified by the caller afterwards
+     * @since 1.0.RC8.1
+     */
+    void setSnapshot(Map<String, Object> snapshot) {
+        Assert.notNull(snapshot, "snapshot cannot be null.");
+        if (this.backingMap != snapshot) {
+            writeLock.lock();
+            try {
+                this.backingMap = snapshot;
+            } finally {
+                writeLock.unlock();
+            }
+        }
+    }
+
     public final void setProperties(Map<String, Object> properties) {
         if(properties != null) {
             writeLock.lock();
             try {
-                this.backingMap.clear();
-                this.backingMap.putAll(properties);
+                this.backingMap = new LinkedHashMap<String, Object>(properties);
             } finally {
                 writeLock.unlock();
             }
@@ -66,76 +114,48 @@ public class Enlistment implements Map<String, Object> {
 
     @Override
     public int hashCode() {
-        readLock.lock();
-        try {
-            return this.backingMap.isEmpty() ? 0 : this.backingMap.hashCode();
-        } finally {
-            readLock.unlock();
-        }
+        Map<String, Object> map = this.backingMap;
+        return map.isEmpty() ? 0 : map.hashCode();
     }
 
     @Override
     public int size() {
-        readLock.lock();
-        try {
-            return this.backingMap.size();
-        } finally {
-            readLock.unlock();
-        }
+        return this.backingMap.size();
     }
 
     @Override
     public boolean isEmpty() {
-        readLock.lock();
-        try {
-            return this.backingMap.isEmpty();
-        } finally {
-            readLock.unlock();
-        }
+        return this.backingMap.isEmpty();
     }
 
     @Override
     public boolean containsKey(Object key) {
         Assert.isInstanceOf(String.class, key);
-        readLock.lock();
-        try {
-            return this.backingMap.containsKey(key);
-        } finally {
-            readLock.unlock();
-        }
+        return this.backingMap.containsKey(key);
     }
 
     @Override
     public boolean containsValue(Object value) {
-        readLock.lock();
-        try {
-            return this.backingMap.containsValue(value);
-        } finally {
-            readLock.unlock();
-        }
+        return this.backingMap.containsValue(value);
     }
 
     @Override
     public Object get(Object key) {
         Assert.isInstanceOf(String.class, key);
-        readLock.lock();
-        try {
-            return this.backingMap.get(key);
-        } finally {
-            readLock.unlock();
-        }
+        return this.backingMap.get(key);
     }
 
     @Override
     public Object put(String key, Object value) {
         writeLock.lock();
-        Object previous;
         try {
-            previous = this.backingMap.put(key, value);
+            Map<String, Object> map = new LinkedHashMap<String, Object>(this.backingMap);
+            Object previous = map.put(key, value);
+            this.backingMap = map;
+            return previous;
         } finally {
             writeLock.unlock();
         }
-        return previous;
     }
 
     @Override
@@ -143,7 +163,12 @@ public class Enlistment implements Map<String, Object> {
         Assert.isInstanceOf(String.class, key);
         writeLock.lock();
         try {
-            Object object = this.backingMap.remove(key);
+            if (!this.backingMap.containsKey(key)) {
+                return null;
+            }
+            Map<String, Object> map = new LinkedHashMap<String, Object>(this.backingMap);
+            Object object = map.remove(key);
+            this.backingMap = map;
             return object;
         } finally {
             writeLock.unlock();
@@ -157,7 +182,9 @@ public class Enlistment implements Map<String, Object> {
         }
         writeLock.lock();
         try {
-            this.backingMap.putAll(m);
+            Map<String, Object> map = new LinkedHashMap<String, Object>(this.backingMap);
+            map.putAll(m);
+            this.backingMap = map;
         } finally {
             writeLock.unlock();
         }
@@ -167,7 +194,7 @@ public class Enlistment implements Map<String, Object> {
     public void clear() {
         writeLock.lock();
         try {
-            this.backingMap.clear();
+            this.backingMap = Collections.emptyMap();
         } finally {
             writeLock.unlock();
         }
@@ -175,33 +202,17 @@ public class Enlistment implements Map<String, Object> {
 
     @Override
     public Set<String> keySet() {
-        readLock.lock();
-        try {
-            Set<String> keys = this.backingMap.keySet();
-            return new LinkedHashSet<String>(keys);
-        } finally {
-            readLock.unlock();
-        }
+        return new LinkedHashSet<String>(this.backingMap.keySet());
     }
 
     @Override
     public Collection<Object> values() {
-        readLock.lock();
-        try {
-            return this.backingMap.values();
-        } finally {
-            readLock.unlock();
-        }
+        return new Values();
     }
 
     @Override
     public Set<Entry<String, Object>> entrySet() {
-        readLock.lock();
-        try {
-            return this.backingMap.entrySet();
-        } finally {
-            readLock.unlock();
-        }
+        return new EntrySet();
     }
 
     @Override
@@ -218,17 +229,121 @@ public class Enlistment implements Map<String, Object> {
             return false;
         }
         Enlistment other = (Enlistment) o;
-        readLock.lock();
-        try {
-            other.readLock.lock();
-            try {
-                return this.backingMap.equals(other);
-            } finally {
-                other.readLock.unlock();
+        return this.backingMap.equals(other.backingMap);
+    }
+
+    /**
+     * Live view of the enlistment's entries.  Iterators traverse the snapshot that was current when they were created
+     * and never throw a {@link java.util.ConcurrentModificationException}; removals and value updates write through to
+     * the enlistment.
+     *
+     * @since 1.0.RC8.1
+     */
+    private class EntrySet extends AbstractSet<Entry<String, Object>> {
+
+        @Override
+        public Iterator<Entry<String, Object>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return Enlistment.this.size();
+        }
+
+        @Override
+        public void clear() {
+            Enlistment.this.clear();
+        }
+    }
+
+    /**
+     * Live view of the enlistment's values, see {@link EntrySet}.
+     *
+     * @since 1.0.RC8.1
+     */
+    private class Values extends AbstractCollection<Object> {
+
+        @Override
+        public Iterator<Object> iterator() {
+            final Iterator<Entry<String, Object>> entries = new EntryIterator();
+            return new Iterator<Object>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public Object next() {
+                    return entries.next().getValue();
+                }
+
+                @Override
+                public void remove() {
+                    entries.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return Enlistment.this.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return Enlistment.this.containsValue(o);
+        }
+
+        @Override
+        public void clear() {
+            Enlistment.this.clear();
+        }
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    private class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private final Iterator<Entry<String, Object>> snapshot = Enlistment.this.backingMap.entrySet().iterator();
+        private Entry<String, Object> current;
+
+        @Override
+        public boolean hasNext() {
+            return snapshot.hasNext();
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            Entry<String, Object> entry = snapshot.next();
+            current = new WriteThroughEntry(entry.getKey(), entry.getValue());
+            return current;
+        }
+
+        @Override
+        public void remove() {
+            if (current == null) {
+                throw new IllegalStateException();
             }
-        } finally {
-            readLock.unlock();
+            Enlistment.this.remove(current.getKey());
+            current = null;
         }
     }
 
+    /**
+     * @since 1.0.RC8.1
+     */
+    private class WriteThroughEntry extends AbstractMap.SimpleEntry<String, Object> {
+
+        private WriteThroughEntry(String key, Object value) {
+            super(key, value);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            Enlistment.this.put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
 }
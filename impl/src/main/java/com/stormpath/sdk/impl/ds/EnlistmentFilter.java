@@ -25,6 +25,10 @@ import java.util.Map;
 /**
  * Fix for https://github.com/stormpath/stormpath-sdk-java/issues/47. Data map is now shared among all Resource
  * instances referencing the same {@code href}.
+ * <p/>
+ * As of 1.0.RC8.1 the data is not copied: the enlistment adopts the result data map as its snapshot (it is either an
+ * immutable cache entry or a freshly parsed response body that nothing else references), so a cache hit for an
+ * already enlisted href allocates nothing here.
  *
  * @since 1.0.RC3
  */
@@ -60,25 +64,28 @@ public class EnlistmentFilter implements Filter {
         String href = (String)data.get("href");
         Assert.hasText(href, "href cannot be null or empty.");
 
-        Map modified = new LinkedHashMap<String, Object>(data.size());
+        Map modified = null;
 
         //since 1.0.RC4.3 - need to recursively add enlistments if the data is expanded:
         for(Object o : data.entrySet()) {
             Map.Entry entry = (Map.Entry)o;
-            Object key = entry.getKey();
             Object value = entry.getValue();
             if (value instanceof Map && AbstractInstanceResource.isInstanceResource((Map<String, ?>) value)) {
-                value = toEnlistment((Map<String, ?>)value);
+                if (modified == null) {
+                    //only copy the data if there is something to replace:
+                    modified = new LinkedHashMap<String, Object>(data);
+                }
+                modified.put(entry.getKey(), toEnlistment((Map<String, ?>) value));
             }
-            modified.put(key, value);
         }
 
-        Enlistment enlistment;
-        if (this.hrefMapStore.containsKey(href)) {
-            enlistment = this.hrefMapStore.get(href);
-            enlistment.setProperties((Map<String, Object>) modified);
+        Map<String, Object> snapshot = (Map<String, Object>) (modified != null ? modified : data);
+
+        Enlistment enlistment = this.hrefMapStore.get(href);
+        if (enlistment != null) {
+            enlistment.setSnapshot(snapshot);
         } else {
-            enlistment = new Enlistment((Map<String, Object>) modified);
+            enlistment = Enlistment.forSnapshot(snapshot);
             this.hrefMapStore.put(href, enlistment);
         }
 
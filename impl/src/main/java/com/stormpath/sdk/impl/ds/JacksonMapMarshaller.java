@@ -64,6 +64,18 @@ public class JacksonMapMarshaller implements MapMarshaller {
         }
     }
 
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Override
+    public byte[] marshalToBytes(Map map) {
+        try {
+            return this.objectMapper.writeValueAsBytes(map);
+        } catch (IOException e) {
+            throw new MarshalingException("Unable to convert Map to JSON bytes.", e);
+        }
+    }
+
     @Override
     public Map unmarshal(String marshalled) {
         try {
@@ -25,6 +25,15 @@ public interface MapMarshaller {
 
     String marshal(Map map);
 
+    /**
+     * Marshals the specified map directly to UTF-8 encoded bytes, avoiding an intermediate {@code String}.
+     *
+     * @param map the map to marshal
+     * @return the UTF-8 encoded marshalled representation of the map
+     * @since 1.0.RC8.1
+     */
+    byte[] marshalToBytes(Map map);
+
     Map unmarshal(String marshalled);
 
     Map<String, Object> unmarshall(InputStream inputStream);
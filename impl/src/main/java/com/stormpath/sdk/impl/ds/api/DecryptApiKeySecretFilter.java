@@ -88,9 +88,11 @@ public class DecryptApiKeySecretFilter implements Filter {
                 clonedItems.add(clone(item));
             }
 
-            data.put(DefaultApiKeyList.ITEMS_PROPERTY_NAME, clonedItems);
+            //the data may be a shared cache entry, so it is copied instead of modified:
+            Map<String, Object> clonedData = new LinkedHashMap<String, Object>(data);
+            clonedData.put(DefaultApiKeyList.ITEMS_PROPERTY_NAME, clonedItems);
 
-            return result;
+            return new DefaultResourceDataResult(result.getAction(), result.getUri(), clazz, clonedData);
         }
 
         return new DefaultResourceDataResult(result.getAction(), result.getUri(), clazz, clone(data));
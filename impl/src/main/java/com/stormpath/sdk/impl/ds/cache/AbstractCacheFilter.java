@@ -73,4 +73,11 @@ abstract class AbstractCacheFilter implements Filter {
     protected <T> Cache<String, Map<String, ?>> getCache(Class<T> clazz) {
         return this.cacheResolver.getCache(clazz);
     }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    protected Cache<String, Map<String, ?>> getCache(String regionName) {
+        return this.cacheResolver.getCache(regionName);
+    }
 }
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds.cache;
+
+import com.stormpath.sdk.application.Application;
+import com.stormpath.sdk.cache.CacheWarmUpRequestBuilder;
+import com.stormpath.sdk.cache.CacheWarmUpResult;
+import com.stormpath.sdk.cache.Caches;
+import com.stormpath.sdk.client.Client;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Resolves an integration's {@link Application} during startup and loads the data needed to serve the first
+ * requests - the current tenant, the application's account store mappings, the mapped account stores and the
+ * application and directory policies - into the client's cache, loading as much of it in parallel as possible.  A
+ * per-step timing report is logged once the cache is warm.
+ * <p/>
+ * If the application's href is known up front, the cache is warmed first, so the application lookup itself is served
+ * from the cache.  Otherwise the application can only be found by iterating the tenant's applications, so it is
+ * looked up first and the cache is warmed for it afterwards.
+ * <p/>
+ * This is shared by the servlet plugin's and the Spring integration's eager bootstrap
+ * ({@code stormpath.bootstrap.eager}).
+ *
+ * @see com.stormpath.sdk.client.Client#warmUpCache(com.stormpath.sdk.cache.CacheWarmUpRequest)
+ * @since 1.0.RC8.1
+ */
+public class ApplicationBootstrap {
+
+    private static final Logger log = LoggerFactory.getLogger(ApplicationBootstrap.class);
+
+    /**
+     * Looks up the application being bootstrapped, e.g. via the integration's configured application resolver.
+     */
+    public interface ApplicationLookup {
+
+        /**
+         * Returns the application, or {@code null} if it cannot be found.
+         *
+         * @return the application, or {@code null} if it cannot be found.
+         */
+        Application getApplication();
+    }
+
+    private final Client client;
+
+    private final CacheWarmUpRequestBuilder requestBuilder;
+
+    /**
+     * Creates a new instance that warms the client's cache with a {@link #newBootstrapRequest() bootstrap request}.
+     *
+     * @param client the client whose cache will be warmed
+     */
+    public ApplicationBootstrap(Client client) {
+        this(client, newBootstrapRequest());
+    }
+
+    /**
+     * Creates a new instance that warms the client's cache with the specified request, which must not specify the
+     * application yet.
+     *
+     * @param client         the client whose cache will be warmed
+     * @param requestBuilder the builder of the warm-up request
+     */
+    public ApplicationBootstrap(Client client, CacheWarmUpRequestBuilder requestBuilder) {
+        Assert.notNull(client, "client cannot be null.");
+        Assert.notNull(requestBuilder, "requestBuilder cannot be null.");
+        this.client = client;
+        this.requestBuilder = requestBuilder;
+    }
+
+    /**
+     * Returns a new warm-up request builder for the data needed to serve the first requests: the tenant, the
+     * application's account store mappings and the application and directory policies.
+     *
+     * @return a new warm-up request builder for the data needed to serve the first requests.
+     */
+    public static CacheWarmUpRequestBuilder newBootstrapRequest() {
+        return Caches.newWarmUpRequest().withTenant(true).withAccountStoreMappings(true).withPolicies(true);
+    }
+
+    /**
+     * Resolves the application via the specified lookup and warms the cache for it.
+     *
+     * @param applicationHref the configured application href, or {@code null} if the application is not configured
+     *                        by href
+     * @param lookup          looks up the application
+     * @return the application returned by the lookup
+     */
+    public Application bootstrap(String applicationHref, ApplicationLookup lookup) {
+        Assert.notNull(lookup, "lookup cannot be null.");
+
+        long start = System.currentTimeMillis();
+
+        CacheWarmUpResult result = null;
+        Application application;
+
+        if (Strings.hasText(applicationHref)) {
+            result = client.warmUpCache(requestBuilder.forApplication(applicationHref).build());
+            application = lookup.getApplication();
+        } else {
+            application = lookup.getApplication();
+            if (application != null) {
+                result = client.warmUpCache(requestBuilder.forApplication(application).build());
+            }
+        }
+
+        if (log.isInfoEnabled()) {
+            long elapsed = System.currentTimeMillis() - start;
+            log.info("Stormpath bootstrap completed in {} ms.  Cache warm-up step timings (ms): {}", elapsed,
+                     result != null ? result.getStepTimings() : "n/a");
+        }
+
+        return application;
+    }
+}
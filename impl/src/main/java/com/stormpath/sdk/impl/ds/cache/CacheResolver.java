@@ -23,4 +23,14 @@ public interface CacheResolver {
 
     Cache<String, Map<String, ?>> getCache(Class clazz);
 
+    /**
+     * Returns the cache region with the specified name, for cached data that does not directly represent a resource
+     * (e.g. indexes derived from resources).
+     *
+     * @param regionName the name of the cache region to return
+     * @return the cache region with the specified name.
+     * @since 1.0.RC8.1
+     */
+    Cache<String, Map<String, ?>> getCache(String regionName);
+
 }
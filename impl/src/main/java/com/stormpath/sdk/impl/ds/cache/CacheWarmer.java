@@ -0,0 +1,518 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds.cache;
+
+import com.stormpath.sdk.account.AccountList;
+import com.stormpath.sdk.accountStoreMapping.AccountStoreMapping;
+import com.stormpath.sdk.application.Application;
+import com.stormpath.sdk.application.ApplicationAccountStoreMapping;
+import com.stormpath.sdk.application.ApplicationAccountStoreMappingList;
+import com.stormpath.sdk.cache.CacheWarmUpListener;
+import com.stormpath.sdk.cache.CacheWarmUpRequest;
+import com.stormpath.sdk.cache.CacheWarmUpResult;
+import com.stormpath.sdk.directory.AccountCreationPolicy;
+import com.stormpath.sdk.directory.AccountStore;
+import com.stormpath.sdk.directory.Directory;
+import com.stormpath.sdk.directory.PasswordPolicy;
+import com.stormpath.sdk.group.GroupList;
+import com.stormpath.sdk.impl.cache.EstimatedSizeWeigher;
+import com.stormpath.sdk.impl.ds.InternalDataStore;
+import com.stormpath.sdk.impl.http.QueryStringFactory;
+import com.stormpath.sdk.impl.query.DefaultCriteria;
+import com.stormpath.sdk.impl.resource.AbstractCollectionResource;
+import com.stormpath.sdk.impl.resource.AbstractResource;
+import com.stormpath.sdk.impl.resource.Page;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.oauth.OauthPolicy;
+import com.stormpath.sdk.resource.CollectionResource;
+import com.stormpath.sdk.resource.Resource;
+import com.stormpath.sdk.tenant.Tenant;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executes a single {@link CacheWarmUpRequest}: loads the requested resources through the data store - so they pass
+ * through the regular {@link WriteCacheFilter} and end up in the cache exactly as if they had been requested by the
+ * application - using a bounded pool of worker threads.
+ * <p/>
+ * Collections are read page by page with explicit {@code offset} and {@code limit} query parameters: the first page
+ * of each collection reveals its size, after which all remaining pages are requested in parallel.  All requests are
+ * throttled to the request's {@link CacheWarmUpRequest#getMaxRequestsPerSecond() maximum rate}, and the warm-up
+ * stops scheduling new requests once the estimated size of the loaded resources exceeds the
+ * {@link CacheWarmUpRequest#getMemoryBudget() memory budget}.
+ * <p/>
+ * The time at which the last request of each step (tenant, applications, account store mappings, ...) completed is
+ * recorded and reported via {@link CacheWarmUpResult#getStepTimings()}, so callers warming up the cache during
+ * startup can see which part of the data took longest to load.
+ * <p/>
+ * Expanded responses are not cached by the {@link WriteCacheFilter} (see
+ * <a href="https://github.com/stormpath/stormpath-sdk-java/issues/164">issue 164</a>), so {@code expand} query
+ * parameters are never sent; referenced resources such as account stores are loaded individually instead.
+ * <p/>
+ * Instances are not reusable: create a new instance for each warm-up.
+ *
+ * @since 1.0.RC8.1
+ */
+public class CacheWarmer {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmer.class);
+
+    public static final int PAGE_SIZE = 100;
+
+    public static final String TENANT_STEP = "tenant";
+    public static final String APPLICATIONS_STEP = "applications";
+    public static final String ACCOUNT_STORE_MAPPINGS_STEP = "accountStoreMappings";
+    public static final String ACCOUNT_STORES_STEP = "accountStores";
+    public static final String POLICIES_STEP = "policies";
+    public static final String GROUPS_STEP = "groups";
+    public static final String ACCOUNTS_STEP = "accounts";
+
+    private static final List<String> STEPS = Arrays.asList(TENANT_STEP, APPLICATIONS_STEP,
+            ACCOUNT_STORE_MAPPINGS_STEP, ACCOUNT_STORES_STEP, POLICIES_STEP, GROUPS_STEP, ACCOUNTS_STEP);
+
+    private static final String CURRENT_TENANT_HREF = "/tenants/current";
+
+    private static final String EXPAND_PARAM_NAME = "expand";
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final InternalDataStore dataStore;
+    private final CacheWarmUpRequest request;
+    private final EstimatedSizeWeigher weigher = new EstimatedSizeWeigher();
+
+    private final AtomicLong resourceCount = new AtomicLong();
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private final AtomicLong estimatedSize = new AtomicLong();
+    private final AtomicBoolean memoryBudgetExceeded = new AtomicBoolean();
+    private final AtomicBoolean stopped = new AtomicBoolean();
+    private final Queue<Future<?>> futures = new ConcurrentLinkedQueue<Future<?>>();
+    private final ConcurrentMap<String, AtomicLong> stepTimings = new ConcurrentHashMap<String, AtomicLong>();
+
+    private final Object throttleLock = new Object();
+    private long nextRequestNanos;
+
+    private volatile long startMillis;
+    private volatile String currentTenantHref;
+    private ExecutorService executor;
+
+    public CacheWarmer(InternalDataStore dataStore, CacheWarmUpRequest request) {
+        Assert.notNull(dataStore, "dataStore cannot be null.");
+        Assert.notNull(request, "request cannot be null.");
+        this.dataStore = dataStore;
+        this.request = request;
+        this.startMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Performs the warm-up, blocking until all requests have completed or the memory budget has been exceeded.
+     *
+     * @return the outcome of the warm-up.
+     */
+    public CacheWarmUpResult warmUp() {
+
+        this.startMillis = System.currentTimeMillis();
+        this.executor = Executors.newFixedThreadPool(request.getConcurrency(), new WarmUpThreadFactory());
+
+        try {
+            if (request.isTenantIncluded()) {
+                submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        warmUpTenant();
+                    }
+                });
+            }
+            for (final String applicationHref : request.getApplicationHrefs()) {
+                submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        warmUpApplication(applicationHref);
+                    }
+                });
+            }
+            awaitCompletion();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        CacheWarmUpResult result = createResult(true);
+        log.info("Cache warm-up finished: {}", result);
+        notifyListener(result);
+        return result;
+    }
+
+    /**
+     * Returns a snapshot of the warm-up's current progress.
+     *
+     * @return a snapshot of the warm-up's current progress.
+     */
+    public CacheWarmUpResult getProgress() {
+        return createResult(executor == null || executor.isShutdown());
+    }
+
+    protected void warmUpTenant() {
+        Tenant tenant = fetch(TENANT_STEP, CURRENT_TENANT_HREF, Tenant.class);
+        if (tenant != null) {
+            this.currentTenantHref = tenant.getHref();
+        }
+    }
+
+    protected void warmUpApplication(String applicationHref) {
+
+        final Application application = fetch(APPLICATIONS_STEP, applicationHref, Application.class);
+        if (application == null) {
+            return;
+        }
+
+        if (request.isPoliciesIncluded() && application.getOauthPolicy() != null) {
+            submit(new Runnable() {
+                @Override
+                public void run() {
+                    fetch(POLICIES_STEP, application.getOauthPolicy().getHref(), OauthPolicy.class);
+                }
+            });
+        }
+
+        if (request.isAccountStoreMappingsIncluded()) {
+            warmUpCollection(ACCOUNT_STORE_MAPPINGS_STEP, applicationHref + "/accountStoreMappings",
+                    ApplicationAccountStoreMappingList.class, null, 0, new ItemHandler<ApplicationAccountStoreMapping>() {
+                        @Override
+                        public void handle(final ApplicationAccountStoreMapping mapping) {
+                            submit(new Runnable() {
+                                @Override
+                                public void run() {
+                                    warmUpAccountStore(mapping);
+                                }
+                            });
+                        }
+                    });
+        }
+
+        if (request.isAccountsIncluded()) {
+            Map<String, Object> query = null;
+            if (request.getAccountCriteria() != null) {
+                QueryStringFactory queryStringFactory = new QueryStringFactory();
+                query = new LinkedHashMap<String, Object>(
+                        queryStringFactory.createQueryString((DefaultCriteria) request.getAccountCriteria()));
+            }
+            warmUpCollection(ACCOUNTS_STEP, applicationHref + "/accounts", AccountList.class, query,
+                    request.getMaxAccounts(), null);
+        }
+    }
+
+    protected void warmUpAccountStore(AccountStoreMapping mapping) {
+
+        if (!throttle()) {
+            return;
+        }
+
+        AccountStore accountStore;
+        try {
+            requestCount.incrementAndGet();
+            accountStore = mapping.getAccountStore();
+        } catch (RuntimeException e) {
+            onFailure(mapping.getHref() + " account store", e);
+            return;
+        }
+
+        if (accountStore == null) {
+            return;
+        }
+
+        onLoaded(accountStore);
+        onStepProgress(ACCOUNT_STORES_STEP);
+        notifyListener(createResult(false));
+
+        if (!(accountStore instanceof Directory)) {
+            return;
+        }
+
+        final Directory directory = (Directory) accountStore;
+
+        if (request.isPoliciesIncluded()) {
+            submit(new Runnable() {
+                @Override
+                public void run() {
+                    warmUpDirectoryPolicies(directory);
+                }
+            });
+        }
+
+        if (request.isDirectoryGroupsIncluded()) {
+            warmUpCollection(GROUPS_STEP, directory.getHref() + "/groups", GroupList.class, null, 0, null);
+        }
+    }
+
+    protected void warmUpDirectoryPolicies(Directory directory) {
+        PasswordPolicy passwordPolicy = directory.getPasswordPolicy();
+        if (passwordPolicy != null) {
+            fetch(POLICIES_STEP, passwordPolicy.getHref(), PasswordPolicy.class);
+        }
+        AccountCreationPolicy accountCreationPolicy = directory.getAccountCreationPolicy();
+        if (accountCreationPolicy != null) {
+            fetch(POLICIES_STEP, accountCreationPolicy.getHref(), AccountCreationPolicy.class);
+        }
+    }
+
+    protected <T extends Resource> void warmUpCollection(final String step, final String href,
+                                                         final Class<? extends CollectionResource<T>> collectionClass,
+                                                         final Map<String, Object> query, int maxItems,
+                                                         final ItemHandler<T> handler) {
+
+        final int pageSize = maxItems > 0 ? Math.min(PAGE_SIZE, maxItems) : PAGE_SIZE;
+
+        Page<T> firstPage = fetchPage(step, href, collectionClass, query, 0, pageSize, handler);
+        if (firstPage == null) {
+            return;
+        }
+
+        int total = maxItems > 0 ? Math.min(firstPage.getSize(), maxItems) : firstPage.getSize();
+
+        for (int offset = pageSize; offset < total; offset += pageSize) {
+            final int pageOffset = offset;
+            final int pageLimit = Math.min(pageSize, total - offset);
+            submit(new Runnable() {
+                @Override
+                public void run() {
+                    fetchPage(step, href, collectionClass, query, pageOffset, pageLimit, handler);
+                }
+            });
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Resource> Page<T> fetchPage(String step, String href,
+                                                   Class<? extends CollectionResource<T>> collectionClass,
+                                                   Map<String, Object> query, int offset, int limit,
+                                                   ItemHandler<T> handler) {
+
+        Map<String, Object> pageQuery = new LinkedHashMap<String, Object>();
+        if (query != null) {
+            pageQuery.putAll(query);
+            pageQuery.remove(EXPAND_PARAM_NAME);
+        }
+        pageQuery.put(AbstractCollectionResource.OFFSET.getName(), offset);
+        pageQuery.put(AbstractCollectionResource.LIMIT.getName(), limit);
+
+        CollectionResource<T> collection = fetch(step, href, collectionClass, pageQuery);
+        if (collection == null) {
+            return null;
+        }
+
+        Page<T> page = ((AbstractCollectionResource<T>) collection).getCurrentPage();
+
+        for (T item : page.getItems()) {
+            onLoaded(item);
+            if (handler != null && !stopped.get()) {
+                handler.handle(item);
+            }
+        }
+
+        notifyListener(createResult(false));
+        return page;
+    }
+
+    private <T extends Resource> T fetch(String step, String href, Class<T> clazz) {
+        return fetch(step, href, clazz, null);
+    }
+
+    private <T extends Resource> T fetch(String step, String href, Class<T> clazz, Map<String, Object> query) {
+        if (!throttle()) {
+            return null;
+        }
+        try {
+            requestCount.incrementAndGet();
+            T resource;
+            if (query == null) {
+                resource = dataStore.getResource(href, clazz);
+                onLoaded(resource);
+            } else {
+                resource = dataStore.getResource(href, clazz, query);
+            }
+            onStepProgress(step);
+            return resource;
+        } catch (RuntimeException e) {
+            onFailure(href, e);
+            return null;
+        }
+    }
+
+    /**
+     * Records that a request of the specified step has just completed, so the step's timing reflects the completion
+     * of its last request.
+     *
+     * @param step the name of the step
+     */
+    private void onStepProgress(String step) {
+        long elapsed = System.currentTimeMillis() - startMillis;
+        AtomicLong timing = stepTimings.get(step);
+        if (timing == null) {
+            AtomicLong existing = stepTimings.putIfAbsent(step, timing = new AtomicLong());
+            if (existing != null) {
+                timing = existing;
+            }
+        }
+        long current;
+        while ((current = timing.get()) < elapsed && !timing.compareAndSet(current, elapsed)) {
+            //retry until the largest elapsed time has been recorded
+        }
+    }
+
+    private void onLoaded(Resource resource) {
+
+        resourceCount.incrementAndGet();
+
+        if (!(resource instanceof AbstractResource)) {
+            return;
+        }
+
+        AbstractResource r = (AbstractResource) resource;
+        Map<String, Object> properties = new LinkedHashMap<String, Object>();
+        for (String name : r.getPropertyNames()) {
+            properties.put(name, r.getProperty(name));
+        }
+
+        long size = estimatedSize.addAndGet(weigher.weigh(r.getHref(), properties));
+        long budget = request.getMemoryBudget();
+
+        if (budget > 0 && size > budget && memoryBudgetExceeded.compareAndSet(false, true)) {
+            log.warn("Cache warm-up memory budget of {} bytes exceeded - no further resources will be loaded.", budget);
+            stopped.set(true);
+        }
+    }
+
+    private void onFailure(String description, RuntimeException e) {
+        failureCount.incrementAndGet();
+        log.warn("Unable to warm up cache with {}: {}", description, e.getMessage());
+    }
+
+    /**
+     * Blocks the calling thread until the next request may be issued according to the request's maximum rate.
+     *
+     * @return {@code true} if the request may be issued, {@code false} if the warm-up has been stopped.
+     */
+    private boolean throttle() {
+
+        if (stopped.get()) {
+            return false;
+        }
+
+        int maxRequestsPerSecond = request.getMaxRequestsPerSecond();
+        if (maxRequestsPerSecond <= 0) {
+            return true;
+        }
+
+        long waitNanos;
+        synchronized (throttleLock) {
+            long now = System.nanoTime();
+            long next = Math.max(nextRequestNanos, now);
+            nextRequestNanos = next + NANOS_PER_SECOND / maxRequestsPerSecond;
+            waitNanos = next - now;
+        }
+
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopped.set(true);
+                return false;
+            }
+        }
+
+        return !stopped.get();
+    }
+
+    private void submit(Runnable task) {
+        if (!stopped.get()) {
+            futures.add(executor.submit(task));
+        }
+    }
+
+    private void awaitCompletion() {
+        Future<?> future;
+        while ((future = futures.poll()) != null) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                stopped.set(true);
+                return;
+            } catch (ExecutionException e) {
+                failureCount.incrementAndGet();
+                log.warn("Unexpected cache warm-up failure.", e.getCause());
+            }
+        }
+    }
+
+    private void notifyListener(CacheWarmUpResult result) {
+        CacheWarmUpListener listener = request.getListener();
+        if (listener != null) {
+            try {
+                listener.onProgress(result);
+            } catch (RuntimeException e) {
+                log.warn("CacheWarmUpListener threw an exception.", e);
+            }
+        }
+    }
+
+    private CacheWarmUpResult createResult(boolean finished) {
+        Map<String, Long> timings = new LinkedHashMap<String, Long>();
+        for (String step : STEPS) {
+            AtomicLong timing = stepTimings.get(step);
+            if (timing != null) {
+                timings.put(step, timing.get());
+            }
+        }
+        return new DefaultCacheWarmUpResult(resourceCount.get(), requestCount.get(), failureCount.get(),
+                estimatedSize.get(), System.currentTimeMillis() - startMillis, memoryBudgetExceeded.get(), finished,
+                timings, currentTenantHref);
+    }
+
+    protected interface ItemHandler<T> {
+        void handle(T item);
+    }
+
+    private static class WarmUpThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "stormpath-cache-warm-up-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -39,4 +39,13 @@ public class DefaultCacheResolver implements CacheResolver {
         String cacheRegionName = this.cacheRegionNameResolver.getCacheRegionName(clazz);
         return this.cacheManager.getCache(cacheRegionName);
     }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Override
+    public Cache<String, Map<String, ?>> getCache(String regionName) {
+        Assert.hasText(regionName, "regionName cannot be null or empty.");
+        return this.cacheManager.getCache(regionName);
+    }
 }
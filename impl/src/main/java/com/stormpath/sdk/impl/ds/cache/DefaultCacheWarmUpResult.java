@@ -0,0 +1,116 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds.cache;
+
+import com.stormpath.sdk.cache.CacheWarmUpResult;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * @since 1.0.RC8.1
+ */
+public class DefaultCacheWarmUpResult implements CacheWarmUpResult {
+
+    private final long resourceCount;
+    private final long requestCount;
+    private final long failureCount;
+    private final long estimatedSize;
+    private final long elapsedMillis;
+    private final boolean memoryBudgetExceeded;
+    private final boolean finished;
+    private final Map<String, Long> stepTimings;
+    private final String currentTenantHref;
+
+    public DefaultCacheWarmUpResult(long resourceCount, long requestCount, long failureCount, long estimatedSize,
+                                    long elapsedMillis, boolean memoryBudgetExceeded, boolean finished,
+                                    Map<String, Long> stepTimings, String currentTenantHref) {
+        this.resourceCount = resourceCount;
+        this.requestCount = requestCount;
+        this.failureCount = failureCount;
+        this.estimatedSize = estimatedSize;
+        this.elapsedMillis = elapsedMillis;
+        this.memoryBudgetExceeded = memoryBudgetExceeded;
+        this.finished = finished;
+        this.stepTimings = Collections.unmodifiableMap(new LinkedHashMap<String, Long>(stepTimings));
+        this.currentTenantHref = currentTenantHref;
+    }
+
+    @Override
+    public long getResourceCount() {
+        return resourceCount;
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requestCount;
+    }
+
+    @Override
+    public long getFailureCount() {
+        return failureCount;
+    }
+
+    @Override
+    public long getEstimatedSize() {
+        return estimatedSize;
+    }
+
+    @Override
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    @Override
+    public boolean isMemoryBudgetExceeded() {
+        return memoryBudgetExceeded;
+    }
+
+    @Override
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public Map<String, Long> getStepTimings() {
+        return stepTimings;
+    }
+
+    /**
+     * Returns the href of the current tenant if it was loaded by the warm-up, {@code null} otherwise.
+     *
+     * @return the href of the current tenant if it was loaded by the warm-up, {@code null} otherwise.
+     */
+    public String getCurrentTenantHref() {
+        return currentTenantHref;
+    }
+
+    @Override
+    public String toString() {
+        return new StringBuilder()
+                .append("{resourceCount: ").append(resourceCount)
+                .append(", requestCount: ").append(requestCount)
+                .append(", failureCount: ").append(failureCount)
+                .append(", estimatedSize: ").append(estimatedSize)
+                .append(", elapsedMillis: ").append(elapsedMillis)
+                .append(", memoryBudgetExceeded: ").append(memoryBudgetExceeded)
+                .append(", finished: ").append(finished)
+                .append(", stepTimings: ").append(stepTimings)
+                .append("}")
+                .toString();
+    }
+}
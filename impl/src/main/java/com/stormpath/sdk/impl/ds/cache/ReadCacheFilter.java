@@ -17,49 +17,153 @@ package com.stormpath.sdk.impl.ds.cache;
 
 import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.api.ApiKeyList;
+import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.impl.authc.LoginAttempt;
+import com.stormpath.sdk.impl.cache.DefaultCache;
+import com.stormpath.sdk.impl.ds.DefaultResourceDataRequest;
 import com.stormpath.sdk.impl.ds.DefaultResourceDataResult;
 import com.stormpath.sdk.impl.ds.FilterChain;
 import com.stormpath.sdk.impl.ds.ResourceAction;
 import com.stormpath.sdk.impl.ds.ResourceDataRequest;
 import com.stormpath.sdk.impl.ds.ResourceDataResult;
 import com.stormpath.sdk.impl.http.CanonicalUri;
+import com.stormpath.sdk.impl.http.HttpHeaders;
 import com.stormpath.sdk.impl.http.QueryString;
+import com.stormpath.sdk.impl.http.RestException;
 import com.stormpath.sdk.impl.provider.ProviderAccountAccess;
+import com.stormpath.sdk.impl.resource.AbstractExtendableInstanceResource;
 import com.stormpath.sdk.impl.resource.CollectionProperties;
+import com.stormpath.sdk.impl.util.Iso8601Dates;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Collections;
 import com.stormpath.sdk.resource.CollectionResource;
 import com.stormpath.sdk.resource.Resource;
+import com.stormpath.sdk.resource.ResourceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.text.ParseException;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static com.stormpath.sdk.impl.api.ApiKeyParameter.ID;
 import static com.stormpath.sdk.impl.resource.AbstractCollectionResource.LIMIT;
 import static com.stormpath.sdk.impl.resource.AbstractCollectionResource.OFFSET;
 
+/**
+ * Returns cached resource data for read requests when available, otherwise lets the request continue to the API.
+ * <h3>Refresh-ahead</h3>
+ * If a cache region is a {@link DefaultCache} with a {@link DefaultCache#getRefreshAfter() refreshAfter} threshold, a
+ * cache hit for an entry older than that threshold still returns the cached data immediately, but also reloads the
+ * entry once, asynchronously, via the filter's {@code refreshChain}, so it is re-cached by the {@link WriteCacheFilter}
+ * before it expires.  The refresh chain is invoked on a background thread after the request that triggered the refresh
+ * has completed, so it must start a new chain for every invocation rather than continue the request's own chain.
+ * Refresh-ahead is disabled if the filter is created without a refresh chain.
+ * <h3>Stale-if-error</h3>
+ * If a cache region is a {@link DefaultCache} with a {@link DefaultCache#getStaleIfError() staleIfError} window and
+ * the API is unreachable or responds with a server error (HTTP 5xx or 429), recently expired data is returned instead
+ * of propagating the error.
+ * <h3>Revalidation</h3>
+ * If a cache region is a {@link DefaultCache} with a {@link DefaultCache#getRevalidationWindow() revalidationWindow},
+ * an expired entry is not simply reloaded: the API is asked whether it has changed with a conditional request, using
+ * the {@code ETag} the entry was cached with ({@code If-None-Match}) and/or the resource's {@code modifiedAt} date
+ * ({@code If-Modified-Since}).  If the API responds with {@code 304 Not Modified}, the cached entry is renewed and
+ * returned without transferring or parsing the resource again.  Refresh-ahead reloads are conditional as well.
+ */
 public class ReadCacheFilter extends AbstractCacheFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(ReadCacheFilter.class);
+
+    private static final int REFRESH_THREADS = 2;
+    private static final int REFRESH_QUEUE_CAPACITY = 512;
+
     private final String baseUrl;
 
+    private final FilterChain refreshChain;
+
+    private final Executor refreshExecutor;
+
     public ReadCacheFilter(String baseUrl, CacheResolver cacheResolver, boolean collectionCachingEnabled) {
+        this(baseUrl, cacheResolver, collectionCachingEnabled, null);
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    public ReadCacheFilter(String baseUrl, CacheResolver cacheResolver, boolean collectionCachingEnabled,
+                           FilterChain refreshChain) {
+        this(baseUrl, cacheResolver, collectionCachingEnabled, refreshChain,
+             refreshChain != null ? createRefreshExecutor() : null);
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    public ReadCacheFilter(String baseUrl, CacheResolver cacheResolver, boolean collectionCachingEnabled,
+                           FilterChain refreshChain, Executor refreshExecutor) {
         super(cacheResolver, collectionCachingEnabled);
         Assert.hasText(baseUrl, "baseUrl cannot be null or empty.");
+        Assert.isTrue(refreshChain == null || refreshExecutor != null,
+                      "refreshExecutor cannot be null when a refreshChain is specified.");
         this.baseUrl = baseUrl;
+        this.refreshChain = refreshChain;
+        this.refreshExecutor = refreshExecutor;
+    }
+
+    /**
+     * Creates the executor used to reload entries in the background.  It uses a small number of daemon threads that
+     * are only started on demand and time out when idle.  Refreshes are best-effort: if the queue is full, the
+     * refresh is skipped and the entry is simply reloaded on a later access or after it expires.
+     */
+    private static Executor createRefreshExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(REFRESH_THREADS, REFRESH_THREADS, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<Runnable>(REFRESH_QUEUE_CAPACITY), new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger(0);
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread t = new Thread(r, "stormpath-cache-refresh-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            }
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
     }
 
     @Override
     public ResourceDataResult filter(ResourceDataRequest request, FilterChain chain) {
 
-        if (isCacheRetrievalEnabled(request)) {
-            ResourceDataResult result = getCachedResourceData(request);
-            if (result != null) {
-                return result;
-            }
+        if (!isCacheRetrievalEnabled(request)) {
+            return chain.filter(request);
+        }
+
+        ResourceDataResult result = getCachedResourceData(request);
+        if (result != null) {
+            return result;
         }
 
-        //cache miss - let the chain continue:
-        return chain.filter(request);
+        //cache miss - let the chain continue (conditionally, if an expired entry can be revalidated):
+        try {
+            result = getRevalidatedResourceData(request, chain);
+            return result != null ? result : chain.filter(request);
+        } catch (RuntimeException e) {
+            if (isServiceUnavailable(e)) {
+                result = getStaleResourceData(request);
+                if (result != null) {
+                    log.warn("Unable to obtain {} from the API server ({}).  Returning stale cached data instead.",
+                             request.getUri().getAbsolutePath(), e.getMessage());
+                    return result;
+                }
+            }
+            throw e;
+        }
     }
 
     private ResourceDataResult getCachedResourceData(ResourceDataRequest request) {
@@ -85,10 +189,9 @@ public class ReadCacheFilter extends AbstractCacheFilter {
                                                          .setItemsMap(apiKeyData).build();
             }
         } else {
-            //Prevent an expanded request to obtain a non-expanded resource from the cache
             String cacheKey = getCacheKey(request);
-            if (! (request.getUri().hasQuery() && request.getUri().getQuery().containsKey("expand") ^ (cacheKey != null && cacheKey.contains("expand=")))) {
-                data = getCachedValue(cacheKey, clazz);
+            if (isCacheKeyRetrievable(request, cacheKey)) {
+                data = getCachedValue(cacheKey, clazz, request);
             }
         }
 
@@ -99,6 +202,217 @@ public class ReadCacheFilter extends AbstractCacheFilter {
         return new DefaultResourceDataResult(request.getAction(), uri, clazz, coerce(data));
     }
 
+    //Prevent an expanded request to obtain a non-expanded resource from the cache
+    private boolean isCacheKeyRetrievable(ResourceDataRequest request, String cacheKey) {
+        return !(request.getUri().hasQuery() && request.getUri().getQuery().containsKey("expand") ^
+                 (cacheKey != null && cacheKey.contains("expand=")));
+    }
+
+    /**
+     * Returns the cached value for the specified key, scheduling a background reload via the refresh chain if the
+     * cache supports refresh-ahead and the entry is due for a refresh.
+     *
+     * @since 1.0.RC8.1
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, ?> getCachedValue(String cacheKey, Class<? extends Resource> clazz,
+                                          ResourceDataRequest request) {
+
+        Cache<String, Map<String, ?>> cache = getCache(clazz);
+
+        if (refreshChain == null || !(cache instanceof DefaultCache) ||
+            ((DefaultCache) cache).getRefreshAfter() == null) {
+            return cache.get(cacheKey);
+        }
+
+        DefaultCache<String, Map<String, ?>> defaultCache = (DefaultCache<String, Map<String, ?>>) cache;
+        DefaultCache.Entry<Map<String, ?>> entry = defaultCache.getEntry(cacheKey);
+
+        if (entry == null) {
+            return null;
+        }
+
+        if (defaultCache.isRefreshDue(entry) && entry.beginRefresh()) {
+            scheduleRefresh(request, defaultCache, cacheKey, entry);
+        }
+
+        return entry.getValue();
+    }
+
+    /**
+     * Invokes the refresh chain on a background thread, so the {@link WriteCacheFilter} caches the reloaded data and
+     * replaces the entry being refreshed.
+     *
+     * @since 1.0.RC8.1
+     */
+    private void scheduleRefresh(final ResourceDataRequest request, final DefaultCache<String, Map<String, ?>> cache,
+                                 final String cacheKey, final DefaultCache.Entry<Map<String, ?>> entry) {
+        try {
+            refreshExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        ResourceDataRequest conditionalRequest = toConditionalRequest(request, entry);
+                        if (conditionalRequest == null) {
+                            refreshChain.filter(request);
+                        } else if (isNotModified(refreshChain.filter(conditionalRequest))) {
+                            cache.revalidate(cacheKey, entry);
+                        }
+                    } catch (Throwable t) {
+                        log.debug("Unable to refresh cached data for {}: {}", request.getUri().getAbsolutePath(),
+                                  t.getMessage());
+                    } finally {
+                        entry.endRefresh();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipping cache refresh for {}: refresh queue is full.", request.getUri().getAbsolutePath());
+            entry.endRefresh();
+        }
+    }
+
+    /**
+     * Revalidates an expired cache entry for the request with a conditional request, if the cache supports
+     * revalidation and the entry has validators.  Returns the renewed cached data if the API responds with
+     * {@code 304 Not Modified}, the API's response if the resource has changed (which the {@link WriteCacheFilter}
+     * caches as usual), or {@code null} if the entry cannot be revalidated.
+     *
+     * @since 1.0.RC8.1
+     */
+    @SuppressWarnings("unchecked")
+    private ResourceDataResult getRevalidatedResourceData(ResourceDataRequest request, FilterChain chain) {
+
+        if (isApiKeyCollectionQuery(request)) {
+            return null;
+        }
+
+        String cacheKey = getCacheKey(request);
+        if (!isCacheKeyRetrievable(request, cacheKey)) {
+            return null;
+        }
+
+        Class<? extends Resource> clazz = request.getResourceClass();
+        Cache<String, Map<String, ?>> cache = getCache(clazz);
+
+        if (!(cache instanceof DefaultCache)) {
+            return null;
+        }
+
+        DefaultCache<String, Map<String, ?>> defaultCache = (DefaultCache<String, Map<String, ?>>) cache;
+        DefaultCache.Entry<Map<String, ?>> entry = defaultCache.getRevalidatableEntry(cacheKey);
+        if (entry == null) {
+            return null;
+        }
+
+        ResourceDataRequest conditionalRequest = toConditionalRequest(request, entry);
+        if (conditionalRequest == null) {
+            return null;
+        }
+
+        ResourceDataResult result = chain.filter(conditionalRequest);
+
+        if (!isNotModified(result)) {
+            return result;
+        }
+
+        log.trace("{} has not been modified - renewing the cached entry.", request.getUri().getAbsolutePath());
+        entry = defaultCache.revalidate(cacheKey, entry);
+
+        return new DefaultResourceDataResult(request.getAction(), request.getUri(), clazz, coerce(entry.getValue()));
+    }
+
+    /**
+     * Returns a copy of the request with {@code If-None-Match} and/or {@code If-Modified-Since} headers derived from
+     * the specified entry's {@code ETag} and {@code modifiedAt} date, or {@code null} if the entry has neither.
+     *
+     * @since 1.0.RC8.1
+     */
+    private ResourceDataRequest toConditionalRequest(ResourceDataRequest request,
+                                                     DefaultCache.Entry<Map<String, ?>> entry) {
+
+        String eTag = entry.getETag();
+        long modifiedAt = getModifiedAt(entry.getValue());
+
+        if (eTag == null && modifiedAt < 0) {
+            return null;
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHttpHeaders());
+        if (eTag != null) {
+            headers.setIfNoneMatch(eTag);
+        }
+        if (modifiedAt >= 0) {
+            //HTTP dates have a precision of one second - truncating (never rounding up) can't hide a modification:
+            headers.setIfModifiedSince(modifiedAt);
+        }
+
+        return new DefaultResourceDataRequest(request.getAction(), request.getUri(), request.getResourceClass(),
+                                              request.getData(), headers);
+    }
+
+    private static long getModifiedAt(Map<String, ?> data) {
+        Object value = data != null ? data.get(AbstractExtendableInstanceResource.MODIFIED_AT.getName()) : null;
+        if (value instanceof String) {
+            try {
+                return Iso8601Dates.parseMillis((String) value);
+            } catch (ParseException e) {
+                log.debug("Unable to parse modifiedAt date '{}': {}", value, e.getMessage());
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isNotModified(ResourceDataResult result) {
+        return result instanceof DefaultResourceDataResult && ((DefaultResourceDataResult) result).isNotModified();
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @SuppressWarnings("unchecked")
+    private ResourceDataResult getStaleResourceData(ResourceDataRequest request) {
+
+        if (isApiKeyCollectionQuery(request)) {
+            return null;
+        }
+
+        String cacheKey = getCacheKey(request);
+        if (!isCacheKeyRetrievable(request, cacheKey)) {
+            return null;
+        }
+
+        Class<? extends Resource> clazz = request.getResourceClass();
+        Cache<String, Map<String, ?>> cache = getCache(clazz);
+
+        if (!(cache instanceof DefaultCache) || ((DefaultCache) cache).getStaleIfError() == null) {
+            return null;
+        }
+
+        Map<String, ?> data = ((DefaultCache<String, Map<String, ?>>) cache).getStaleIfError(cacheKey);
+
+        if (Collections.isEmpty(data)) {
+            return null;
+        }
+
+        return new DefaultResourceDataResult(request.getAction(), request.getUri(), clazz, coerce(data));
+    }
+
+    /**
+     * Returns {@code true} if the exception indicates that the API server could not be reached or could not
+     * process the request due to a server-side condition, {@code false} for all other (e.g. client) errors.
+     *
+     * @since 1.0.RC8.1
+     */
+    private boolean isServiceUnavailable(RuntimeException e) {
+        if (e instanceof ResourceException) {
+            int status = ((ResourceException) e).getStatus();
+            return status >= 500 || status == 429;
+        }
+        return e instanceof RestException;
+    }
+
     private int getValue(QueryString query, String propName, int defaultValue) {
         return query.containsKey(propName) ? Integer.valueOf(query.get(propName)) : defaultValue;
     }
@@ -22,15 +22,21 @@ import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.api.ApiKeyList;
 import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.directory.CustomData;
+import com.stormpath.sdk.group.Group;
+import com.stormpath.sdk.group.GroupMembership;
 import com.stormpath.sdk.impl.account.DefaultAccount;
+import com.stormpath.sdk.impl.account.GroupMembershipIndex;
 import com.stormpath.sdk.impl.api.ApiKeyParameter;
+import com.stormpath.sdk.impl.cache.DefaultCache;
 import com.stormpath.sdk.impl.ds.CacheMapInitializer;
 import com.stormpath.sdk.impl.ds.DefaultCacheMapInitializer;
+import com.stormpath.sdk.impl.ds.DefaultResourceMessage;
 import com.stormpath.sdk.impl.ds.DefaultResourceFactory;
 import com.stormpath.sdk.impl.ds.FilterChain;
 import com.stormpath.sdk.impl.ds.ResourceAction;
 import com.stormpath.sdk.impl.ds.ResourceDataRequest;
 import com.stormpath.sdk.impl.ds.ResourceDataResult;
+import com.stormpath.sdk.impl.http.HttpHeaders;
 import com.stormpath.sdk.impl.http.QueryString;
 import com.stormpath.sdk.impl.resource.AbstractExtendableInstanceResource;
 import com.stormpath.sdk.impl.resource.AbstractInstanceResource;
@@ -61,6 +67,8 @@ import static com.stormpath.sdk.impl.resource.AbstractResource.HREF_PROP_NAME;
 
 public class WriteCacheFilter extends AbstractCacheFilter {
 
+    private static final String ACCOUNT_PROP_NAME = "account";
+
     private final ReferenceFactory referenceFactory;
     private final CacheMapInitializer cacheMapInitializer;
 
@@ -74,6 +82,9 @@ public class WriteCacheFilter extends AbstractCacheFilter {
     @Override
     public ResourceDataResult filter(ResourceDataRequest request, FilterChain chain) {
 
+        //@since 1.0.RC8.1: must be determined before a deleted membership is uncached below:
+        String invalidIndexHref = getInvalidGroupMembershipIndexHref(request);
+
         if (request.getAction() == ResourceAction.DELETE) {
             String key = getCacheKey(request);
             uncache(key, request.getResourceClass());
@@ -81,8 +92,33 @@ public class WriteCacheFilter extends AbstractCacheFilter {
 
         ResourceDataResult result = chain.filter(request);
 
+        if (request.getAction() == ResourceAction.CREATE && GroupMembership.class.isAssignableFrom(request.getResourceClass())) {
+            invalidIndexHref = getReferenceHref(result.getData(), ACCOUNT_PROP_NAME);
+            if (invalidIndexHref == null) {
+                invalidIndexHref = getReferenceHref(request.getData(), ACCOUNT_PROP_NAME);
+            }
+        }
+
+        if (invalidIndexHref != null) {
+            getCache(GroupMembershipIndex.CACHE_REGION_NAME).remove(invalidIndexHref);
+        }
+
+        //@since 1.0.RC8.1: a deleted or renamed group may be part of any account's index:
+        if ((request.getAction() == ResourceAction.DELETE || request.getAction() == ResourceAction.UPDATE) &&
+            Group.class.isAssignableFrom(request.getResourceClass())) {
+            GroupMembershipIndex.invalidateAll(getCache(GroupMembershipIndex.CACHE_REGION_NAME));
+        }
+
         if (isCacheable(request, result)) {
-            cache(result.getResourceClass(), result.getData(), result.getUri().getQuery());
+            //@since 1.0.RC8.1: keep the response's ETag and size so the entry can be revalidated once it expires:
+            String eTag = null;
+            long contentLength = -1;
+            if (result instanceof DefaultResourceMessage) {
+                HttpHeaders headers = ((DefaultResourceMessage) result).getHttpHeaders();
+                eTag = headers.getETag();
+                contentLength = headers.getContentLength();
+            }
+            cache(result.getResourceClass(), result.getData(), result.getUri().getQuery(), eTag, contentLength);
         }
 
         //since 0.9.2: custom data quick fix for https://github.com/stormpath/stormpath-sdk-java/issues/30
@@ -178,8 +214,12 @@ public class WriteCacheFilter extends AbstractCacheFilter {
 
         Map<String, ?> existingCustomData = getCachedValue(customDataHref, CustomData.class);
         if (!Collections.isEmpty(existingCustomData)) {
-            existingCustomData.remove(AbstractResource.HREF_PROP_NAME);
-            customDataToCache.putAll(existingCustomData); //put what already exists first
+            //put what already exists first (cached values are immutable - copy everything but the href):
+            for (Map.Entry<String, ?> entry : existingCustomData.entrySet()) {
+                if (!AbstractResource.HREF_PROP_NAME.equals(entry.getKey())) {
+                    customDataToCache.put(entry.getKey(), entry.getValue());
+                }
+            }
         }
         customDataToCache.putAll(customData); //overwrite or add what was specified during the save operation
 
@@ -192,8 +232,16 @@ public class WriteCacheFilter extends AbstractCacheFilter {
     /**
      * @since 0.8
      */
-    @SuppressWarnings("unchecked")
     private void cache(Class<? extends Resource> clazz, Map<String, ?> data, QueryString queryString) {
+        cache(clazz, data, queryString, null, -1);
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @SuppressWarnings("unchecked")
+    private void cache(Class<? extends Resource> clazz, Map<String, ?> data, QueryString queryString, String eTag,
+                       long contentLength) {
 
         Assert.notEmpty(data, "Resource data cannot be null or empty.");
         String href = (String) data.get(AbstractResource.HREF_PROP_NAME);
@@ -209,7 +257,7 @@ public class WriteCacheFilter extends AbstractCacheFilter {
 
         if (CustomData.class.isAssignableFrom(clazz)) {
             Cache cache = getCache(clazz);
-            cache.put(href, cacheValue);
+            cache.put(href, java.util.Collections.unmodifiableMap(cacheValue));
             return;
         }
 
@@ -306,7 +354,13 @@ public class WriteCacheFilter extends AbstractCacheFilter {
         if (isDirectlyCacheable(clazz, cacheValue)) {
             Cache cache = getCache(clazz);
             String cacheKey = getCacheKey(href, queryString, clazz);
-            cache.put(cacheKey, cacheValue);
+            //cached values are immutable snapshots so they can be shared by resource instances without copying:
+            Map<String, Object> snapshot = java.util.Collections.unmodifiableMap(cacheValue);
+            if (cache instanceof DefaultCache) {
+                ((DefaultCache) cache).put(cacheKey, snapshot, eTag, contentLength);
+            } else {
+                cache.put(cacheKey, snapshot);
+            }
         }
     }
 
@@ -375,6 +429,58 @@ public class WriteCacheFilter extends AbstractCacheFilter {
         cache.remove(cacheKey);
     }
 
+    /**
+     * Returns the href of the account whose {@link GroupMembershipIndex} is invalidated by a deletion, or
+     * {@code null} if the request does not delete an account or one of its group memberships.
+     *
+     * @since 1.0.RC8.1
+     */
+    private String getInvalidGroupMembershipIndexHref(ResourceDataRequest request) {
+
+        if (request.getAction() != ResourceAction.DELETE) {
+            return null;
+        }
+
+        Class<? extends Resource> clazz = request.getResourceClass();
+        String href = request.getUri().getAbsolutePath();
+
+        if (Account.class.isAssignableFrom(clazz)) {
+            return href;
+        }
+
+        if (!GroupMembership.class.isAssignableFrom(clazz)) {
+            return null;
+        }
+
+        //not all Cache implementations return the removed value, so read it first:
+        Cache<String, Map<String, ?>> indexCache = getCache(GroupMembershipIndex.CACHE_REGION_NAME);
+        Map<String, ?> entry = indexCache.get(href);
+        indexCache.remove(href);
+        if (entry != null && entry.get(GroupMembershipIndex.ACCOUNT) instanceof String) {
+            return (String) entry.get(GroupMembershipIndex.ACCOUNT);
+        }
+
+        return getReferenceHref(getCachedValue(href, GroupMembership.class), ACCOUNT_PROP_NAME);
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    private String getReferenceHref(Map<String, ?> data, String propertyName) {
+        if (data == null) {
+            return null;
+        }
+        Object value = data.get(propertyName);
+        if (value instanceof Map) {
+            Object href = ((Map) value).get(HREF_PROP_NAME);
+            return href instanceof String ? (String) href : null;
+        }
+        if (value instanceof Resource) {
+            return ((Resource) value).getHref();
+        }
+        return null;
+    }
+
     private boolean isApiKeyCollectionQuery(ResourceDataRequest request) {
         return ApiKeyList.class.isAssignableFrom(request.getResourceClass()) &&
                 request.getUri().hasQuery() && request.getUri().getQuery().containsKey(ID.getName());
@@ -17,6 +17,7 @@ package com.stormpath.sdk.impl.http.authc;
 
 import com.stormpath.sdk.api.ApiKey;
 import com.stormpath.sdk.impl.http.Request;
+import com.stormpath.sdk.impl.http.support.BufferedRequestBody;
 import com.stormpath.sdk.impl.http.support.RequestAuthenticationException;
 import com.stormpath.sdk.impl.util.RequestUtils;
 import com.stormpath.sdk.impl.util.StringInputStream;
@@ -98,7 +99,7 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
         String canonicalQueryString = canonicalizeQueryString(request);
         String canonicalHeadersString = canonicalizeHeadersString(request);
         String signedHeadersString = getSignedHeadersString(request);
-        String requestPayloadHashHex = toHex(hash(getRequestPayload(request)));
+        String requestPayloadHashHex = toHex(hashRequestPayload(request));
 
         String canonicalRequest =
                 method + NL +
@@ -197,6 +198,29 @@ public class SAuthc1RequestAuthenticator implements RequestAuthenticator {
         }
     }
 
+    /**
+     * Hashes the request payload using the SHA-256 algorithm.  A {@link BufferedRequestBody} is hashed directly from
+     * its already-encoded bytes; any other body is read as a UTF-8 string via {@link #getRequestPayload(Request)}.
+     *
+     * @param request the request whose payload will be hashed
+     * @return the hashed bytes of the request payload.
+     * @throws RequestAuthenticationException If the hash cannot be computed.
+     * @since 1.0.RC8.1
+     */
+    protected byte[] hashRequestPayload(Request request) throws RequestAuthenticationException {
+        InputStream content = request.getBody();
+        if (!(content instanceof BufferedRequestBody)) {
+            return hash(getRequestPayload(request));
+        }
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            ((BufferedRequestBody) content).digest(md);
+            return md.digest();
+        } catch (Exception e) {
+            throw new RequestAuthenticationException("Unable to compute hash while signing request.", e);
+        }
+    }
+
     protected byte[] sign(String stringData, byte[] key, MacAlgorithm algorithm) throws RequestAuthenticationException {
         try {
             byte[] data = stringData.getBytes(DEFAULT_ENCODING);
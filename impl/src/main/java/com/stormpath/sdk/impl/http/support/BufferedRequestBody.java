@@ -0,0 +1,112 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support;
+
+import com.stormpath.sdk.lang.Assert;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+
+/**
+ * A request body that has been fully encoded into a byte buffer up front.
+ * <p/>
+ * The body is encoded exactly once and the same buffer is then shared by everything that needs the request payload:
+ * the request authenticator hashes it {@link #digest(MessageDigest) in place}, request executors
+ * {@link #writeTo(OutputStream) write it} directly to the connection, and retries simply {@link #reset() reset} the
+ * stream - no component needs to convert the payload back to a {@code String} or copy it into another buffer.
+ * <p/>
+ * The buffer is not copied, so it must not be modified once it has been handed to this class.
+ *
+ * @since 1.0.RC8.1
+ */
+public class BufferedRequestBody extends ByteArrayInputStream {
+
+    private static final String UTF_8 = "UTF-8";
+
+    private final int offset;
+    private final int length;
+
+    public BufferedRequestBody(byte[] buf) {
+        this(buf, 0, buf.length);
+    }
+
+    public BufferedRequestBody(byte[] buf, int offset, int length) {
+        super(buf, offset, length);
+        Assert.isTrue(offset >= 0 && length >= 0 && offset + length <= buf.length, "Invalid offset or length.");
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns a new body containing the UTF-8 encoding of the specified string.
+     *
+     * @param s the string to encode
+     * @return a new body containing the UTF-8 encoding of the specified string.
+     */
+    public static BufferedRequestBody utf8(String s) {
+        Assert.notNull(s, "String argument cannot be null.");
+        try {
+            return new BufferedRequestBody(s.getBytes(UTF_8));
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("UTF-8 encoding is unavailable on the current JVM.", e);
+        }
+    }
+
+    /**
+     * Returns the total number of bytes in this body, regardless of how much of the stream has been read.
+     *
+     * @return the total number of bytes in this body.
+     */
+    public int length() {
+        return this.length;
+    }
+
+    /**
+     * Writes the entire body to the specified stream, regardless of how much of this stream has been read.
+     *
+     * @param out the stream to write to
+     * @throws IOException if the body cannot be written
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(this.buf, this.offset, this.length);
+    }
+
+    /**
+     * Updates the specified digest with the entire body, regardless of how much of this stream has been read.
+     *
+     * @param digest the digest to update
+     */
+    public void digest(MessageDigest digest) {
+        digest.update(this.buf, this.offset, this.length);
+    }
+
+    /**
+     * Returns the body decoded as a UTF-8 string.
+     *
+     * @return the body decoded as a UTF-8 string.
+     */
+    @Override
+    public String toString() {
+        try {
+            return new String(this.buf, this.offset, this.length, UTF_8);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("UTF-8 encoding is unavailable on the current JVM.", e);
+        }
+    }
+}
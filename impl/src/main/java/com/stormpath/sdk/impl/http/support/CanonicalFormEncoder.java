@@ -0,0 +1,120 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Encodes form parameters as a canonical {@code application/x-www-form-urlencoded} body: parameters are sorted by
+ * name and every name and value is encoded exactly like {@link java.net.URLEncoder#encode(String, String)} does with
+ * the {@code UTF-8} encoding.
+ * <p/>
+ * Characters are encoded straight into a single byte buffer which then backs the returned
+ * {@link BufferedRequestBody}, so no intermediate sorted map, per-parameter strings or formatters are created.
+ *
+ * @since 1.0.RC8.1
+ */
+public final class CanonicalFormEncoder {
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes();
+
+    private CanonicalFormEncoder() {
+    }
+
+    /**
+     * Encodes the specified parameters, sorted by name, into a new request body.
+     *
+     * @param params the form parameters to encode.  Values are converted to strings via {@code toString()}.
+     * @return a new request body containing the encoded parameters
+     */
+    public static BufferedRequestBody encode(Map<String, ?> params) {
+
+        String[] names = params.keySet().toArray(new String[params.size()]);
+        Arrays.sort(names);
+
+        Buffer buffer = new Buffer(names.length * 32);
+
+        for (String name : names) {
+            if (buffer.count > 0) {
+                buffer.write('&');
+            }
+            encode(name, buffer);
+            buffer.write('=');
+            encode(params.get(name).toString(), buffer);
+        }
+
+        return new BufferedRequestBody(buffer.bytes, 0, buffer.count);
+    }
+
+    private static void encode(String s, Buffer buffer) {
+
+        int len = s.length();
+
+        for (int i = 0; i < len; i++) {
+
+            char c = s.charAt(i);
+
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ||
+                c == '.' || c == '-' || c == '*' || c == '_') {
+                buffer.write(c);
+            } else if (c == ' ') {
+                buffer.write('+');
+            } else if (c < 0x80) {
+                escape(c, buffer);
+            } else if (c < 0x800) {
+                escape(0xC0 | (c >> 6), buffer);
+                escape(0x80 | (c & 0x3F), buffer);
+            } else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                escape(0xF0 | (cp >> 18), buffer);
+                escape(0x80 | ((cp >> 12) & 0x3F), buffer);
+                escape(0x80 | ((cp >> 6) & 0x3F), buffer);
+                escape(0x80 | (cp & 0x3F), buffer);
+            } else if (Character.isHighSurrogate(c) || Character.isLowSurrogate(c)) {
+                //unpaired surrogate - replaced with '?', as the UTF-8 charset encoder does:
+                escape('?', buffer);
+            } else {
+                escape(0xE0 | (c >> 12), buffer);
+                escape(0x80 | ((c >> 6) & 0x3F), buffer);
+                escape(0x80 | (c & 0x3F), buffer);
+            }
+        }
+    }
+
+    private static void escape(int b, Buffer buffer) {
+        buffer.write('%');
+        buffer.write(HEX[(b >> 4) & 0x0F]);
+        buffer.write(HEX[b & 0x0F]);
+    }
+
+    private static final class Buffer {
+
+        private byte[] bytes;
+        private int count;
+
+        private Buffer(int capacity) {
+            this.bytes = new byte[Math.max(capacity, 16)];
+        }
+
+        private void write(int b) {
+            if (count == bytes.length) {
+                bytes = Arrays.copyOf(bytes, bytes.length * 2);
+            }
+            bytes[count++] = (byte) b;
+        }
+    }
+}
@@ -38,6 +38,25 @@ public class DefaultResponse extends AbstractHttpMessage implements Response {
         this.headers.setContentLength(contentLength);
     }
 
+    /**
+     * Creates a new response that also has the specified headers, for example the {@code ETag} and
+     * {@code Last-Modified} validators returned by the server.  The specified {@code contentType} and
+     * {@code contentLength} replace the corresponding headers, as the body may have been decoded.
+     *
+     * @since 1.0.RC8.1
+     */
+    public DefaultResponse(int httpStatus, MediaType contentType, InputStream body, long contentLength,
+                           HttpHeaders headers) {
+        this.httpStatus = httpStatus;
+        this.headers = new HttpHeaders();
+        if (headers != null) {
+            this.headers.putAll(headers);
+        }
+        this.headers.setContentType(contentType);
+        this.body = body;
+        this.headers.setContentLength(contentLength);
+    }
+
     @Override
     public int getHttpStatus() {
         return httpStatus;
@@ -239,7 +239,7 @@ public class DefaultIdSiteCallbackHandler implements IdSiteCallbackHandler {
         ApiKey apiKey = dataStore.getApiKey();
 
         if (apiKey.getId().equals(jwtApiKeyId)) {
-            return new JwtSignatureValidator(apiKey);
+            return JwtSignatureValidator.forApiKey(apiKey);
         }
 
         throw new InvalidJwtException(InvalidJwtException.JWT_RESPONSE_INVALID_APIKEY_ID_ERROR);
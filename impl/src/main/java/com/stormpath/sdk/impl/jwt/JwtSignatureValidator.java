@@ -21,18 +21,67 @@ import com.stormpath.sdk.impl.jwt.signer.DefaultJwtSigner;
 import com.stormpath.sdk.impl.jwt.signer.JwtSigner;
 import com.stormpath.sdk.lang.Assert;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 /**
+ * Validates the signature of JWTs signed with an API Key secret.  Validators are immutable and thread-safe: use
+ * {@link #forApiKey(ApiKey)} to obtain a shared instance instead of creating one for every token, so that the
+ * signing key and {@code Mac} are only set up once.
+ *
  * @since 1.0.RC
  */
 public class JwtSignatureValidator {
 
+    /**
+     * The maximum number of API Keys whose validators are retained.  Applications typically use a single API Key per
+     * client, so the bound only matters if keys are rotated.
+     *
+     * @since 1.0.RC8.1
+     */
+    private static final int MAX_CACHED_VALIDATORS = 16;
+
+    private static final ConcurrentMap<String, JwtSignatureValidator> VALIDATORS =
+        new ConcurrentHashMap<String, JwtSignatureValidator>();
+
     private final JwtSigner jwtSigner;
 
+    private final String apiKeySecret;
+
     public JwtSignatureValidator(ApiKey apiKey) {
 
         Assert.notNull(apiKey, "apiKey cannot be null.");
 
-        jwtSigner = new DefaultJwtSigner(apiKey.getSecret());
+        this.apiKeySecret = apiKey.getSecret();
+
+        jwtSigner = new DefaultJwtSigner(apiKeySecret);
+    }
+
+    /**
+     * Returns a validator for the specified API Key, reusing the validator previously returned for the same API Key
+     * id and secret.
+     *
+     * @param apiKey the API Key whose secret signed the tokens to validate
+     * @return a validator for the specified API Key.
+     * @since 1.0.RC8.1
+     */
+    public static JwtSignatureValidator forApiKey(ApiKey apiKey) {
+
+        Assert.notNull(apiKey, "apiKey cannot be null.");
+
+        String id = apiKey.getId();
+        JwtSignatureValidator validator = VALIDATORS.get(id);
+
+        //a changed secret for the same id (e.g. a rotated key file) replaces the cached validator:
+        if (validator == null || !validator.apiKeySecret.equals(apiKey.getSecret())) {
+            validator = new JwtSignatureValidator(apiKey);
+            if (VALIDATORS.size() >= MAX_CACHED_VALIDATORS) {
+                VALIDATORS.clear();
+            }
+            VALIDATORS.put(id, validator);
+        }
+
+        return validator;
     }
 
     /**
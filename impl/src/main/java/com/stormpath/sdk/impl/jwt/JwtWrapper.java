@@ -21,7 +21,7 @@ import com.stormpath.sdk.impl.ds.MapMarshaller;
 import com.stormpath.sdk.impl.util.Base64;
 import com.stormpath.sdk.lang.Strings;
 
-import java.nio.charset.Charset;
+import java.io.ByteArrayInputStream;
 import java.util.Map;
 import java.util.StringTokenizer;
 
@@ -32,7 +32,8 @@ import java.util.StringTokenizer;
  */
 public class JwtWrapper {
 
-    private final static Charset UTF_8 = Charset.forName("UTF-8");
+    //ObjectMapper instances are expensive to create and thread-safe once configured, so one is shared by all tokens:
+    private static final MapMarshaller MAP_MARSHALLER = new JacksonMapMarshaller();
 
     private static final String SEPARATOR = ".";
 
@@ -42,7 +43,7 @@ public class JwtWrapper {
 
     private final String base64JwtSignature;
 
-    private final MapMarshaller mapMarshaller;
+    private Map jsonPayload;
 
     public JwtWrapper(String jwt) {
         if (!Strings.hasText(jwt)) {
@@ -58,8 +59,6 @@ public class JwtWrapper {
         this.base64JwtHeader = tokenizer.nextToken();
         this.base64JsonPayload = tokenizer.nextToken();
         this.base64JwtSignature = tokenizer.nextToken();
-
-        this.mapMarshaller = new JacksonMapMarshaller();
     }
 
     public String getBase64JwtHeader() {
@@ -82,18 +81,37 @@ public class JwtWrapper {
             throw new InvalidJwtException(InvalidJwtException.INVALID_JWT_HEADER_ENCODING_ERROR);
         }
 
-        return mapMarshaller.unmarshal(new String(jsonBytes, UTF_8));
+        return unmarshal(jsonBytes);
     }
 
+    /**
+     * Returns the token's claims.  The payload is only decoded and parsed the first time this method is called;
+     * subsequent calls return the same map.
+     *
+     * @return the token's claims.
+     */
     public Map getJsonPayloadAsMap() {
 
-        byte[] jsonBytes = Base64.decodeBase64(base64JsonPayload);
+        Map jsonPayload = this.jsonPayload;
 
-        if (jsonBytes == null) {
-            throw new InvalidJwtException(InvalidJwtException.INVALID_JWT_BODY_ENCODING_ERROR);
+        if (jsonPayload == null) {
+
+            byte[] jsonBytes = Base64.decodeBase64(base64JsonPayload);
+
+            if (jsonBytes == null) {
+                throw new InvalidJwtException(InvalidJwtException.INVALID_JWT_BODY_ENCODING_ERROR);
+            }
+
+            jsonPayload = unmarshal(jsonBytes);
+            this.jsonPayload = jsonPayload;
         }
 
-        return mapMarshaller.unmarshal(new String(jsonBytes, UTF_8));
+        return jsonPayload;
+    }
+
+    //parses the UTF-8 JSON bytes directly instead of decoding them into an intermediate String first:
+    private static Map unmarshal(byte[] jsonBytes) {
+        return MAP_MARSHALLER.unmarshall(new ByteArrayInputStream(jsonBytes));
     }
 
 }
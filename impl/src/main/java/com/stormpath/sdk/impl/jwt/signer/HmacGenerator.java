@@ -21,17 +21,41 @@ import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.Charset;
 import java.security.InvalidKeyException;
+import java.security.Key;
 import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
+ * Computes HMACs with {@link Mac} instances that are initialized once per thread and signing key and then reused:
+ * looking up a JCA provider and setting up the key dominates the cost of signing a single token.
+ *
  * @since 1.0.RC
  */
 public class HmacGenerator {
 
+    /**
+     * The maximum number of initialized {@code Mac} instances retained by each thread.  Applications typically sign
+     * with a single key, so the bound only matters if keys are rotated.
+     *
+     * @since 1.0.RC8.1
+     */
+    private static final int MAX_MACS_PER_THREAD = 8;
+
+    //Only JDK types are retained by the thread so that web application class loaders are not pinned:
+    private static final ThreadLocal<Map<Key, Mac>> MACS = new ThreadLocal<Map<Key, Mac>>() {
+        @Override
+        protected Map<Key, Mac> initialValue() {
+            return new HashMap<Key, Mac>();
+        }
+    };
+
     private final Charset ENCODING_CHARSET;
 
     private final String ALGORITHM;
 
+    private volatile SigningKey signingKey;
+
     protected HmacGenerator(String algorithm, Charset charset) {
         Assert.hasText(algorithm, "algorithm cannot be null or empty.");
         Assert.notNull(charset, "charset cannot be null or empty.");
@@ -42,15 +66,62 @@ public class HmacGenerator {
     public byte[] computeHmac(String msg, byte[] secretKey) {
         Assert.hasText(msg, "msg to digest cannot be null or empty");
         Assert.notNull(secretKey, "secretKey cannot be null.");
+        return getMac(ALGORITHM, getSecretKeySpec(secretKey)).doFinal(msg.getBytes(ENCODING_CHARSET));
+    }
+
+    private SecretKeySpec getSecretKeySpec(byte[] secretKey) {
+        SigningKey signingKey = this.signingKey;
+        if (signingKey == null || signingKey.bytes != secretKey) {
+            signingKey = new SigningKey(secretKey, new SecretKeySpec(secretKey, ALGORITHM));
+            this.signingKey = signingKey;
+        }
+        return signingKey.keySpec;
+    }
+
+    /**
+     * Returns a {@code Mac} for the specified {@code algorithm} that has already been initialized with the specified
+     * {@code key}.  The instance belongs to the calling thread: it must not be handed to other threads and each use
+     * must be completed with a {@code doFinal} call, which leaves it ready for the next use.
+     *
+     * @param algorithm the JCA name of the MAC algorithm, for example {@code HmacSHA256}
+     * @param key       the key to initialize the {@code Mac} with
+     * @return an initialized {@code Mac} owned by the calling thread
+     * @throws IllegalStateException if the algorithm is not available or the key is not valid for it
+     * @since 1.0.RC8.1
+     */
+    public static Mac getMac(String algorithm, Key key) throws IllegalStateException {
+        Map<Key, Mac> macs = MACS.get();
+
+        Mac mac = macs.get(key);
+        if (mac != null && mac.getAlgorithm().equals(algorithm)) {
+            return mac;
+        }
+
         try {
-            SecretKeySpec key = new SecretKeySpec(secretKey, ALGORITHM);
-            Mac mac = Mac.getInstance(ALGORITHM);
+            mac = Mac.getInstance(algorithm);
             mac.init(key);
-            return mac.doFinal(msg.getBytes(ENCODING_CHARSET));
         } catch (NoSuchAlgorithmException e) {
-            throw new IllegalStateException("The algorithm provided is not valid: " + ALGORITHM, e);
+            throw new IllegalStateException("The algorithm provided is not valid: " + algorithm, e);
         } catch (InvalidKeyException e) {
-            throw new IllegalStateException("The calculated SecretKey is not valid for algorithm: " + ALGORITHM, e);
+            throw new IllegalStateException("The calculated SecretKey is not valid for algorithm: " + algorithm, e);
+        }
+
+        if (macs.size() >= MAX_MACS_PER_THREAD) {
+            macs.clear();
+        }
+        macs.put(key, mac);
+
+        return mac;
+    }
+
+    private static final class SigningKey {
+
+        private final byte[] bytes;
+        private final SecretKeySpec keySpec;
+
+        private SigningKey(byte[] bytes, SecretKeySpec keySpec) {
+            this.bytes = bytes;
+            this.keySpec = keySpec;
         }
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.jwt.signer;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SignatureException;
+import io.jsonwebtoken.impl.DefaultJwtBuilder;
+import io.jsonwebtoken.impl.crypto.DefaultJwtSigner;
+import io.jsonwebtoken.impl.crypto.DefaultSignerFactory;
+import io.jsonwebtoken.impl.crypto.JwtSigner;
+import io.jsonwebtoken.impl.crypto.MacSigner;
+import io.jsonwebtoken.impl.crypto.Signer;
+import io.jsonwebtoken.impl.crypto.SignerFactory;
+
+import javax.crypto.Mac;
+import java.security.Key;
+
+/**
+ * A {@code JwtBuilder} that signs HMAC tokens with the calling thread's {@link HmacGenerator#getMac(String, Key)
+ * cached Mac} instead of creating and initializing a new {@code Mac} for every token.  The compact JWT it produces is
+ * identical to the one produced by {@code Jwts.builder()}.  RSA and Elliptic Curve signatures are delegated to the
+ * default jjwt signers.
+ *
+ * @since 1.0.RC8.1
+ */
+public class ReusableMacJwtBuilder extends DefaultJwtBuilder {
+
+    private static final SignerFactory SIGNER_FACTORY = new SignerFactory() {
+        @Override
+        public Signer createSigner(SignatureAlgorithm alg, Key key) {
+            if (alg.isHmac()) {
+                return new ReusableMacSigner(alg, key);
+            }
+            return DefaultSignerFactory.INSTANCE.createSigner(alg, key);
+        }
+    };
+
+    @Override
+    protected JwtSigner createSigner(SignatureAlgorithm alg, Key key) {
+        return new DefaultJwtSigner(SIGNER_FACTORY, alg, key);
+    }
+
+    private static class ReusableMacSigner extends MacSigner {
+
+        private final String jcaName;
+        private final Key signingKey;
+
+        private ReusableMacSigner(SignatureAlgorithm alg, Key key) {
+            super(alg, key);
+            this.jcaName = alg.getJcaName();
+            this.signingKey = key;
+        }
+
+        @Override
+        protected Mac doGetMacInstance() {
+            try {
+                return HmacGenerator.getMac(jcaName, signingKey);
+            } catch (IllegalStateException e) {
+                throw new SignatureException(e.getMessage(), e.getCause());
+            }
+        }
+    }
+}
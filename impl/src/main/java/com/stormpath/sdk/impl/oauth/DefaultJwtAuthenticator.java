@@ -15,17 +15,24 @@
 */
 package com.stormpath.sdk.impl.oauth;
 
-import com.stormpath.sdk.account.Account;
 import com.stormpath.sdk.application.Application;
+import com.stormpath.sdk.cache.Cache;
 import com.stormpath.sdk.ds.DataStore;
 import com.stormpath.sdk.impl.account.DefaultAccount;
+import com.stormpath.sdk.impl.resource.AbstractResource;
+import com.stormpath.sdk.impl.util.Base64;
 import com.stormpath.sdk.oauth.JwtAuthenticationResult;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.oauth.*;
+import com.stormpath.sdk.resource.Resource;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.Jwts;
 
+import java.io.UnsupportedEncodingException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -38,8 +45,25 @@ public class DefaultJwtAuthenticator extends AbstractOauth2Authenticator impleme
     protected final static String OAUTH_TOKEN_PATH = "/authTokens/";
     protected final static String ACCESS_TOKEN_PATH = "/accessTokens/";
 
+    /**
+     * The name of the cache region that retains locally verified tokens, keyed by the digest of their compact JWT
+     * string.  The region belongs to the client's cache manager, so that it is shared by every authenticator created
+     * for the client's applications, and its entries are only honored until the token's expiration.
+     *
+     * @since 1.0.RC8.1
+     */
+    public static final String VERIFIED_TOKENS_CACHE_REGION_NAME = DefaultJwtAuthenticator.class.getName() + ".verifiedTokens";
+
+    private static final String ACCESS_TOKEN_HREF = "accessTokenHref";
+    private static final String ACCOUNT_HREF = "accountHref";
+    private static final String APPLICATION_HREF = "applicationHref";
+    private static final String EXPIRES_AT = "expiresAt";
+
     protected Boolean isLocalValidation = false;
 
+    private volatile byte[] signingKey;
+    private volatile String tenantHref;
+
     public DefaultJwtAuthenticator(Application application, DataStore dataStore) {
         super(application, dataStore);
     }
@@ -57,46 +81,166 @@ public class DefaultJwtAuthenticator extends AbstractOauth2Authenticator impleme
         JwtAuthenticationRequest jwtRequest = (JwtAuthenticationRequest) authenticationRequest;
 
         if (this.isLocalValidation) {
-            String apiKeySecret = dataStore.getApiKey().getSecret();
+            return authenticateLocally(jwtRequest.getJwt());
+        }
+
+        StringBuilder stringBuilder = new StringBuilder(application.getHref());
+        stringBuilder.append(OAUTH_TOKEN_PATH);
+        stringBuilder.append(jwtRequest.getJwt());
+        AccessToken accessToken = dataStore.getResource(stringBuilder.toString(), AccessToken.class);
+        JwtAuthenticationResultBuilder builder = new DefaultJwtAuthenticationResultBuilder(accessToken);
+        return builder.build();
+    }
+
+    /**
+     * Validates the specified JWT without communicating with Stormpath.  The account and tenant of the returned
+     * result are link references that are only resolved when they are first accessed, and tokens that have already
+     * been verified are served from the {@link #VERIFIED_TOKENS_CACHE_REGION_NAME} cache region until they expire, so
+     * this method never sends a request to the server.
+     *
+     * @since 1.0.RC8.1
+     */
+    protected JwtAuthenticationResult authenticateLocally(String jwt) {
+
+        //only looked up once local validation is used, remote validation has no use for it:
+        Cache<String, Map<String, ?>> verifiedTokens = dataStore.getCacheResolver().getCache(VERIFIED_TOKENS_CACHE_REGION_NAME);
+        String key = digest(jwt);
+
+        VerifiedToken token = VerifiedToken.fromMap(verifiedTokens.get(key));
+        if (token != null && token.isExpired()) {
+            verifiedTokens.remove(key);
+            token = null;
+        }
+
+        //a token is only verified for the application that issued it:
+        if (token == null || !token.applicationHref.equals(application.getHref())) {
             try {
+                token = verify(jwt);
+            } catch (Exception e) {
+                throw new JwtException("JWT failed validation; it cannot be trusted.");
+            }
+            verifiedTokens.put(key, token.toMap());
+        }
 
-                // During parsing, the JWT is validated for expiration, signature and tampering
-                Claims claims = Jwts.parser()
-                        .setSigningKey(apiKeySecret.getBytes("UTF-8"))
-                        .parseClaimsJws(jwtRequest.getJwt()).getBody();
-                Assert.isTrue(claims.getIssuer().equals(application.getHref()));
+        Map<String, Object> properties = new HashMap<String, Object>();
+        properties.put(DefaultAccount.HREF_PROP_NAME, token.accessTokenHref);
+        properties.put(DefaultAccessToken.ACCOUNT_PROP_NAME, link(token.accountHref));
+        properties.put(DefaultAccessToken.APPLICATION_PROP_NAME, application);
+        properties.put(DefaultAccessToken.JWT_PROP_NAME, jwt);
+        properties.put(DefaultAccessToken.TENANT_PROP_NAME, link(getTenantHref()));
 
-                Map<String, Object> properties = new HashMap<String, Object>();
+        AccessToken accessToken = new DefaultAccessToken(dataStore, properties);
 
-                Account account = dataStore.getResource(claims.getSubject(), Account.class);
+        //the result builder's assertions would resolve the account and tenant references, so they are bypassed here:
+        //verify() has already ensured that every value is present.
+        return new DefaultJwtAuthenticationResult(accessToken);
+    }
 
-                String accessTokenHref = application.getHref().replace(APPLICATION_PATH, ACCESS_TOKEN_PATH);
-                int accessTokenIdStartingPoint = accessTokenHref.lastIndexOf("/") + 1;
-                accessTokenHref = accessTokenHref.substring(0, accessTokenIdStartingPoint);
-                accessTokenHref = accessTokenHref + claims.getId();
+    private VerifiedToken verify(String jwt) throws Exception {
 
-                properties.put(DefaultAccount.HREF_PROP_NAME, accessTokenHref);
-                properties.put(DefaultAccessToken.ACCOUNT_PROP_NAME, account);
-                properties.put(DefaultAccessToken.APPLICATION_PROP_NAME, application);
-                properties.put(DefaultAccessToken.JWT_PROP_NAME, jwtRequest.getJwt());
-                properties.put(DefaultAccessToken.TENANT_PROP_NAME, application.getTenant());
+        // During parsing, the JWT is validated for expiration, signature and tampering
+        Claims claims = Jwts.parser()
+                .setSigningKey(getSigningKey())
+                .parseClaimsJws(jwt).getBody();
+        Assert.isTrue(claims.getIssuer().equals(application.getHref()));
+        Assert.hasText(claims.getSubject());
 
-                AccessToken accessToken = new DefaultAccessToken(dataStore, properties);
+        String accessTokenHref = application.getHref().replace(APPLICATION_PATH, ACCESS_TOKEN_PATH);
+        int accessTokenIdStartingPoint = accessTokenHref.lastIndexOf("/") + 1;
+        accessTokenHref = accessTokenHref.substring(0, accessTokenIdStartingPoint);
+        accessTokenHref = accessTokenHref + claims.getId();
 
-                JwtAuthenticationResultBuilder builder = new DefaultJwtAuthenticationResultBuilder(accessToken);
-                return builder.build();
+        Date expiration = claims.getExpiration();
+        long expiresAt = expiration != null ? expiration.getTime() : Long.MAX_VALUE;
 
-            } catch (Exception e) {
-                throw new JwtException("JWT failed validation; it cannot be trusted.");
+        return new VerifiedToken(application.getHref(), accessTokenHref, claims.getSubject(), expiresAt);
+    }
+
+    private byte[] getSigningKey() throws Exception {
+        byte[] key = this.signingKey;
+        if (key == null) {
+            key = dataStore.getApiKey().getSecret().getBytes("UTF-8");
+            this.signingKey = key;
+        }
+        return key;
+    }
+
+    private String getTenantHref() {
+        String href = this.tenantHref;
+        if (href == null) {
+            Object tenant = application instanceof AbstractResource ?
+                    ((AbstractResource) application).getProperty(DefaultAccessToken.TENANT_PROP_NAME) : null;
+            if (tenant instanceof Map) {
+                href = (String) ((Map) tenant).get(AbstractResource.HREF_PROP_NAME);
+            } else if (tenant instanceof Resource) {
+                href = ((Resource) tenant).getHref();
+            } else {
+                href = application.getTenant().getHref();
             }
+            this.tenantHref = href;
         }
+        return href;
+    }
 
-        StringBuilder stringBuilder = new StringBuilder(application.getHref());
-        stringBuilder.append(OAUTH_TOKEN_PATH);
-        stringBuilder.append(jwtRequest.getJwt());
-        AccessToken accessToken = dataStore.getResource(stringBuilder.toString(), AccessToken.class);
-        JwtAuthenticationResultBuilder builder = new DefaultJwtAuthenticationResultBuilder(accessToken);
-        return builder.build();
+    private static Map<String, Object> link(String href) {
+        Map<String, Object> link = new HashMap<String, Object>(1);
+        link.put(AbstractResource.HREF_PROP_NAME, href);
+        return link;
+    }
+
+    private static String digest(String jwt) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            return Base64.encodeBase64URLSafeString(md.digest(jwt.getBytes("UTF-8")));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Unable to compute the JWT digest: " + e.getMessage(), e);
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("Unable to compute the JWT digest: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The immutable outcome of verifying a token locally.  It is cached as a plain map so that any cache
+     * implementation can retain it.
+     *
+     * @since 1.0.RC8.1
+     */
+    private static final class VerifiedToken {
+
+        private final String applicationHref;
+        private final String accessTokenHref;
+        private final String accountHref;
+        private final long expiresAt;
+
+        private VerifiedToken(String applicationHref, String accessTokenHref, String accountHref, long expiresAt) {
+            this.applicationHref = applicationHref;
+            this.accessTokenHref = accessTokenHref;
+            this.accountHref = accountHref;
+            this.expiresAt = expiresAt;
+        }
+
+        private static VerifiedToken fromMap(Map<String, ?> map) {
+            if (map == null || !(map.get(APPLICATION_HREF) instanceof String) ||
+                !(map.get(ACCESS_TOKEN_HREF) instanceof String) || !(map.get(ACCOUNT_HREF) instanceof String) ||
+                !(map.get(EXPIRES_AT) instanceof Number)) {
+                return null;
+            }
+            return new VerifiedToken((String) map.get(APPLICATION_HREF), (String) map.get(ACCESS_TOKEN_HREF),
+                    (String) map.get(ACCOUNT_HREF), ((Number) map.get(EXPIRES_AT)).longValue());
+        }
+
+        private Map<String, ?> toMap() {
+            Map<String, Object> map = new HashMap<String, Object>(4);
+            map.put(APPLICATION_HREF, applicationHref);
+            map.put(ACCESS_TOKEN_HREF, accessTokenHref);
+            map.put(ACCOUNT_HREF, accountHref);
+            map.put(EXPIRES_AT, expiresAt);
+            return map;
+        }
+
+        private boolean isExpired() {
+            return System.currentTimeMillis() >= expiresAt;
+        }
     }
 
 }
@@ -41,17 +41,9 @@ public abstract class AbstractExtendableInstanceResource extends AbstractInstanc
     }
 
     protected AbstractExtendableInstanceResource(InternalDataStore dataStore, Map<String, Object> properties) {
-        super(dataStore);
-
-        //@since 1.0.0
-        if (properties != null && properties.containsKey(CUSTOM_DATA.getName())) {
-            Object object = properties.get(CUSTOM_DATA.getName());
-            Assert.isInstanceOf(Map.class, object);
-            CustomData customData = getDataStore()
-                .instantiate(CustomData.class, (Map<String, Object>) properties.get(CUSTOM_DATA.getName()));
-            properties.put(CUSTOM_DATA.getName(), customData);
-        }
-        setProperties(properties);
+        //the properties may be a shared, immutable cache entry, so they are adopted as-is: an expanded customData map
+        //is only converted into a CustomData instance when it is first accessed, see getCustomData()
+        super(dataStore, properties);
     }
 
     /**
@@ -67,6 +59,11 @@ public abstract class AbstractExtendableInstanceResource extends AbstractInstanc
         return isInstanceResource(props) && props.get(CUSTOM_DATA.getName()) instanceof Map;
     }
 
+    /**
+     * Returns this resource's custom data.  The CustomData instance is created lazily from the (possibly expanded)
+     * {@code customData} property on first access and retained by this resource instance only, never written back
+     * into the underlying property data.
+     */
     @Override
     public CustomData getCustomData() {
         if (isNew() && getResourceProperty(CUSTOM_DATA) == null) {
@@ -15,9 +15,9 @@
  */
 package com.stormpath.sdk.impl.resource;
 
-import com.fasterxml.jackson.databind.util.ISO8601DateFormat;
 import com.stormpath.sdk.impl.ds.Enlistment;
 import com.stormpath.sdk.impl.ds.InternalDataStore;
+import com.stormpath.sdk.impl.util.Iso8601Dates;
 import com.stormpath.sdk.lang.Assert;
 import com.stormpath.sdk.lang.Strings;
 import com.stormpath.sdk.resource.CollectionResource;
@@ -25,7 +25,6 @@ import com.stormpath.sdk.resource.Resource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.DateFormat;
 import java.text.ParseException;
 import java.util.*;
 import java.util.concurrent.locks.Lock;
@@ -33,26 +32,49 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
+ * Base class for all resources.
+ * <p/>
+ * Property state is kept in copy-on-write snapshots: the {@link #properties}, {@link #dirtyProperties} and
+ * {@link #deletedPropertyNames} references are never mutated once published - writers, serialized by the
+ * {@link #writeLock write lock}, replace them with modified copies instead.  Subclasses must do the same and must not
+ * modify these maps directly.  Reads therefore never acquire a lock, which matters for the read-mostly resources served
+ * from the cache.  Dirty tracking state starts out as shared empty instances and is only allocated once a property is
+ * actually modified, so a resource backed by a cached (immutable) property snapshot never copies that snapshot until
+ * its first write.
+ *
  * @since 0.1
  */
 public abstract class AbstractResource implements Resource {
 
     private static final Logger log = LoggerFactory.getLogger(AbstractResource.class);
 
-    private static final DateFormat dateFormatter = new ISO8601DateFormat();
-
     public static final String HREF_PROP_NAME = "href";
 
-    protected Map<String, Object> properties;       //Protected by read/write lock
-    protected final Map<String, Object> dirtyProperties;  //Protected by read/write lock
-    protected final Set<String> deletedPropertyNames;     //Protected by read/write lock
-    private final InternalDataStore dataStore;
+    //stateless, safe to share across all resources:
+    private static final ReferenceFactory REFERENCE_FACTORY = new ReferenceFactory();
+
+    protected volatile Map<String, Object> properties;        //Copy-on-write, replaced under the write lock
+    protected volatile Map<String, Object> dirtyProperties;   //Copy-on-write, replaced under the write lock
+    protected volatile Set<String> deletedPropertyNames;      //Copy-on-write, replaced under the write lock
+
+    /**
+     * Reads no longer acquire this lock.  Holding it still excludes writers, so subclasses that hold it across several
+     * reads continue to see a consistent state.
+     *
+     * @deprecated reads are lock-free; read the copy-on-write fields once into local variables for a consistent
+     * snapshot instead.  This field will be removed in a future release.
+     */
+    @Deprecated
     protected final Lock readLock;
     protected final Lock writeLock;
+    private final InternalDataStore dataStore;
 
     private volatile boolean materialized;
     protected volatile boolean dirty;
 
+    //the most recently parsed date property value.  A single slot keeps every resource instance small.
+    private volatile ParsedDate parsedDate;
+
     protected final ReferenceFactory referenceFactory;
 
     protected AbstractResource(InternalDataStore dataStore) {
@@ -60,17 +82,17 @@ public abstract class AbstractResource implements Resource {
     }
 
     protected AbstractResource(InternalDataStore dataStore, Map<String, Object> properties) {
-        this.referenceFactory = new ReferenceFactory();
+        this.referenceFactory = REFERENCE_FACTORY;
+        this.dataStore = dataStore;
         ReadWriteLock rwl = new ReentrantReadWriteLock();
         this.readLock = rwl.readLock();
         this.writeLock = rwl.writeLock();
-        this.dataStore = dataStore;
-        this.dirtyProperties = new LinkedHashMap<String, Object>();
-        this.deletedPropertyNames = new HashSet<String>();
+        this.dirtyProperties = Collections.emptyMap();
+        this.deletedPropertyNames = Collections.emptySet();
         if (properties instanceof Enlistment) {
             this.properties = properties;
         } else {
-            this.properties = new LinkedHashMap<String, Object>();
+            this.properties = Collections.emptyMap();
         }
         setProperties(properties);
     }
@@ -102,12 +124,11 @@ public abstract class AbstractResource implements Resource {
     public final void setProperties(Map<String, Object> properties) {
         writeLock.lock();
         try {
-            this.dirtyProperties.clear();
+            this.dirtyProperties = Collections.emptyMap();
             this.dirty = false;
             if(properties != null && !properties.isEmpty()) {
                 if(this.properties instanceof Enlistment && this.properties != properties) {
-                    this.properties.clear();
-                    this.properties.putAll(properties);
+                    ((Enlistment) this.properties).setProperties(properties);
                 } else {
                     this.properties = properties;
                 }
@@ -166,18 +187,24 @@ public abstract class AbstractResource implements Resource {
         AbstractResource resource = dataStore.getResource(getHref(), getClass());
         writeLock.lock();
         try {
-            if (this.properties != resource.properties) {
-                if (! (this.properties instanceof Enlistment)) {
-                    this.properties = resource.properties;
-                } else {
-                    this.properties.clear();
-                    this.properties.putAll(resource.properties);
+            Map<String, Object> dirtyProps = this.dirtyProperties;
+
+            if (this.properties instanceof Enlistment) {
+                Enlistment enlistment = (Enlistment) this.properties;
+                if (enlistment != resource.properties) {
+                    enlistment.setProperties(resource.properties);
                 }
+                //retain dirty properties:
+                enlistment.putAll(dirtyProps);
+            } else if (dirtyProps.isEmpty()) {
+                this.properties = resource.properties;
+            } else {
+                //retain dirty properties without modifying the (possibly shared) materialized data:
+                Map<String, Object> props = new LinkedHashMap<String, Object>(resource.properties);
+                props.putAll(dirtyProps);
+                this.properties = props;
             }
 
-            //retain dirty properties:
-            this.properties.putAll(this.dirtyProperties);
-
             this.materialized = true;
         } finally {
             writeLock.unlock();
@@ -185,32 +212,15 @@ public abstract class AbstractResource implements Resource {
     }
 
     public Set<String> getPropertyNames() {
-        readLock.lock();
-        try {
-            Set<String> keys = this.properties.keySet();
-            return new LinkedHashSet<String>(keys);
-        } finally {
-            readLock.unlock();
-        }
+        return new LinkedHashSet<String>(this.properties.keySet());
     }
 
     public Set<String> getUpdatedPropertyNames() {
-        readLock.lock();
-        try {
-            Set<String> keys = this.dirtyProperties.keySet();
-            return new LinkedHashSet<String>(keys);
-        } finally {
-            readLock.unlock();
-        }
+        return new LinkedHashSet<String>(this.dirtyProperties.keySet());
     }
 
     protected Set<String> getDeletedPropertyNames() {
-        readLock.lock();
-        try {
-            return new LinkedHashSet<String>(this.deletedPropertyNames);
-        } finally {
-            readLock.unlock();
-        }
+        return new LinkedHashSet<String>(this.deletedPropertyNames);
     }
 
     public Object getProperty(String name) {
@@ -220,13 +230,7 @@ public abstract class AbstractResource implements Resource {
 
                 //only materialize if the property hasn't been set previously (no need to execute a server
                 // request since we have the most recent value already):
-                boolean present = false;
-                readLock.lock();
-                try {
-                    present = this.dirtyProperties.containsKey(name);
-                } finally {
-                    readLock.unlock();
-                }
+                boolean present = this.dirtyProperties.containsKey(name);
 
                 if (!present) {
                     //exhausted present properties - we require a server call:
@@ -239,19 +243,15 @@ public abstract class AbstractResource implements Resource {
     }
 
     private Object readProperty(String name) {
-        readLock.lock();
-        try {
-            if(this.deletedPropertyNames.contains(name)){
-                return null;
-            }
-            Object value = this.dirtyProperties.get(name);
-            if(value == null) {
-                value = this.properties.get(name);
-            }
-            return value;
-        } finally {
-            readLock.unlock();
+        //lock-free: each field refers to a snapshot that is never modified once published
+        if(this.deletedPropertyNames.contains(name)){
+            return null;
         }
+        Object value = this.dirtyProperties.get(name);
+        if(value == null) {
+            value = this.properties.get(name);
+        }
+        return value;
     }
 
     /**
@@ -269,16 +269,21 @@ public abstract class AbstractResource implements Resource {
      * @since 0.6.0
      */
     protected Object setProperty(String name, Object value, final boolean dirty) {
-        writeLock.lock();
         Object previous;
+        writeLock.lock();
         try {
-            previous = this.dirtyProperties.put(name, value);
+            Map<String, Object> dirtyProps = new LinkedHashMap<String, Object>(this.dirtyProperties);
+            previous = dirtyProps.put(name, value);
             if(previous == null) {
                 previous = this.properties.get(name);
             }
+            //publish the new value before un-deleting it, so readers never see a stale value in between:
+            this.dirtyProperties = dirtyProps;
             this.dirty = true;
             if (this.deletedPropertyNames.contains(name)) {
-                this.deletedPropertyNames.remove(name);
+                Set<String> deleted = new LinkedHashSet<String>(this.deletedPropertyNames);
+                deleted.remove(name);
+                this.deletedPropertyNames = deleted;
             }
         } finally {
             writeLock.unlock();
@@ -286,6 +291,62 @@ public abstract class AbstractResource implements Resource {
         return previous;
     }
 
+    /**
+     * Marks the specified property as deleted, discarding any unsaved value that was set for it.
+     *
+     * @param name the name of the property to delete
+     * @return the discarded unsaved value, or {@code null} if there wasn't one
+     * @since 1.0.RC8.1
+     */
+    protected Object deleteProperty(String name) {
+        writeLock.lock();
+        try {
+            //hide the property before discarding its unsaved value, so readers never see a stale value in between:
+            if (!this.deletedPropertyNames.contains(name)) {
+                Set<String> deleted = new LinkedHashSet<String>(this.deletedPropertyNames);
+                deleted.add(name);
+                this.deletedPropertyNames = deleted;
+            }
+            Object previous = null;
+            if (this.dirtyProperties.containsKey(name)) {
+                Map<String, Object> dirtyProps = new LinkedHashMap<String, Object>(this.dirtyProperties);
+                previous = dirtyProps.remove(name);
+                this.dirtyProperties = dirtyProps;
+            }
+            this.dirty = true;
+            return previous;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the specified properties from this resource's data and from the set of deleted property names.  Called
+     * once the deletions have been propagated to the server.
+     *
+     * @param names the names of the properties that have been deleted on the server
+     * @since 1.0.RC8.1
+     */
+    protected void removeDeletedProperties(Collection<String> names) {
+        writeLock.lock();
+        try {
+            if (this.properties instanceof Enlistment) {
+                for (String name : names) {
+                    this.properties.remove(name);
+                }
+            } else {
+                Map<String, Object> props = new LinkedHashMap<String, Object>(this.properties);
+                props.keySet().removeAll(names);
+                this.properties = props;
+            }
+            Set<String> deleted = new LinkedHashSet<String>(this.deletedPropertyNames);
+            deleted.removeAll(names);
+            this.deletedPropertyNames = deleted.isEmpty() ? Collections.<String>emptySet() : deleted;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
 
     /**
      * @since 0.8
@@ -308,15 +369,45 @@ public abstract class AbstractResource implements Resource {
             return null;
         }
 
-        try {
-            return dateFormatter.parse(String.valueOf(value));
-        } catch (ParseException e) {
-            if (log.isErrorEnabled()) {
-                String msg = "Unabled to parse string '{}' into an date value.  Defaulting to null.";
-                log.error(msg, e);
+        String s = String.valueOf(value);
+
+        ParsedDate parsed = this.parsedDate;
+
+        //re-parse only if another property, or a changed value, was parsed last:
+        if (parsed == null || !parsed.name.equals(key.getName()) || !parsed.source.equals(s)) {
+            try {
+                parsed = new ParsedDate(key.getName(), s, Iso8601Dates.parseMillis(s));
+            } catch (ParseException e) {
+                if (log.isErrorEnabled()) {
+                    String msg = "Unabled to parse string '{}' into an date value.  Defaulting to null.";
+                    log.error(msg, s, e);
+                }
+                return null;
             }
+            //benign race: at worst a concurrent caller parses its value once more
+            this.parsedDate = parsed;
+        }
+
+        //Date instances are mutable, so each caller gets its own copy:
+        return new Date(parsed.time);
+    }
+
+    /**
+     * An ISO 8601 date property value and its parsed representation.
+     *
+     * @since 1.0.RC8.1
+     */
+    private static final class ParsedDate {
+
+        private final String name;
+        private final String source;
+        private final long time;
+
+        private ParsedDate(String name, String source, long time) {
+            this.name = name;
+            this.source = source;
+            this.time = time;
         }
-        return null;
     }
 
     /**
@@ -497,23 +588,18 @@ public abstract class AbstractResource implements Resource {
     }
 
     public String toString() {
-        readLock.lock();
-        try {
-            StringBuilder sb = new StringBuilder();
-            for (Map.Entry<String, Object> entry : this.properties.entrySet()) {
-                if (sb.length() > 0) {
-                    sb.append(", ");
-                }
-                String key = entry.getKey();
-                //prevent printing of any sensitive values:
-                if (isPrintableProperty(key)) {
-                    sb.append(key).append(": ").append(String.valueOf(entry.getValue()));
-                }
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Object> entry : this.properties.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append(", ");
+            }
+            String key = entry.getKey();
+            //prevent printing of any sensitive values:
+            if (isPrintableProperty(key)) {
+                sb.append(key).append(": ").append(String.valueOf(entry.getValue()));
             }
-            return sb.toString();
-        } finally {
-            readLock.unlock();
         }
+        return sb.toString();
     }
 
     /**
@@ -529,12 +615,8 @@ public abstract class AbstractResource implements Resource {
 
     @Override
     public int hashCode() {
-        readLock.lock();
-        try {
-            return this.properties.isEmpty() ? 0 : this.properties.hashCode();
-        } finally {
-            readLock.unlock();
-        }
+        Map<String, Object> props = this.properties;
+        return props.isEmpty() ? 0 : props.hashCode();
     }
 
     @Override
@@ -549,16 +631,6 @@ public abstract class AbstractResource implements Resource {
             return false;
         }
         AbstractResource other = (AbstractResource) o;
-        readLock.lock();
-        try {
-            other.readLock.lock();
-            try {
-                return this.properties.equals(other.properties);
-            } finally {
-                other.readLock.unlock();
-            }
-        } finally {
-            readLock.unlock();
-        }
+        return this.properties.equals(other.properties);
     }
 }
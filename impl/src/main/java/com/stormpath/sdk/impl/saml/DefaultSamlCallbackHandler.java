@@ -233,7 +233,7 @@ public class DefaultSamlCallbackHandler implements SamlCallbackHandler {
         ApiKey apiKey = dataStore.getApiKey();
 
         if (apiKey.getId().equals(jwtApiKeyId)) {
-            return new JwtSignatureValidator(apiKey);
+            return JwtSignatureValidator.forApiKey(apiKey);
         }
 
         throw new InvalidJwtException(InvalidJwtException.JWT_RESPONSE_INVALID_APIKEY_ID_ERROR);
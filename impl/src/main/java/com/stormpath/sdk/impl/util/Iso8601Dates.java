@@ -0,0 +1,272 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.util;
+
+import com.stormpath.sdk.lang.Assert;
+
+import java.text.ParseException;
+import java.util.Date;
+
+/**
+ * Immutable, thread-safe parser and formatter for the ISO 8601 timestamps used by the Stormpath REST API, for example
+ * {@code 2015-06-19T20:48:48.651Z}.
+ * <p/>
+ * Unlike {@link java.text.DateFormat} implementations, this class keeps no mutable state, so a single instance (or the
+ * static methods) may be used by any number of threads without synchronization.  Parsing computes the epoch offset
+ * arithmetically instead of through a {@link java.util.Calendar}, so the only object allocated per parsed timestamp is
+ * the resulting {@code Date}.
+ * <p/>
+ * Supported input formats are {@code yyyy-MM-dd}, optionally followed by {@code 'T'HH:mm}, optional {@code :ss},
+ * optional fractional seconds (only the first three digits are significant) and an optional time zone designator
+ * ({@code Z}, {@code +hh:mm}, {@code +hhmm} or {@code +hh}).  Timestamps without a time zone designator are
+ * interpreted as UTC.  Dates are computed using the proleptic Gregorian calendar.
+ *
+ * @since 1.0.RC8.1
+ */
+public final class Iso8601Dates {
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final long MILLIS_PER_MINUTE = 60 * MILLIS_PER_SECOND;
+    private static final long MILLIS_PER_HOUR = 60 * MILLIS_PER_MINUTE;
+    private static final long MILLIS_PER_DAY = 24 * MILLIS_PER_HOUR;
+
+    //number of days between 0000-03-01 and 1970-01-01:
+    private static final long EPOCH_DAY_OFFSET = 719468;
+    private static final long DAYS_PER_ERA = 146097;
+
+    private Iso8601Dates() {
+    }
+
+    /**
+     * Parses the specified ISO 8601 timestamp.
+     *
+     * @param s the timestamp to parse
+     * @return a new {@code Date} representing the timestamp
+     * @throws ParseException if the specified string is not a supported ISO 8601 timestamp
+     */
+    public static Date parse(String s) throws ParseException {
+        return new Date(parseMillis(s));
+    }
+
+    /**
+     * Parses the specified ISO 8601 timestamp into the number of milliseconds since the epoch.
+     *
+     * @param s the timestamp to parse
+     * @return the number of milliseconds between 1970-01-01T00:00:00Z and the timestamp
+     * @throws ParseException if the specified string is not a supported ISO 8601 timestamp
+     */
+    public static long parseMillis(String s) throws ParseException {
+
+        if (s == null) {
+            throw new ParseException("Timestamp cannot be null.", 0);
+        }
+
+        int len = s.length();
+
+        int year = digits(s, 0, 4);
+        expect(s, 4, '-');
+        int month = digits(s, 5, 2);
+        expect(s, 7, '-');
+        int day = digits(s, 8, 2);
+
+        if (month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            throw new ParseException("Invalid date in timestamp '" + s + "'.", 5);
+        }
+
+        long millis = daysFromCivil(year, month, day) * MILLIS_PER_DAY;
+
+        int i = 10;
+
+        if (i < len && s.charAt(i) == 'T') {
+
+            int hour = digits(s, 11, 2);
+            expect(s, 13, ':');
+            int minute = digits(s, 14, 2);
+            int second = 0;
+            int fraction = 0;
+            i = 16;
+
+            if (i < len && s.charAt(i) == ':') {
+                second = digits(s, 17, 2);
+                i = 19;
+
+                if (i < len && (s.charAt(i) == '.' || s.charAt(i) == ',')) {
+                    int start = ++i;
+                    int scale = 100;
+                    while (i < len && isDigit(s.charAt(i))) {
+                        if (scale > 0) {
+                            fraction += (s.charAt(i) - '0') * scale;
+                            scale /= 10;
+                        }
+                        i++;
+                    }
+                    if (i == start) {
+                        throw new ParseException("Missing fractional seconds in timestamp '" + s + "'.", i);
+                    }
+                }
+            }
+
+            if (hour > 23 || minute > 59 || second > 59) {
+                throw new ParseException("Invalid time in timestamp '" + s + "'.", 11);
+            }
+
+            millis += hour * MILLIS_PER_HOUR + minute * MILLIS_PER_MINUTE + second * MILLIS_PER_SECOND + fraction;
+        }
+
+        if (i < len) {
+            char c = s.charAt(i);
+            if (c == 'Z' && i + 1 == len) {
+                return millis;
+            }
+            if ((c == '+' || c == '-') && (len == i + 3 || len == i + 5 || len == i + 6)) {
+                int offsetHours = digits(s, i + 1, 2);
+                int offsetMinutes = 0;
+                if (len == i + 6) {
+                    expect(s, i + 3, ':');
+                    offsetMinutes = digits(s, i + 4, 2);
+                } else if (len == i + 5) {
+                    offsetMinutes = digits(s, i + 3, 2);
+                }
+                if (offsetHours > 23 || offsetMinutes > 59) {
+                    throw new ParseException("Invalid time zone offset in timestamp '" + s + "'.", i);
+                }
+                long offset = offsetHours * MILLIS_PER_HOUR + offsetMinutes * MILLIS_PER_MINUTE;
+                return c == '+' ? millis - offset : millis + offset;
+            }
+            throw new ParseException("Unexpected character '" + c + "' in timestamp '" + s + "'.", i);
+        }
+
+        return millis;
+    }
+
+    /**
+     * Formats the specified date as a UTC timestamp with millisecond precision, for example
+     * {@code 2015-06-19T20:48:48.651Z}.
+     *
+     * @param date the date to format
+     * @return the formatted timestamp
+     * @throws IllegalArgumentException if the date is null or its year is not between 0 and 9999.
+     */
+    public static String format(Date date) {
+        Assert.notNull(date, "date cannot be null.");
+        return format(date.getTime());
+    }
+
+    /**
+     * Formats the specified number of milliseconds since the epoch as a UTC timestamp with millisecond precision,
+     * for example {@code 2015-06-19T20:48:48.651Z}.
+     *
+     * @param millis the number of milliseconds since 1970-01-01T00:00:00Z
+     * @return the formatted timestamp
+     * @throws IllegalArgumentException if the timestamp's year is not between 0 and 9999.
+     */
+    public static String format(long millis) {
+
+        long days = floorDiv(millis, MILLIS_PER_DAY);
+        long millisOfDay = millis - days * MILLIS_PER_DAY;
+
+        //civil date from days since the epoch:
+        long z = days + EPOCH_DAY_OFFSET;
+        long era = (z >= 0 ? z : z - (DAYS_PER_ERA - 1)) / DAYS_PER_ERA;
+        long dayOfEra = z - era * DAYS_PER_ERA;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        Assert.isTrue(year >= 0 && year <= 9999, "Only years between 0 and 9999 can be formatted.");
+
+        char[] buf = new char[24];
+        write(buf, 0, (int) year, 4);
+        buf[4] = '-';
+        write(buf, 5, month, 2);
+        buf[7] = '-';
+        write(buf, 8, day, 2);
+        buf[10] = 'T';
+        write(buf, 11, (int) (millisOfDay / MILLIS_PER_HOUR), 2);
+        buf[13] = ':';
+        write(buf, 14, (int) (millisOfDay % MILLIS_PER_HOUR / MILLIS_PER_MINUTE), 2);
+        buf[16] = ':';
+        write(buf, 17, (int) (millisOfDay % MILLIS_PER_MINUTE / MILLIS_PER_SECOND), 2);
+        buf[19] = '.';
+        write(buf, 20, (int) (millisOfDay % MILLIS_PER_SECOND), 3);
+        buf[23] = 'Z';
+        return new String(buf);
+    }
+
+    private static long daysFromCivil(int year, int month, int day) {
+        int y = month <= 2 ? year - 1 : year;
+        long era = (y >= 0 ? y : y - 399) / 400;
+        long yearOfEra = y - era * 400;
+        long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - EPOCH_DAY_OFFSET;
+    }
+
+    private static int daysInMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+                return leap ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        return (x % y != 0 && ((x ^ y) < 0)) ? q - 1 : q;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int digits(String s, int start, int count) throws ParseException {
+        if (s.length() < start + count) {
+            throw new ParseException("Timestamp '" + s + "' is too short.", s.length());
+        }
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) {
+                throw new ParseException("Expected a digit at position " + i + " of timestamp '" + s + "'.", i);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static void expect(String s, int index, char expected) throws ParseException {
+        if (s.length() <= index || s.charAt(index) != expected) {
+            throw new ParseException("Expected '" + expected + "' at position " + index + " of timestamp '" + s + "'.", index);
+        }
+    }
+
+    private static void write(char[] buf, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
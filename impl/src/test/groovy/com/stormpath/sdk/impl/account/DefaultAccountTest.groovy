@@ -21,11 +21,15 @@ import com.stormpath.sdk.account.EmailVerificationToken
 import com.stormpath.sdk.api.ApiKeyList
 import com.stormpath.sdk.application.ApplicationCriteria
 import com.stormpath.sdk.application.ApplicationList
+import com.stormpath.sdk.cache.Caches
 import com.stormpath.sdk.directory.CustomData
 import com.stormpath.sdk.directory.Directory
 import com.stormpath.sdk.group.*
 import com.stormpath.sdk.impl.directory.DefaultDirectory
+import com.stormpath.sdk.impl.ds.DefaultCacheRegionNameResolver
+import com.stormpath.sdk.impl.ds.cache.DefaultCacheResolver
 import com.stormpath.sdk.impl.ds.InternalDataStore
+import com.stormpath.sdk.impl.group.DefaultGroup
 import com.stormpath.sdk.impl.group.DefaultGroupList
 import com.stormpath.sdk.impl.group.DefaultGroupMembership
 import com.stormpath.sdk.impl.group.DefaultGroupMembershipList
@@ -84,6 +88,38 @@ class DefaultAccountTest {
         assertTrue(propertyDescriptors.get("refreshTokens") instanceof CollectionReference && propertyDescriptors.get("refreshTokens").getType().equals(RefreshTokenList))
     }
 
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testAdoptsCachedDataWithExpandedCustomDataUnmodified() {
+
+        def href = 'https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf'
+        def customDataProps = Collections.unmodifiableMap([href: href + '/customData', favoriteColor: 'red'])
+        def props = Collections.unmodifiableMap([href: href, username: 'jsmith', customData: customDataProps])
+        def original = new LinkedHashMap(props)
+
+        def internalDataStore = createStrictMock(InternalDataStore)
+        def customData = createStrictMock(CustomData)
+
+        expect(internalDataStore.instantiate(CustomData, customDataProps)).andReturn(customData)
+
+        replay internalDataStore, customData
+
+        def account = new DefaultAccount(internalDataStore, props)
+
+        //the cached map is adopted as-is, not copied or modified:
+        assertSame account.@properties, props
+        assertEquals props, original
+
+        assertSame account.getCustomData(), customData
+        assertSame account.getCustomData(), customData //resolved once
+        assertEquals props, original
+        assertSame props.customData, customDataProps
+
+        verify internalDataStore, customData
+    }
+
     @Test
     void testMethods() {
 
@@ -210,76 +246,34 @@ class DefaultAccountTest {
         def groupName = "fooName"
         def groupHref = "https://api.stormpath.com/v1/groups/7frJxiVEfZB9NaXw5vLvCA"
         def groupValues = [href: groupHref, name: groupName]
+        def membershipValues = [href: "https://api.stormpath.com/v1/groupMemberships/4kbIWi4EbZ1VCB1Rr4ZmJ2",
+                                account: [href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf"],
+                                group: groupValues]
 
         def properties = [href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf",
-                groups: [
-                        href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf/groups",
-                        items: [
-                                groupValues
-                        ],
-                        limit: 25,
-                        offset: 0
-                ],
+                groupMemberships: [href: "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf/groupMemberships"]
         ]
-
+        def membershipsPage = [href: properties.groupMemberships.href, offset: 0, limit: 100, size: 1,
+                               items: [membershipValues]]
+        def query = [expand: "group", limit: 100]
 
         def internalDataStore = createStrictMock(InternalDataStore)
+        def cacheResolver = new DefaultCacheResolver(Caches.newCacheManager().build(), new DefaultCacheRegionNameResolver())
         def defaultAccount = new DefaultAccount(internalDataStore, properties)
-        def mockGroup = createStrictMock(Group)
 
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-        expect(mockGroup.getName()).andReturn(properties.groups.items.get(0).name)
-        expect(mockGroup.getHref()).andReturn(properties.groups.items.get(0).href)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
-
-        expect(internalDataStore.instantiate(GroupList, properties.groups)).andReturn(new DefaultGroupList(internalDataStore, properties.groups))
-        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(mockGroup)
+        //the index is loaded with a single expanded request and cached - subsequent lookups don't hit the data store:
+        expect(internalDataStore.instantiate(GroupMembershipList, properties.groupMemberships)).andReturn(new DefaultGroupMembershipList(internalDataStore, properties.groupMemberships))
+        expect(internalDataStore.getCacheResolver()).andReturn(cacheResolver)
+        expect(internalDataStore.getResource(properties.groupMemberships.href, GroupMembershipList, query)).andReturn(new DefaultGroupMembershipList(internalDataStore, membershipsPage, query))
+        expect(internalDataStore.instantiate(GroupMembership, membershipValues)).andReturn(new DefaultGroupMembership(internalDataStore, membershipValues))
+        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(new DefaultGroup(internalDataStore, groupValues))
+
+        for (int i = 0; i < 10; i++) {
+            expect(internalDataStore.instantiate(GroupMembershipList, properties.groupMemberships)).andReturn(new DefaultGroupMembershipList(internalDataStore, properties.groupMemberships))
+            expect(internalDataStore.getCacheResolver()).andReturn(cacheResolver)
+        }
 
-        replay internalDataStore, mockGroup
+        replay internalDataStore
 
         assertFalse(defaultAccount.isMemberOfGroup(groupName.substring(0, groupName.length()-2) + "*")) //fooNa*
         assertFalse(defaultAccount.isMemberOfGroup("*" + groupName.toUpperCase() + "*")) //*FOONAME*
@@ -295,9 +289,62 @@ class DefaultAccountTest {
         assertFalse(defaultAccount.isMemberOfGroup(groupHref.substring(0, groupHref.length() - 1) + "*")) //href having last character replaced by wildcard
         assertFalse(defaultAccount.isMemberOfGroup(groupHref.substring(1, groupHref.length()))) //href having first character removed
 
-        verify internalDataStore, mockGroup
+        verify internalDataStore
     }
 
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testRemoveGroupUsesMembershipIndex() {
+
+        def accountHref = "https://api.stormpath.com/v1/accounts/iouertnw48ufsjnsDFSf"
+        def membershipsHref = accountHref + "/groupMemberships"
+        def membershipHref = "https://api.stormpath.com/v1/groupMemberships/4kbIWi4EbZ1VCB1Rr4ZmJ2"
+        def groupValues = [href: "https://api.stormpath.com/v1/groups/7frJxiVEfZB9NaXw5vLvCA", name: "fooName"]
+        def membershipValues = [href: membershipHref, group: groupValues]
+        def query = [expand: "group", limit: 100]
+
+        def internalDataStore = createStrictMock(InternalDataStore)
+        def membership = createStrictMock(GroupMembership)
+        def cacheResolver = new DefaultCacheResolver(Caches.newCacheManager().build(), new DefaultCacheRegionNameResolver())
+        def defaultAccount = new DefaultAccount(internalDataStore, [href: accountHref, groupMemberships: [href: membershipsHref]])
+
+        expect(internalDataStore.instantiate(GroupMembershipList, [href: membershipsHref])).andReturn(new DefaultGroupMembershipList(internalDataStore, [href: membershipsHref]))
+        expect(internalDataStore.getCacheResolver()).andReturn(cacheResolver)
+        expect(internalDataStore.getResource(membershipsHref, GroupMembershipList, query)).andReturn(new DefaultGroupMembershipList(internalDataStore, [href: membershipsHref, offset: 0, limit: 100, size: 1, items: [membershipValues]], query))
+        expect(internalDataStore.instantiate(GroupMembership, membershipValues)).andReturn(new DefaultGroupMembership(internalDataStore, membershipValues))
+        expect(internalDataStore.instantiate(Group, groupValues)).andReturn(new DefaultGroup(internalDataStore, groupValues))
+
+        expect(internalDataStore.instantiate(GroupMembershipList, [href: membershipsHref])).andReturn(new DefaultGroupMembershipList(internalDataStore, [href: membershipsHref]))
+        expect(internalDataStore.getCacheResolver()).andReturn(cacheResolver)
+        expect(internalDataStore.instantiate(GroupMembership, [href: membershipHref])).andReturn(membership)
+        expect(membership.delete())
+
+        expect(internalDataStore.instantiate(GroupMembershipList, [href: membershipsHref])).andReturn(new DefaultGroupMembershipList(internalDataStore, [href: membershipsHref]))
+        expect(internalDataStore.getCacheResolver()).andReturn(cacheResolver)
+
+        replay internalDataStore, membership
+
+        //names are matched exactly, as a differently cased name may belong to another group:
+        try {
+            defaultAccount.removeGroup("FOONAME")
+            fail("should have thrown")
+        } catch (IllegalStateException e) {
+            assertEquals e.getMessage(), "This account does not belong to the specified group."
+        }
+
+        assertSame defaultAccount.removeGroup("fooName"), defaultAccount
+
+        try {
+            defaultAccount.removeGroup("bar")
+            fail("should have thrown")
+        } catch (IllegalStateException e) {
+            assertEquals e.getMessage(), "This account does not belong to the specified group."
+        }
+
+        verify internalDataStore, membership
+    }
 
     @Test
     void testMissingProviderDataHref() {
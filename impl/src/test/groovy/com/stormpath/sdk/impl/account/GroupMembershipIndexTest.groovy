@@ -0,0 +1,210 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.account
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.api.ApiKey
+import com.stormpath.sdk.cache.Caches
+import com.stormpath.sdk.group.Group
+import com.stormpath.sdk.http.HttpMethod
+import com.stormpath.sdk.impl.ds.DefaultDataStore
+import com.stormpath.sdk.impl.ds.JacksonMapMarshaller
+import com.stormpath.sdk.impl.http.MediaType
+import com.stormpath.sdk.impl.http.Request
+import com.stormpath.sdk.impl.http.RequestExecutor
+import com.stormpath.sdk.impl.http.support.DefaultResponse
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class GroupMembershipIndexTest {
+
+    static final String BASE_URL = 'https://api.stormpath.com/v1'
+    static final String ACCOUNT_HREF = BASE_URL + '/accounts/a1'
+    static final String MEMBERSHIPS_HREF = ACCOUNT_HREF + '/groupMemberships'
+
+    List<String> requests
+    List<Map> memberships
+    DefaultDataStore dataStore
+
+    @BeforeMethod
+    void setUp() {
+        requests = []
+        memberships = [membership('m1', 'g1', 'Admins'), membership('m2', 'g2', 'Users')]
+
+        def marshaller = new JacksonMapMarshaller()
+
+        def requestExecutor = { Request request ->
+            String href = request.resourceUrl.toString()
+            requests << "$request.method $href".toString()
+            def body = null
+            if (request.method == HttpMethod.DELETE) {
+                memberships.removeAll { it.href == href || it.group.href == href }
+                return new DefaultResponse(204, null, null, 0)
+            } else if (request.method == HttpMethod.POST && href.startsWith(BASE_URL + '/groups/')) {
+                def group = marshaller.unmarshall(request.body)
+                memberships.findAll { it.group.href == href }.each { it.group.name = group.name }
+                body = [href: href, name: group.name, accounts: [href: href + '/accounts'], customData: [href: href + '/customData']]
+            } else if (href.startsWith(BASE_URL + '/groups/')) {
+                body = [href: href, name: memberships.find { it.group.href == href }.group.name,
+                        accounts: [href: href + '/accounts'], customData: [href: href + '/customData']]
+            } else if (href == ACCOUNT_HREF) {
+                body = [href: ACCOUNT_HREF, username: 'jsmith', groupMemberships: [href: MEMBERSHIPS_HREF]]
+            } else if (href == MEMBERSHIPS_HREF) {
+                assertEquals request.queryString.expand, 'group'
+                body = [href: MEMBERSHIPS_HREF, offset: 0, limit: 100, size: memberships.size(), items: memberships]
+            }
+            String json = marshaller.marshal(body)
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(json.bytes), json.length())
+        } as RequestExecutor
+
+        def apiKey = createNiceMock(ApiKey)
+        replay apiKey
+
+        dataStore = new DefaultDataStore(requestExecutor, BASE_URL, apiKey, Caches.newCacheManager().build())
+    }
+
+    static Map membership(String id, String groupId, String groupName) {
+        [href: BASE_URL + '/groupMemberships/' + id, account: [href: ACCOUNT_HREF],
+         group: [href: BASE_URL + '/groups/' + groupId, name: groupName]]
+    }
+
+    @Test
+    void testIndexIsLoadedOnceAndCached() {
+
+        Account account = dataStore.getResource(ACCOUNT_HREF, Account)
+        requests.clear()
+
+        assertTrue account.isMemberOfGroup('admins')
+        assertTrue account.isMemberOfGroup(BASE_URL + '/groups/g2')
+        assertFalse account.isMemberOfGroup('Guests')
+
+        assertEquals requests, ['GET ' + MEMBERSHIPS_HREF]
+
+        //a different instance of the same account uses the cached index as well:
+        assertTrue dataStore.getResource(ACCOUNT_HREF, Account).isMemberOfGroup('Users')
+        assertEquals requests, ['GET ' + MEMBERSHIPS_HREF]
+    }
+
+    @Test
+    void testMembershipDeleteInvalidatesIndex() {
+
+        Account account = dataStore.getResource(ACCOUNT_HREF, Account)
+        assertTrue account.isMemberOfGroup('Admins')
+        requests.clear()
+
+        account.removeGroup('Admins')
+
+        assertEquals requests, ['DELETE ' + BASE_URL + '/groupMemberships/m1']
+
+        assertFalse account.isMemberOfGroup('Admins')
+        assertTrue account.isMemberOfGroup('Users')
+        assertEquals requests.size(), 2
+        assertEquals requests[1], 'GET ' + MEMBERSHIPS_HREF
+    }
+
+    @Test
+    void testAccountDeleteInvalidatesIndex() {
+
+        Account account = dataStore.getResource(ACCOUNT_HREF, Account)
+        assertTrue account.isMemberOfGroup('Admins')
+
+        def cache = dataStore.cacheResolver.getCache(GroupMembershipIndex.CACHE_REGION_NAME)
+        assertNotNull cache.get(ACCOUNT_HREF)
+        assertEquals cache.get(BASE_URL + '/groupMemberships/m1')[GroupMembershipIndex.ACCOUNT], ACCOUNT_HREF
+
+        account.delete()
+
+        assertNull cache.get(ACCOUNT_HREF)
+    }
+
+    @Test
+    void testGroupDeleteInvalidatesIndexes() {
+
+        Account account = dataStore.getResource(ACCOUNT_HREF, Account)
+        assertTrue account.isMemberOfGroup('Admins')
+
+        dataStore.getResource(BASE_URL + '/groups/g1', Group).delete()
+        requests.clear()
+
+        assertFalse account.isMemberOfGroup('Admins')
+        assertFalse account.isMemberOfGroup(BASE_URL + '/groups/g1')
+        assertTrue account.isMemberOfGroup('Users')
+        assertEquals requests, ['GET ' + MEMBERSHIPS_HREF]
+    }
+
+    @Test
+    void testGroupRenameInvalidatesIndexes() {
+
+        Account account = dataStore.getResource(ACCOUNT_HREF, Account)
+        assertTrue account.isMemberOfGroup('Admins')
+
+        Group group = dataStore.getResource(BASE_URL + '/groups/g1', Group)
+        group.setName('Administrators')
+        group.save()
+        requests.clear()
+
+        assertFalse account.isMemberOfGroup('Admins')
+        assertTrue account.isMemberOfGroup('Administrators')
+        assertEquals requests, ['GET ' + MEMBERSHIPS_HREF]
+
+        //the reloaded index is current again:
+        assertTrue account.isMemberOfGroup('Users')
+        assertEquals requests, ['GET ' + MEMBERSHIPS_HREF]
+    }
+
+    @Test
+    void testEvictedEpochInvalidatesIndexes() {
+
+        Account account = dataStore.getResource(ACCOUNT_HREF, Account)
+        assertTrue account.isMemberOfGroup('Admins')
+        requests.clear()
+
+        def cache = dataStore.cacheResolver.getCache(GroupMembershipIndex.CACHE_REGION_NAME)
+        cache.remove(GroupMembershipIndex.name + '.epoch')
+
+        assertTrue account.isMemberOfGroup('Admins')
+        assertEquals requests, ['GET ' + MEMBERSHIPS_HREF]
+    }
+
+    @Test
+    void testRemoveGroupMatchesNamesExactly() {
+
+        memberships << membership('m3', 'g3', 'admins')
+
+        Account account = dataStore.getResource(ACCOUNT_HREF, Account)
+
+        //membership checks are case-insensitive:
+        assertTrue account.isMemberOfGroup('ADMINS')
+        assertTrue account.isMemberOfGroup(BASE_URL.toUpperCase() + '/groups/g1')
+
+        //but removals never delete a group whose name only differs by case:
+        account.removeGroup('admins')
+        assertEquals requests[-1], 'DELETE ' + BASE_URL + '/groupMemberships/m3'
+        assertTrue account.isMemberOfGroup('Admins')
+
+        try {
+            account.removeGroup('ADMINS')
+            fail('should have thrown')
+        } catch (IllegalStateException expected) {
+        }
+    }
+}
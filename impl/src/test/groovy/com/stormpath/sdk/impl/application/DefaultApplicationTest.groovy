@@ -484,7 +484,6 @@ class DefaultApplicationTest {
         def apiKey = createStrictMock(ApiKey)
         def internalDataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
 
-        expect(dataStore.instantiate(CustomData, properties.customData)).andReturn(customData)
         expect(dataStore.instantiate(ApplicationAccountStoreMappingList, properties.accountStoreMappings)).andReturn(accountStoreMappings)
         expect(accountStoreMappings.iterator()).andReturn(iterator)
         expect(iterator.hasNext()).andReturn(true)
@@ -498,7 +497,6 @@ class DefaultApplicationTest {
 
         def newPropertiesState = new LinkedHashMap<String, Object>()
         newPropertiesState.putAll(properties)
-        newPropertiesState.put("customData", customData);
         def modifiedApp = new DefaultApplication(internalDataStore, newPropertiesState)
 
         expect(newAccountStoreMapping.setApplication((Application) reportMatcher(new ApplicationMatcher(modifiedApp)))).andReturn(newAccountStoreMapping)
@@ -508,6 +506,8 @@ class DefaultApplicationTest {
         expect(newAccountStoreMapping.save())
 
         modifiedApp = new DefaultApplication(internalDataStore, newPropertiesState)
+        //CustomData is resolved lazily, when save() applies pending custom data updates:
+        expect(dataStore.instantiate(CustomData, properties.customData)).andReturn(customData)
         expect(dataStore.save((Application) reportMatcher(new ApplicationMatcher(modifiedApp))))
 
         //Second execution
@@ -562,7 +562,6 @@ class DefaultApplicationTest {
         def apiKey = createStrictMock(ApiKey)
         def internalDataStore = new DefaultDataStore(requestExecutor, "https://api.stormpath.com/v1", apiKey)
 
-        expect(dataStore.instantiate(CustomData, properties.customData)).andReturn(customData)
         expect(dataStore.instantiate(ApplicationAccountStoreMappingList, properties.accountStoreMappings)).andReturn(accountStoreMappings)
         expect(accountStoreMappings.iterator()).andReturn(iterator)
         expect(iterator.hasNext()).andReturn(true)
@@ -576,7 +575,6 @@ class DefaultApplicationTest {
 
         def newPropertiesState = new LinkedHashMap<String, Object>()
         newPropertiesState.putAll(properties)
-        newPropertiesState.put("customData", customData);
         def modifiedApp = new DefaultApplication(internalDataStore, newPropertiesState)
 
         expect(newAccountStoreMapping.setApplication((Application) reportMatcher(new ApplicationMatcher(modifiedApp)))).andReturn(newAccountStoreMapping)
@@ -586,6 +584,8 @@ class DefaultApplicationTest {
         expect(newAccountStoreMapping.save())
 
         modifiedApp = new DefaultApplication(internalDataStore, newPropertiesState)
+        //CustomData is resolved lazily, when save() applies pending custom data updates:
+        expect(dataStore.instantiate(CustomData, properties.customData)).andReturn(customData)
         expect(dataStore.save((Application) reportMatcher(new ApplicationMatcher(modifiedApp))))
 
         //Second execution
@@ -73,4 +73,76 @@ class CachesTest {
         assertNotNull cm
         assertTrue cm instanceof DisabledCacheManager
     }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testBuildBoundedRegion() {
+
+        def weigher = estimatedSizeWeigher()
+        def policy = admitOnSecondRequest()
+
+        DefaultCacheManager manager = (DefaultCacheManager) newCacheManager()
+                .withCache(named('foo').withMaxEntries(100).withMaxWeight(1024, weigher).withAdmissionPolicy(policy))
+                .build()
+
+        DefaultCache cache = (DefaultCache) manager.getCache('foo')
+
+        assertEquals cache.maxEntries, 100
+        assertEquals cache.maxWeight, 1024
+        assertSame cache.weigher, weigher
+        assertSame cache.admissionPolicy, policy
+
+        cache = (DefaultCache) manager.getCache('bar')
+        assertEquals cache.maxEntries, 0
+        assertEquals cache.maxWeight, 0
+        assertNull cache.weigher
+        assertNull cache.admissionPolicy
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testMaxWeightWithoutWeigher() {
+        named('foo').withMaxWeight(1024, null)
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testBuildRefreshAheadRegion() {
+
+        DefaultCacheManager manager = (DefaultCacheManager) newCacheManager()
+                .withCache(named('foo').withTimeToLive(1, TimeUnit.HOURS)
+                    .withRefreshAfter(45, TimeUnit.MINUTES).withStaleIfError(10, TimeUnit.MINUTES))
+                .build()
+
+        DefaultCache cache = (DefaultCache) manager.getCache('foo')
+        assertEquals cache.refreshAfter, new Duration(45, TimeUnit.MINUTES)
+        assertEquals cache.staleIfError, new Duration(10, TimeUnit.MINUTES)
+
+        cache = (DefaultCache) manager.getCache('bar')
+        assertNull cache.refreshAfter
+        assertNull cache.staleIfError
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testBuildRevalidatedRegion() {
+
+        DefaultCacheManager manager = (DefaultCacheManager) newCacheManager()
+                .withCache(named('foo').withTimeToLive(1, TimeUnit.HOURS).withRevalidationWindow(1, TimeUnit.DAYS))
+                .build()
+
+        DefaultCache cache = (DefaultCache) manager.getCache('foo')
+        assertEquals cache.revalidationWindow, new Duration(1, TimeUnit.DAYS)
+
+        cache = (DefaultCache) manager.getCache('bar')
+        assertNull cache.revalidationWindow
+    }
 }
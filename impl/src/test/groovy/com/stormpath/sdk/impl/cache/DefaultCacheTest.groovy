@@ -15,6 +15,8 @@
  */
 package com.stormpath.sdk.impl.cache
 
+import com.stormpath.sdk.cache.CacheAdmissionPolicy
+import com.stormpath.sdk.cache.CacheWeigher
 import com.stormpath.sdk.lang.Duration
 import groovy.json.JsonSlurper
 import org.testng.annotations.Test
@@ -263,4 +265,274 @@ class DefaultCacheTest {
         assertNull found
         assertEquals 0, cache.size()
     }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testMaxEntriesEvictsLeastRecentlyUsed() {
+
+        def map = Collections.synchronizedMap(new LinkedHashMap(16, 0.75f, true))
+        def cache = new DefaultCache('foo', map, null, null, 2, 0, null, null)
+
+        cache.put('a', 'A')
+        cache.put('b', 'B')
+        assertEquals cache.get('a'), 'A' //'b' is now least recently used
+
+        cache.put('c', 'C')
+
+        assertEquals cache.size(), 2
+        assertNull cache.get('b')
+        assertEquals cache.get('a'), 'A'
+        assertEquals cache.get('c'), 'C'
+        assertEquals cache.evictionCount, 1
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testMaxWeight() {
+
+        def weigher = { k, v -> (long) v.length() } as CacheWeigher
+        def map = Collections.synchronizedMap(new LinkedHashMap(16, 0.75f, true))
+        def cache = new DefaultCache('foo', map, null, null, 0, 10, weigher, null)
+
+        cache.put('a', '1234')
+        cache.put('b', '1234')
+        assertEquals cache.weight, 8
+
+        cache.put('a', '12') //replacing an entry adjusts the weight
+        assertEquals cache.weight, 6
+
+        cache.put('c', '123456') //exceeds maxWeight, so the eldest entry ('b') is evicted
+        assertEquals cache.weight, 8
+        assertNull cache.get('b')
+        assertEquals cache.evictionCount, 1
+
+        cache.put('d', '12345678901') //heavier than maxWeight by itself
+        assertNull cache.get('d')
+        assertEquals cache.rejectionCount, 1
+        assertEquals cache.weight, 8
+
+        cache.remove('a')
+        assertEquals cache.weight, 6
+
+        cache.clear()
+        assertEquals cache.weight, 0
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testMaxWeightWithoutWeigher() {
+        new DefaultCache('foo', [:], null, null, 0, 10, null, null)
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testAdmissionPolicy() {
+
+        def policy = { k, v -> k != 'rejected' } as CacheAdmissionPolicy
+        def cache = new DefaultCache('foo', [:], null, null, 0, 0, null, policy)
+
+        assertNull cache.put('rejected', 'value')
+        assertNull cache.get('rejected')
+        assertEquals cache.rejectionCount, 1
+
+        cache.put('key', 'value1')
+        assertEquals cache.get('key'), 'value1'
+
+        //updates to existing entries are never subject to the admission policy:
+        policy = { k, v -> false } as CacheAdmissionPolicy
+        cache = new DefaultCache('foo', [key: new DefaultCache.Entry('value1')], null, null, 0, 0, null, policy)
+        assertEquals cache.put('key', 'value2'), 'value1'
+        assertEquals cache.get('key'), 'value2'
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testToStringWithBounds() {
+
+        def weigher = { k, v -> 1L } as CacheWeigher
+        def cache = new DefaultCache('foo', [:], null, null, 100, 50, weigher, null)
+        cache.put('key', 'value')
+
+        def json = new JsonSlurper().parseText(cache.toString())
+
+        assertEquals json.name, 'foo'
+        assertEquals json.size, 1
+        assertEquals json.maxEntries, 100
+        assertEquals json.weight, 1
+        assertEquals json.maxWeight, 50
+        assertEquals json.evictionCount, 0
+        assertEquals json.rejectionCount, 0
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testStaleIfError() {
+
+        def cache = new DefaultCache('foo', [:], new Duration(10, TimeUnit.MILLISECONDS), null)
+        cache.setStaleIfError(new Duration(1, TimeUnit.HOURS))
+
+        cache.put('key', 'value')
+        Thread.sleep(15)
+
+        //expired entries are never returned by get, but are retained for the stale-if-error window:
+        assertNull cache.get('key')
+        assertEquals cache.missCount, 1
+        assertEquals cache.size(), 1
+        assertEquals cache.getStaleIfError('key'), 'value'
+
+        cache.setStaleIfError(null)
+        assertNull cache.getStaleIfError('key')
+        assertEquals cache.size(), 0
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testSetZeroStaleIfError() {
+        new DefaultCache('foo').setStaleIfError(new Duration(0, TimeUnit.MILLISECONDS))
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testRefreshDue() {
+
+        def cache = new DefaultCache('foo', [:], null, null)
+        cache.put('key', 'value')
+
+        def entry = cache.getEntry('key')
+        assertEquals entry.value, 'value'
+        assertFalse cache.isRefreshDue(entry)
+
+        cache.setRefreshAfter(new Duration(10, TimeUnit.MILLISECONDS))
+        Thread.sleep(15)
+        assertTrue cache.isRefreshDue(entry)
+
+        //only a single caller may refresh an entry at a time:
+        assertTrue entry.beginRefresh()
+        assertFalse entry.beginRefresh()
+        entry.endRefresh()
+        assertTrue entry.beginRefresh()
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testRevalidate() {
+
+        def cache = new DefaultCache('foo', [:], new Duration(10, TimeUnit.MILLISECONDS), null)
+        cache.put('key', 'value', '"abc"', 512)
+
+        //without a revalidation window, expired entries are removed as usual:
+        Thread.sleep(15)
+        assertNull cache.get('key')
+        assertEquals cache.size(), 0
+
+        cache.setRevalidationWindow(new Duration(1, TimeUnit.HOURS))
+        cache.put('key', 'value', '"abc"', 512)
+
+        //entries are only revalidated once they have expired:
+        assertNull cache.getRevalidatableEntry('missing')
+        Thread.sleep(15)
+        assertNull cache.get('key')
+        assertEquals cache.size(), 1
+
+        def entry = cache.getRevalidatableEntry('key')
+        assertEquals entry.value, 'value'
+        assertEquals entry.ETag, '"abc"'
+        assertEquals entry.contentLength, 512
+
+        def renewed = cache.revalidate('key', entry)
+        assertNotSame renewed, entry
+        assertEquals renewed.ETag, '"abc"'
+        assertEquals cache.get('key'), 'value'
+        assertEquals cache.revalidationCount, 1
+        assertEquals cache.revalidatedBytes, 512
+
+        def json = new JsonSlurper().parseText(cache.toString())
+        assertEquals json.revalidationCount, 1
+        assertEquals json.revalidatedBytes, 512
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testRevalidateReplacedEntry() {
+
+        def cache = new DefaultCache('foo', [:], new Duration(10, TimeUnit.MILLISECONDS), null)
+        cache.setRevalidationWindow(new Duration(1, TimeUnit.HOURS))
+        cache.put('key', 'old', '"v1"', 100)
+        Thread.sleep(15)
+
+        def entry = cache.getRevalidatableEntry('key')
+        cache.put('key', 'new', '"v2"', 100)
+
+        //a newer entry stored during the revalidation is not overwritten:
+        assertEquals cache.revalidate('key', entry).value, 'new'
+        assertEquals cache.get('key'), 'new'
+        assertEquals cache.revalidationCount, 0
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testRevalidationWindowRetainsEntriesForStaleIfError() {
+
+        def cache = new DefaultCache('foo', [:], new Duration(10, TimeUnit.MILLISECONDS), null)
+        cache.setStaleIfError(new Duration(5, TimeUnit.MILLISECONDS))
+        cache.setRevalidationWindow(new Duration(1, TimeUnit.HOURS))
+        cache.put('key', 'value')
+        Thread.sleep(25)
+
+        //beyond the stale-if-error window, but still retained for revalidation:
+        assertNull cache.getStaleIfError('key')
+        assertEquals cache.size(), 1
+        assertNotNull cache.getRevalidatableEntry('key')
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testSetZeroRevalidationWindow() {
+        new DefaultCache('foo').setRevalidationWindow(new Duration(0, TimeUnit.MILLISECONDS))
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testContainsKeyDoesNotAffectStatistics() {
+
+        def cache = new DefaultCache('foo', [:], new Duration(10, TimeUnit.MILLISECONDS), null)
+        cache.put('key', 'value')
+
+        assertTrue cache.containsKey('key')
+        assertFalse cache.containsKey('other')
+        assertEquals cache.accessCount, 0
+        assertEquals cache.hitCount, 0
+        assertEquals cache.missCount, 0
+
+        Thread.sleep(15)
+
+        assertFalse cache.containsKey('key')
+        assertEquals cache.accessCount, 0
+    }
 }
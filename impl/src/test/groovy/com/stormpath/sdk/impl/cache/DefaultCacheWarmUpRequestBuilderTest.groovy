@@ -0,0 +1,102 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache
+
+import com.stormpath.sdk.account.Accounts
+import com.stormpath.sdk.application.Application
+import com.stormpath.sdk.cache.CacheWarmUpListener
+import com.stormpath.sdk.cache.CacheWarmUpRequest
+import org.testng.annotations.Test
+
+import static com.stormpath.sdk.cache.Caches.newWarmUpRequest
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class DefaultCacheWarmUpRequestBuilderTest {
+
+    @Test
+    void testDefaults() {
+
+        CacheWarmUpRequest request = newWarmUpRequest().forApplication('https://api.stormpath.com/v1/applications/a').build()
+
+        assertEquals request.applicationHrefs, ['https://api.stormpath.com/v1/applications/a'] as Set
+        assertTrue request.accountStoreMappingsIncluded
+        assertFalse request.directoryGroupsIncluded
+        assertFalse request.accountsIncluded
+        assertNull request.accountCriteria
+        assertEquals request.maxAccounts, 0
+        assertFalse request.tenantIncluded
+        assertFalse request.policiesIncluded
+        assertEquals request.concurrency, DefaultCacheWarmUpRequestBuilder.DEFAULT_CONCURRENCY
+        assertEquals request.maxRequestsPerSecond, DefaultCacheWarmUpRequestBuilder.DEFAULT_MAX_REQUESTS_PER_SECOND
+        assertEquals request.memoryBudget, 0
+        assertNull request.listener
+    }
+
+    @Test
+    void testBuild() {
+
+        def application = createStrictMock(Application)
+        expect(application.getHref()).andReturn('https://api.stormpath.com/v1/applications/a')
+        replay application
+
+        def criteria = Accounts.criteria().limitTo(10)
+        def listener = createStrictMock(CacheWarmUpListener)
+
+        CacheWarmUpRequest request = newWarmUpRequest()
+                .forApplication(application)
+                .forApplication('https://api.stormpath.com/v1/applications/b')
+                .withAccountStoreMappings(false)
+                .withDirectoryGroups(true)
+                .withAccounts(criteria, 500)
+                .withTenant(true)
+                .withPolicies(true)
+                .withConcurrency(8)
+                .withMaxRequestsPerSecond(-1)
+                .withMemoryBudget(1024)
+                .withListener(listener)
+                .build()
+
+        assertEquals request.applicationHrefs as List, ['https://api.stormpath.com/v1/applications/a',
+                                                        'https://api.stormpath.com/v1/applications/b']
+        assertFalse request.accountStoreMappingsIncluded
+        assertTrue request.directoryGroupsIncluded
+        assertTrue request.accountsIncluded
+        assertSame request.accountCriteria, criteria
+        assertEquals request.maxAccounts, 500
+        assertTrue request.tenantIncluded
+        assertTrue request.policiesIncluded
+        assertEquals request.concurrency, 8
+        assertEquals request.maxRequestsPerSecond, 0
+        assertEquals request.memoryBudget, 1024
+        assertSame request.listener, listener
+
+        verify application
+    }
+
+    @Test(expectedExceptions = IllegalStateException)
+    void testBuildWithoutApplication() {
+        newWarmUpRequest().build()
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testInvalidConcurrency() {
+        newWarmUpRequest().withConcurrency(0)
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache
+
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class DoorkeeperAdmissionPolicyTest {
+
+    @Test
+    void testAdmitsOnSecondOffer() {
+        def policy = new DoorkeeperAdmissionPolicy()
+
+        assertFalse policy.admit('key', 'value')
+        assertTrue policy.admit('key', 'value')
+        assertTrue policy.admit('key', 'value')
+    }
+
+    @Test
+    void testNullKey() {
+        def policy = new DoorkeeperAdmissionPolicy(1)
+
+        assertFalse policy.admit(null, 'value')
+        assertTrue policy.admit(null, 'value')
+    }
+
+    @Test
+    void testCollidingKeyResetsSlot() {
+        //a single slot remembers only the most recently offered key:
+        def policy = new DoorkeeperAdmissionPolicy(1)
+
+        assertFalse policy.admit('a', 'value')
+        assertFalse policy.admit('b', 'value')
+        assertFalse policy.admit('a', 'value')
+        assertTrue policy.admit('a', 'value')
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testInvalidCapacity() {
+        new DoorkeeperAdmissionPolicy(0)
+    }
+}
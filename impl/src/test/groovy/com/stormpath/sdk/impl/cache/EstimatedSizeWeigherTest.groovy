@@ -0,0 +1,48 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.cache
+
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class EstimatedSizeWeigherTest {
+
+    @Test
+    void testWeigh() {
+        def weigher = new EstimatedSizeWeigher()
+
+        assertEquals weigher.weigh(null, null), 0
+        assertEquals weigher.weigh('', null), 40
+        assertEquals weigher.weigh('ab', null), 44
+
+        def small = [href: 'https://api.stormpath.com/v1/accounts/1']
+        def large = [href: 'https://api.stormpath.com/v1/accounts/1', username: 'jsmith', emails: ['a', 'b'], n: 42]
+
+        assertTrue weigher.weigh('key', large) > weigher.weigh('key', small)
+    }
+
+    @Test
+    void testCyclicStructureTerminates() {
+        def map = [:]
+        map.self = map
+
+        assertTrue new EstimatedSizeWeigher().weigh('key', map) > 0
+    }
+}
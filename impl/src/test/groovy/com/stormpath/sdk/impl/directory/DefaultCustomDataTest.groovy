@@ -224,15 +224,12 @@ private class DefaultDataStoreDelegateTo extends DefaultDataStore {
     }
 
     public void save(Resource resource) {
-        Map properties = getValue(AbstractResource, customData, "properties")
+        Map properties = new LinkedHashMap(getValue(AbstractResource, customData, "properties"))
         Map dirtyProperties = getValue(AbstractResource, customData, "dirtyProperties")
-        HashSet deletedPropertyNames = getValue(AbstractResource, customData, "deletedPropertyNames")
         properties.putAll(dirtyProperties)
         setValue(AbstractResource, customData, "properties", properties)
-        dirtyProperties.clear()
-        setValue(AbstractResource, customData, "dirtyProperties", dirtyProperties)
-        deletedPropertyNames.clear();
-        setValue(AbstractResource, customData, "deletedPropertyNames", deletedPropertyNames)
+        setValue(AbstractResource, customData, "dirtyProperties", [:])
+        setValue(AbstractResource, customData, "deletedPropertyNames", [] as Set)
     }
 
     private Object getValue(Class clazz, Object object, String fieldName){
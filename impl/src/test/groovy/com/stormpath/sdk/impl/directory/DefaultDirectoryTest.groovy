@@ -108,9 +108,6 @@ class DefaultDirectoryTest {
                 organizationMappings: [href: "https://api.stormpath.com/v1/directories/iouertnw48ufsjnsDFSf/organizationMappings"]
         ]
 
-        expect(internalDataStore.instantiate(CustomData, properties.customData)).
-            andReturn(new DefaultCustomData(internalDataStore, properties.customData))
-
         expect(internalDataStore.instantiate(AccountList, properties.accounts)).
                 andReturn(new DefaultAccountList(internalDataStore, properties.accounts))
 
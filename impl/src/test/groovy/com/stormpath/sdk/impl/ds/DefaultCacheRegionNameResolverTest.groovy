@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.directory.CustomData
+import com.stormpath.sdk.impl.account.DefaultAccount
+import com.stormpath.sdk.impl.directory.DefaultCustomData
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class DefaultCacheRegionNameResolverTest {
+
+    @Test
+    void testRegionNameIsInterfaceName() {
+        def resolver = new DefaultCacheRegionNameResolver()
+
+        assertEquals resolver.getCacheRegionName(Account), Account.name
+        assertEquals resolver.getCacheRegionName(DefaultAccount), Account.name
+        assertEquals resolver.getCacheRegionName(DefaultCustomData), CustomData.name
+    }
+
+    @Test
+    void testRegionNameIsRetained() {
+        Map<Class, Integer> resolutions = [:]
+        def resolver = new DefaultCacheRegionNameResolver() {
+            @Override
+            protected String resolveCacheRegionName(Class clazz) {
+                resolutions[clazz] = (resolutions[clazz] ?: 0) + 1
+                return super.resolveCacheRegionName(clazz)
+            }
+        }
+
+        3.times {
+            assertEquals resolver.getCacheRegionName(DefaultAccount), Account.name
+            assertEquals resolver.getCacheRegionName(DefaultCustomData), CustomData.name
+        }
+
+        assertEquals resolutions, [(DefaultAccount): 1, (DefaultCustomData): 1]
+    }
+
+    @Test
+    void testClassConversionsAreRetained() {
+        DefaultResourceFactory.INTERFACE_CLASSES.clear()
+        DefaultResourceFactory.IMPLEMENTATION_CLASSES.clear()
+
+        assertSame DefaultResourceFactory.getInterfaceClass(DefaultAccount), Account
+        assertSame DefaultResourceFactory.getInterfaceClass(DefaultAccount), Account
+        assertSame DefaultResourceFactory.getImplementationClass(Account), DefaultAccount
+        assertSame DefaultResourceFactory.getImplementationClass(Account), DefaultAccount
+        assertSame DefaultResourceFactory.getImplementationClass(DefaultAccount), DefaultAccount
+
+        //Class instances are canonical, so the conversions are only observable through the retained mappings:
+        assertSame DefaultResourceFactory.INTERFACE_CLASSES.get(DefaultAccount), Account
+        assertSame DefaultResourceFactory.IMPLEMENTATION_CLASSES.get(Account), DefaultAccount
+    }
+}
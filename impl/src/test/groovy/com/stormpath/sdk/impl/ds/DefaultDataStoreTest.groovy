@@ -15,18 +15,25 @@
  */
 package com.stormpath.sdk.impl.ds
 
+import com.stormpath.sdk.account.Account
 import com.stormpath.sdk.api.ApiKey
 import com.stormpath.sdk.cache.Caches
+import com.stormpath.sdk.ds.ResourceBatch
 import com.stormpath.sdk.impl.application.DefaultApplication
+import com.stormpath.sdk.impl.cache.DefaultCache
+import com.stormpath.sdk.impl.http.HttpHeaders
+import com.stormpath.sdk.impl.http.MediaType
 import com.stormpath.sdk.impl.http.RequestExecutor
 import com.stormpath.sdk.impl.http.Response
 import com.stormpath.sdk.impl.http.support.DefaultRequest
+import com.stormpath.sdk.impl.http.support.DefaultResponse
 import com.stormpath.sdk.impl.provider.DefaultGoogleProviderData
 import com.stormpath.sdk.impl.provider.IdentityProviderType
 import com.stormpath.sdk.impl.query.DefaultOptions
 import com.stormpath.sdk.provider.*
 import com.stormpath.sdk.query.Options
 import com.stormpath.sdk.resource.Resource
+import com.stormpath.sdk.resource.ResourceException
 import org.testng.annotations.Test
 
 import java.util.concurrent.TimeUnit
@@ -191,6 +198,7 @@ class DefaultDataStoreTest {
         expect(requestExecutor.executeRequest(anyObject(DefaultRequest))).andReturn(response)
         expect(response.isError()).andReturn(false)
         expect(response.hasBody()).andReturn(false)
+        expect(response.getBody()).andReturn(null)
 
         replay(requestExecutor, response, facebookProvider)
 
@@ -288,6 +296,7 @@ class DefaultDataStoreTest {
         expect(response.isError()).andReturn(false)
         expect(response.hasBody()).andReturn(true)
         expect(response.getBody()).andReturn(providerResponseIS)
+        expect(response.getHeaders()).andReturn(new HttpHeaders())
         expect(requestExecutor.executeRequest(anyObject(DefaultRequest))).andReturn(response)
         expect(response.isError()).andReturn(false)
         expect(response.hasBody()).andReturn(true)
@@ -390,4 +399,284 @@ class DefaultDataStoreTest {
         }
     }
 
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testGetResources() {
+
+        def base = 'https://api.stormpath.com/v1/accounts/'
+        def requested = new java.util.concurrent.ConcurrentLinkedQueue<String>()
+        def marshaller = new JacksonMapMarshaller()
+
+        def requestExecutor = { com.stormpath.sdk.impl.http.Request request ->
+            String href = request.resourceUrl.toString()
+            requested << href
+            if (href.endsWith('/missing')) {
+                def body = marshaller.marshal([status: 404, code: 404, message: 'not found'])
+                return new DefaultResponse(404, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body.bytes), body.length())
+            }
+            def body = marshaller.marshal([href: href, username: href.substring(href.lastIndexOf('/') + 1)])
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body.bytes), body.length())
+        } as RequestExecutor
+
+        def apiKey = createNiceMock(ApiKey)
+        replay apiKey
+
+        def cacheManager = Caches.newCacheManager().build()
+        def dataStore = new DefaultDataStore(requestExecutor, 'https://api.stormpath.com/v1', apiKey, cacheManager)
+
+        //prime the cache with one account:
+        dataStore.getResource(base + 'cached', Account)
+        requested.clear()
+
+        DefaultCache cache = (DefaultCache) cacheManager.getCache(Account.name)
+        long accessCount = cache.accessCount
+        long hitCount = cache.hitCount
+
+        def hrefs = [base + 'a', base + 'cached', '/accounts/b', base + 'missing', base + 'a', base + 'c']
+        ResourceBatch<Account> batch = dataStore.getResources(hrefs, Account)
+
+        assertEquals batch.resources*.username, ['a', 'cached', 'b', null, 'a', 'c']
+        assertTrue batch.hasErrors()
+        assertEquals batch.errors.size(), 1
+        def error = batch.errors[base + 'missing'] as ResourceException
+        assertEquals error.status, 404
+
+        //duplicates are coalesced and cached resources are not requested:
+        assertEquals requested.size(), 4
+        assertEquals requested as Set, [base + 'a', base + 'b', base + 'c', base + 'missing'] as Set
+
+        //each distinct href is counted as a single cache access:
+        assertEquals cache.accessCount - accessCount, 5
+        assertEquals cache.hitCount - hitCount, 1
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testGetResourcesEmpty() {
+        def requestExecutor = createStrictMock(RequestExecutor)
+        def apiKey = createStrictMock(ApiKey)
+        replay requestExecutor, apiKey
+
+        def dataStore = new DefaultDataStore(requestExecutor, 'https://api.stormpath.com/v1', apiKey)
+        def batch = dataStore.getResources([], Account)
+
+        assertTrue batch.resources.isEmpty()
+        assertFalse batch.hasErrors()
+        verify requestExecutor, apiKey
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testCacheHitsShareImmutableSnapshot() {
+
+        def href = 'https://api.stormpath.com/v1/accounts/abc'
+        def marshaller = new JacksonMapMarshaller()
+        int requests = 0
+
+        def requestExecutor = { com.stormpath.sdk.impl.http.Request request ->
+            requests++
+            def body = marshaller.marshal([href: href, username: 'jsmith', givenName: 'Joe'])
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body.bytes), body.length())
+        } as RequestExecutor
+
+        def apiKey = createNiceMock(ApiKey)
+        replay apiKey
+
+        def cacheManager = Caches.newCacheManager().build()
+        def dataStore = new DefaultDataStore(requestExecutor, 'https://api.stormpath.com/v1', apiKey, cacheManager)
+
+        dataStore.getResource(href, Account) //primes the cache
+
+        Account a = dataStore.getResource(href, Account)
+        Account b = dataStore.getResource(href, Account)
+        assertEquals requests, 1
+
+        def cached = cacheManager.getCache(Account.name).get(href)
+        try {
+            cached.put('username', 'changed')
+            fail('cached resource data must be immutable')
+        } catch (UnsupportedOperationException expected) {
+        }
+
+        //both resources reference the cached snapshot instead of a copy:
+        Enlistment enlistment = a.@properties as Enlistment
+        assertSame b.@properties, enlistment
+        assertSame enlistment.@backingMap, cached
+
+        //writes copy the snapshot and never modify the cache entry:
+        a.setGivenName('Joseph')
+        assertEquals a.givenName, 'Joseph'
+        assertEquals b.givenName, 'Joe'
+        assertEquals cached.givenName, 'Joe'
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testEmptyStreamedBodiesAreClosed() {
+
+        def href = 'https://api.stormpath.com/v1/accounts/abc'
+        List<Boolean> closed = []
+
+        def requestExecutor = { com.stormpath.sdk.impl.http.Request request ->
+            //a streamed body with 'Content-Length: 0' - closing it is what releases a pooled connection:
+            int i = closed.size()
+            closed << false
+            def body = new ByteArrayInputStream(new byte[0]) {
+                @Override
+                void close() {
+                    closed[i] = true
+                }
+            }
+            return new DefaultResponse(request.method.name() == 'POST' ? 202 : 200, MediaType.APPLICATION_JSON, body, 0)
+        } as RequestExecutor
+
+        def apiKey = createNiceMock(ApiKey)
+        replay apiKey
+
+        def dataStore = new DefaultDataStore(requestExecutor, 'https://api.stormpath.com/v1', apiKey)
+
+        try {
+            dataStore.getResource(href, Account)
+            fail('an empty 200 response has no resource data')
+        } catch (IllegalStateException expected) {
+        }
+
+        Account account = dataStore.instantiate(Account, [href: href, username: 'jsmith', customData: [href: href + '/customData']])
+        account.setGivenName('Joe')
+        account.save()
+
+        assertEquals closed, [true, true]
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testConditionalRevalidation() {
+
+        def href = 'https://api.stormpath.com/v1/accounts/abc'
+        def body = new JacksonMapMarshaller().marshal([href: href, username: 'jsmith', modifiedAt: '2015-10-16T21:34:56.789Z'])
+        List<com.stormpath.sdk.impl.http.Request> requests = []
+
+        def requestExecutor = { com.stormpath.sdk.impl.http.Request request ->
+            requests << request
+            def headers = new HttpHeaders()
+            headers.setETag('"v1"')
+            if (request.headers.getIfNoneMatch() == ['"v1"']) {
+                return new DefaultResponse(304, null, null, 0, headers)
+            }
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body.bytes), -1, headers)
+        } as RequestExecutor
+
+        def apiKey = createNiceMock(ApiKey)
+        replay apiKey
+
+        def cacheManager = Caches.newCacheManager()
+                .withCache(Caches.forResource(Account).withTimeToLive(10, TimeUnit.MILLISECONDS).withRevalidationWindow(1, TimeUnit.HOURS))
+                .build()
+        def dataStore = new DefaultDataStore(requestExecutor, 'https://api.stormpath.com/v1', apiKey, cacheManager)
+
+        assertEquals dataStore.getResource(href, Account).username, 'jsmith'
+        assertTrue requests[0].headers.getIfNoneMatch().isEmpty()
+
+        Thread.sleep(15)
+
+        assertEquals dataStore.getResource(href, Account).username, 'jsmith'
+        assertEquals requests.size(), 2
+        assertEquals requests[1].headers.getIfNoneMatch(), ['"v1"']
+        assertEquals requests[1].headers.getFirst('If-Modified-Since'), 'Fri, 16 Oct 2015 21:34:56 GMT'
+
+        //the renewed entry is served from the cache:
+        assertEquals dataStore.getResource(href, Account).username, 'jsmith'
+        assertEquals requests.size(), 2
+
+        DefaultCache cache = (DefaultCache) cacheManager.getCache(Account.name)
+        assertEquals cache.revalidationCount, 1
+        assertEquals cache.revalidatedBytes, body.getBytes('UTF-8').length
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testRefreshAheadReloadsInBackground() {
+
+        def href = 'https://api.stormpath.com/v1/accounts/abc'
+        def marshaller = new JacksonMapMarshaller()
+        def requests = new java.util.concurrent.atomic.AtomicInteger()
+
+        def requestExecutor = { com.stormpath.sdk.impl.http.Request request ->
+            def body = marshaller.marshal([href: href, username: 'v' + requests.incrementAndGet()])
+            return new DefaultResponse(200, MediaType.APPLICATION_JSON, new ByteArrayInputStream(body.bytes), body.length())
+        } as RequestExecutor
+
+        def apiKey = createNiceMock(ApiKey)
+        replay apiKey
+
+        def cacheManager = Caches.newCacheManager()
+                .withCache(Caches.forResource(Account).withTimeToLive(1, TimeUnit.HOURS).withRefreshAfter(10, TimeUnit.MILLISECONDS))
+                .build()
+        def cache = cacheManager.getCache(Account.name)
+        def dataStore = new DefaultDataStore(requestExecutor, 'https://api.stormpath.com/v1', apiKey, cacheManager)
+
+        assertEquals dataStore.getResource(href, Account).username, 'v1'
+
+        Thread.sleep(15)
+
+        //the cached data is returned immediately, and reloaded in the background:
+        assertEquals dataStore.getResource(href, Account).username, 'v1'
+
+        long deadline = System.currentTimeMillis() + 5000
+        while (cache.get(href).username == 'v1' && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5)
+        }
+
+        assertTrue requests.get() >= 2
+        assertEquals cache.get(href).username, 'v2'
+        assertEquals dataStore.getResource(href, Account).username, 'v2'
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testCloseReleasesThreads() {
+
+        def requestExecutor = new CloseableRequestExecutor()
+
+        def apiKey = createNiceMock(ApiKey)
+        replay apiKey
+
+        def dataStore = new DefaultDataStore(requestExecutor, 'https://api.stormpath.com/v1', apiKey)
+        def batchExecutor = dataStore.getBatchExecutor()
+
+        dataStore.close()
+
+        assertTrue batchExecutor.isShutdown()
+        assertTrue requestExecutor.closed
+    }
+
+    private static class CloseableRequestExecutor implements RequestExecutor, Closeable {
+
+        boolean closed
+
+        @Override
+        Response executeRequest(com.stormpath.sdk.impl.http.Request request) {
+            throw new UnsupportedOperationException()
+        }
+
+        @Override
+        void close() {
+            closed = true
+        }
+    }
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds
+
+import org.testng.annotations.Test
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicInteger
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class EnlistmentTest {
+
+    @Test
+    void testCopiesSourceData() {
+
+        def source = ['href': 'http://foo.com/test/123', 'name': 'Name']
+        def enlistment = new Enlistment(source)
+
+        source.name = 'Changed'
+
+        assertEquals enlistment.get('name'), 'Name'
+        assertEquals enlistment.size(), 2
+    }
+
+    @Test
+    void testViewsAreLive() {
+
+        def enlistment = new Enlistment(['href': 'http://foo.com/test/123', 'name': 'Name'])
+
+        def entries = enlistment.entrySet()
+        def values = enlistment.values()
+
+        enlistment.put('description', 'Description')
+        enlistment.remove('name')
+
+        assertEquals entries.collect { it.key }, ['href', 'description']
+        assertEquals values as List, ['http://foo.com/test/123', 'Description']
+        assertTrue values.contains('Description')
+        assertFalse values.contains('Name')
+    }
+
+    @Test
+    void testIterationIsNotAffectedByWrites() {
+
+        def enlistment = new Enlistment(['href': 'http://foo.com/test/123', 'name': 'Name'])
+
+        def iterator = enlistment.entrySet().iterator()
+
+        enlistment.put('description', 'Description')
+        enlistment.remove('name')
+
+        //iterators traverse the snapshot that was current when they were created:
+        assertEquals iterator.collect { it.key }, ['href', 'name']
+        assertEquals enlistment.keySet(), ['href', 'description'] as Set
+    }
+
+    @Test
+    void testViewsWriteThrough() {
+
+        def enlistment = new Enlistment(['href': 'http://foo.com/test/123', 'name': 'Name', 'description': 'Desc'])
+
+        for (Map.Entry e : enlistment.entrySet()) {
+            if (e.key == 'name') {
+                assertEquals e.setValue('Other'), 'Name'
+                assertEquals e.value, 'Other'
+            }
+        }
+        assertEquals enlistment.get('name'), 'Other'
+
+        def iterator = enlistment.entrySet().iterator()
+        while (iterator.hasNext()) {
+            if (iterator.next().key == 'description') {
+                iterator.remove()
+            }
+        }
+        assertEquals enlistment.keySet(), ['href', 'name'] as Set
+
+        enlistment.values().remove('Other')
+        assertEquals enlistment.keySet(), ['href'] as Set
+
+        enlistment.entrySet().clear()
+        assertTrue enlistment.isEmpty()
+    }
+
+    @Test
+    void testReadLockExcludesWriters() {
+
+        def enlistment = new Enlistment(['href': 'http://foo.com/test/123', 'name': 'Name'])
+
+        enlistment.@readLock.lock()
+        Thread writer
+        try {
+            writer = Thread.start {
+                enlistment.put('name', 'Other')
+            }
+            writer.join(200)
+            assertTrue writer.isAlive()
+            assertEquals enlistment.get('name'), 'Name'
+        } finally {
+            enlistment.@readLock.unlock()
+        }
+
+        writer.join()
+        assertEquals enlistment.get('name'), 'Other'
+    }
+
+    @Test
+    void testClearAndSetProperties() {
+
+        def enlistment = new Enlistment(['href': 'http://foo.com/test/123', 'name': 'Name'])
+
+        enlistment.clear()
+        assertTrue enlistment.isEmpty()
+
+        enlistment.setProperties(['href': 'http://foo.com/test/123', 'name': 'Other'])
+        assertEquals enlistment.get('name'), 'Other'
+        assertEquals enlistment, new Enlistment(['href': 'http://foo.com/test/123', 'name': 'Other'])
+    }
+
+    @Test
+    void testSnapshotIsNotCopied() {
+
+        def snapshot = java.util.Collections.unmodifiableMap(['href': 'http://foo.com/test/123', 'name': 'Name'])
+
+        def enlistment = Enlistment.forSnapshot(snapshot)
+        assertSame enlistment.@backingMap, snapshot
+
+        //writes replace the snapshot instead of modifying it:
+        enlistment.put('name', 'Other')
+        assertEquals enlistment.get('name'), 'Other'
+        assertEquals snapshot.name, 'Name'
+
+        enlistment.setSnapshot(snapshot)
+        assertEquals enlistment.get('name'), 'Name'
+    }
+
+    @Test
+    void testConcurrentReadsAndWrites() {
+
+        def enlistment = new Enlistment(['href': 'http://foo.com/test/123', 'count': 0])
+
+        int writers = 4
+        int readers = 4
+        int iterations = 2000
+
+        CountDownLatch start = new CountDownLatch(1)
+        CountDownLatch done = new CountDownLatch(writers + readers)
+        AtomicInteger errors = new AtomicInteger()
+
+        def threads = []
+
+        writers.times { int w ->
+            threads << Thread.start {
+                start.await()
+                try {
+                    for (int i = 0; i < iterations; i++) {
+                        enlistment.put("w${w}-${i}".toString(), i)
+                    }
+                } catch (Throwable t) {
+                    errors.incrementAndGet()
+                } finally {
+                    done.countDown()
+                }
+            }
+        }
+
+        readers.times {
+            threads << Thread.start {
+                start.await()
+                try {
+                    for (int i = 0; i < iterations; i++) {
+                        //iterating while writers are active must never fail:
+                        for (Map.Entry e : enlistment.entrySet()) {
+                            assertNotNull e.key
+                        }
+                        assertEquals enlistment.get('href'), 'http://foo.com/test/123'
+                    }
+                } catch (Throwable t) {
+                    errors.incrementAndGet()
+                } finally {
+                    done.countDown()
+                }
+            }
+        }
+
+        start.countDown()
+        done.await()
+
+        assertEquals errors.get(), 0
+        //no write may be lost:
+        assertEquals enlistment.size(), 2 + writers * iterations
+    }
+}
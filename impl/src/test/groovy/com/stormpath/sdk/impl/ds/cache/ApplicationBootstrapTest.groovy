@@ -0,0 +1,97 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds.cache
+
+import com.stormpath.sdk.application.Application
+import com.stormpath.sdk.cache.CacheWarmUpRequest
+import com.stormpath.sdk.cache.CacheWarmUpResult
+import com.stormpath.sdk.client.Client
+import org.testng.annotations.Test
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class ApplicationBootstrapTest {
+
+    static final String HREF = 'https://api.stormpath.com/v1/applications/foo'
+
+    @Test
+    void testBootstrapWithHrefWarmsCacheBeforeLookup() {
+        def client = createStrictMock(Client)
+        def application = createStrictMock(Application)
+        def result = createNiceMock(CacheWarmUpResult)
+        List<String> calls = []
+
+        expect(client.warmUpCache(anyObject(CacheWarmUpRequest))).andAnswer({
+            CacheWarmUpRequest request = getCurrentArguments()[0] as CacheWarmUpRequest
+            calls << 'warmUp'
+            assertEquals request.applicationHrefs, [HREF] as Set
+            assertTrue request.tenantIncluded
+            assertTrue request.accountStoreMappingsIncluded
+            assertTrue request.policiesIncluded
+            return result
+        } as org.easymock.IAnswer)
+
+        replay client, application, result
+
+        def lookup = { calls << 'lookup'; application } as ApplicationBootstrap.ApplicationLookup
+
+        assertSame new ApplicationBootstrap(client).bootstrap(HREF, lookup), application
+        assertEquals calls, ['warmUp', 'lookup']
+
+        verify client, application, result
+    }
+
+    @Test
+    void testBootstrapWithoutHrefWarmsCacheAfterLookup() {
+        def client = createStrictMock(Client)
+        def application = createStrictMock(Application)
+        def result = createNiceMock(CacheWarmUpResult)
+        List<String> calls = []
+
+        expect(application.getHref()).andReturn(HREF).anyTimes()
+        expect(client.warmUpCache(anyObject(CacheWarmUpRequest))).andAnswer({
+            CacheWarmUpRequest request = getCurrentArguments()[0] as CacheWarmUpRequest
+            calls << 'warmUp'
+            assertEquals request.applicationHrefs, [HREF] as Set
+            return result
+        } as org.easymock.IAnswer)
+
+        replay client, application, result
+
+        def lookup = { calls << 'lookup'; application } as ApplicationBootstrap.ApplicationLookup
+
+        assertSame new ApplicationBootstrap(client).bootstrap(null, lookup), application
+        assertEquals calls, ['lookup', 'warmUp']
+
+        verify client, application, result
+    }
+
+    @Test
+    void testBootstrapWithoutApplication() {
+        def client = createStrictMock(Client)
+        replay client
+
+        def lookup = { null } as ApplicationBootstrap.ApplicationLookup
+
+        assertNull new ApplicationBootstrap(client).bootstrap(null, lookup)
+
+        verify client
+    }
+}
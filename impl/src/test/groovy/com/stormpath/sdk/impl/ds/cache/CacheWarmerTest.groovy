@@ -0,0 +1,268 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds.cache
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.account.AccountList
+import com.stormpath.sdk.application.Application
+import com.stormpath.sdk.application.ApplicationAccountStoreMapping
+import com.stormpath.sdk.application.ApplicationAccountStoreMappingList
+import com.stormpath.sdk.cache.CacheWarmUpListener
+import com.stormpath.sdk.cache.CacheWarmUpResult
+import com.stormpath.sdk.directory.AccountCreationPolicy
+import com.stormpath.sdk.directory.Directory
+import com.stormpath.sdk.directory.PasswordPolicy
+import com.stormpath.sdk.group.Group
+import com.stormpath.sdk.group.GroupList
+import com.stormpath.sdk.impl.account.DefaultAccount
+import com.stormpath.sdk.impl.account.DefaultAccountList
+import com.stormpath.sdk.impl.application.DefaultApplication
+import com.stormpath.sdk.impl.application.DefaultApplicationAccountStoreMapping
+import com.stormpath.sdk.impl.application.DefaultApplicationAccountStoreMappingList
+import com.stormpath.sdk.impl.directory.DefaultAccountCreationPolicy
+import com.stormpath.sdk.impl.directory.DefaultDirectory
+import com.stormpath.sdk.impl.directory.DefaultPasswordPolicy
+import com.stormpath.sdk.impl.ds.InternalDataStore
+import com.stormpath.sdk.impl.group.DefaultGroup
+import com.stormpath.sdk.impl.group.DefaultGroupList
+import com.stormpath.sdk.impl.oauth.DefaultOauthPolicy
+import com.stormpath.sdk.impl.tenant.DefaultTenant
+import com.stormpath.sdk.oauth.OauthPolicy
+import com.stormpath.sdk.tenant.Tenant
+import org.testng.annotations.Test
+
+import java.util.concurrent.ConcurrentLinkedQueue
+
+import static com.stormpath.sdk.cache.Caches.newWarmUpRequest
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class CacheWarmerTest {
+
+    static final String BASE_URL = 'https://api.stormpath.com/v1'
+    static final String APP_HREF = BASE_URL + '/applications/app1'
+    static final String DIR_HREF = BASE_URL + '/directories/dir1'
+    static final String TENANT_HREF = BASE_URL + '/tenants/tenant1'
+    static final String OAUTH_POLICY_HREF = BASE_URL + '/oAuthPolicies/app1'
+    static final String PASSWORD_POLICY_HREF = BASE_URL + '/passwordPolicies/dir1'
+    static final String ACCOUNT_CREATION_POLICY_HREF = BASE_URL + '/accountCreationPolicies/dir1'
+
+    /**
+     * Returns a stub data store serving an application with the specified number of accounts, one directory with
+     * the specified number of groups, and recording each requested href (with its offset, if any).
+     */
+    static InternalDataStore createDataStore(int accountCount, int groupCount, Queue<String> requests) {
+
+        InternalDataStore ds = null
+
+        def collection = { String href, Map query, int total, Closure itemFactory ->
+            int offset = query.offset as int
+            int limit = query.limit as int
+            def items = []
+            for (int i = offset; i < Math.min(offset + limit, total); i++) {
+                items << itemFactory(i)
+            }
+            [href: href, offset: offset, limit: limit, size: total, items: items]
+        }
+
+        def getResource = { Object[] args ->
+            String href = args[0]
+            Class clazz = args[1]
+            Map query = args.length > 2 ? args[2] as Map : null
+            requests << (query ? "$href?offset=$query.offset" : href).toString()
+            if (query?.containsKey('expand')) {
+                throw new IllegalStateException('expand must not be sent')
+            }
+            switch (clazz) {
+                case Tenant:
+                    return new DefaultTenant(ds, [href: TENANT_HREF, name: 'tenant'])
+                case Application:
+                    return new DefaultApplication(ds, [href: href, name: 'app', oAuthPolicy: [href: OAUTH_POLICY_HREF]])
+                case Directory:
+                    return new DefaultDirectory(ds, [href: href, name: 'dir', passwordPolicy: [href: PASSWORD_POLICY_HREF],
+                                                     accountCreationPolicy: [href: ACCOUNT_CREATION_POLICY_HREF]])
+                case OauthPolicy:
+                    return new DefaultOauthPolicy(ds, [href: href])
+                case PasswordPolicy:
+                    return new DefaultPasswordPolicy(ds, [href: href])
+                case AccountCreationPolicy:
+                    return new DefaultAccountCreationPolicy(ds, [href: href])
+                case AccountList:
+                    return new DefaultAccountList(ds, collection(href, query, accountCount, { i ->
+                        [href: BASE_URL + '/accounts/' + i, username: 'user' + i]
+                    }), query)
+                case GroupList:
+                    return new DefaultGroupList(ds, collection(href, query, groupCount, { i ->
+                        [href: BASE_URL + '/groups/' + i, name: 'group' + i]
+                    }), query)
+                case ApplicationAccountStoreMappingList:
+                    return new DefaultApplicationAccountStoreMappingList(ds, collection(href, query, 1, { i ->
+                        [href: BASE_URL + '/accountStoreMappings/' + i, accountStore: [href: DIR_HREF]]
+                    }), query)
+                default:
+                    throw new IllegalArgumentException("Unexpected resource class $clazz")
+            }
+        }
+
+        def instantiate = { Class clazz, Map props ->
+            switch (clazz) {
+                case Account: return new DefaultAccount(ds, props)
+                case Group: return new DefaultGroup(ds, props)
+                case ApplicationAccountStoreMapping: return new DefaultApplicationAccountStoreMapping(ds, props)
+                case OauthPolicy: return new DefaultOauthPolicy(ds, props)
+                case PasswordPolicy: return new DefaultPasswordPolicy(ds, props)
+                case AccountCreationPolicy: return new DefaultAccountCreationPolicy(ds, props)
+                default: throw new IllegalArgumentException("Unexpected resource class $clazz")
+            }
+        }
+
+        ds = [getResource: getResource, instantiate: instantiate] as InternalDataStore
+        return ds
+    }
+
+    @Test
+    void testWarmUpAccountsInParallelPages() {
+
+        def requests = new ConcurrentLinkedQueue<String>()
+        def ds = createDataStore(250, 0, requests)
+
+        def request = newWarmUpRequest().forApplication(APP_HREF).withAccountStoreMappings(false)
+                .withAccounts(null, 0).withConcurrency(3).withMaxRequestsPerSecond(0).build()
+
+        CacheWarmUpResult result = new CacheWarmer(ds, request).warmUp()
+
+        assertEquals requests.size(), 4
+        assertTrue requests.containsAll([APP_HREF, APP_HREF + '/accounts?offset=0', APP_HREF + '/accounts?offset=100',
+                                         APP_HREF + '/accounts?offset=200'])
+        assertEquals result.resourceCount, 251
+        assertEquals result.requestCount, 4
+        assertEquals result.failureCount, 0
+        assertTrue result.estimatedSize > 0
+        assertFalse result.memoryBudgetExceeded
+        assertTrue result.finished
+    }
+
+    @Test
+    void testWarmUpTenantAndPolicies() {
+
+        def requests = new ConcurrentLinkedQueue<String>()
+        def ds = createDataStore(0, 0, requests)
+
+        def request = newWarmUpRequest().forApplication(APP_HREF).withTenant(true).withPolicies(true)
+                .withMaxRequestsPerSecond(0).build()
+
+        DefaultCacheWarmUpResult result = (DefaultCacheWarmUpResult) new CacheWarmer(ds, request).warmUp()
+
+        assertEquals requests.size(), 7
+        assertTrue requests.containsAll(['/tenants/current', APP_HREF, OAUTH_POLICY_HREF,
+                                         APP_HREF + '/accountStoreMappings?offset=0', DIR_HREF, PASSWORD_POLICY_HREF,
+                                         ACCOUNT_CREATION_POLICY_HREF])
+        assertEquals result.failureCount, 0
+        assertEquals result.currentTenantHref, TENANT_HREF
+        assertEquals result.stepTimings.keySet() as List,
+                [CacheWarmer.TENANT_STEP, CacheWarmer.APPLICATIONS_STEP, CacheWarmer.ACCOUNT_STORE_MAPPINGS_STEP,
+                 CacheWarmer.ACCOUNT_STORES_STEP, CacheWarmer.POLICIES_STEP]
+        assertTrue result.stepTimings.values().every { it >= 0 && it <= result.elapsedMillis }
+    }
+
+    @Test
+    void testWarmUpMaxAccounts() {
+
+        def requests = new ConcurrentLinkedQueue<String>()
+        def ds = createDataStore(250, 0, requests)
+
+        def request = newWarmUpRequest().forApplication(APP_HREF).withAccountStoreMappings(false)
+                .withAccounts(null, 150).withMaxRequestsPerSecond(0).build()
+
+        CacheWarmUpResult result = new CacheWarmer(ds, request).warmUp()
+
+        assertEquals requests.size(), 3
+        assertEquals result.resourceCount, 151
+    }
+
+    @Test
+    void testWarmUpAccountStoresAndGroups() {
+
+        def requests = new ConcurrentLinkedQueue<String>()
+        def ds = createDataStore(0, 120, requests)
+        def notifications = new ConcurrentLinkedQueue<CacheWarmUpResult>()
+
+        def request = newWarmUpRequest().forApplication(APP_HREF).withDirectoryGroups(true)
+                .withMaxRequestsPerSecond(0)
+                .withListener({ CacheWarmUpResult progress -> notifications << progress } as CacheWarmUpListener)
+                .build()
+
+        CacheWarmUpResult result = new CacheWarmer(ds, request).warmUp()
+
+        assertEquals requests.size(), 5
+        assertTrue requests.containsAll([APP_HREF, APP_HREF + '/accountStoreMappings?offset=0', DIR_HREF,
+                                         DIR_HREF + '/groups?offset=0', DIR_HREF + '/groups?offset=100'])
+        // application, mapping, directory and 120 groups:
+        assertEquals result.resourceCount, 123
+        assertFalse notifications.isEmpty()
+        assertTrue notifications.any { it.finished }
+    }
+
+    @Test
+    void testMemoryBudgetStopsWarmUp() {
+
+        def requests = new ConcurrentLinkedQueue<String>()
+        def ds = createDataStore(1000, 0, requests)
+
+        def request = newWarmUpRequest().forApplication(APP_HREF).withAccountStoreMappings(false)
+                .withAccounts(null, 0).withConcurrency(1).withMaxRequestsPerSecond(0).withMemoryBudget(1024).build()
+
+        CacheWarmUpResult result = new CacheWarmer(ds, request).warmUp()
+
+        assertTrue result.memoryBudgetExceeded
+        assertTrue result.finished
+        assertEquals requests.size(), 2
+        assertEquals result.resourceCount, 101
+    }
+
+    @Test
+    void testFailuresAreCountedAndSkipped() {
+
+        def ds = [getResource: { Object[] args -> throw new IllegalStateException('down') }] as InternalDataStore
+
+        def request = newWarmUpRequest().forApplication(APP_HREF).forApplication(APP_HREF + '2')
+                .withMaxRequestsPerSecond(0).build()
+
+        CacheWarmUpResult result = new CacheWarmer(ds, request).warmUp()
+
+        assertEquals result.failureCount, 2
+        assertEquals result.resourceCount, 0
+        assertTrue result.finished
+    }
+
+    @Test
+    void testThrottle() {
+
+        def requests = new ConcurrentLinkedQueue<String>()
+        def ds = createDataStore(300, 0, requests)
+
+        def request = newWarmUpRequest().forApplication(APP_HREF).withAccountStoreMappings(false)
+                .withAccounts(null, 0).withConcurrency(4).withMaxRequestsPerSecond(20).build()
+
+        CacheWarmUpResult result = new CacheWarmer(ds, request).warmUp()
+
+        // 4 requests at 20 per second: the last one may not start before 150ms have elapsed.
+        assertEquals result.requestCount, 4
+        assertTrue result.elapsedMillis >= 140
+    }
+}
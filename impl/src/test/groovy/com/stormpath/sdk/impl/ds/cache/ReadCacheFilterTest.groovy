@@ -0,0 +1,321 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.ds.cache
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.cache.CacheManager
+import com.stormpath.sdk.impl.ds.DefaultCacheRegionNameResolver
+import com.stormpath.sdk.impl.ds.DefaultResourceDataRequest
+import com.stormpath.sdk.impl.ds.DefaultResourceDataResult
+import com.stormpath.sdk.impl.ds.FilterChain
+import com.stormpath.sdk.impl.ds.ResourceAction
+import com.stormpath.sdk.impl.ds.ResourceDataRequest
+import com.stormpath.sdk.impl.cache.DefaultCache
+import com.stormpath.sdk.impl.error.DefaultError
+import com.stormpath.sdk.impl.http.HttpHeaders
+import com.stormpath.sdk.impl.http.RestException
+import com.stormpath.sdk.impl.http.support.DefaultCanonicalUri
+import com.stormpath.sdk.resource.ResourceException
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import java.util.concurrent.Executor
+import java.util.concurrent.TimeUnit
+
+import static com.stormpath.sdk.cache.Caches.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class ReadCacheFilterTest {
+
+    static final String BASE_URL = 'https://api.stormpath.com/v1'
+    static final String HREF = BASE_URL + '/accounts/foo'
+
+    List<Runnable> scheduled
+
+    @BeforeMethod
+    void setUp() {
+        scheduled = []
+    }
+
+    ReadCacheFilter createFilter(CacheManager cacheManager, FilterChain refreshChain = null) {
+        def resolver = new DefaultCacheResolver(cacheManager, new DefaultCacheRegionNameResolver())
+        return new ReadCacheFilter(BASE_URL, resolver, false, refreshChain, { Runnable r -> scheduled << r } as Executor)
+    }
+
+    static FilterChain unusedChain() {
+        return { req -> fail('the request\'s own chain must not be continued') } as FilterChain
+    }
+
+    static ResourceDataRequest createRequest() {
+        return new DefaultResourceDataRequest(ResourceAction.READ, DefaultCanonicalUri.create(HREF, null), Account, [:])
+    }
+
+    @Test
+    void testCacheMissContinuesChain() {
+        def filter = createFilter(newCacheManager().build())
+        def data = [href: HREF, username: 'jsmith']
+        def chain = { req -> new DefaultResourceDataResult(ResourceAction.READ, req.uri, Account, data) } as FilterChain
+
+        def result = filter.filter(createRequest(), chain)
+
+        assertSame result.data, data
+        assertTrue scheduled.isEmpty()
+    }
+
+    @Test
+    void testRefreshAhead() {
+        def cacheManager = newCacheManager()
+                .withCache(forResource(Account).withTimeToLive(1, TimeUnit.HOURS).withRefreshAfter(200, TimeUnit.MILLISECONDS))
+                .build()
+        def cache = cacheManager.getCache(Account.name)
+        cache.put(HREF, [href: HREF, username: 'old'])
+
+        int chainCount = 0
+        def refreshChain = { req ->
+            chainCount++
+            cache.put(HREF, [href: HREF, username: 'new']) //simulates the WriteCacheFilter
+            new DefaultResourceDataResult(ResourceAction.READ, req.uri, Account, [href: HREF, username: 'new'])
+        } as FilterChain
+        def filter = createFilter(cacheManager, refreshChain)
+        def chain = unusedChain()
+
+        //fresh entries are returned without a refresh:
+        assertEquals filter.filter(createRequest(), chain).data.username, 'old'
+        assertTrue scheduled.isEmpty()
+
+        Thread.sleep(250)
+
+        //entries past the refresh threshold are still returned immediately, but a single refresh is scheduled:
+        assertEquals filter.filter(createRequest(), chain).data.username, 'old'
+        assertEquals filter.filter(createRequest(), chain).data.username, 'old'
+        assertEquals scheduled.size(), 1
+        assertEquals chainCount, 0
+
+        scheduled[0].run()
+
+        assertEquals chainCount, 1
+        assertEquals filter.filter(createRequest(), chain).data.username, 'new'
+    }
+
+    @Test
+    void testStaleIfError() {
+        def cacheManager = newCacheManager()
+                .withCache(forResource(Account).withTimeToLive(10, TimeUnit.MILLISECONDS).withStaleIfError(1, TimeUnit.HOURS))
+                .build()
+        cacheManager.getCache(Account.name).put(HREF, [href: HREF, username: 'stale'])
+
+        def filter = createFilter(cacheManager)
+
+        Thread.sleep(15)
+
+        def chain = { req -> throw new RestException('Unable to execute HTTP request') } as FilterChain
+        assertEquals filter.filter(createRequest(), chain).data.username, 'stale'
+
+        chain = { req -> throw new ResourceException(new DefaultError([status: 503, message: 'unavailable'])) } as FilterChain
+        assertEquals filter.filter(createRequest(), chain).data.username, 'stale'
+    }
+
+    @Test
+    void testClientErrorIsNotMaskedByStaleData() {
+        def cacheManager = newCacheManager()
+                .withCache(forResource(Account).withTimeToLive(10, TimeUnit.MILLISECONDS).withStaleIfError(1, TimeUnit.HOURS))
+                .build()
+        cacheManager.getCache(Account.name).put(HREF, [href: HREF, username: 'stale'])
+
+        def filter = createFilter(cacheManager)
+
+        Thread.sleep(15)
+
+        def chain = { req -> throw new ResourceException(new DefaultError([status: 404, message: 'not found'])) } as FilterChain
+        try {
+            filter.filter(createRequest(), chain)
+            fail('should have thrown')
+        } catch (ResourceException e) {
+            assertEquals e.status, 404
+        }
+    }
+
+    @Test(expectedExceptions = RestException)
+    void testErrorWithoutStaleIfError() {
+        def cacheManager = newCacheManager().withCache(forResource(Account).withTimeToLive(10, TimeUnit.MILLISECONDS)).build()
+        cacheManager.getCache(Account.name).put(HREF, [href: HREF, username: 'stale'])
+
+        def filter = createFilter(cacheManager)
+
+        Thread.sleep(15)
+
+        filter.filter(createRequest(), { req -> throw new RestException('Unable to execute HTTP request') } as FilterChain)
+    }
+
+    @Test
+    void testRevalidateExpiredEntryWithETag() {
+        def cacheManager = newCacheManager()
+                .withCache(forResource(Account).withTimeToLive(10, TimeUnit.MILLISECONDS).withRevalidationWindow(1, TimeUnit.HOURS))
+                .build()
+        DefaultCache cache = (DefaultCache) cacheManager.getCache(Account.name)
+        cache.put(HREF, [href: HREF, username: 'cached'], '"v1"', 1234)
+
+        List<ResourceDataRequest> requests = []
+        def filter = createFilter(cacheManager)
+        def chain = { req ->
+            requests << req
+            DefaultResourceDataResult.notModified(req, new HttpHeaders())
+        } as FilterChain
+
+        Thread.sleep(15)
+
+        assertEquals filter.filter(createRequest(), chain).data.username, 'cached'
+        assertEquals requests.size(), 1
+        assertEquals requests[0].httpHeaders.getIfNoneMatch(), ['"v1"']
+        assertNull requests[0].httpHeaders.getFirst('If-Modified-Since')
+
+        //the renewed entry is served from the cache again:
+        assertEquals filter.filter(createRequest(), chain).data.username, 'cached'
+        assertEquals requests.size(), 1
+        assertEquals cache.revalidationCount, 1
+        assertEquals cache.revalidatedBytes, 1234
+    }
+
+    @Test
+    void testRevalidateExpiredEntryWithModifiedAt() {
+        def cacheManager = newCacheManager()
+                .withCache(forResource(Account).withTimeToLive(10, TimeUnit.MILLISECONDS).withRevalidationWindow(1, TimeUnit.HOURS))
+                .build()
+        def cache = cacheManager.getCache(Account.name)
+        cache.put(HREF, [href: HREF, username: 'cached', modifiedAt: '2015-10-16T21:34:56.789Z'])
+
+        List<ResourceDataRequest> requests = []
+        def filter = createFilter(cacheManager)
+        def chain = { req ->
+            requests << req
+            DefaultResourceDataResult.notModified(req, new HttpHeaders())
+        } as FilterChain
+
+        Thread.sleep(15)
+
+        assertEquals filter.filter(createRequest(), chain).data.username, 'cached'
+        assertEquals requests.size(), 1
+        assertEquals requests[0].httpHeaders.getFirst('If-Modified-Since'), 'Fri, 16 Oct 2015 21:34:56 GMT'
+        assertTrue requests[0].httpHeaders.getIfNoneMatch().isEmpty()
+    }
+
+    @Test
+    void testRevalidateModifiedResource() {
+        def cacheManager = newCacheManager()
+                .withCache(forResource(Account).withTimeToLive(10, TimeUnit.MILLISECONDS).withRevalidationWindow(1, TimeUnit.HOURS))
+                .build()
+        DefaultCache cache = (DefaultCache) cacheManager.getCache(Account.name)
+        cache.put(HREF, [href: HREF, username: 'old'], '"v1"', 100)
+
+        def filter = createFilter(cacheManager)
+        def chain = { req ->
+            new DefaultResourceDataResult(ResourceAction.READ, req.uri, Account, [href: HREF, username: 'new'])
+        } as FilterChain
+
+        Thread.sleep(15)
+
+        assertEquals filter.filter(createRequest(), chain).data.username, 'new'
+        assertEquals cache.revalidationCount, 0
+    }
+
+    @Test
+    void testExpiredEntryWithoutValidatorsIsReloaded() {
+        def cacheManager = newCacheManager()
+                .withCache(forResource(Account).withTimeToLive(10, TimeUnit.MILLISECONDS).withRevalidationWindow(1, TimeUnit.HOURS))
+                .build()
+        cacheManager.getCache(Account.name).put(HREF, [href: HREF, username: 'old'])
+
+        def filter = createFilter(cacheManager)
+        List<ResourceDataRequest> requests = []
+        def chain = { req ->
+            requests << req
+            new DefaultResourceDataResult(ResourceAction.READ, req.uri, Account, [href: HREF, username: 'new'])
+        } as FilterChain
+
+        Thread.sleep(15)
+
+        assertEquals filter.filter(createRequest(), chain).data.username, 'new'
+        assertEquals requests.size(), 1
+        assertTrue requests[0].httpHeaders.isEmpty()
+    }
+
+    @Test
+    void testExpiredEntryIsNotRevalidatedWithoutWindow() {
+        def cacheManager = newCacheManager().withCache(forResource(Account).withTimeToLive(10, TimeUnit.MILLISECONDS)).build()
+        ((DefaultCache) cacheManager.getCache(Account.name)).put(HREF, [href: HREF, username: 'old'], '"v1"', 100)
+
+        def filter = createFilter(cacheManager)
+        List<ResourceDataRequest> requests = []
+        def chain = { req ->
+            requests << req
+            new DefaultResourceDataResult(ResourceAction.READ, req.uri, Account, [href: HREF, username: 'new'])
+        } as FilterChain
+
+        Thread.sleep(15)
+
+        assertEquals filter.filter(createRequest(), chain).data.username, 'new'
+        assertTrue requests[0].httpHeaders.isEmpty()
+    }
+
+    @Test
+    void testRefreshAheadIsConditional() {
+        def cacheManager = newCacheManager()
+                .withCache(forResource(Account).withTimeToLive(1, TimeUnit.HOURS).withRefreshAfter(10, TimeUnit.MILLISECONDS))
+                .build()
+        DefaultCache cache = (DefaultCache) cacheManager.getCache(Account.name)
+        cache.put(HREF, [href: HREF, username: 'cached'], '"v1"', 500)
+
+        List<ResourceDataRequest> requests = []
+        def refreshChain = { req ->
+            requests << req
+            DefaultResourceDataResult.notModified(req, new HttpHeaders())
+        } as FilterChain
+        def filter = createFilter(cacheManager, refreshChain)
+        def chain = unusedChain()
+
+        Thread.sleep(15)
+
+        assertEquals filter.filter(createRequest(), chain).data.username, 'cached'
+        assertEquals scheduled.size(), 1
+        scheduled[0].run()
+
+        assertEquals requests[0].httpHeaders.getIfNoneMatch(), ['"v1"']
+        assertEquals cache.revalidationCount, 1
+        assertEquals cache.revalidatedBytes, 500
+
+        //the renewed entry is no longer due for a refresh:
+        assertEquals filter.filter(createRequest(), chain).data.username, 'cached'
+        assertEquals scheduled.size(), 1
+    }
+
+    @Test
+    void testRefreshAheadDisabledWithoutRefreshChain() {
+        def cacheManager = newCacheManager()
+                .withCache(forResource(Account).withTimeToLive(1, TimeUnit.HOURS).withRefreshAfter(10, TimeUnit.MILLISECONDS))
+                .build()
+        cacheManager.getCache(Account.name).put(HREF, [href: HREF, username: 'cached'])
+
+        def filter = createFilter(cacheManager)
+
+        Thread.sleep(15)
+
+        assertEquals filter.filter(createRequest(), unusedChain()).data.username, 'cached'
+        assertTrue scheduled.isEmpty()
+    }
+}
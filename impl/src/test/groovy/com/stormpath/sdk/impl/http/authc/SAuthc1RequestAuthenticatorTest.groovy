@@ -0,0 +1,71 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.authc
+
+import com.stormpath.sdk.http.HttpMethod
+import com.stormpath.sdk.impl.api.ClientApiKey
+import com.stormpath.sdk.impl.http.HttpHeaders
+import com.stormpath.sdk.impl.http.MediaType
+import com.stormpath.sdk.impl.http.Request
+import com.stormpath.sdk.impl.http.support.BufferedRequestBody
+import com.stormpath.sdk.impl.http.support.DefaultRequest
+import com.stormpath.sdk.impl.util.StringInputStream
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class SAuthc1RequestAuthenticatorTest {
+
+    private static final String BODY = '{"email":"jsmith@example.com","givenName":"Jöhn","surname":"Smith 😀"}'
+
+    private static Request newRequest(InputStream body, long length) {
+        def headers = new HttpHeaders()
+        headers.setContentType(MediaType.APPLICATION_JSON)
+        new DefaultRequest(HttpMethod.POST, 'https://api.stormpath.com/v1/directories/foo/accounts', null, headers, body, length)
+    }
+
+    private static String sign(Request request) {
+        def apiKey = new ClientApiKey('myId', 'mySecret')
+        new SAuthc1RequestAuthenticator().authenticate(request, apiKey, new Date(1445000000000L), 'a43a9d25-ab06-421e-8605-33fd1e760825')
+        request.headers.getFirst(SAuthc1RequestAuthenticator.AUTHORIZATION_HEADER)
+    }
+
+    @Test
+    void testBufferedBodySignatureMatchesStringBody() {
+
+        def buffered = BufferedRequestBody.utf8(BODY)
+        def expected = sign(newRequest(new StringInputStream(BODY), buffered.length()))
+        def actual = sign(newRequest(buffered, buffered.length()))
+
+        assertEquals actual, expected
+
+        //signing does not consume the body:
+        assertEquals buffered.available(), buffered.length()
+    }
+
+    @Test
+    void testBufferedBodySignatureMatchesStreamBody() {
+
+        def buffered = BufferedRequestBody.utf8(BODY)
+        def bytes = BODY.getBytes('UTF-8')
+        def expected = sign(newRequest(new ByteArrayInputStream(bytes), bytes.length))
+
+        assertEquals sign(newRequest(buffered, buffered.length())), expected
+    }
+}
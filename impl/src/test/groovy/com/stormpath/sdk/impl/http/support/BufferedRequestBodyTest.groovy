@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support
+
+import org.testng.annotations.Test
+
+import java.security.MessageDigest
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class BufferedRequestBodyTest {
+
+    @Test
+    void testUtf8() {
+        def body = BufferedRequestBody.utf8('{"name":"café"}')
+        assertEquals body.length(), 16
+        assertEquals body.available(), 16
+        assertEquals body.toString(), '{"name":"café"}'
+    }
+
+    @Test
+    void testOffsetAndLength() {
+        byte[] buf = 'xxhelloyy'.getBytes('UTF-8')
+        def body = new BufferedRequestBody(buf, 2, 5)
+
+        assertEquals body.length(), 5
+        assertEquals body.toString(), 'hello'
+
+        def out = new ByteArrayOutputStream()
+        body.writeTo(out)
+        assertEquals out.toString('UTF-8'), 'hello'
+
+        def md = MessageDigest.getInstance('SHA-256')
+        body.digest(md)
+        assertEquals md.digest(), MessageDigest.getInstance('SHA-256').digest('hello'.getBytes('UTF-8'))
+    }
+
+    @Test
+    void testWriteToAndDigestIgnoreReadPosition() {
+        def body = BufferedRequestBody.utf8('hello')
+
+        assertEquals body.read(), (int) 'h'.charAt(0)
+        assertEquals body.available(), 4
+
+        def out = new ByteArrayOutputStream()
+        body.writeTo(out)
+        assertEquals out.toString('UTF-8'), 'hello'
+
+        //a retry can still re-read the whole body:
+        body.reset()
+        assertEquals body.text, 'hello'
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testInvalidLength() {
+        new BufferedRequestBody(new byte[4], 2, 3)
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.http.support
+
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class CanonicalFormEncoderTest {
+
+    /**
+     * The encoding previously used by the DataStore for form bodies.
+     */
+    private static String reference(Map<String, ?> params) {
+        new TreeMap<String, Object>(params).collect { k, v ->
+            URLEncoder.encode(k, 'UTF-8') + '=' + URLEncoder.encode(v.toString(), 'UTF-8')
+        }.join('&')
+    }
+
+    private static String chars(int... codeUnits) {
+        new String(codeUnits as char[])
+    }
+
+    private static void assertEncodedLikeUrlEncoder(Map<String, ?> params) {
+        def body = CanonicalFormEncoder.encode(params)
+        def expected = reference(params)
+        assertEquals body.toString(), expected
+        assertEquals body.length(), expected.getBytes('UTF-8').length
+    }
+
+    @Test
+    void testSortsParameters() {
+        def body = CanonicalFormEncoder.encode([grant_type: 'password', username: 'jsmith', password: 'secret'])
+        assertEquals body.toString(), 'grant_type=password&password=secret&username=jsmith'
+    }
+
+    @Test
+    void testEmpty() {
+        def body = CanonicalFormEncoder.encode([:])
+        assertEquals body.length(), 0
+        assertEquals body.toString(), ''
+    }
+
+    @Test
+    void testMatchesUrlEncoder() {
+        assertEncodedLikeUrlEncoder([a: 'b c', 'x y': 'p+q&r=s', unreserved: 'azAZ09.-*_', reserved: '~!@#$%^()\'"/?:;,[]{}|\\`<>'])
+        assertEncodedLikeUrlEncoder([latin: 'café naïve', cjk: '日本語', emoji: 'smile 😀!'])
+        assertEncodedLikeUrlEncoder([control: 'tab\tnewline\ncr\r' + chars(0, 1), boundaries: chars(0x7f, 0x80, 0x7ff, 0x800, 0xffff)])
+        assertEncodedLikeUrlEncoder([number: 42, bool: true, decimal: 1.5])
+    }
+
+    @Test
+    void testUnpairedSurrogates() {
+        assertEncodedLikeUrlEncoder([high: 'a' + chars(0xd83d) + 'b', low: 'a' + chars(0xde00) + 'b',
+                                     trailing: 'a' + chars(0xd83d), reversed: chars(0xde00, 0xd83d)])
+    }
+
+    @Test
+    void testRandomStrings() {
+        def random = new Random(42)
+        100.times {
+            Map<String, String> params = [:]
+            (1 + random.nextInt(5)).times {
+                char[] chars = new char[random.nextInt(40)]
+                for (int i = 0; i < chars.length; i++) {
+                    //bias towards ASCII, but cover the whole BMP including surrogates:
+                    chars[i] = (char) (random.nextBoolean() ? random.nextInt(0x80) : random.nextInt(0x10000))
+                }
+                params.put('k' + random.nextInt(1000), new String(chars))
+            }
+            assertEncodedLikeUrlEncoder(params)
+        }
+    }
+
+    @Test
+    void testBufferGrowth() {
+        def value = 'x' * 10000
+        assertEncodedLikeUrlEncoder([value: value, other: 'é' * 5000])
+    }
+}
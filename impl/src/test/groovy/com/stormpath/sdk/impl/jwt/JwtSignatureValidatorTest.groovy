@@ -0,0 +1,83 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.jwt
+
+import com.stormpath.sdk.api.ApiKey
+import com.stormpath.sdk.error.jwt.InvalidJwtException
+import com.stormpath.sdk.impl.jwt.signer.DefaultJwtSigner
+import org.testng.annotations.Test
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class JwtSignatureValidatorTest {
+
+    private static ApiKey apiKey(String id, String secret) {
+        def apiKey = createMock(ApiKey)
+        expect(apiKey.getId()).andReturn(id).anyTimes()
+        expect(apiKey.getSecret()).andReturn(secret).anyTimes()
+        replay apiKey
+        return apiKey
+    }
+
+    @Test
+    void testForApiKeyReusesValidator() {
+
+        def id = UUID.randomUUID().toString()
+
+        def validator = JwtSignatureValidator.forApiKey(apiKey(id, 'secret'))
+
+        assertSame JwtSignatureValidator.forApiKey(apiKey(id, 'secret')), validator
+        assertNotSame JwtSignatureValidator.forApiKey(apiKey(id, 'rotated')), validator
+    }
+
+    @Test
+    void testValidate() {
+
+        def id = UUID.randomUUID().toString()
+        def jwt = new DefaultJwtSigner('secret').sign('{"aud":"' + id + '","exp":1}')
+
+        def validator = JwtSignatureValidator.forApiKey(apiKey(id, 'secret'))
+
+        //validating repeatedly with the shared validator must give the same result every time:
+        3.times { validator.validate(new JwtWrapper(jwt)) }
+
+        try {
+            JwtSignatureValidator.forApiKey(apiKey(id, 'other')).validate(new JwtWrapper(jwt))
+            fail 'signature must not validate with a different secret'
+        } catch (InvalidJwtException expected) {
+            assertEquals expected.message, InvalidJwtException.INVALID_JWT_SIGNATURE_ERROR
+        }
+    }
+
+    @Test
+    void testJsonPayloadIsParsedOnce() {
+
+        def jwt = new DefaultJwtSigner('secret').sign('{"aud":"foo","exp":1,"nested":{"a":1.5}}')
+        def wrapper = new JwtWrapper(jwt)
+
+        def payload = wrapper.getJsonPayloadAsMap()
+
+        assertEquals payload.aud, 'foo'
+        assertEquals payload.exp, 1
+        assertEquals payload.nested, [a: new BigDecimal('1.5')]
+        assertSame wrapper.getJsonPayloadAsMap(), payload
+        assertEquals wrapper.getJsonHeaderAsMap(), [alg: 'HS256', typ: 'JWT']
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.jwt.signer
+
+import com.stormpath.sdk.impl.util.Base64
+import io.jsonwebtoken.Jwts
+import io.jsonwebtoken.SignatureAlgorithm
+import org.testng.annotations.Test
+
+import javax.crypto.Mac
+import javax.crypto.spec.SecretKeySpec
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class ReusableMacJwtBuilderTest {
+
+    static SecretKeySpec key(String secret, SignatureAlgorithm alg) {
+        return new SecretKeySpec(secret.getBytes('UTF-8'), alg.jcaName)
+    }
+
+    @Test
+    void testTokensAreIdenticalToDefaultBuilderTokens() {
+
+        def now = new Date(1445031296000L)
+        def exp = new Date(1445034896000L)
+
+        [SignatureAlgorithm.HS256, SignatureAlgorithm.HS384, SignatureAlgorithm.HS512].each { alg ->
+            //alternate keys so that the thread's cached Mac instances are switched and reused:
+            ['firstSecret', 'secondSecret', 'firstSecret', 'secondSecret'].each { secret ->
+
+                def expected = Jwts.builder().setId('id').setIssuedAt(now).setSubject('sub').setExpiration(exp)
+                        .signWith(alg, key(secret, alg)).compact()
+
+                def actual = new ReusableMacJwtBuilder().setId('id').setIssuedAt(now).setSubject('sub')
+                        .setExpiration(exp).signWith(alg, key(secret, alg)).compact()
+
+                assertEquals actual, expected
+            }
+        }
+    }
+
+    @Test
+    void testMacIsReusedPerThreadAndKey() {
+
+        def first = key('firstSecret', SignatureAlgorithm.HS256)
+
+        Mac mac = HmacGenerator.getMac('HmacSHA256', first)
+        assertSame HmacGenerator.getMac('HmacSHA256', key('firstSecret', SignatureAlgorithm.HS256)), mac
+        assertNotSame HmacGenerator.getMac('HmacSHA256', key('secondSecret', SignatureAlgorithm.HS256)), mac
+        assertNotSame HmacGenerator.getMac('HmacSHA512', first), mac
+
+        Mac other = null
+        def t = Thread.start { other = HmacGenerator.getMac('HmacSHA256', first) }
+        t.join()
+        assertNotNull other
+        assertNotSame other, mac
+    }
+
+    @Test
+    void testDefaultJwtSignerSignaturesAreUnchanged() {
+
+        def payload = '{"sub":"https://api.stormpath.com/v1/accounts/apsd98f2kj09etiij","exp":1445034896}'
+
+        ['firstSecret', 'secondSecret', 'firstSecret'].each { secret ->
+
+            def signer = new DefaultJwtSigner(secret)
+            def jwt = signer.sign(payload)
+            def parts = jwt.split('\\.')
+
+            //the signature as previously computed with a new Mac for every token:
+            Mac mac = Mac.getInstance('HmacSHA256')
+            mac.init(new SecretKeySpec(secret.getBytes('UTF-8'), 'HmacSHA256'))
+            def expected = Base64.encodeBase64URLSafeString(mac.doFinal((parts[0] + '.' + parts[1]).getBytes('UTF-8')))
+
+            assertEquals parts[2], expected
+            assertEquals signer.sign(payload), jwt
+        }
+    }
+}
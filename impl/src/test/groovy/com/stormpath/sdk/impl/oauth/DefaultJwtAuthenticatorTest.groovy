@@ -0,0 +1,227 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.oauth
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.api.ApiKey
+import com.stormpath.sdk.impl.application.DefaultApplication
+import com.stormpath.sdk.impl.cache.DefaultCacheManager
+import com.stormpath.sdk.impl.ds.DefaultCacheRegionNameResolver
+import com.stormpath.sdk.impl.ds.InternalDataStore
+import com.stormpath.sdk.impl.ds.cache.CacheResolver
+import com.stormpath.sdk.impl.ds.cache.DefaultCacheResolver
+import com.stormpath.sdk.oauth.AccessToken
+import com.stormpath.sdk.oauth.JwtAuthenticationResult
+import com.stormpath.sdk.tenant.Tenant
+import io.jsonwebtoken.JwtException
+import io.jsonwebtoken.Jwts
+import io.jsonwebtoken.SignatureAlgorithm
+import org.testng.annotations.Test
+
+import static org.easymock.EasyMock.*
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class DefaultJwtAuthenticatorTest {
+
+    static final String APP_HREF = 'https://api.stormpath.com/v1/applications/928glsjeorigjj09etiij'
+    static final String ACCOUNT_HREF = 'https://api.stormpath.com/v1/accounts/apsd98f2kj09etiij'
+    static final String TENANT_HREF = 'https://api.stormpath.com/v1/tenants/jdhrgojeorigjj09etiij'
+    static final String SECRET = 'mySecret'
+
+    static String jwt(long expiresAt, String secret = SECRET) {
+        return Jwts.builder().setIssuer(APP_HREF).setSubject(ACCOUNT_HREF).setId('5hFj6FUwNb28OQrp93phPP')
+                .setExpiration(new Date(expiresAt))
+                .signWith(SignatureAlgorithm.HS256, secret.getBytes('UTF-8')).compact()
+    }
+
+    static CacheResolver cacheResolver() {
+        return new DefaultCacheResolver(new DefaultCacheManager(), new DefaultCacheRegionNameResolver())
+    }
+
+    static JwtAuthenticationResult authenticate(DefaultJwtAuthenticator authenticator, String jwt) {
+        return authenticator.authenticate(new DefaultJwtAuthenticationRequestBuilder().setJwt(jwt).build())
+    }
+
+    @Test
+    void testLocalValidationWithoutDataStoreInteraction() {
+
+        def dataStore = createStrictMock(InternalDataStore)
+        def apiKey = createStrictMock(ApiKey)
+        def account = createStrictMock(Account)
+
+        def application = new DefaultApplication(dataStore, [href: APP_HREF, name: 'My App', tenant: [href: TENANT_HREF]])
+        def token = jwt(System.currentTimeMillis() + 60000)
+
+        //the signing key is only looked up once, no matter how many tokens are validated:
+        expect(dataStore.getApiKey()).andReturn(apiKey)
+        expect(apiKey.getSecret()).andReturn(SECRET)
+        expect(dataStore.getCacheResolver()).andStubReturn(cacheResolver())
+        //the account is only resolved when it is accessed:
+        expect(dataStore.instantiate(Account, [href: ACCOUNT_HREF])).andReturn(account)
+
+        replay dataStore, apiKey, account
+
+        def authenticator = new DefaultJwtAuthenticator(application, dataStore).withLocalValidation()
+
+        def first = authenticate(authenticator, token)
+        def second = authenticate(authenticator, token)
+
+        assertEquals first.href, 'https://api.stormpath.com/v1/accessTokens/5hFj6FUwNb28OQrp93phPP'
+        assertEquals second.href, first.href
+        assertEquals second.jwt, token
+        assertSame second.application, application
+        assertSame second.account, account
+
+        verify dataStore, apiKey, account
+    }
+
+    @Test
+    void testLocalValidationOfInvalidTokens() {
+
+        def dataStore = createStrictMock(InternalDataStore)
+        def apiKey = createStrictMock(ApiKey)
+
+        def application = new DefaultApplication(dataStore, [href: APP_HREF, name: 'My App', tenant: [href: TENANT_HREF]])
+
+        expect(dataStore.getApiKey()).andReturn(apiKey)
+        expect(apiKey.getSecret()).andReturn(SECRET)
+        expect(dataStore.getCacheResolver()).andStubReturn(cacheResolver())
+
+        replay dataStore, apiKey
+
+        def authenticator = new DefaultJwtAuthenticator(application, dataStore).withLocalValidation()
+
+        [jwt(System.currentTimeMillis() - 1000), jwt(System.currentTimeMillis() + 60000, 'otherSecret')].each {
+            try {
+                authenticate(authenticator, it)
+                fail("Should have failed")
+            } catch (JwtException expected) {
+                assertEquals expected.message, 'JWT failed validation; it cannot be trusted.'
+            }
+        }
+
+        verify dataStore, apiKey
+    }
+
+    @Test
+    void testVerifiedTokenIsNotHonoredAfterExpiration() {
+
+        def dataStore = createStrictMock(InternalDataStore)
+        def apiKey = createStrictMock(ApiKey)
+
+        def application = new DefaultApplication(dataStore, [href: APP_HREF, name: 'My App', tenant: [href: TENANT_HREF]])
+        def token = jwt(System.currentTimeMillis() + 1500)
+
+        expect(dataStore.getApiKey()).andReturn(apiKey)
+        expect(apiKey.getSecret()).andReturn(SECRET)
+        expect(dataStore.getCacheResolver()).andStubReturn(cacheResolver())
+
+        replay dataStore, apiKey
+
+        def authenticator = new DefaultJwtAuthenticator(application, dataStore).withLocalValidation()
+
+        assertNotNull authenticate(authenticator, token)
+
+        Thread.sleep(2000)
+
+        try {
+            authenticate(authenticator, token)
+            fail("Should have failed")
+        } catch (JwtException expected) {
+        }
+
+        verify dataStore, apiKey
+    }
+
+    @Test
+    void testVerifiedTokensAreSharedByAuthenticatorsOfTheClient() {
+
+        def dataStore = createStrictMock(InternalDataStore)
+        def apiKey = createStrictMock(ApiKey)
+
+        def application = new DefaultApplication(dataStore, [href: APP_HREF, name: 'My App', tenant: [href: TENANT_HREF]])
+        def token = jwt(System.currentTimeMillis() + 60000)
+
+        expect(dataStore.getCacheResolver()).andStubReturn(cacheResolver())
+        //only the first authenticator verifies the token:
+        expect(dataStore.getApiKey()).andReturn(apiKey)
+        expect(apiKey.getSecret()).andReturn(SECRET)
+
+        replay dataStore, apiKey
+
+        //every call creates a new authenticator, just like Applications.jwtAuthenticator().forApplication(app):
+        def first = authenticate(application.createJwtAuthenticator().withLocalValidation(), token)
+        def second = authenticate(application.createJwtAuthenticator().withLocalValidation(), token)
+
+        assertEquals second.href, first.href
+
+        verify dataStore, apiKey
+    }
+
+    @Test
+    void testVerifiedTokenIsOnlyHonoredForItsApplication() {
+
+        def dataStore = createStrictMock(InternalDataStore)
+        def apiKey = createStrictMock(ApiKey)
+
+        def application = new DefaultApplication(dataStore, [href: APP_HREF, name: 'My App', tenant: [href: TENANT_HREF]])
+        def other = new DefaultApplication(dataStore, [href: APP_HREF + 'other', name: 'Other App', tenant: [href: TENANT_HREF]])
+        def token = jwt(System.currentTimeMillis() + 60000)
+
+        expect(dataStore.getCacheResolver()).andStubReturn(cacheResolver())
+        expect(dataStore.getApiKey()).andReturn(apiKey).times(2)
+        expect(apiKey.getSecret()).andReturn(SECRET).times(2)
+
+        replay dataStore, apiKey
+
+        assertNotNull authenticate(application.createJwtAuthenticator().withLocalValidation(), token)
+
+        try {
+            authenticate(other.createJwtAuthenticator().withLocalValidation(), token)
+            fail("Should have failed")
+        } catch (JwtException expected) {
+        }
+
+        verify dataStore, apiKey
+    }
+
+    @Test
+    void testRemoteValidationDoesNotUseTheVerifiedTokensCache() {
+
+        def dataStore = createStrictMock(InternalDataStore)
+        def accessToken = createNiceMock(AccessToken)
+
+        def application = new DefaultApplication(dataStore, [href: APP_HREF, name: 'My App', tenant: [href: TENANT_HREF]])
+
+        expect(accessToken.getHref()).andStubReturn('https://api.stormpath.com/v1/accessTokens/5hFj6FUwNb28OQrp93phPP')
+        expect(accessToken.getApplication()).andStubReturn(application)
+        expect(accessToken.getAccount()).andStubReturn(createNiceMock(Account))
+        expect(accessToken.getTenant()).andStubReturn(createNiceMock(Tenant))
+        expect(accessToken.getJwt()).andStubReturn('token')
+
+        //no getCacheResolver() expectation: a strict mock fails on any unexpected call
+        expect(dataStore.getResource(APP_HREF + '/authTokens/token', AccessToken)).andReturn(accessToken)
+
+        replay dataStore, accessToken
+
+        authenticate(application.createJwtAuthenticator(), 'token')
+
+        verify dataStore
+    }
+}
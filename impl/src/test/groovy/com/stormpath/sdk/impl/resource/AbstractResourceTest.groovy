@@ -24,6 +24,9 @@ import java.lang.reflect.Method
 
 import static org.easymock.EasyMock.*
 import static org.testng.Assert.assertEquals
+import static org.testng.Assert.assertFalse
+import static org.testng.Assert.assertSame
+import static org.testng.Assert.assertTrue
 import static org.testng.Assert.assertNull
 import static org.testng.Assert.fail
 
@@ -125,4 +128,92 @@ class AbstractResourceTest {
         }
     }
 
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testMaterializationDoesNotModifySharedData() {
+
+        def props = ['href': 'http://foo.com/test/123']
+        InternalDataStore ds = createStrictMock(InternalDataStore)
+
+        def serverProps = ['href': props.href, 'name': 'Old Name', 'description': 'Old Description']
+        def serverResource = new TestResource(ds, serverProps)
+
+        expect(ds.getResource(props.href, TestResource)).andReturn serverResource
+
+        replay ds
+
+        TestResource resource = new TestResource(ds, props)
+        resource.setName('New Name')
+        resource.getDescription() //forces materialization
+
+        assertEquals resource.getName(), 'New Name'
+        assertEquals serverResource.getName(), 'Old Name' //dirty values must not leak into the shared data
+        assertEquals serverProps.name, 'Old Name'
+
+        verify ds
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testDirtyTrackingIsAllocatedLazily() {
+
+        InternalDataStore ds = createStrictMock(InternalDataStore)
+        replay ds
+
+        TestResource a = new TestResource(ds, ['href': 'http://foo.com/test/1', 'name': 'A'])
+        TestResource b = new TestResource(ds, ['href': 'http://foo.com/test/2', 'name': 'B'])
+
+        //unmodified resources share the same empty instances:
+        assertSame a.@dirtyProperties, b.@dirtyProperties
+        assertSame a.@deletedPropertyNames, b.@deletedPropertyNames
+        assertFalse a.isDirty()
+
+        Map before = a.@dirtyProperties
+        a.setName('New A')
+
+        assertTrue a.isDirty()
+        assertEquals a.@dirtyProperties, [name: 'New A']
+        assertTrue before.isEmpty() //published snapshots are never modified
+        assertTrue b.@dirtyProperties.isEmpty()
+
+        verify ds
+    }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testLocksExcludeWriters() {
+
+        InternalDataStore ds = createStrictMock(InternalDataStore)
+        replay ds
+
+        TestResource resource = new TestResource(ds, ['href': 'http://foo.com/test/1', 'name': 'A'])
+
+        [resource.@readLock, resource.@writeLock].each { lock ->
+            lock.lock()
+            Thread writer
+            try {
+                writer = Thread.start {
+                    resource.setName('B')
+                }
+                writer.join(200)
+                assertTrue writer.isAlive()
+                assertEquals resource.getName(), 'A'
+            } finally {
+                lock.unlock()
+            }
+
+            writer.join()
+            assertEquals resource.getName(), 'B'
+            resource.setName('A')
+        }
+
+        verify ds
+    }
 }
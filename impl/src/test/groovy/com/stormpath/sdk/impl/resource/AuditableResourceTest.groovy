@@ -24,6 +24,8 @@ import java.text.DateFormat
 import static org.easymock.EasyMock.createStrictMock
 import static org.easymock.EasyMock.replay
 import static org.testng.Assert.assertEquals
+import static org.testng.Assert.assertNotSame
+import static org.testng.Assert.assertNull
 
 /**
  * @since 1.0.RC4.6
@@ -48,4 +50,42 @@ class AuditableResourceTest {
         assertEquals dateFormatter.parse(properties.createdAt), resource.getCreatedAt()
         assertEquals dateFormatter.parse(properties.modifiedAt), resource.getModifiedAt()
     }
+
+    /**
+     * @since 1.0.RC8.1
+     */
+    @Test
+    void testParsedDateIsCachedUntilValueChanges() {
+
+        DateFormat dateFormatter = new ISO8601DateFormat();
+
+        InternalDataStore ds = createStrictMock(InternalDataStore)
+        replay ds
+
+        def properties = ['href': 'http://test.com/values/123',
+                          'createdAt': '2014-04-18T21:32:19.651Z',
+                          'modifiedAt': '2014-06-19T20:48:48.000Z']
+
+        AuditableTestResource resource = new AuditableTestResource(ds, properties)
+
+        Date first = resource.getCreatedAt()
+        Date second = resource.getCreatedAt()
+        assertEquals second, first
+        assertNotSame second, first //Date is mutable, callers must not share an instance
+
+        //mutating a returned instance must not affect the resource:
+        first.setTime(0)
+        assertEquals resource.getCreatedAt(), dateFormatter.parse(properties.createdAt)
+
+        //alternating between date properties never returns the value of the other one:
+        assertEquals resource.getModifiedAt(), dateFormatter.parse(properties.modifiedAt)
+        assertEquals resource.getCreatedAt(), dateFormatter.parse(properties.createdAt)
+        assertEquals resource.getModifiedAt(), dateFormatter.parse(properties.modifiedAt)
+
+        resource.setProperty(AuditableTestResource.CREATED_AT, '2015-01-02T03:04:05.006Z')
+        assertEquals resource.getCreatedAt(), dateFormatter.parse('2015-01-02T03:04:05.006Z')
+
+        resource.setProperty(AuditableTestResource.CREATED_AT, 'not a date')
+        assertNull resource.getCreatedAt()
+    }
 }
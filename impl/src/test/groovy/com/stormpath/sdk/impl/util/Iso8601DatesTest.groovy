@@ -0,0 +1,160 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.impl.util
+
+import com.fasterxml.jackson.databind.util.ISO8601DateFormat
+import org.testng.annotations.Test
+
+import java.text.ParseException
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class Iso8601DatesTest {
+
+    @Test
+    void testParseMatchesJackson() {
+
+        def values = [
+                '2014-04-18T21:32:19.651Z',
+                '2014-06-19T20:48:48.000Z',
+                '1970-01-01T00:00:00.000Z',
+                '1969-12-31T23:59:59.999Z',
+                '2015-07-01T10:15:30Z',
+                '2015-07-01T10:15:30.123+02:00',
+                '1600-03-01T00:00:00.000Z',
+                '9999-12-31T23:59:59.999Z'
+        ]
+
+        def jackson = new ISO8601DateFormat()
+
+        for (String value : values) {
+            assertEquals Iso8601Dates.parse(value), jackson.parse(value), value
+        }
+    }
+
+    @Test
+    void testParseWithoutTimeZoneIsUtc() {
+        assertEquals Iso8601Dates.parseMillis('1970-01-02T00:00:01'), 86401000L
+    }
+
+    @Test
+    void testParseIgnoresDigitsBeyondMillis() {
+        assertEquals Iso8601Dates.parseMillis('1970-01-01T00:00:00.123456789Z'), 123L
+        assertEquals Iso8601Dates.parseMillis('1970-01-01T00:00:00.5Z'), 500L
+    }
+
+    @Test
+    void testParseOptionalParts() {
+        assertEquals Iso8601Dates.parseMillis('1970-01-02'), 86400000L
+        assertEquals Iso8601Dates.parseMillis('1970-01-01T01:02Z'), 3720000L
+        assertEquals Iso8601Dates.parseMillis('1970-01-01T01:00:00+01'), 0L
+        assertEquals Iso8601Dates.parseMillis('1970-01-01T00:00:00-01'), 3600000L
+        assertEquals Iso8601Dates.parseMillis('1970-01-01T00:00:00.000-0530'), 19800000L
+    }
+
+    @Test
+    void testParseInvalid() {
+
+        def values = [null, '', '2015', '2015-13-01', '2015-02-29', '2015-04-31', '2015-00-10', '2015-01-01T24:00Z',
+                      '2015-01-01T10:60Z', '2015-01-01T10:00:60Z', '2015-01-01T10:00:00.Z', '2015-01-01T10:00:00X',
+                      '2015-01-01T10:00:00+1', '2015-01-01T10:00:00+25:00', '2015-01-01T10:00:00ZZ',
+                      '2015/01/01', 'abcd-ef-gh']
+
+        for (String value : values) {
+            try {
+                Iso8601Dates.parse(value)
+                fail("ParseException expected for value '$value'")
+            } catch (ParseException expected) {
+            }
+        }
+    }
+
+    @Test
+    void testFormat() {
+        assertEquals Iso8601Dates.format(0L), '1970-01-01T00:00:00.000Z'
+        assertEquals Iso8601Dates.format(-1L), '1969-12-31T23:59:59.999Z'
+        assertEquals Iso8601Dates.format(new Date(1403210928651L)), '2014-06-19T20:48:48.651Z'
+        assertEquals Iso8601Dates.format(Iso8601Dates.parse('2000-02-29T23:01:02.003+00:00')), '2000-02-29T23:01:02.003Z'
+    }
+
+    @Test
+    void testFormatRoundTrip() {
+
+        def random = new Random(42)
+
+        for (int i = 0; i < 10000; i++) {
+            //anywhere between 1900 and 2100:
+            long millis = (long) ((random.nextDouble() * 2 - 1) * 4102444800000L)
+            String formatted = Iso8601Dates.format(millis)
+            assertEquals Iso8601Dates.parseMillis(formatted), millis, formatted
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException)
+    void testFormatNull() {
+        Iso8601Dates.format((Date) null)
+    }
+
+    @Test
+    void testConcurrentParseAndFormat() {
+
+        int threads = 8
+        int iterations = 20000
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads)
+        CountDownLatch start = new CountDownLatch(1)
+
+        try {
+            List<Future<Integer>> futures = []
+
+            for (int t = 0; t < threads; t++) {
+                final long seed = t
+                futures << executor.submit(new Callable<Integer>() {
+                    @Override
+                    Integer call() throws Exception {
+                        Random random = new Random(seed)
+                        start.await()
+                        int mismatches = 0
+                        for (int i = 0; i < iterations; i++) {
+                            long millis = (long) (random.nextDouble() * 4102444800000L)
+                            String formatted = Iso8601Dates.format(millis)
+                            if (Iso8601Dates.parseMillis(formatted) != millis) {
+                                mismatches++
+                            }
+                        }
+                        return mismatches
+                    }
+                })
+            }
+
+            start.countDown()
+
+            for (Future<Integer> future : futures) {
+                assertEquals future.get().intValue(), 0
+            }
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.stub;
+
+import com.stormpath.sdk.http.HttpMethod;
+import com.stormpath.sdk.impl.api.ClientApiKey;
+import com.stormpath.sdk.impl.http.HttpHeaders;
+import com.stormpath.sdk.impl.http.QueryString;
+import com.stormpath.sdk.impl.http.Request;
+import com.stormpath.sdk.impl.http.authc.SAuthc1RequestAuthenticator;
+import com.stormpath.sdk.impl.http.support.BufferedRequestBody;
+import com.stormpath.sdk.impl.http.support.DefaultRequest;
+import com.stormpath.sdk.impl.util.Base64;
+import com.stormpath.sdk.lang.Assert;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.SimpleTimeZone;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticates requests received by the {@link StubStormpathServer} the way the Stormpath API does: {@code SAuthc1}
+ * signatures are recomputed from the received request and compared with the signature sent by the client, and
+ * {@code Basic} credentials are compared with the registered API Key secrets.
+ *
+ * @since 1.0.RC8.1
+ */
+public class RequestSignatureVerifier {
+
+    /**
+     * The maximum difference between a signed request's {@code X-Stormpath-Date} and the server's clock.
+     */
+    public static final long MAX_CLOCK_SKEW_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final String SAUTHC1_PREFIX = SAuthc1RequestAuthenticator.AUTHENTICATION_SCHEME + " ";
+    private static final String BASIC_PREFIX = "Basic ";
+    private static final String CONTENT_LENGTH = "Content-Length";
+
+    private static final int UNAUTHORIZED = 401;
+    private static final int UNAUTHORIZED_CODE = 11000;
+
+    private final Map<String, String> secrets = new ConcurrentHashMap<String, String>();
+
+    private final SAuthc1RequestAuthenticator authenticator = new SAuthc1RequestAuthenticator();
+
+    /**
+     * Registers an API Key that may authenticate requests.
+     *
+     * @param id     the API Key id
+     * @param secret the API Key secret
+     */
+    public void addApiKey(String id, String secret) {
+        Assert.hasText(id, "API Key id cannot be null or empty.");
+        Assert.hasText(secret, "API Key secret cannot be null or empty.");
+        secrets.put(id, secret);
+    }
+
+    /**
+     * Returns the secret of the registered API Key with the specified id, or {@code null} if there is no such key.
+     *
+     * @param id the API Key id
+     * @return the secret of the registered API Key with the specified id, or {@code null}.
+     */
+    public String getSecret(String id) {
+        return secrets.get(id);
+    }
+
+    /**
+     * Authenticates the specified request.
+     *
+     * @param method  the request method
+     * @param host    the value of the request's {@code Host} header
+     * @param path    the raw (still encoded) request path
+     * @param query   the decoded query parameters
+     * @param headers the request headers, looked up case-insensitively
+     * @param body    the request body (empty if there is none)
+     * @return the id of the API Key that authenticated the request
+     * @throws StubApiException if the request cannot be authenticated
+     */
+    public String authenticate(String method, String host, String path, Map<String, String> query,
+                               Map<String, List<String>> headers, byte[] body) throws StubApiException {
+
+        String authorization = first(headers, SAuthc1RequestAuthenticator.AUTHORIZATION_HEADER);
+
+        if (authorization == null) {
+            throw unauthorized("Authentication required.");
+        }
+        if (authorization.startsWith(SAUTHC1_PREFIX)) {
+            return verifySauthc1(authorization, method, host, path, query, headers, body);
+        }
+        if (authorization.startsWith(BASIC_PREFIX)) {
+            return verifyBasic(authorization.substring(BASIC_PREFIX.length()).trim());
+        }
+        throw unauthorized("Unsupported authentication scheme.");
+    }
+
+    private String verifyBasic(String encoded) {
+        String credentials = new String(Base64.decodeBase64(encoded), UTF_8);
+        int i = credentials.indexOf(':');
+        if (i < 0) {
+            throw unauthorized("Invalid Basic credentials.");
+        }
+        String id = credentials.substring(0, i);
+        String secret = secrets.get(id);
+        if (secret == null || !constantTimeEquals(secret, credentials.substring(i + 1))) {
+            throw unauthorized("Invalid API Key credentials.");
+        }
+        return id;
+    }
+
+    private String verifySauthc1(String authorization, String method, String host, String path,
+                                 Map<String, String> query, Map<String, List<String>> headers, byte[] body) {
+
+        String sauthc1Id = null;
+        String signedHeaders = null;
+        for (String pair : authorization.substring(SAUTHC1_PREFIX.length()).split(",")) {
+            String[] nameValue = pair.trim().split("=", 2);
+            if (nameValue.length != 2) {
+                continue;
+            }
+            if (SAuthc1RequestAuthenticator.SAUTHC1_ID.equals(nameValue[0])) {
+                sauthc1Id = nameValue[1];
+            } else if (SAuthc1RequestAuthenticator.SAUTHC1_SIGNED_HEADERS.equals(nameValue[0])) {
+                signedHeaders = nameValue[1];
+            }
+        }
+        if (sauthc1Id == null || signedHeaders == null) {
+            throw unauthorized("Malformed SAuthc1 Authorization header.");
+        }
+
+        //apiKeyId/yyyyMMdd/nonce/sauthc1_request:
+        String[] idParts = sauthc1Id.split("/");
+        if (idParts.length != 4 || !SAuthc1RequestAuthenticator.ID_TERMINATOR.equals(idParts[3])) {
+            throw unauthorized("Malformed SAuthc1 id.");
+        }
+        String apiKeyId = idParts[0];
+        String nonce = idParts[2];
+
+        String secret = secrets.get(apiKeyId);
+        if (secret == null) {
+            throw unauthorized("Unknown API Key.");
+        }
+
+        Date date = parseTimestamp(first(headers, SAuthc1RequestAuthenticator.STORMAPTH_DATE_HEADER));
+        if (Math.abs(System.currentTimeMillis() - date.getTime()) > MAX_CLOCK_SKEW_MILLIS) {
+            throw unauthorized("Request date is outside of the allowed clock skew.");
+        }
+
+        //rebuild the request exactly as the client signed it - with only the signed headers:
+        HttpHeaders signed = new HttpHeaders();
+        long contentLength = -1;
+        for (String name : signedHeaders.split(";")) {
+            List<String> values = headers.get(name);
+            if (values == null || values.isEmpty()) {
+                throw unauthorized("Signed header '" + name + "' is missing.");
+            }
+            if (CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                contentLength = Long.parseLong(values.get(0).trim());
+                continue;
+            }
+            //set by the authenticator itself while signing:
+            if (SAuthc1RequestAuthenticator.HOST_HEADER.equalsIgnoreCase(name) ||
+                SAuthc1RequestAuthenticator.STORMAPTH_DATE_HEADER.equalsIgnoreCase(name)) {
+                continue;
+            }
+            for (String value : values) {
+                signed.add(name, value);
+            }
+        }
+
+        QueryString queryString = new QueryString();
+        queryString.putAll(query);
+
+        Request request = new DefaultRequest(HttpMethod.fromName(method), "http://" + host + path, queryString,
+                                             signed, new BufferedRequestBody(body), contentLength);
+
+        authenticator.authenticate(request, new ClientApiKey(apiKeyId, secret), date, nonce);
+
+        String expected = request.getHeaders().getFirst(SAuthc1RequestAuthenticator.AUTHORIZATION_HEADER);
+        if (!constantTimeEquals(expected, authorization)) {
+            throw unauthorized("Request signature does not match.");
+        }
+        return apiKeyId;
+    }
+
+    private static Date parseTimestamp(String timestamp) {
+        if (timestamp == null) {
+            throw unauthorized("Missing " + SAuthc1RequestAuthenticator.STORMAPTH_DATE_HEADER + " header.");
+        }
+        SimpleDateFormat format = new SimpleDateFormat(SAuthc1RequestAuthenticator.TIMESTAMP_FORMAT);
+        format.setTimeZone(new SimpleTimeZone(0, SAuthc1RequestAuthenticator.TIME_ZONE));
+        try {
+            return format.parse(timestamp);
+        } catch (ParseException e) {
+            throw unauthorized("Invalid " + SAuthc1RequestAuthenticator.STORMAPTH_DATE_HEADER + " header.");
+        }
+    }
+
+    private static String first(Map<String, List<String>> headers, String name) {
+        List<String> values = headers.get(name);
+        return values != null && !values.isEmpty() ? values.get(0) : null;
+    }
+
+    private static boolean constantTimeEquals(String a, String b) {
+        return MessageDigest.isEqual(a.getBytes(UTF_8), b.getBytes(UTF_8));
+    }
+
+    private static StubApiException unauthorized(String message) {
+        return new StubApiException(UNAUTHORIZED, UNAUTHORIZED_CODE, message);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.stub;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Signals a request that the {@link StubStormpathServer} rejects with a Stormpath error representation.
+ *
+ * @since 1.0.RC8.1
+ */
+public class StubApiException extends RuntimeException {
+
+    private final int status;
+    private final int code;
+
+    public StubApiException(int status, int code, String message) {
+        super(message);
+        this.status = status;
+        this.code = code;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the error representation returned to the client, in the same form as the Stormpath API's.
+     *
+     * @return the error representation returned to the client.
+     */
+    public Map<String, Object> toRepresentation() {
+        Map<String, Object> m = new LinkedHashMap<String, Object>();
+        m.put("status", status);
+        m.put("code", code);
+        m.put("message", getMessage());
+        m.put("developerMessage", getMessage());
+        m.put("moreInfo", "http://docs.stormpath.com/errors/" + code);
+        return m;
+    }
+}
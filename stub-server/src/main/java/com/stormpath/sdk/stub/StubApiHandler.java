@@ -0,0 +1,969 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.stub;
+
+import com.stormpath.sdk.impl.util.Base64;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Strings;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import java.nio.charset.Charset;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implements the subset of the Stormpath REST API served by the {@link StubStormpathServer} on top of a
+ * {@link StubResourceStore}: tenants, applications, directories, accounts, groups, group memberships, account store
+ * mappings, custom data, API keys, login attempts and OAuth tokens.
+ * <p/>
+ * Instance resources support {@code GET}, {@code POST} (partial update) and {@code DELETE}; collection resources
+ * support {@code GET} with {@code offset}, {@code limit}, {@code q} and attribute filters (with {@code *} wildcards)
+ * and {@code POST} to create a new member.  Link expansion is not supported: references are always returned as
+ * links.  API Key secrets are returned unencrypted.
+ *
+ * @since 1.0.RC8.1
+ */
+public class StubApiHandler {
+
+    public static final int DEFAULT_LIMIT = 25;
+    public static final int MAX_LIMIT = 100;
+
+    /**
+     * How long issued OAuth access tokens remain valid.
+     */
+    public static final long ACCESS_TOKEN_TTL_SECONDS = TimeUnit.HOURS.toSeconds(1);
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private static final String TENANTS = "tenants";
+    private static final String APPLICATIONS = "applications";
+    private static final String DIRECTORIES = "directories";
+    private static final String ACCOUNTS = "accounts";
+    private static final String GROUPS = "groups";
+    private static final String GROUP_MEMBERSHIPS = "groupMemberships";
+    private static final String ACCOUNT_MEMBERSHIPS = "accountMemberships";
+    private static final String ACCOUNT_STORE_MAPPINGS = "accountStoreMappings";
+    private static final String API_KEYS = "apiKeys";
+    private static final String ACCESS_TOKENS = "accessTokens";
+    private static final String REFRESH_TOKENS = "refreshTokens";
+    private static final String CUSTOM_DATA = "customData";
+    private static final String LOGIN_ATTEMPTS = "loginAttempts";
+
+    private static final String HREF = StubResourceStore.HREF;
+    private static final String ENABLED = "ENABLED";
+
+    //collection links included in the representations of each resource type:
+    private static final Map<String, List<String>> COLLECTIONS = new LinkedHashMap<String, List<String>>();
+
+    static {
+        COLLECTIONS.put(TENANTS, Arrays.asList(APPLICATIONS, DIRECTORIES, ACCOUNTS, GROUPS));
+        COLLECTIONS.put(APPLICATIONS, Arrays.asList(ACCOUNTS, GROUPS, ACCOUNT_STORE_MAPPINGS, LOGIN_ATTEMPTS, API_KEYS));
+        COLLECTIONS.put(DIRECTORIES, Arrays.asList(ACCOUNTS, GROUPS));
+        COLLECTIONS.put(ACCOUNTS, Arrays.asList(GROUPS, GROUP_MEMBERSHIPS, API_KEYS, ACCESS_TOKENS, REFRESH_TOKENS));
+        COLLECTIONS.put(GROUPS, Arrays.asList(ACCOUNTS, ACCOUNT_MEMBERSHIPS));
+    }
+
+    //query parameters that are not attribute filters:
+    private static final Set<String> RESERVED_QUERY_PARAMS =
+        new HashSet<String>(Arrays.asList("offset", "limit", "q", "expand", "orderBy"));
+
+    private final StubResourceStore store;
+    private final RequestSignatureVerifier verifier;
+
+    private final String tenantHref;
+    private final String applicationHref;
+    private final String directoryHref;
+
+    //compact JWT -> href of the access or refresh token resource:
+    private final Map<String, String> tokens = new ConcurrentHashMap<String, String>();
+
+    /**
+     * Creates a new handler serving the specified store, initialized with a tenant that has a single application
+     * whose default account store is a single directory.
+     *
+     * @param store    the store holding the served resources
+     * @param verifier the verifier holding the API Key secrets used to sign issued OAuth tokens
+     */
+    public StubApiHandler(StubResourceStore store, RequestSignatureVerifier verifier) {
+        Assert.notNull(store, "store cannot be null.");
+        Assert.notNull(verifier, "verifier cannot be null.");
+        this.store = store;
+        this.verifier = verifier;
+
+        this.tenantHref = store.newHref(TENANTS);
+        Map<String, Object> tenant = new LinkedHashMap<String, Object>();
+        tenant.put("name", "stub-tenant");
+        tenant.put("key", "stub-tenant");
+        store.create(tenantHref, withLinks(TENANTS, tenantHref, tenant));
+        createCustomData(tenantHref, null);
+
+        this.directoryHref = createDirectory(props("name", "Stub Directory"));
+        this.applicationHref = createApplication(props("name", "Stub Application"), null);
+        createAccountStoreMapping(applicationHref, directoryHref, true);
+    }
+
+    public String getTenantHref() {
+        return tenantHref;
+    }
+
+    public String getApplicationHref() {
+        return applicationHref;
+    }
+
+    public String getDirectoryHref() {
+        return directoryHref;
+    }
+
+    /**
+     * Handles a request to the API.
+     *
+     * @param method   the HTTP method
+     * @param path     the decoded request path, relative to the API base URL, e.g. {@code /accounts/abc123}
+     * @param query    the decoded query parameters
+     * @param body     the parsed JSON or form request body (empty if there is none)
+     * @param apiKeyId the id of the API Key that authenticated the request
+     * @return the response to return to the client
+     * @throws StubApiException if the request is rejected
+     */
+    public StubResponse handle(String method, String path, Map<String, String> query, Map<String, Object> body,
+                               String apiKeyId) throws StubApiException {
+
+        String[] segments = Strings.tokenizeToStringArray(path, "/");
+        if (segments == null || segments.length == 0) {
+            throw notFound();
+        }
+
+        String type = segments[0];
+
+        if (segments.length == 1) {
+            if ("POST".equals(method)) {
+                return StubResponse.created(createTopLevel(type, body, query));
+            }
+            throw methodNotAllowed();
+        }
+
+        if (segments.length == 2 && TENANTS.equals(type) && "current".equals(segments[1])) {
+            return StubResponse.redirect(tenantHref);
+        }
+
+        String href = store.getBaseUrl() + "/" + type + "/" + segments[1];
+        Map<String, Object> resource = store.get(href);
+        if (resource == null) {
+            throw notFound();
+        }
+
+        if (segments.length == 2) {
+            return handleInstance(method, type, href, resource, body);
+        }
+
+        String child = segments[2];
+
+        if (CUSTOM_DATA.equals(child)) {
+            return handleCustomData(method, href + "/" + CUSTOM_DATA, segments.length > 3 ? segments[3] : null, body);
+        }
+
+        if (APPLICATIONS.equals(type)) {
+            if (LOGIN_ATTEMPTS.equals(child) && segments.length == 3 && "POST".equals(method)) {
+                return StubResponse.ok(login(href, body, query));
+            }
+            if ("oauth".equals(child) && segments.length == 4 && "token".equals(segments[3]) &&
+                "POST".equals(method)) {
+                return StubResponse.ok(issueTokens(href, body, apiKeyId));
+            }
+            if ("authTokens".equals(child) && segments.length == 4 && "GET".equals(method)) {
+                return StubResponse.ok(validateAccessToken(href, segments[3]));
+            }
+        }
+
+        if (segments.length != 3 || !COLLECTIONS.containsKey(type) || !COLLECTIONS.get(type).contains(child)) {
+            throw notFound();
+        }
+
+        if ("GET".equals(method)) {
+            return StubResponse.ok(list(href + "/" + child, getMembers(type, href, child), query));
+        }
+        if ("POST".equals(method)) {
+            return StubResponse.created(createInCollection(type, href, child, body));
+        }
+        throw methodNotAllowed();
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Instances
+    // ------------------------------------------------------------------------------------------------------------
+
+    private StubResponse handleInstance(String method, String type, String href, Map<String, Object> resource,
+                                        Map<String, Object> body) {
+        if ("GET".equals(method)) {
+            return StubResponse.ok(resource);
+        }
+        if ("POST".equals(method)) {
+            return StubResponse.ok(update(type, href, resource, body));
+        }
+        if ("DELETE".equals(method)) {
+            delete(type, href);
+            return StubResponse.noContent();
+        }
+        throw methodNotAllowed();
+    }
+
+    private Map<String, Object> update(String type, String href, Map<String, Object> resource,
+                                       Map<String, Object> body) {
+        Map<String, Object> changes = new LinkedHashMap<String, Object>(body);
+
+        //links and nested resources are not updated through their parent:
+        for (String name : new ArrayList<String>(changes.keySet())) {
+            if (resource.get(name) instanceof Map && !CUSTOM_DATA.equals(name)) {
+                changes.remove(name);
+            }
+        }
+
+        Object customData = changes.remove(CUSTOM_DATA);
+        if (customData instanceof Map) {
+            updateCustomData(href + "/" + CUSTOM_DATA, asMap(customData));
+        }
+
+        if (ACCOUNTS.equals(type)) {
+            Object password = changes.remove("password");
+            if (password != null) {
+                store.setPassword(href, password.toString());
+            }
+            if (changes.containsKey("givenName") || changes.containsKey("surname")) {
+                Object givenName = changes.containsKey("givenName") ? changes.get("givenName") : resource.get("givenName");
+                Object surname = changes.containsKey("surname") ? changes.get("surname") : resource.get("surname");
+                changes.put("fullName", fullName(givenName, surname));
+            }
+        }
+
+        return store.update(href, changes);
+    }
+
+    private void delete(String type, String href) {
+        if (ACCOUNTS.equals(type)) {
+            for (String membership : store.getMembers(href + "/" + GROUP_MEMBERSHIPS)) {
+                deleteMembership(membership);
+            }
+            for (String apiKey : store.getMembers(href + "/" + API_KEYS)) {
+                store.delete(apiKey);
+            }
+        } else if (GROUPS.equals(type)) {
+            for (String membership : store.getMembers(href + "/" + ACCOUNT_MEMBERSHIPS)) {
+                deleteMembership(membership);
+            }
+        } else if (DIRECTORIES.equals(type)) {
+            for (String account : store.getMembers(href + "/" + ACCOUNTS)) {
+                delete(ACCOUNTS, account);
+            }
+            for (String group : store.getMembers(href + "/" + GROUPS)) {
+                delete(GROUPS, group);
+            }
+            //mappings of this directory are tracked under an internal collection:
+            for (String mapping : store.getMembers(href + "/" + ACCOUNT_STORE_MAPPINGS)) {
+                store.delete(mapping);
+            }
+        } else if (APPLICATIONS.equals(type)) {
+            for (String mapping : store.getMembers(href + "/" + ACCOUNT_STORE_MAPPINGS)) {
+                store.delete(mapping);
+            }
+        } else if (GROUP_MEMBERSHIPS.equals(type)) {
+            deleteMembership(href);
+            return;
+        } else if (ACCESS_TOKENS.equals(type) || REFRESH_TOKENS.equals(type)) {
+            tokens.values().remove(href);
+        } else if (TENANTS.equals(type)) {
+            throw methodNotAllowed();
+        }
+        store.delete(href);
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Collections
+    // ------------------------------------------------------------------------------------------------------------
+
+    private Collection<String> getMembers(String type, String href, String collection) {
+
+        if (APPLICATIONS.equals(type) && (ACCOUNTS.equals(collection) || GROUPS.equals(collection))) {
+            //the application's accounts and groups are those of its account stores:
+            Set<String> members = new LinkedHashSet<String>();
+            for (String accountStore : getAccountStores(href)) {
+                if (GROUPS.equals(collection) && !accountStore.contains("/" + DIRECTORIES + "/")) {
+                    continue;
+                }
+                members.addAll(store.getMembers(accountStore + "/" + collection));
+            }
+            return members;
+        }
+
+        if (APPLICATIONS.equals(type) && API_KEYS.equals(collection)) {
+            List<String> apiKeys = new ArrayList<String>();
+            for (String account : getMembers(APPLICATIONS, href, ACCOUNTS)) {
+                apiKeys.addAll(store.getMembers(account + "/" + API_KEYS));
+            }
+            return apiKeys;
+        }
+
+        return store.getMembers(href + "/" + collection);
+    }
+
+    private List<String> getAccountStores(String applicationHref) {
+        List<String> accountStores = new ArrayList<String>();
+        for (String mappingHref : store.getMembers(applicationHref + "/" + ACCOUNT_STORE_MAPPINGS)) {
+            Map<String, Object> mapping = store.get(mappingHref);
+            if (mapping != null) {
+                accountStores.add(hrefOf(mapping.get("accountStore")));
+            }
+        }
+        return accountStores;
+    }
+
+    private Map<String, Object> list(String collectionHref, Collection<String> members, Map<String, String> query) {
+
+        int offset = Math.max(0, intParam(query, "offset", 0));
+        int limit = Math.min(MAX_LIMIT, Math.max(1, intParam(query, "limit", DEFAULT_LIMIT)));
+
+        List<Map<String, Object>> matches = new ArrayList<Map<String, Object>>();
+        for (String member : members) {
+            Map<String, Object> resource = store.get(member);
+            if (resource != null && matches(resource, query)) {
+                matches.add(resource);
+            }
+        }
+
+        List<Map<String, Object>> items = offset < matches.size() ?
+            matches.subList(offset, Math.min(matches.size(), offset + limit)) :
+            Collections.<Map<String, Object>>emptyList();
+
+        Map<String, Object> page = new LinkedHashMap<String, Object>();
+        page.put(HREF, collectionHref);
+        page.put("offset", offset);
+        page.put("limit", limit);
+        page.put("size", matches.size());
+        page.put("items", new ArrayList<Map<String, Object>>(items));
+        return page;
+    }
+
+    private static boolean matches(Map<String, Object> resource, Map<String, String> query) {
+        for (Map.Entry<String, String> param : query.entrySet()) {
+            String name = param.getKey();
+            String criteria = param.getValue();
+            if ("q".equals(name)) {
+                if (!matchesAnyProperty(resource, criteria)) {
+                    return false;
+                }
+            } else if (!RESERVED_QUERY_PARAMS.contains(name)) {
+                Object value = resource.get(name);
+                if (!(value instanceof String || value instanceof Number || value instanceof Boolean) ||
+                    !matches(value.toString(), criteria)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean matchesAnyProperty(Map<String, Object> resource, String criteria) {
+        String needle = criteria != null ? criteria.toLowerCase() : "";
+        for (Object value : resource.values()) {
+            if (value instanceof String && ((String) value).toLowerCase().contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    //case-insensitive match, where a leading or trailing '*' matches anything:
+    private static boolean matches(String value, String criteria) {
+        if (criteria == null) {
+            return false;
+        }
+        String v = value.toLowerCase();
+        String c = criteria.toLowerCase();
+        boolean anyPrefix = c.startsWith("*");
+        boolean anySuffix = c.length() > 1 && c.endsWith("*");
+        c = c.substring(anyPrefix ? 1 : 0, anySuffix ? c.length() - 1 : c.length());
+        if (anyPrefix && anySuffix) {
+            return v.contains(c);
+        }
+        if (anyPrefix) {
+            return v.endsWith(c);
+        }
+        if (anySuffix) {
+            return v.startsWith(c);
+        }
+        return v.equals(c);
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Creation
+    // ------------------------------------------------------------------------------------------------------------
+
+    private Map<String, Object> createTopLevel(String type, Map<String, Object> body, Map<String, String> query) {
+        if (APPLICATIONS.equals(type)) {
+            return store.get(createApplication(body, query.get("createDirectory")));
+        }
+        if (DIRECTORIES.equals(type)) {
+            return store.get(createDirectory(body));
+        }
+        if (GROUP_MEMBERSHIPS.equals(type)) {
+            return store.get(createMembership(requiredHref(body, "account"), requiredHref(body, "group")));
+        }
+        if (ACCOUNT_STORE_MAPPINGS.equals(type)) {
+            return store.get(createAccountStoreMapping(requiredHref(body, "application"),
+                                                       requiredHref(body, "accountStore"),
+                                                       Boolean.TRUE.equals(body.get("isDefaultAccountStore"))));
+        }
+        throw methodNotAllowed();
+    }
+
+    private Map<String, Object> createInCollection(String type, String href, String collection,
+                                                   Map<String, Object> body) {
+        String created;
+        if (ACCOUNTS.equals(collection) && (DIRECTORIES.equals(type) || APPLICATIONS.equals(type))) {
+            created = createAccount(DIRECTORIES.equals(type) ? href : getDefaultAccountStore(href), body);
+        } else if (GROUPS.equals(collection) && (DIRECTORIES.equals(type) || APPLICATIONS.equals(type))) {
+            created = createGroup(DIRECTORIES.equals(type) ? href : getDefaultAccountStore(href), body);
+        } else if (API_KEYS.equals(collection) && ACCOUNTS.equals(type)) {
+            created = createApiKey(href);
+        } else if (ACCOUNT_STORE_MAPPINGS.equals(collection) && APPLICATIONS.equals(type)) {
+            created = createAccountStoreMapping(href, requiredHref(body, "accountStore"),
+                                                Boolean.TRUE.equals(body.get("isDefaultAccountStore")));
+        } else {
+            throw methodNotAllowed();
+        }
+        return store.get(created);
+    }
+
+    private String getDefaultAccountStore(String applicationHref) {
+        String first = null;
+        for (String mappingHref : store.getMembers(applicationHref + "/" + ACCOUNT_STORE_MAPPINGS)) {
+            Map<String, Object> mapping = store.get(mappingHref);
+            if (mapping == null) {
+                continue;
+            }
+            String accountStore = hrefOf(mapping.get("accountStore"));
+            if (Boolean.TRUE.equals(mapping.get("isDefaultAccountStore"))) {
+                return accountStore;
+            }
+            if (first == null) {
+                first = accountStore;
+            }
+        }
+        if (first == null) {
+            throw new StubApiException(400, 5101, "The application does not have a default account store.");
+        }
+        return first;
+    }
+
+    private String createApplication(Map<String, Object> body, String createDirectory) {
+        String name = required(body, "name");
+        assertUniqueName(tenantHref + "/" + APPLICATIONS, name, "Application");
+
+        String href = store.newHref(APPLICATIONS);
+        Map<String, Object> props = new LinkedHashMap<String, Object>(body);
+        props.put("status", body.containsKey("status") ? body.get("status") : ENABLED);
+        props.put("tenant", link(tenantHref));
+        Object customData = props.remove(CUSTOM_DATA);
+        store.create(href, withLinks(APPLICATIONS, href, props), tenantHref + "/" + APPLICATIONS);
+        createCustomData(href, customData);
+
+        if (createDirectory != null && !"false".equalsIgnoreCase(createDirectory)) {
+            String directoryName = "true".equalsIgnoreCase(createDirectory) ? name + " Directory" : createDirectory;
+            createAccountStoreMapping(href, createDirectory(props("name", directoryName)), true);
+        }
+        return href;
+    }
+
+    private String createDirectory(Map<String, Object> body) {
+        String name = required(body, "name");
+        assertUniqueName(tenantHref + "/" + DIRECTORIES, name, "Directory");
+
+        String href = store.newHref(DIRECTORIES);
+        Map<String, Object> props = new LinkedHashMap<String, Object>(body);
+        props.put("status", body.containsKey("status") ? body.get("status") : ENABLED);
+        props.put("tenant", link(tenantHref));
+        Object customData = props.remove(CUSTOM_DATA);
+        store.create(href, withLinks(DIRECTORIES, href, props), tenantHref + "/" + DIRECTORIES);
+        createCustomData(href, customData);
+        return href;
+    }
+
+    private String createAccountStoreMapping(String applicationHref, String accountStoreHref, boolean isDefault) {
+        if (store.get(applicationHref) == null || store.get(accountStoreHref) == null) {
+            throw new StubApiException(400, 2000, "Both the application and the account store must exist.");
+        }
+        String mappingsHref = applicationHref + "/" + ACCOUNT_STORE_MAPPINGS;
+
+        Map<String, Object> props = new LinkedHashMap<String, Object>();
+        props.put("listIndex", store.getMembers(mappingsHref).size());
+        props.put("isDefaultAccountStore", isDefault);
+        props.put("isDefaultGroupStore", isDefault);
+        props.put("application", link(applicationHref));
+        props.put("accountStore", link(accountStoreHref));
+
+        String href = store.newHref(ACCOUNT_STORE_MAPPINGS);
+        store.create(href, props, mappingsHref, accountStoreHref + "/" + ACCOUNT_STORE_MAPPINGS);
+        return href;
+    }
+
+    private String createAccount(String directoryHref, Map<String, Object> body) {
+        String email = required(body, "email");
+        String password = required(body, "password");
+        String username = body.get("username") != null ? body.get("username").toString() : email;
+
+        String accountsHref = directoryHref + "/" + ACCOUNTS;
+        for (String existing : store.getMembers(accountsHref)) {
+            Map<String, Object> account = store.get(existing);
+            if (account != null && (email.equalsIgnoreCase((String) account.get("email")) ||
+                                    username.equalsIgnoreCase((String) account.get("username")))) {
+                throw new StubApiException(409, 2001, "Account with that email or username already exists.");
+            }
+        }
+
+        String href = store.newHref(ACCOUNTS);
+        Map<String, Object> props = new LinkedHashMap<String, Object>(body);
+        props.remove("password");
+        Object customData = props.remove(CUSTOM_DATA);
+        props.put("username", username);
+        props.put("email", email);
+        props.put("fullName", fullName(body.get("givenName"), body.get("surname")));
+        props.put("status", body.containsKey("status") ? body.get("status") : ENABLED);
+        props.put("emailVerificationToken", null);
+        props.put("directory", link(directoryHref));
+        props.put("tenant", link(tenantHref));
+
+        store.create(href, withLinks(ACCOUNTS, href, props), accountsHref, tenantHref + "/" + ACCOUNTS);
+        store.setPassword(href, password);
+        createCustomData(href, customData);
+        return href;
+    }
+
+    private String createGroup(String directoryHref, Map<String, Object> body) {
+        String name = required(body, "name");
+        String groupsHref = directoryHref + "/" + GROUPS;
+        assertUniqueName(groupsHref, name, "Group");
+
+        String href = store.newHref(GROUPS);
+        Map<String, Object> props = new LinkedHashMap<String, Object>(body);
+        Object customData = props.remove(CUSTOM_DATA);
+        props.put("status", body.containsKey("status") ? body.get("status") : ENABLED);
+        props.put("directory", link(directoryHref));
+        props.put("tenant", link(tenantHref));
+
+        store.create(href, withLinks(GROUPS, href, props), groupsHref, tenantHref + "/" + GROUPS);
+        createCustomData(href, customData);
+        return href;
+    }
+
+    private String createMembership(String accountHref, String groupHref) {
+        if (store.get(accountHref) == null || store.get(groupHref) == null) {
+            throw new StubApiException(400, 2000, "Both the account and the group must exist.");
+        }
+        if (store.isMember(accountHref + "/" + GROUPS, groupHref)) {
+            throw new StubApiException(409, 2001, "The account is already a member of the group.");
+        }
+
+        Map<String, Object> props = new LinkedHashMap<String, Object>();
+        props.put("account", link(accountHref));
+        props.put("group", link(groupHref));
+
+        String href = store.newHref(GROUP_MEMBERSHIPS);
+        store.create(href, props, accountHref + "/" + GROUP_MEMBERSHIPS, groupHref + "/" + ACCOUNT_MEMBERSHIPS);
+        store.add(accountHref + "/" + GROUPS, groupHref);
+        store.add(groupHref + "/" + ACCOUNTS, accountHref);
+        return href;
+    }
+
+    private void deleteMembership(String href) {
+        Map<String, Object> membership = store.get(href);
+        if (membership == null) {
+            return;
+        }
+        String accountHref = hrefOf(membership.get("account"));
+        String groupHref = hrefOf(membership.get("group"));
+        store.remove(accountHref + "/" + GROUPS, groupHref);
+        store.remove(groupHref + "/" + ACCOUNTS, accountHref);
+        store.delete(href);
+    }
+
+    private String createApiKey(String accountHref) {
+        byte[] secret = new byte[32];
+        RANDOM.nextBytes(secret);
+        String id = store.newId().substring(0, 22).toUpperCase() + "KEY";
+
+        Map<String, Object> props = new LinkedHashMap<String, Object>();
+        props.put("id", id);
+        props.put("secret", Base64.encodeBase64String(secret));
+        props.put("status", ENABLED);
+        props.put("account", link(accountHref));
+        props.put("tenant", link(tenantHref));
+
+        String href = store.getBaseUrl() + "/" + API_KEYS + "/" + id;
+        store.create(href, props, accountHref + "/" + API_KEYS);
+        return href;
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Custom data
+    // ------------------------------------------------------------------------------------------------------------
+
+    private void createCustomData(String parentHref, Object properties) {
+        Map<String, Object> props = properties instanceof Map ? asMap(properties) : new LinkedHashMap<String, Object>();
+        store.create(parentHref + "/" + CUSTOM_DATA, props);
+    }
+
+    private Map<String, Object> updateCustomData(String href, Map<String, Object> changes) {
+        Map<String, Object> updated = store.update(href, changes);
+        if (updated == null) {
+            throw notFound();
+        }
+        return updated;
+    }
+
+    private StubResponse handleCustomData(String method, String href, String key, Map<String, Object> body) {
+        Map<String, Object> customData = store.get(href);
+        if (customData == null) {
+            throw notFound();
+        }
+        if (key != null) {
+            if (!"DELETE".equals(method)) {
+                throw methodNotAllowed();
+            }
+            updateCustomData(href, Collections.<String, Object>singletonMap(key, null));
+            return StubResponse.noContent();
+        }
+        if ("GET".equals(method)) {
+            return StubResponse.ok(customData);
+        }
+        if ("POST".equals(method)) {
+            return StubResponse.ok(updateCustomData(href, body));
+        }
+        if ("DELETE".equals(method)) {
+            Map<String, Object> removed = new LinkedHashMap<String, Object>();
+            for (String name : customData.keySet()) {
+                removed.put(name, null);
+            }
+            updateCustomData(href, removed);
+            return StubResponse.noContent();
+        }
+        throw methodNotAllowed();
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Authentication
+    // ------------------------------------------------------------------------------------------------------------
+
+    private Map<String, Object> login(String applicationHref, Map<String, Object> body, Map<String, String> query) {
+        if (!"basic".equals(body.get("type")) || !(body.get("value") instanceof String)) {
+            throw new StubApiException(400, 2000, "Only 'basic' login attempts with a value are supported.");
+        }
+        String credentials = new String(Base64.decodeBase64((String) body.get("value")), UTF_8);
+        int i = credentials.indexOf(':');
+        if (i < 0) {
+            throw invalidCredentials();
+        }
+
+        String accountStoreHref = body.get("accountStore") != null ? hrefOf(body.get("accountStore")) : null;
+        String accountHref = authenticate(applicationHref, accountStoreHref, credentials.substring(0, i),
+                                          credentials.substring(i + 1));
+
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        String expand = query.get("expand");
+        result.put("account", expand != null && expand.contains("account") ? store.get(accountHref) : link(accountHref));
+        return result;
+    }
+
+    private String authenticate(String applicationHref, String accountStoreHref, String login, String password) {
+        Collection<String> candidates;
+        if (accountStoreHref != null) {
+            if (!getAccountStores(applicationHref).contains(accountStoreHref)) {
+                throw new StubApiException(400, 2014, "The account store is not mapped to the application.");
+            }
+            candidates = store.getMembers(accountStoreHref + "/" + ACCOUNTS);
+        } else {
+            candidates = getMembers(APPLICATIONS, applicationHref, ACCOUNTS);
+        }
+
+        for (String candidate : candidates) {
+            Map<String, Object> account = store.get(candidate);
+            if (account != null && (login.equalsIgnoreCase((String) account.get("username")) ||
+                                    login.equalsIgnoreCase((String) account.get("email")))) {
+                if (!password.equals(store.getPassword(candidate)) || !ENABLED.equals(account.get("status"))) {
+                    break;
+                }
+                return candidate;
+            }
+        }
+        throw invalidCredentials();
+    }
+
+    private Map<String, Object> issueTokens(String applicationHref, Map<String, Object> body, String apiKeyId) {
+        String grantType = (String) body.get("grant_type");
+
+        String accountHref;
+        String refreshTokenHref;
+        String refreshJwt;
+
+        if ("password".equals(grantType)) {
+            accountHref = authenticate(applicationHref, body.get("accountStore") != null ?
+                                                        body.get("accountStore").toString() : null,
+                                       required(body, "username"), required(body, "password"));
+            refreshTokenHref = store.newHref(REFRESH_TOKENS);
+            refreshJwt = createJwt(apiKeyId, id(refreshTokenHref), applicationHref, accountHref, null, 0);
+            store.create(refreshTokenHref, tokenProperties(refreshJwt, applicationHref, accountHref),
+                         accountHref + "/" + REFRESH_TOKENS);
+            tokens.put(refreshJwt, refreshTokenHref);
+        } else if ("refresh_token".equals(grantType)) {
+            refreshJwt = required(body, "refresh_token");
+            refreshTokenHref = tokens.get(refreshJwt);
+            Map<String, Object> refreshToken = refreshTokenHref != null ? store.get(refreshTokenHref) : null;
+            if (refreshToken == null || !refreshTokenHref.contains("/" + REFRESH_TOKENS + "/") ||
+                !applicationHref.equals(hrefOf(refreshToken.get("application")))) {
+                throw new StubApiException(400, 10017, "Token is invalid.");
+            }
+            accountHref = hrefOf(refreshToken.get("account"));
+        } else {
+            throw new StubApiException(400, 2000, "Unsupported grant_type: " + grantType);
+        }
+
+        String accessTokenHref = store.newHref(ACCESS_TOKENS);
+        String accessJwt = createJwt(apiKeyId, id(accessTokenHref), applicationHref, accountHref, id(refreshTokenHref),
+                                     ACCESS_TOKEN_TTL_SECONDS);
+        store.create(accessTokenHref, tokenProperties(accessJwt, applicationHref, accountHref),
+                     accountHref + "/" + ACCESS_TOKENS);
+        tokens.put(accessJwt, accessTokenHref);
+
+        Map<String, Object> result = new LinkedHashMap<String, Object>();
+        result.put("access_token", accessJwt);
+        result.put("refresh_token", refreshJwt);
+        result.put("token_type", "Bearer");
+        result.put("expires_in", ACCESS_TOKEN_TTL_SECONDS);
+        result.put("stormpath_access_token_href", accessTokenHref);
+        return result;
+    }
+
+    private Map<String, Object> validateAccessToken(String applicationHref, String jwt) {
+        String href = tokens.get(jwt);
+        Map<String, Object> accessToken = href != null ? store.get(href) : null;
+        if (accessToken == null || !href.contains("/" + ACCESS_TOKENS + "/") ||
+            !applicationHref.equals(hrefOf(accessToken.get("application")))) {
+            throw new StubApiException(400, 10017, "Token is invalid.");
+        }
+        try {
+            //checks the signature and expiration:
+            Jwts.parser().setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                @Override
+                public byte[] resolveSigningKeyBytes(JwsHeader header, Claims claims) {
+                    return signingKey(header.getKeyId());
+                }
+            }).parseClaimsJws(jwt);
+        } catch (Exception e) {
+            throw new StubApiException(400, 10017, "Token is invalid.");
+        }
+        return accessToken;
+    }
+
+    private Map<String, Object> tokenProperties(String jwt, String applicationHref, String accountHref) {
+        Map<String, Object> props = new LinkedHashMap<String, Object>();
+        props.put("jwt", jwt);
+        props.put("created_at", new Date().getTime() / 1000);
+        props.put("account", link(accountHref));
+        props.put("application", link(applicationHref));
+        props.put("tenant", link(tenantHref));
+        return props;
+    }
+
+    private String createJwt(String apiKeyId, String id, String applicationHref, String accountHref,
+                             String refreshTokenId, long ttlSeconds) {
+        long now = System.currentTimeMillis();
+        JwtBuilder builder = Jwts.builder()
+            .setHeaderParam("kid", apiKeyId)
+            .setId(id)
+            .setIssuedAt(new Date(now))
+            .setIssuer(applicationHref)
+            .setSubject(accountHref);
+        if (refreshTokenId != null) {
+            builder.claim("rti", refreshTokenId);
+        }
+        if (ttlSeconds > 0) {
+            builder.setExpiration(new Date(now + TimeUnit.SECONDS.toMillis(ttlSeconds)));
+        }
+        //like Stormpath, tokens are signed with the UTF-8 bytes of the secret of the API Key requesting them:
+        return builder.signWith(SignatureAlgorithm.HS256, signingKey(apiKeyId)).compact();
+    }
+
+    private byte[] signingKey(String apiKeyId) {
+        String secret = apiKeyId != null ? verifier.getSecret(apiKeyId) : null;
+        if (secret == null) {
+            throw new StubApiException(400, 10017, "Token is invalid.");
+        }
+        return secret.getBytes(UTF_8);
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Helpers
+    // ------------------------------------------------------------------------------------------------------------
+
+    private Map<String, Object> withLinks(String type, String href, Map<String, Object> props) {
+        props.put(CUSTOM_DATA, link(href + "/" + CUSTOM_DATA));
+        for (String collection : COLLECTIONS.get(type)) {
+            props.put(collection, link(href + "/" + collection));
+        }
+        return props;
+    }
+
+    private void assertUniqueName(String collectionHref, String name, String description) {
+        for (String member : store.getMembers(collectionHref)) {
+            Map<String, Object> resource = store.get(member);
+            if (resource != null && name.equalsIgnoreCase((String) resource.get("name"))) {
+                throw new StubApiException(409, 2001, description + " name is already in use.");
+            }
+        }
+    }
+
+    private static Map<String, Object> link(String href) {
+        return Collections.<String, Object>singletonMap(HREF, href);
+    }
+
+    private static Map<String, Object> props(String name, Object value) {
+        Map<String, Object> props = new LinkedHashMap<String, Object>();
+        props.put(name, value);
+        return props;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object o) {
+        return new LinkedHashMap<String, Object>((Map<String, Object>) o);
+    }
+
+    private static String hrefOf(Object link) {
+        if (link instanceof Map) {
+            Object href = ((Map) link).get(HREF);
+            return href != null ? href.toString() : null;
+        }
+        return link != null ? link.toString() : null;
+    }
+
+    private static String id(String href) {
+        return href.substring(href.lastIndexOf('/') + 1);
+    }
+
+    private static String fullName(Object givenName, Object surname) {
+        StringBuilder sb = new StringBuilder();
+        if (givenName != null) {
+            sb.append(givenName);
+        }
+        if (surname != null) {
+            if (sb.length() > 0) {
+                sb.append(' ');
+            }
+            sb.append(surname);
+        }
+        return sb.toString();
+    }
+
+    private static String required(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (value == null || !Strings.hasText(value.toString())) {
+            throw new StubApiException(400, 2000, "Property value is required; it cannot be null, empty, or blank: " +
+                                                  name);
+        }
+        return value.toString();
+    }
+
+    private static String requiredHref(Map<String, Object> body, String name) {
+        String href = hrefOf(body.get(name));
+        if (!Strings.hasText(href)) {
+            throw new StubApiException(400, 2000, "Property value is required: " + name + ".href");
+        }
+        return href;
+    }
+
+    private static int intParam(Map<String, String> query, String name, int defaultValue) {
+        String value = query.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new StubApiException(400, 2000, "Invalid '" + name + "' query parameter value: " + value);
+        }
+    }
+
+    private static StubApiException notFound() {
+        return new StubApiException(404, 404, "The requested resource does not exist.");
+    }
+
+    private static StubApiException methodNotAllowed() {
+        return new StubApiException(405, 405, "Request method is not supported by the requested resource.");
+    }
+
+    private static StubApiException invalidCredentials() {
+        return new StubApiException(400, 7100, "Invalid username or password.");
+    }
+
+    /**
+     * Decodes {@code application/x-www-form-urlencoded} content, such as a query string or a form request body.
+     *
+     * @param encoded the encoded content (may be {@code null})
+     * @return the decoded name/value pairs, in order.  Names without a value are mapped to an empty string.
+     */
+    public static Map<String, String> decodeForm(String encoded) {
+        Map<String, String> decoded = new LinkedHashMap<String, String>();
+        if (!Strings.hasLength(encoded)) {
+            return decoded;
+        }
+        for (String pair : encoded.split("&")) {
+            if (pair.length() == 0) {
+                continue;
+            }
+            int i = pair.indexOf('=');
+            String name = i < 0 ? pair : pair.substring(0, i);
+            String value = i < 0 ? "" : pair.substring(i + 1);
+            decoded.put(urlDecode(name), urlDecode(value));
+        }
+        return decoded;
+    }
+
+    private static String urlDecode(String s) {
+        try {
+            return URLDecoder.decode(s, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException("UTF-8 is always supported.", e);
+        }
+    }
+}
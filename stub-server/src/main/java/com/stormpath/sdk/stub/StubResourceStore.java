@@ -0,0 +1,283 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.stub;
+
+import com.stormpath.sdk.impl.util.Iso8601Dates;
+import com.stormpath.sdk.lang.Assert;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The in-memory state of a {@link StubStormpathServer}: resource representations keyed by their {@code href} and the
+ * ordered membership of every collection resource.
+ * <p/>
+ * Representations are immutable snapshots that are replaced on every write, so they can be read without locking and
+ * handed out freely.  Writes are serialized on the store.
+ *
+ * @since 1.0.RC8.1
+ */
+public class StubResourceStore {
+
+    public static final String HREF = "href";
+    public static final String CREATED_AT = "createdAt";
+    public static final String MODIFIED_AT = "modifiedAt";
+
+    private static final char[] ID_CHARS =
+        "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+    private static final int ID_LENGTH = 22;
+
+    private final String baseUrl;
+    private final Random random = new SecureRandom();
+
+    private final Map<String, Map<String, Object>> resources = new ConcurrentHashMap<String, Map<String, Object>>();
+
+    //guarded by 'this':
+    private final Map<String, Set<String>> collections = new LinkedHashMap<String, Set<String>>();
+    private final Map<String, String> passwords = new LinkedHashMap<String, String>();
+
+    public StubResourceStore(String baseUrl) {
+        Assert.hasText(baseUrl, "baseUrl cannot be null or empty.");
+        this.baseUrl = baseUrl;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Returns a new random resource identifier, similar in form to the ones assigned by Stormpath.
+     *
+     * @return a new random resource identifier.
+     */
+    public String newId() {
+        char[] chars = new char[ID_LENGTH];
+        for (int i = 0; i < ID_LENGTH; i++) {
+            chars[i] = ID_CHARS[random.nextInt(ID_CHARS.length)];
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns a new, not yet used {@code href} for a top-level resource of the specified type, e.g.
+     * {@code https://localhost:1234/v1/accounts/5U0ZVDfGn8uZ2FIgxMxZDF} for {@code accounts}.
+     *
+     * @param type the plural resource type name, as it appears in the resource path
+     * @return a new {@code href} for a resource of the specified type.
+     */
+    public String newHref(String type) {
+        return baseUrl + "/" + type + "/" + newId();
+    }
+
+    /**
+     * Returns the representation of the resource with the specified {@code href}, or {@code null} if there is no
+     * such resource.  The returned map is unmodifiable.
+     *
+     * @param href the resource href
+     * @return the representation of the resource with the specified {@code href}, or {@code null}.
+     */
+    public Map<String, Object> get(String href) {
+        return resources.get(href);
+    }
+
+    /**
+     * Stores the specified properties as a new resource with the specified {@code href}, setting its creation and
+     * modification timestamps, and adds it to the specified collections.
+     *
+     * @param href        the href of the new resource
+     * @param properties  the resource properties
+     * @param collections the hrefs of the collections the resource belongs to
+     * @return the (unmodifiable) stored representation
+     */
+    public synchronized Map<String, Object> create(String href, Map<String, ?> properties, String... collections) {
+        String now = Iso8601Dates.format(System.currentTimeMillis());
+        Map<String, Object> resource = new LinkedHashMap<String, Object>();
+        resource.put(HREF, href);
+        resource.putAll(properties);
+        resource.put(CREATED_AT, now);
+        resource.put(MODIFIED_AT, now);
+        Map<String, Object> stored = Collections.unmodifiableMap(resource);
+        resources.put(href, stored);
+        for (String collection : collections) {
+            add(collection, href);
+        }
+        return stored;
+    }
+
+    /**
+     * Merges the specified properties into the existing resource with the specified {@code href}.  Properties with a
+     * {@code null} value are removed.  The {@code href} and creation timestamp cannot be changed.
+     *
+     * @param href    the resource href
+     * @param changes the properties to set or remove
+     * @return the (unmodifiable) updated representation, or {@code null} if there is no such resource.
+     */
+    public synchronized Map<String, Object> update(String href, Map<String, ?> changes) {
+        Map<String, Object> existing = resources.get(href);
+        if (existing == null) {
+            return null;
+        }
+        Map<String, Object> resource = new LinkedHashMap<String, Object>(existing);
+        for (Map.Entry<String, ?> entry : changes.entrySet()) {
+            String name = entry.getKey();
+            if (HREF.equals(name) || CREATED_AT.equals(name) || MODIFIED_AT.equals(name)) {
+                continue;
+            }
+            if (entry.getValue() == null) {
+                resource.remove(name);
+            } else {
+                resource.put(name, entry.getValue());
+            }
+        }
+        //keep timestamps strictly increasing so that every change yields a different representation:
+        long now = Math.max(System.currentTimeMillis(), parseMillis(existing.get(MODIFIED_AT)) + 1);
+        resource.put(MODIFIED_AT, Iso8601Dates.format(now));
+        Map<String, Object> stored = Collections.unmodifiableMap(resource);
+        resources.put(href, stored);
+        return stored;
+    }
+
+    /**
+     * Deletes the resource with the specified {@code href}, including any resources nested beneath it (such as its
+     * {@code customData}), its own collections and its membership in any other collection.
+     *
+     * @param href the resource href
+     * @return {@code true} if the resource existed, {@code false} otherwise.
+     */
+    public synchronized boolean delete(String href) {
+        if (resources.remove(href) == null) {
+            return false;
+        }
+        passwords.remove(href);
+
+        String nestedPrefix = href + "/";
+        for (Iterator<String> i = resources.keySet().iterator(); i.hasNext(); ) {
+            if (i.next().startsWith(nestedPrefix)) {
+                i.remove();
+            }
+        }
+        for (Iterator<Map.Entry<String, Set<String>>> i = collections.entrySet().iterator(); i.hasNext(); ) {
+            Map.Entry<String, Set<String>> entry = i.next();
+            if (entry.getKey().startsWith(nestedPrefix)) {
+                i.remove();
+            } else {
+                entry.getValue().remove(href);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds the specified resource to the end of the specified collection, if it is not already a member.
+     *
+     * @param collectionHref the collection href
+     * @param href           the member resource href
+     */
+    public synchronized void add(String collectionHref, String href) {
+        Set<String> members = collections.get(collectionHref);
+        if (members == null) {
+            members = new LinkedHashSet<String>();
+            collections.put(collectionHref, members);
+        }
+        members.add(href);
+    }
+
+    /**
+     * Removes the specified resource from the specified collection.
+     *
+     * @param collectionHref the collection href
+     * @param href           the member resource href
+     */
+    public synchronized void remove(String collectionHref, String href) {
+        Set<String> members = collections.get(collectionHref);
+        if (members != null) {
+            members.remove(href);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the hrefs of the members of the specified collection, in the order they were added.
+     *
+     * @param collectionHref the collection href
+     * @return a snapshot of the hrefs of the members of the specified collection (empty if there are none).
+     */
+    public synchronized List<String> getMembers(String collectionHref) {
+        Set<String> members = collections.get(collectionHref);
+        if (members == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<String>(members);
+    }
+
+    /**
+     * Returns {@code true} if the specified resource is a member of the specified collection.
+     *
+     * @param collectionHref the collection href
+     * @param href           the member resource href
+     * @return {@code true} if the specified resource is a member of the specified collection.
+     */
+    public synchronized boolean isMember(String collectionHref, String href) {
+        Set<String> members = collections.get(collectionHref);
+        return members != null && members.contains(href);
+    }
+
+    /**
+     * Sets the password of the account with the specified {@code href}.  Passwords are never part of a
+     * representation.
+     *
+     * @param accountHref the account href
+     * @param password    the new password
+     */
+    public synchronized void setPassword(String accountHref, String password) {
+        passwords.put(accountHref, password);
+    }
+
+    /**
+     * Returns the password of the account with the specified {@code href}, or {@code null} if it has none.
+     *
+     * @param accountHref the account href
+     * @return the password of the account with the specified {@code href}, or {@code null}.
+     */
+    public synchronized String getPassword(String accountHref) {
+        return passwords.get(accountHref);
+    }
+
+    /**
+     * Returns the number of stored resources, including nested resources such as {@code customData}.
+     *
+     * @return the number of stored resources.
+     */
+    public int size() {
+        return resources.size();
+    }
+
+    private static long parseMillis(Object timestamp) {
+        try {
+            return Iso8601Dates.parseMillis((String) timestamp);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.stub;
+
+import java.util.Map;
+
+/**
+ * The outcome of a request handled by the {@link StubApiHandler}, before it is written to the HTTP response.
+ *
+ * @since 1.0.RC8.1
+ */
+public final class StubResponse {
+
+    private final int status;
+    private final Map<String, Object> body;
+    private final String location;
+
+    private StubResponse(int status, Map<String, Object> body, String location) {
+        this.status = status;
+        this.body = body;
+        this.location = location;
+    }
+
+    public static StubResponse ok(Map<String, Object> body) {
+        return new StubResponse(200, body, null);
+    }
+
+    public static StubResponse created(Map<String, Object> body) {
+        return new StubResponse(201, body, null);
+    }
+
+    public static StubResponse noContent() {
+        return new StubResponse(204, null, null);
+    }
+
+    public static StubResponse redirect(String location) {
+        return new StubResponse(302, null, location);
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the representation to return to the client, or {@code null} if the response has no body.
+     *
+     * @return the representation to return to the client, or {@code null} if the response has no body.
+     */
+    public Map<String, Object> getBody() {
+        return body;
+    }
+
+    /**
+     * Returns the {@code Location} of a redirect response, or {@code null} for any other response.
+     *
+     * @return the {@code Location} of a redirect response, or {@code null} for any other response.
+     */
+    public String getLocation() {
+        return location;
+    }
+}
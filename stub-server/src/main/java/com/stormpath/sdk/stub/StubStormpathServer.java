@@ -0,0 +1,580 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.stub;
+
+import com.stormpath.sdk.impl.ds.JacksonMapMarshaller;
+import com.stormpath.sdk.impl.util.Base64;
+import com.stormpath.sdk.impl.util.Iso8601Dates;
+import com.stormpath.sdk.lang.Assert;
+import com.stormpath.sdk.lang.Strings;
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-process HTTP server that emulates the Stormpath REST API, so that SDK clients, integrations and
+ * load tests can be exercised without network access or a Stormpath tenant.  For example:
+ * <pre>
+ * StubStormpathServer server = new StubStormpathServer();
+ * server.start();
+ *
+ * Client client = Clients.builder()
+ *     .setBaseUrl(server.getBaseUrl())
+ *     .setApiKey(ApiKeys.builder().setId(server.getApiKeyId()).setSecret(server.getApiKeySecret()).build())
+ *     .build();
+ * Application application = client.getResource(server.getApplicationHref(), Application.class);
+ * ...
+ * server.stop();
+ * </pre>
+ * The server authenticates every request with the same SAuthc1 (or Basic) scheme that Stormpath uses, emits
+ * {@code ETag} and {@code Last-Modified} validators and honors conditional {@code GET}s, and can inject latency,
+ * server errors and throttling responses to exercise client timeouts, retries and backoff.  See
+ * {@link StubApiHandler} for the supported API subset.
+ * <p/>
+ * The server binds to the loopback interface only.  All state is held in memory and is discarded when the server is
+ * stopped.
+ *
+ * @since 1.0.RC8.1
+ */
+public class StubStormpathServer {
+
+    private static final Logger log = LoggerFactory.getLogger(StubStormpathServer.class);
+
+    public static final String LOOPBACK_ADDRESS = "127.0.0.1";
+    public static final String API_VERSION_PATH = "/v1";
+    public static final int DEFAULT_THREADS = 32;
+    public static final int DEFAULT_ERROR_STATUS = 503;
+    public static final int THROTTLED_STATUS = 429;
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final String JSON_CONTENT_TYPE = "application/json;charset=UTF-8";
+    private static final String FORM_CONTENT_TYPE = "application/x-www-form-urlencoded";
+    private static final String HTTP_DATE_FORMAT = "EEE, dd MMM yyyy HH:mm:ss zzz";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final int requestedPort;
+    private final int threads;
+
+    private final RequestSignatureVerifier verifier = new RequestSignatureVerifier();
+    private final JacksonMapMarshaller marshaller = new JacksonMapMarshaller();
+    private final Random random = new SecureRandom();
+
+    private final String apiKeyId;
+    private final String apiKeySecret;
+
+    private volatile HttpServer server;
+    private volatile ExecutorService executor;
+    private volatile StubResourceStore store;
+    private volatile StubApiHandler handler;
+
+    private volatile long minLatencyMillis;
+    private volatile long maxLatencyMillis;
+    private volatile double errorRate;
+    private volatile int errorStatus = DEFAULT_ERROR_STATUS;
+    private volatile double throttleRate;
+    private volatile boolean signatureVerificationEnabled = true;
+
+    private final AtomicInteger failuresRemaining = new AtomicInteger();
+    private volatile int failNextStatus = DEFAULT_ERROR_STATUS;
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong notModifiedCount = new AtomicLong();
+    private final AtomicLong throttledCount = new AtomicLong();
+    private final AtomicLong injectedFailureCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /**
+     * Creates a server that will listen on an ephemeral port with {@link #DEFAULT_THREADS} request threads.
+     */
+    public StubStormpathServer() {
+        this(0, DEFAULT_THREADS);
+    }
+
+    /**
+     * Creates a server that will listen on the specified port.
+     *
+     * @param port    the loopback port to listen on, or {@code 0} for an ephemeral port
+     * @param threads the number of threads serving requests
+     */
+    public StubStormpathServer(int port, int threads) {
+        Assert.isTrue(port >= 0, "port cannot be negative.");
+        Assert.isTrue(threads > 0, "threads must be greater than zero.");
+        this.requestedPort = port;
+        this.threads = threads;
+
+        byte[] id = new byte[15];
+        byte[] secret = new byte[30];
+        random.nextBytes(id);
+        random.nextBytes(secret);
+        this.apiKeyId = Base64.encodeBase64URLSafeString(id).toUpperCase();
+        this.apiKeySecret = Base64.encodeBase64URLSafeString(secret);
+        verifier.addApiKey(apiKeyId, apiKeySecret);
+    }
+
+    /**
+     * Starts listening for requests.  A new tenant, application and directory are created on every start.
+     *
+     * @throws IllegalStateException if the server is already started or cannot bind to its port
+     */
+    public synchronized void start() {
+        Assert.state(server == null, "Server is already started.");
+        HttpServer httpServer;
+        try {
+            httpServer = HttpServer.create(new InetSocketAddress(LOOPBACK_ADDRESS, requestedPort), 0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to bind to port " + requestedPort + ": " + e.getMessage(), e);
+        }
+
+        String baseUrl = "http://" + LOOPBACK_ADDRESS + ":" + httpServer.getAddress().getPort() + API_VERSION_PATH;
+        this.store = new StubResourceStore(baseUrl);
+        this.handler = new StubApiHandler(store, verifier);
+
+        this.executor = Executors.newFixedThreadPool(threads);
+        httpServer.setExecutor(executor);
+        httpServer.createContext(API_VERSION_PATH, new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    serve(exchange);
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+        httpServer.start();
+        this.server = httpServer;
+        log.debug("Stub Stormpath server listening on {}", baseUrl);
+    }
+
+    /**
+     * Stops the server, if started.
+     */
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+            executor = null;
+        }
+    }
+
+    public boolean isStarted() {
+        return server != null;
+    }
+
+    /**
+     * Returns the base URL of the emulated API, e.g. {@code http://127.0.0.1:54321/v1}, for use with
+     * {@code ClientBuilder#setBaseUrl}.
+     *
+     * @return the base URL of the emulated API
+     */
+    public String getBaseUrl() {
+        return started().getBaseUrl();
+    }
+
+    public int getPort() {
+        Assert.state(server != null, "Server is not started.");
+        return server.getAddress().getPort();
+    }
+
+    public String getApiKeyId() {
+        return apiKeyId;
+    }
+
+    public String getApiKeySecret() {
+        return apiKeySecret;
+    }
+
+    /**
+     * Accepts requests signed with an additional API Key.
+     *
+     * @param id     the API Key id
+     * @param secret the API Key secret
+     */
+    public void addApiKey(String id, String secret) {
+        verifier.addApiKey(id, secret);
+    }
+
+    public String getTenantHref() {
+        return handler().getTenantHref();
+    }
+
+    public String getApplicationHref() {
+        return handler().getApplicationHref();
+    }
+
+    public String getDirectoryHref() {
+        return handler().getDirectoryHref();
+    }
+
+    /**
+     * Returns the store holding the server's resources, to seed or inspect state directly.
+     *
+     * @return the store holding the server's resources
+     */
+    public StubResourceStore getResourceStore() {
+        return started();
+    }
+
+    /**
+     * Delays every response by a uniformly distributed random time between {@code min} and {@code max}.
+     *
+     * @param min  the minimum latency
+     * @param max  the maximum latency
+     * @param unit the unit of {@code min} and {@code max}
+     */
+    public void setLatency(long min, long max, TimeUnit unit) {
+        Assert.isTrue(min >= 0 && max >= min, "latency must satisfy 0 <= min <= max.");
+        this.minLatencyMillis = unit.toMillis(min);
+        this.maxLatencyMillis = unit.toMillis(max);
+    }
+
+    /**
+     * Sets the fraction of requests, between {@code 0} and {@code 1}, that fail with the
+     * {@link #setErrorStatus(int) error status}.
+     *
+     * @param errorRate the fraction of requests that fail
+     */
+    public void setErrorRate(double errorRate) {
+        Assert.isTrue(errorRate >= 0 && errorRate <= 1, "errorRate must be between 0 and 1.");
+        this.errorRate = errorRate;
+    }
+
+    /**
+     * Sets the status of the failures injected by {@link #setErrorRate(double)}.  Defaults to {@code 503}.
+     *
+     * @param errorStatus the HTTP status of injected failures
+     */
+    public void setErrorStatus(int errorStatus) {
+        Assert.isTrue(errorStatus >= 400 && errorStatus < 600, "errorStatus must be a 4xx or 5xx status.");
+        this.errorStatus = errorStatus;
+    }
+
+    /**
+     * Sets the fraction of requests, between {@code 0} and {@code 1}, that are rejected with {@code 429 Too Many
+     * Requests}.
+     *
+     * @param throttleRate the fraction of requests that are throttled
+     */
+    public void setThrottleRate(double throttleRate) {
+        Assert.isTrue(throttleRate >= 0 && throttleRate <= 1, "throttleRate must be between 0 and 1.");
+        this.throttleRate = throttleRate;
+    }
+
+    /**
+     * Fails the next {@code count} requests with the specified status, regardless of the configured rates.
+     *
+     * @param count  the number of requests to fail
+     * @param status the HTTP status of the failures
+     */
+    public void failNext(int count, int status) {
+        Assert.isTrue(count >= 0, "count cannot be negative.");
+        this.failNextStatus = status;
+        this.failuresRemaining.set(count);
+    }
+
+    /**
+     * Enables or disables request authentication.  When disabled, requests are served regardless of their
+     * {@code Authorization} header and OAuth tokens are signed with the server's own API Key.  Enabled by default.
+     *
+     * @param enabled whether requests must be authenticated
+     */
+    public void setSignatureVerificationEnabled(boolean enabled) {
+        this.signatureVerificationEnabled = enabled;
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    public long getNotModifiedCount() {
+        return notModifiedCount.get();
+    }
+
+    public long getThrottledCount() {
+        return throttledCount.get();
+    }
+
+    public long getInjectedFailureCount() {
+        return injectedFailureCount.get();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * Resets all request counters to zero.
+     */
+    public void resetCounters() {
+        requestCount.set(0);
+        notModifiedCount.set(0);
+        throttledCount.set(0);
+        injectedFailureCount.set(0);
+        rejectedCount.set(0);
+    }
+
+    private StubResourceStore started() {
+        StubResourceStore s = this.store;
+        Assert.state(s != null, "Server has not been started.");
+        return s;
+    }
+
+    private StubApiHandler handler() {
+        started();
+        return handler;
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Request processing
+    // ------------------------------------------------------------------------------------------------------------
+
+    private void serve(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+
+        byte[] body = readFully(exchange.getRequestBody());
+        String method = exchange.getRequestMethod().toUpperCase(Locale.ENGLISH);
+        Headers headers = exchange.getRequestHeaders();
+
+        delay();
+
+        try {
+            injectFailure();
+
+            Map<String, String> query = StubApiHandler.decodeForm(exchange.getRequestURI().getRawQuery());
+
+            String apiKeyId = this.apiKeyId;
+            if (signatureVerificationEnabled) {
+                String rawPath = exchange.getRequestURI().getRawPath();
+                apiKeyId = verifier.authenticate(method, headers.getFirst("Host"), rawPath, query, headers, body);
+            }
+
+            String path = exchange.getRequestURI().getPath().substring(API_VERSION_PATH.length());
+            StubResponse response = handler.handle(method, path, query, parseBody(headers, body), apiKeyId);
+            send(exchange, headers, method, response);
+
+        } catch (StubApiException e) {
+            if (e.getStatus() == 401) {
+                rejectedCount.incrementAndGet();
+            }
+            sendJson(exchange, e.getStatus(), e.toRepresentation());
+        } catch (RuntimeException e) {
+            log.warn("Unable to serve {} {}", method, exchange.getRequestURI(), e);
+            sendJson(exchange, 500, new StubApiException(500, 500, "Internal server error.").toRepresentation());
+        }
+    }
+
+    private void delay() {
+        long min = minLatencyMillis;
+        long max = maxLatencyMillis;
+        if (max <= 0) {
+            return;
+        }
+        long millis = min + (max > min ? (long) (random.nextDouble() * (max - min)) : 0);
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void injectFailure() {
+        while (true) {
+            int remaining = failuresRemaining.get();
+            if (remaining <= 0) {
+                break;
+            }
+            if (failuresRemaining.compareAndSet(remaining, remaining - 1)) {
+                throw injected(failNextStatus);
+            }
+        }
+        if (throttleRate > 0 && random.nextDouble() < throttleRate) {
+            throw injected(THROTTLED_STATUS);
+        }
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            throw injected(errorStatus);
+        }
+    }
+
+    private StubApiException injected(int status) {
+        if (status == THROTTLED_STATUS) {
+            throttledCount.incrementAndGet();
+            return new StubApiException(status, status, "Too many requests.  Please retry later.");
+        }
+        injectedFailureCount.incrementAndGet();
+        return new StubApiException(status, status, "Injected failure.");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> parseBody(Headers headers, byte[] body) {
+        if (body.length == 0) {
+            return new LinkedHashMap<String, Object>();
+        }
+        String contentType = headers.getFirst("Content-Type");
+        if (contentType != null && contentType.toLowerCase(Locale.ENGLISH).startsWith(FORM_CONTENT_TYPE)) {
+            return new LinkedHashMap<String, Object>(StubApiHandler.decodeForm(new String(body, UTF_8)));
+        }
+        try {
+            Map<String, Object> parsed = marshaller.unmarshal(new String(body, UTF_8));
+            return parsed != null ? parsed : new LinkedHashMap<String, Object>();
+        } catch (RuntimeException e) {
+            throw new StubApiException(400, 400, "Request body is not valid JSON.");
+        }
+    }
+
+    private void send(HttpExchange exchange, Headers requestHeaders, String method, StubResponse response)
+        throws IOException {
+
+        int status = response.getStatus();
+
+        if (response.getLocation() != null) {
+            exchange.getResponseHeaders().set("Location", response.getLocation());
+        }
+        if (response.getBody() == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+
+        byte[] bytes = marshaller.marshalToBytes(response.getBody());
+
+        if ("GET".equals(method) && status == 200) {
+            String etag = '"' + sha1(bytes) + '"';
+            exchange.getResponseHeaders().set("ETag", etag);
+
+            long lastModified = lastModified(response.getBody());
+            if (lastModified > 0) {
+                exchange.getResponseHeaders().set("Last-Modified", httpDate(lastModified));
+            }
+
+            if (notModified(requestHeaders, etag, lastModified)) {
+                notModifiedCount.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+        }
+
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        OutputStream out = exchange.getResponseBody();
+        out.write(bytes);
+        out.flush();
+    }
+
+    private void sendJson(HttpExchange exchange, int status, Map<String, Object> body) throws IOException {
+        byte[] bytes = marshaller.marshalToBytes(body);
+        exchange.getResponseHeaders().set("Content-Type", JSON_CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length);
+        OutputStream out = exchange.getResponseBody();
+        out.write(bytes);
+        out.flush();
+    }
+
+    private static boolean notModified(Headers requestHeaders, String etag, long lastModified) {
+        String ifNoneMatch = requestHeaders.getFirst("If-None-Match");
+        if (ifNoneMatch != null) {
+            //If-None-Match takes precedence over If-Modified-Since:
+            for (String candidate : Strings.tokenizeToStringArray(ifNoneMatch, ",")) {
+                if (candidate.equals("*") || candidate.equals(etag) || candidate.equals("W/" + etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        String ifModifiedSince = requestHeaders.getFirst("If-Modified-Since");
+        if (ifModifiedSince != null && lastModified > 0) {
+            try {
+                //HTTP dates have a one second resolution:
+                return lastModified / 1000 <= httpDateFormat().parse(ifModifiedSince).getTime() / 1000;
+            } catch (ParseException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static long lastModified(Map<String, Object> body) {
+        Object modifiedAt = body.get(StubResourceStore.MODIFIED_AT);
+        if (modifiedAt instanceof String) {
+            try {
+                return Iso8601Dates.parseMillis((String) modifiedAt);
+            } catch (ParseException e) {
+                return 0;
+            }
+        }
+        return 0;
+    }
+
+    private static String httpDate(long millis) {
+        return httpDateFormat().format(new Date(millis));
+    }
+
+    private static SimpleDateFormat httpDateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat(HTTP_DATE_FORMAT, Locale.US);
+        format.setTimeZone(TimeZone.getTimeZone("GMT"));
+        return format;
+    }
+
+    private static String sha1(byte[] bytes) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-1").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 is always supported.", e);
+        }
+        char[] chars = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            chars[i * 2] = HEX[(digest[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[digest[i] & 0xF];
+        }
+        return new String(chars);
+    }
+
+    private static byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2015 Stormpath, Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.stormpath.sdk.stub
+
+import com.stormpath.sdk.account.Account
+import com.stormpath.sdk.account.Accounts
+import com.stormpath.sdk.api.ApiKeys
+import com.stormpath.sdk.application.Application
+import com.stormpath.sdk.authc.UsernamePasswordRequest
+import com.stormpath.sdk.client.Client
+import com.stormpath.sdk.client.Clients
+import com.stormpath.sdk.directory.Directory
+import com.stormpath.sdk.impl.client.DefaultClient
+import com.stormpath.sdk.oauth.Authenticators
+import com.stormpath.sdk.oauth.Oauth2Requests
+import com.stormpath.sdk.resource.ResourceException
+import org.testng.annotations.AfterMethod
+import org.testng.annotations.BeforeMethod
+import org.testng.annotations.Test
+
+import static org.testng.Assert.*
+
+/**
+ * @since 1.0.RC8.1
+ */
+class StubStormpathServerTest {
+
+    StubStormpathServer server
+    Client client
+
+    @BeforeMethod
+    void setUp() {
+        server = new StubStormpathServer()
+        server.start()
+        client = newClient(server.apiKeySecret)
+    }
+
+    @AfterMethod
+    void tearDown() {
+        server.stop()
+    }
+
+    Client newClient(String secret) {
+        def apiKey = ApiKeys.builder().setId(server.apiKeyId).setSecret(secret).build()
+        return Clients.builder().setBaseUrl(server.baseUrl).setApiKey(apiKey).build()
+    }
+
+    Account newAccount(Application application) {
+        def account = client.instantiate(Account)
+                .setGivenName('Joe').setSurname('Smith')
+                .setEmail('joe@example.com').setPassword('Changeme1!')
+        return application.createAccount(account)
+    }
+
+    @Test
+    void testCurrentTenant() {
+        assertEquals client.currentTenant.href, server.tenantHref
+        assertEquals client.currentTenant.applications.iterator().next().href, server.applicationHref
+    }
+
+    @Test
+    void testCreateAndAuthenticateAccount() {
+        Application application = client.getResource(server.applicationHref, Application)
+
+        def account = newAccount(application)
+        assertTrue account.href.startsWith(server.baseUrl + '/accounts/')
+        assertEquals account.fullName, 'Joe Smith'
+        assertEquals account.directory.href, server.directoryHref
+
+        Directory directory = client.getResource(server.directoryHref, Directory)
+        assertEquals directory.accounts.iterator().next().href, account.href
+
+        def result = application.authenticateAccount(new UsernamePasswordRequest('joe@example.com', 'Changeme1!'))
+        assertEquals result.account.href, account.href
+
+        try {
+            application.authenticateAccount(new UsernamePasswordRequest('joe@example.com', 'wrong'))
+            fail()
+        } catch (ResourceException e) {
+            assertEquals e.status, 400
+            assertEquals e.code, 7100
+        }
+    }
+
+    @Test
+    void testUpdateAndCustomData() {
+        Application application = client.getResource(server.applicationHref, Application)
+        def account = newAccount(application)
+
+        account.setGivenName('Jane')
+        account.customData.put('color', 'blue')
+        account.save()
+
+        account = client.getResource(account.href, Account)
+        assertEquals account.fullName, 'Jane Smith'
+        assertEquals account.customData.get('color'), 'blue'
+
+        account.delete()
+        assertFalse application.accounts.iterator().hasNext()
+    }
+
+    @Test
+    void testDuplicateAccount() {
+        Application application = client.getResource(server.applicationHref, Application)
+        newAccount(application)
+        try {
+            newAccount(application)
+            fail()
+        } catch (ResourceException e) {
+            assertEquals e.status, 409
+        }
+    }
+
+    @Test
+    void testOauthTokens() {
+        Application application = client.getResource(server.applicationHref, Application)
+        def account = newAccount(application)
+
+        def request = Oauth2Requests.PASSWORD_GRANT_REQUEST.builder()
+                .setLogin('joe@example.com').setPassword('Changeme1!').build()
+        def grant = Authenticators.PASSWORD_GRANT_AUTHENTICATOR.forApplication(application).authenticate(request)
+        assertNotNull grant.accessTokenString
+
+        def jwtRequest = Oauth2Requests.JWT_AUTHENTICATION_REQUEST.builder().setJwt(grant.accessTokenString).build()
+
+        def remote = Authenticators.JWT_AUTHENTICATOR.forApplication(application).authenticate(jwtRequest)
+        assertEquals remote.account.href, account.href
+
+        def local = Authenticators.JWT_AUTHENTICATOR.forApplication(application).withLocalValidation()
+                .authenticate(jwtRequest)
+        assertEquals local.account.href, account.href
+        assertEquals local.href, grant.accessTokenHref
+    }
+
+    @Test
+    void testInvalidSecretIsRejected() {
+        try {
+            newClient('not-the-secret').currentTenant
+            fail()
+        } catch (ResourceException e) {
+            assertEquals e.status, 401
+        }
+        assertEquals server.rejectedCount, 1
+    }
+
+    @Test
+    void testInjectedFailuresAreRetried() {
+        server.failNext(2, 503)
+
+        assertEquals client.getResource(server.applicationHref, Application).href, server.applicationHref
+        assertEquals server.injectedFailureCount, 2
+    }
+
+    @Test
+    void testConditionalGet() {
+        def url = new URL(server.applicationHref)
+        def authorization = 'Basic ' + (server.apiKeyId + ':' + server.apiKeySecret).bytes.encodeBase64().toString()
+
+        HttpURLConnection conn = (HttpURLConnection) url.openConnection()
+        conn.setRequestProperty('Authorization', authorization)
+        assertEquals conn.responseCode, 200
+        String etag = conn.getHeaderField('ETag')
+        assertNotNull etag
+        assertNotNull conn.getHeaderField('Last-Modified')
+        conn.inputStream.close()
+
+        conn = (HttpURLConnection) url.openConnection()
+        conn.setRequestProperty('Authorization', authorization)
+        conn.setRequestProperty('If-None-Match', etag)
+        assertEquals conn.responseCode, 304
+        assertEquals server.notModifiedCount, 1
+
+        conn = (HttpURLConnection) url.openConnection()
+        conn.setRequestProperty('Authorization', authorization)
+        conn.setRequestProperty('If-None-Match', '"stale"')
+        assertEquals conn.responseCode, 200
+        conn.inputStream.close()
+    }
+
+    @Test
+    void testCollectionPagingAndFiltering() {
+        Directory directory = client.getResource(server.directoryHref, Directory)
+        30.times { i ->
+            def account = client.instantiate(Account).setGivenName("User$i").setSurname('Test')
+                    .setEmail("user$i@example.com").setPassword('Changeme1!')
+            directory.createAccount(account)
+        }
+
+        assertEquals directory.accounts.size, 30
+        assertEquals directory.accounts.iterator().toList().size(), 30
+
+        def criteria = Accounts.where(Accounts.email().startsWithIgnoreCase('user1'))
+        assertEquals directory.getAccounts(criteria).iterator().toList().size(), 11
+    }
+
+    @Test
+    void testUrlConnectionRequestExecutor() {
+        def key = DefaultClient.REQUEST_EXECUTOR_CLASS_PROPERTY_KEY
+        System.setProperty(key, 'com.stormpath.sdk.impl.http.urlconnection.UrlConnectionRequestExecutor')
+        try {
+            client = newClient(server.apiKeySecret)
+        } finally {
+            System.clearProperty(key)
+        }
+
+        Application application = client.getResource(server.applicationHref, Application)
+        def account = newAccount(application)
+        def result = application.authenticateAccount(new UsernamePasswordRequest('joe@example.com', 'Changeme1!'))
+        assertEquals result.account.href, account.href
+    }
+
+    @Test(expectedExceptions = IllegalStateException)
+    void testStartTwice() {
+        server.start()
+    }
+}